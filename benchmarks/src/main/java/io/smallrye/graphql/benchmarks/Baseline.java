@@ -0,0 +1,205 @@
+package io.smallrye.graphql.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Keeps the results of a benchmark run as a baseline, and compares later runs to it.
+ * <p>
+ * The baseline only has the score and the allocations per operation of every benchmark,
+ * so changing it shows up as a readable diff in review.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar StartupPhasesBenchmark -prof gc -rf json -rff results.json
+ * java -cp benchmarks/target/benchmarks.jar io.smallrye.graphql.benchmarks.Baseline compare benchmarks/baseline/startup-phases.json results.json
+ * java -cp benchmarks/target/benchmarks.jar io.smallrye.graphql.benchmarks.Baseline write results.json benchmarks/baseline/startup-phases.json
+ * </pre>
+ */
+public final class Baseline {
+    private static final String ALLOCATED = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    private Baseline() {
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length >= 3 && args[0].equals("write")) {
+            write(read(Paths.get(args[1])), Paths.get(args[2]));
+        } else if (args.length >= 3 && args[0].equals("compare")) {
+            double threshold = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_THRESHOLD;
+            Map<String, Result> baseline = read(Paths.get(args[1]));
+            if (!compare(baseline, read(Paths.get(args[2])), threshold)) {
+                System.exit(1);
+            }
+            if (baseline.isEmpty()) {
+                System.err.println("The baseline " + args[1] + " is empty, write it from a full run first");
+                System.exit(2);
+            }
+        } else {
+            System.err.println("Usage: Baseline write <jmh results.json> <baseline.json>");
+            System.err.println("       Baseline compare <baseline.json> <jmh results.json> [threshold in %, default "
+                    + DEFAULT_THRESHOLD + "]");
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Read JMH results (-rf json), or a baseline, mapped by benchmark, mode and parameters
+     */
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        try (Reader in = Files.newBufferedReader(file); JsonReader reader = Json.createReader(in)) {
+            for (JsonValue value : reader.readArray()) {
+                Result result = Result.of(value.asJsonObject());
+                results.put(result.key(), result);
+            }
+        }
+        return results;
+    }
+
+    static void write(Map<String, Result> results, Path file) throws IOException {
+        JsonArrayBuilder array = Json.createArrayBuilder();
+        for (Result result : results.values()) {
+            array.add(result.toJson());
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(file);
+                JsonWriter writer = Json.createWriterFactory(Map.of(JsonGenerator.PRETTY_PRINTING, true))
+                        .createWriter(out)) {
+            writer.writeArray(array.build());
+        }
+    }
+
+    /**
+     * Print the change of every benchmark
+     *
+     * @return false if a benchmark got slower, or allocates more, by more than the threshold
+     */
+    static boolean compare(Map<String, Result> baseline, Map<String, Result> results, double threshold) {
+        boolean ok = true;
+        System.out.printf("%-90s %12s %12s %8s %14s %14s %8s%n", "Benchmark", "Baseline", "Score", "Change",
+                "Baseline B/op", "B/op", "Change");
+        for (Result result : results.values()) {
+            Result base = baseline.get(result.key());
+            if (base == null) {
+                System.out.printf("%-90s %12s %12.3f %8s%n", result.key(), "-", result.score, "new");
+                continue;
+            }
+            // For throughput higher is better, for all other modes lower is better
+            double scoreChange = change(base.score, result.score) * (result.mode.equals("thrpt") ? -1 : 1);
+            double allocatedChange = change(base.allocated, result.allocated);
+            boolean regression = scoreChange > threshold || allocatedChange > threshold;
+            ok &= !regression;
+            System.out.printf("%-90s %12.3f %12.3f %7.1f%% %14.0f %14.0f %7.1f%%%s%n", result.key(), base.score,
+                    result.score, scoreChange, base.allocated, result.allocated, allocatedChange,
+                    regression ? "  REGRESSION" : "");
+        }
+        return ok;
+    }
+
+    private static double change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        return (after - before) * 100 / before;
+    }
+
+    static class Result {
+        final String benchmark;
+        final String mode;
+        final Map<String, String> params;
+        final double score;
+        final double scoreError;
+        final String unit;
+        final double allocated;
+
+        Result(String benchmark, String mode, Map<String, String> params, double score, double scoreError, String unit,
+                double allocated) {
+            this.benchmark = benchmark;
+            this.mode = mode;
+            this.params = params;
+            this.score = score;
+            this.scoreError = scoreError;
+            this.unit = unit;
+            this.allocated = allocated;
+        }
+
+        String key() {
+            StringBuilder key = new StringBuilder(benchmark).append(" ").append(mode);
+            params.forEach((name, value) -> key.append(" ").append(name).append("=").append(value));
+            return key.toString();
+        }
+
+        static Result of(JsonObject json) {
+            Map<String, String> params = new TreeMap<>();
+            JsonObject jsonParams = json.getJsonObject("params");
+            if (jsonParams != null) {
+                jsonParams.forEach((name, value) -> params.put(name, ((JsonString) value).getString()));
+            }
+            if (json.containsKey("primaryMetric")) {
+                // JMH results
+                JsonObject primary = json.getJsonObject("primaryMetric");
+                JsonObject secondary = json.getJsonObject("secondaryMetrics");
+                double allocated = secondary != null && secondary.containsKey(ALLOCATED)
+                        ? number(secondary.getJsonObject(ALLOCATED), "score")
+                        : Double.NaN;
+                return new Result(json.getString("benchmark"), json.getString("mode"), params,
+                        number(primary, "score"), number(primary, "scoreError"), primary.getString("scoreUnit"),
+                        allocated);
+            }
+            // A baseline
+            return new Result(json.getString("benchmark"), json.getString("mode"), params, number(json, "score"),
+                    number(json, "scoreError"), json.getString("unit"),
+                    json.containsKey("allocatedBytesPerOp") ? number(json, "allocatedBytesPerOp") : Double.NaN);
+        }
+
+        JsonObject toJson() {
+            JsonObjectBuilder jsonParams = Json.createObjectBuilder();
+            params.forEach(jsonParams::add);
+            JsonObjectBuilder json = Json.createObjectBuilder()
+                    .add("benchmark", benchmark)
+                    .add("mode", mode)
+                    .add("params", jsonParams)
+                    .add("score", round(score))
+                    .add("scoreError", Double.isNaN(scoreError) ? 0 : round(scoreError))
+                    .add("unit", unit);
+            if (!Double.isNaN(allocated)) {
+                json.add("allocatedBytesPerOp", Math.round(allocated));
+            }
+            return json.build();
+        }
+
+        private static double number(JsonObject json, String name) {
+            JsonValue value = json.get(name);
+            // JMH writes "NaN" as a string
+            if (value instanceof JsonNumber) {
+                return ((JsonNumber) value).doubleValue();
+            }
+            return Double.NaN;
+        }
+
+        private static double round(double value) {
+            return Double.parseDouble(String.format(Locale.ROOT, "%.3f", value));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.smallrye.graphql.benchmarks.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.graphql.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+
+/**
+ * Concurrent calls of one typesafe client, against a local server that responds after a short delay, like a real
+ * downstream service would. With HTTP/1.1, the calls have to wait for one of the pooled connections; with h2c, they
+ * are multiplexed over one connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class TransportBenchmark {
+    private static final String RESPONSE = "{\"data\":{\"greeting\":\"hi\"}}";
+
+    @GraphQLClientApi
+    public interface GreetingApi {
+        @Query
+        String greeting();
+    }
+
+    /** <code>http1</code> with the default pool, <code>http1-pool</code> with 64 connections, or <code>h2c</code> */
+    @Param({ "http1", "http1-pool", "h2c" })
+    String transport;
+
+    /** How long the server takes to respond, in milliseconds */
+    @Param({ "1" })
+    long delay;
+
+    private Vertx vertx;
+    private HttpServer server;
+    private GreetingApi client;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer()
+                .requestHandler(request -> request.body().onSuccess(body -> vertx.setTimer(delay,
+                        timer -> request.response()
+                                .putHeader("Content-Type", "application/json")
+                                .end(RESPONSE))))
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get();
+        VertxTypesafeGraphQLClientBuilder builder = new VertxTypesafeGraphQLClientBuilder().vertx(vertx);
+        switch (transport) {
+            case "http1":
+                break;
+            case "http1-pool":
+                builder.maxPoolSize(64);
+                break;
+            case "h2c":
+                builder.http2(true).http2PriorKnowledge(true);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown transport " + transport);
+        }
+        client = builder.endpoint("http://localhost:" + server.actualPort()).build(GreetingApi.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close().toCompletionStage().toCompletableFuture().get();
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    @Benchmark
+    public String call() {
+        return client.greeting();
+    }
+}
@@ -0,0 +1,84 @@
+package io.smallrye.graphql.benchmarks.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.graphql.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.graphql.client.typesafe.api.Header;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+
+/**
+ * Calls of a typesafe client with a trivial query, against a local server that always sends the same response, so
+ * mostly the work of the client for every call is measured: the headers, the request, and reading the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypesafeCallBenchmark {
+    private static final String RESPONSE = "{\"data\":{\"greeting\":\"hi\"}}";
+
+    @GraphQLClientApi
+    @Header(name = "X-Client", constant = "benchmark")
+    public interface GreetingApi {
+        @Query
+        String greeting();
+
+        @Query("greeting")
+        String greetingWithHeader(@Header(name = "X-Request") String request);
+    }
+
+    private Vertx vertx;
+    private HttpServer server;
+    private GreetingApi client;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer()
+                .requestHandler(request -> request.body().onSuccess(body -> request.response()
+                        .putHeader("Content-Type", "application/json")
+                        .end(RESPONSE)))
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get();
+        client = new VertxTypesafeGraphQLClientBuilder()
+                .vertx(vertx)
+                .endpoint("http://localhost:" + server.actualPort())
+                .build(GreetingApi.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close().toCompletionStage().toCompletableFuture().get();
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    /** Only constant headers, from the annotations */
+    @Benchmark
+    public String constantHeaders() {
+        return client.greeting();
+    }
+
+    /** A header from a parameter, so the headers have to be put together for every call */
+    @Benchmark
+    public String headerParameter() {
+        return client.greetingWithHeader("request");
+    }
+}
@@ -0,0 +1,93 @@
+package io.smallrye.graphql.benchmarks.client;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.client.impl.typesafe.json.JsonReader;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+
+/**
+ * Reading the data of a response into the domain objects of a typesafe client: a list of objects with scalars, a
+ * nested object and a nested list. The JSON is parsed once during setup, so only the mapping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypesafeReadBenchmark {
+
+    @Param({ "10000" })
+    int items;
+
+    private JsonArray json;
+    private TypeInfo type;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        json = data(items);
+        type = TypeInfo.of(TypesafeReadBenchmark.class.getDeclaredMethod("people").getGenericReturnType());
+    }
+
+    @Benchmark
+    public Object readNestedList() {
+        return JsonReader.readJson("people", type, json, null);
+    }
+
+    /** Only for its generic return type */
+    private static List<Person> people() {
+        return null;
+    }
+
+    static JsonArray data(int items) {
+        JsonArrayBuilder people = Json.createArrayBuilder();
+        for (int i = 0; i < items; i++) {
+            people.add(Json.createObjectBuilder()
+                    .add("id", i)
+                    .add("name", "Person number " + i)
+                    .add("email", "person" + i + "@example.com")
+                    .add("active", i % 2 == 0)
+                    .add("score", i * 1.25)
+                    .add("address", Json.createObjectBuilder()
+                            .add("street", i + " Main Street")
+                            .add("city", "Cape Town")
+                            .add("code", 8000 + (i % 100)))
+                    .add("tags", Json.createArrayBuilder().add("a").add("b").add("c")));
+        }
+        return people.build();
+    }
+
+    public static class Person {
+        public long id;
+        public String name;
+        public String email;
+        public boolean active;
+        public double score;
+        public Address address;
+        public List<String> tags;
+    }
+
+    public static class Address {
+        public String street;
+        public String city;
+        public int code;
+    }
+}
@@ -0,0 +1,16 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+public class Address {
+    public String street;
+    public String city;
+    public int code;
+
+    public Address() {
+    }
+
+    public Address(String street, String city, int code) {
+        this.street = street;
+        this.city = city;
+        this.code = code;
+    }
+}
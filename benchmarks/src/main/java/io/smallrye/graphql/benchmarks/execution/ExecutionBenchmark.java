@@ -0,0 +1,182 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Repeatable;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.api.Directive;
+import io.smallrye.graphql.api.federation.FieldSet;
+import io.smallrye.graphql.api.federation.Key;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * The request path, from the JSON request to the JSON response, through {@link ExecutionService#executeSync}.
+ * <p>
+ * Every scenario runs the same request over and over, so the parsed and validated document comes from the query
+ * cache, like it does for the clients of a real application. Run with {@code -prof gc} to see the allocations
+ * per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Dsmallrye.graphql.federation.enabled=true" })
+public class ExecutionBenchmark {
+    private static final int INPUT_DEPTH = 20;
+    private static final int SOURCES = 1_000;
+    private static final int REPRESENTATIONS = 100;
+
+    private static final Class<?>[] APPLICATION = { ShopApi.class, Item.class, Owner.class, Address.class, Stock.class,
+            NodeInput.class, Named.class, SearchResult.class, ItemNotFoundException.class,
+            // The directives the application uses, an application index would have them from the API jar
+            Repeatable.class, Directive.class, Key.class, Key.Keys.class, FieldSet.class };
+
+    private static final JsonObject TRIVIAL = request("{ ping }", null);
+    private static final JsonObject LARGE_LIST = request(
+            "{ items { id name price available tags owner { name email address { street city code } } } }", null);
+    private static final JsonObject DEEP_INPUT = request(
+            "mutation weigh($input: NodeInput) { weigh(input: $input) }",
+            Json.createObjectBuilder().add("input", node(INPUT_DEPTH)).build());
+    private static final JsonObject SOURCE_BATCH = request(
+            "{ items(first: " + SOURCES + ") { id stock { warehouse quantity } } }", null);
+    private static final JsonObject UNION_AND_INTERFACE = request(
+            "{ search(text: \"item\") { __typename ... on Item { id name price } ... on Owner { name email } } "
+                    + "named { __typename name ... on Item { available } ... on Owner { address { city } } } }",
+            null);
+    private static final JsonObject ERRORS = request(
+            "{ found: item(id: \"1\") { name } missing: item(id: \"missing\") { name } "
+                    + "unknown: item(id: \"unknown\") { name } }",
+            null);
+    private static final JsonObject ENTITIES = request(
+            "query entities($representations: [_Any!]!) "
+                    + "{ _entities(representations: $representations) { ... on Item { id name price } } }",
+            Json.createObjectBuilder().add("representations", representations()).build());
+
+    private ExecutionService executionService;
+
+    @Setup(Level.Trial)
+    public void bootstrap() {
+        Schema schema = SchemaBuilder.build(index());
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema, true);
+        executionService = new ExecutionService(graphQLSchema, schema);
+
+        // Make sure every scenario does what it says, and does not measure a validation error
+        for (JsonObject request : new JsonObject[] { TRIVIAL, LARGE_LIST, DEEP_INPUT, SOURCE_BATCH,
+                UNION_AND_INTERFACE, ENTITIES }) {
+            JsonObject response = execute(request);
+            if (response.containsKey("errors")) {
+                throw new IllegalStateException("Request " + request + " failed: " + response.get("errors"));
+            }
+        }
+        JsonObject response = execute(ERRORS);
+        if (!response.containsKey("errors") || response.get("data").getValueType() != JsonValue.ValueType.OBJECT) {
+            throw new IllegalStateException("Expected data with errors, but got " + response);
+        }
+    }
+
+    @Benchmark
+    public JsonObject trivialQuery() {
+        return execute(TRIVIAL);
+    }
+
+    @Benchmark
+    public JsonObject largeList() {
+        return execute(LARGE_LIST);
+    }
+
+    @Benchmark
+    public JsonObject deepInputMutation() {
+        return execute(DEEP_INPUT);
+    }
+
+    @Benchmark
+    public JsonObject sourceBatching() {
+        return execute(SOURCE_BATCH);
+    }
+
+    @Benchmark
+    public JsonObject unionAndInterface() {
+        return execute(UNION_AND_INTERFACE);
+    }
+
+    @Benchmark
+    public JsonObject errors() {
+        return execute(ERRORS);
+    }
+
+    @Benchmark
+    public JsonObject federationEntities() {
+        return execute(ENTITIES);
+    }
+
+    private JsonObject execute(JsonObject request) {
+        JsonObject[] response = new JsonObject[1];
+        executionService.executeSync(request, er -> response[0] = er.getExecutionResultAsJsonObject());
+        return response[0];
+    }
+
+    private static JsonObject request(String query, JsonObject variables) {
+        JsonObjectBuilder request = Json.createObjectBuilder().add("query", query);
+        if (variables != null) {
+            request.add("variables", variables);
+        }
+        return request.build();
+    }
+
+    private static JsonObject node(int depth) {
+        JsonObjectBuilder node = Json.createObjectBuilder()
+                .add("name", "Node " + depth)
+                .add("weight", depth)
+                .add("labels", Json.createArrayBuilder().add("level" + depth).add("input"));
+        if (depth > 1) {
+            node.add("child", node(depth - 1));
+        }
+        return node.build();
+    }
+
+    private static JsonArrayBuilder representations() {
+        JsonArrayBuilder representations = Json.createArrayBuilder();
+        for (int i = 0; i < REPRESENTATIONS; i++) {
+            representations.add(Json.createObjectBuilder().add("__typename", "Item").add("id", String.valueOf(i * 7)));
+        }
+        return representations;
+    }
+
+    private static IndexView index() {
+        Indexer indexer = new Indexer();
+        try {
+            for (Class<?> type : APPLICATION) {
+                indexer.indexClass(type);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return indexer.complete();
+    }
+}
@@ -0,0 +1,46 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.smallrye.graphql.api.federation.FieldSet;
+import io.smallrye.graphql.api.federation.Key;
+
+@Key(fields = @FieldSet("id"))
+public class Item implements Named, SearchResult {
+    private String id;
+    private String name;
+    public BigDecimal price;
+    public boolean available;
+    public List<String> tags;
+    public Owner owner;
+
+    public Item() {
+    }
+
+    public Item(String id, String name, BigDecimal price, boolean available, List<String> tags, Owner owner) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.available = available;
+        this.tags = tags;
+        this.owner = owner;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
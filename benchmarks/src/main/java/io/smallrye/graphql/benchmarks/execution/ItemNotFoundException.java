@@ -0,0 +1,8 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+public class ItemNotFoundException extends RuntimeException {
+
+    public ItemNotFoundException(String id) {
+        super("No item with id " + id);
+    }
+}
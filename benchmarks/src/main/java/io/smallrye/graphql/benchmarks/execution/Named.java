@@ -0,0 +1,5 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+public interface Named {
+    String getName();
+}
@@ -0,0 +1,10 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+import java.util.List;
+
+public class NodeInput {
+    public String name;
+    public int weight;
+    public List<String> labels;
+    public NodeInput child;
+}
@@ -0,0 +1,25 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+public class Owner implements Named, SearchResult {
+    private String name;
+    public String email;
+    public Address address;
+
+    public Owner() {
+    }
+
+    public Owner(String name, String email, Address address) {
+        this.name = name;
+        this.email = email;
+        this.address = address;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,143 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonWriter;
+import jakarta.json.JsonWriterFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.ExecutionResultImpl;
+import io.smallrye.graphql.client.impl.encoding.ResponseFormat;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.encoding.CborResponseEncoder;
+import io.smallrye.graphql.execution.encoding.MessagePackResponseEncoder;
+import io.smallrye.graphql.execution.encoding.ResponseEncoder;
+
+/**
+ * Compares writing (server) and reading (client) a response as JSON, CBOR and MessagePack.
+ * The encoded size of every format is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+    private static final JsonWriterFactory jsonWriterFactory = Json.createWriterFactory(null);
+
+    @Param({ "10", "1000" })
+    int items;
+
+    private final ResponseEncoder cbor = new CborResponseEncoder();
+    private final ResponseEncoder msgpack = new MessagePackResponseEncoder();
+
+    private ExecutionResponse response;
+    private String jsonBody;
+    private byte[] cborBody;
+    private byte[] msgpackBody;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        response = new ExecutionResponse(ExecutionResultImpl.newExecutionResult().data(data(items)).build());
+        jsonBody = writeJson().toString(StandardCharsets.UTF_8);
+        cborBody = write(cbor).toByteArray();
+        msgpackBody = write(msgpack).toByteArray();
+        System.out.printf("%nEncoded size for %d items: json=%d, cbor=%d, msgpack=%d bytes%n", items,
+                jsonBody.getBytes(StandardCharsets.UTF_8).length, cborBody.length, msgpackBody.length);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeJson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(out)) {
+            jsonWriter.writeObject(response.getExecutionResultAsJsonObject());
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeCbor() throws IOException {
+        return write(cbor);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeMessagePack() throws IOException {
+        return write(msgpack);
+    }
+
+    @Benchmark
+    public JsonObject readJson() {
+        try (JsonReader reader = Json.createReader(new StringReader(jsonBody))) {
+            return reader.readObject();
+        }
+    }
+
+    @Benchmark
+    public JsonObject readCbor() {
+        return ResponseFormat.CBOR.decode(cborBody);
+    }
+
+    @Benchmark
+    public JsonObject readMessagePack() {
+        return ResponseFormat.MSGPACK.decode(msgpackBody);
+    }
+
+    @Benchmark
+    public JsonObject readCborOnServer() throws IOException {
+        return cbor.decode(new ByteArrayInputStream(cborBody));
+    }
+
+    private ByteArrayOutputStream write(ResponseEncoder encoder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(response, out);
+        return out;
+    }
+
+    /**
+     * Something that looks like a typical list query: objects with ids, text, numbers, flags and a nested object
+     */
+    static Map<String, Object> data(int items) {
+        List<Object> people = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Map<String, Object> person = new LinkedHashMap<>();
+            person.put("id", i);
+            person.put("name", "Person number " + i);
+            person.put("email", "person" + i + "@example.com");
+            person.put("active", i % 2 == 0);
+            person.put("score", i * 1.25);
+            person.put("balance", 1_000_000L * i);
+            Map<String, Object> address = new LinkedHashMap<>();
+            address.put("street", i + " Main Street");
+            address.put("city", "Cape Town");
+            address.put("code", 8000 + (i % 100));
+            person.put("address", address);
+            people.add(person);
+        }
+        return Map.of("people", people);
+    }
+}
@@ -0,0 +1,7 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+import io.smallrye.graphql.api.Union;
+
+@Union
+public interface SearchResult {
+}
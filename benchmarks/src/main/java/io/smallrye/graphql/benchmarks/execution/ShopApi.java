@@ -0,0 +1,95 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.DefaultValue;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Id;
+import org.eclipse.microprofile.graphql.Mutation;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+/**
+ * The application the {@link ExecutionBenchmark} runs requests against
+ */
+@GraphQLApi
+public class ShopApi {
+    static final int ITEMS = 10_000;
+
+    private static final List<Owner> OWNERS = new ArrayList<>();
+    private static final List<Item> ALL_ITEMS = new ArrayList<>();
+    private static final Map<String, Item> ITEMS_BY_ID;
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            OWNERS.add(new Owner("Owner " + i, "owner" + i + "@example.com",
+                    new Address(i + " Main Street", "Cape Town", 8000 + i)));
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            ALL_ITEMS.add(new Item(String.valueOf(i), "Item number " + i, BigDecimal.valueOf(i * 125L, 2), i % 3 != 0,
+                    List.of("tag" + (i % 10), "tag" + (i % 7)), OWNERS.get(i % OWNERS.size())));
+        }
+        ITEMS_BY_ID = ALL_ITEMS.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    @Query
+    public String ping() {
+        return "pong";
+    }
+
+    @Query
+    public List<Item> items(@DefaultValue("10000") int first) {
+        return ALL_ITEMS.subList(0, Math.min(first, ALL_ITEMS.size()));
+    }
+
+    @Query
+    public Item item(@Id String id) {
+        Item item = ITEMS_BY_ID.get(id);
+        if (item == null) {
+            throw new ItemNotFoundException(id);
+        }
+        return item;
+    }
+
+    @Query
+    public List<SearchResult> search(String text) {
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = 0; i < OWNERS.size(); i++) {
+            results.add(OWNERS.get(i));
+            results.add(ALL_ITEMS.get(i));
+        }
+        return results;
+    }
+
+    @Query
+    public List<Named> named() {
+        List<Named> named = new ArrayList<>();
+        for (int i = 0; i < OWNERS.size(); i++) {
+            named.add(ALL_ITEMS.get(i));
+            named.add(OWNERS.get(i));
+        }
+        return named;
+    }
+
+    public List<Stock> stock(@Source List<Item> items) {
+        List<Stock> stock = new ArrayList<>(items.size());
+        for (Item item : items) {
+            stock.add(new Stock("Warehouse " + item.getId().length(), item.available ? 10 : 0));
+        }
+        return stock;
+    }
+
+    @Mutation
+    public int weigh(NodeInput input) {
+        int weight = 0;
+        for (NodeInput node = input; node != null; node = node.child) {
+            weight += node.weight;
+        }
+        return weight;
+    }
+}
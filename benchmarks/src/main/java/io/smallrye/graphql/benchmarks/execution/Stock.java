@@ -0,0 +1,14 @@
+package io.smallrye.graphql.benchmarks.execution;
+
+public class Stock {
+    public String warehouse;
+    public int quantity;
+
+    public Stock() {
+    }
+
+    public Stock(String warehouse, int quantity) {
+        this.warehouse = warehouse;
+        this.quantity = quantity;
+    }
+}
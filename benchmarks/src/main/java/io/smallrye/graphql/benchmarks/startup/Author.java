@@ -0,0 +1,16 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+public class Author {
+    public String id;
+    public String name;
+    public String bio;
+
+    public Author() {
+    }
+
+    public Author(String id, String name, String bio) {
+        this.id = id;
+        this.name = name;
+        this.bio = bio;
+    }
+}
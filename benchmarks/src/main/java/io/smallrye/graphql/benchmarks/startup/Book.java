@@ -0,0 +1,23 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class Book {
+    public String isbn;
+    public String title;
+    public LocalDate published;
+    public Genre genre;
+    public List<String> authorIds;
+
+    public Book() {
+    }
+
+    public Book(String isbn, String title, LocalDate published, Genre genre, List<String> authorIds) {
+        this.isbn = isbn;
+        this.title = title;
+        this.published = published;
+        this.genre = genre;
+        this.authorIds = authorIds;
+    }
+}
@@ -0,0 +1,10 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.time.LocalDate;
+
+public class BookInput {
+    public String isbn;
+    public String title;
+    public LocalDate published;
+    public Genre genre;
+}
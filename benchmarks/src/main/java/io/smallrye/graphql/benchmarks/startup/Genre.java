@@ -0,0 +1,7 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+public enum Genre {
+    FICTION,
+    SCIENCE,
+    HISTORY
+}
@@ -0,0 +1,137 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.entry.http.IndexInitializer;
+
+/**
+ * Indexing a war with 200 dependency jars, the way the servlet integration does on startup.
+ * <p>
+ * The jars are made from the classes on the classpath. Some of them can contain a jandex.idx.
+ * With the cache on, the warmup iteration fills the cache, like the first start of an application would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndexInitializerBenchmark {
+    private static final int JARS = 200;
+
+    @Param({ "1", "4" })
+    int parallelism;
+
+    @Param({ "0", "50" })
+    int percentWithJandexIdx;
+
+    @Param({ "false", "true" })
+    boolean cache;
+
+    private Path directory;
+    private Set<URL> urls;
+
+    @Setup(Level.Trial)
+    public void createJars() throws IOException {
+        directory = Files.createTempDirectory("smallrye-graphql-index");
+        Files.createDirectories(directory.resolve("lib"));
+
+        List<List<byte[]>> jars = new ArrayList<>();
+        for (int i = 0; i < JARS; i++) {
+            jars.add(new ArrayList<>());
+        }
+        int next = 0;
+        for (String element : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!element.endsWith(".jar")) {
+                continue;
+            }
+            try (ZipFile zipFile = new ZipFile(element)) {
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.getName().endsWith(".class") && !entry.getName().startsWith("META-INF/")
+                            && !entry.getName().endsWith("module-info.class")) {
+                        try (InputStream in = zipFile.getInputStream(entry)) {
+                            jars.get(next++ % JARS).add(in.readAllBytes());
+                        }
+                    }
+                }
+            }
+        }
+
+        urls = new LinkedHashSet<>();
+        for (int i = 0; i < JARS; i++) {
+            Path jar = directory.resolve("lib").resolve("dependency-" + i + ".jar");
+            writeJar(jar, jars.get(i), i * 100 < percentWithJandexIdx * JARS);
+            urls.add(jar.toUri().toURL());
+        }
+        System.out.printf("%nIndexing %d classes in %d jars%n", next, JARS);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJars() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public IndexView createIndex() {
+        Path cacheDirectory = cache ? directory.resolve("cache") : null;
+        return new IndexInitializer(parallelism, cacheDirectory).createIndex(urls);
+    }
+
+    private static void writeJar(Path jar, List<byte[]> classes, boolean withJandexIdx) throws IOException {
+        Indexer indexer = withJandexIdx ? new Indexer() : null;
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < classes.size(); i++) {
+                zip.putNextEntry(new ZipEntry("classes/Class" + i + ".class"));
+                zip.write(classes.get(i));
+                zip.closeEntry();
+                if (indexer != null) {
+                    indexer.index(new ByteArrayInputStream(classes.get(i)));
+                }
+            }
+            if (indexer != null) {
+                zip.putNextEntry(new ZipEntry("META-INF/jandex.idx"));
+                new IndexWriter(zip).write(indexer.complete());
+                zip.closeEntry();
+            }
+        }
+    }
+}
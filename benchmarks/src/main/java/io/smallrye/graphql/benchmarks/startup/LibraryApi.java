@@ -0,0 +1,57 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Mutation;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+/**
+ * A small application to start
+ */
+@GraphQLApi
+public class LibraryApi {
+    private static final List<Author> AUTHORS = List.of(
+            new Author("1", "Ada", "Wrote about engines"),
+            new Author("2", "Grace", "Wrote about compilers"));
+    private static final List<Book> BOOKS = List.of(
+            new Book("1-1", "Notes", LocalDate.of(1843, 1, 1), Genre.SCIENCE, List.of("1")),
+            new Book("2-1", "Compilers", LocalDate.of(1952, 1, 1), Genre.SCIENCE, List.of("2")),
+            new Book("3-1", "Together", LocalDate.of(2000, 1, 1), Genre.HISTORY, List.of("1", "2")));
+
+    @Query
+    public List<Book> books(Genre genre) {
+        return BOOKS.stream()
+                .filter(b -> genre == null || b.genre == genre)
+                .collect(Collectors.toList());
+    }
+
+    @Query
+    public Book book(String isbn) {
+        return BOOKS.stream().filter(b -> b.isbn.equals(isbn)).findFirst().orElse(null);
+    }
+
+    @Query
+    public List<Author> authors() {
+        return AUTHORS;
+    }
+
+    public List<Author> authors(@Source Book book) {
+        List<Author> authors = new ArrayList<>();
+        for (Author author : AUTHORS) {
+            if (book.authorIds.contains(author.id)) {
+                authors.add(author);
+            }
+        }
+        return authors;
+    }
+
+    @Mutation
+    public Book addBook(BookInput input) {
+        return new Book(input.isbn, input.title, input.published, input.genre, List.of());
+    }
+}
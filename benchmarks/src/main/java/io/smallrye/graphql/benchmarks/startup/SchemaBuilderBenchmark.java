@@ -0,0 +1,47 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.jandex.IndexView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Building the schema model of a large, generated application (see {@link SyntheticApplication}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SchemaBuilderBenchmark {
+
+    @Param({ "1000", "5000", "10000" })
+    int types;
+
+    private IndexView index;
+
+    @Setup(Level.Trial)
+    public void generateApplication() {
+        index = SyntheticApplication.generate(types, 5, 1).getIndex();
+    }
+
+    @Benchmark
+    public Schema build() {
+        return SchemaBuilder.build(index);
+    }
+}
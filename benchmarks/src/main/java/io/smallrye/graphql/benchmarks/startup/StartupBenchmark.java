@@ -0,0 +1,117 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Time to first request, from a cold JVM: getting the schema model, bootstrapping it and executing one query.
+ * <p>
+ * The schema model is either built by indexing everything on the classpath (what the servlet integration does
+ * with WEB-INF/classes and WEB-INF/lib), or loaded from the model the Maven plugin wrote while building this module.
+ * Run it from the benchmarks jar, where the jar holds the whole application, like a war does.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+    private static final JsonObject FIRST_REQUEST = Json.createObjectBuilder()
+            .add("query", "{ books(genre: SCIENCE) { isbn title published authors { name } } }")
+            .build();
+
+    @Benchmark
+    public ExecutionResponse scanClasspath() throws IOException, URISyntaxException {
+        Schema schema = SchemaBuilder.build(indexCodeSource());
+        return firstRequest(schema);
+    }
+
+    @Benchmark
+    public ExecutionResponse prebuiltSchema() throws IOException, URISyntaxException {
+        Schema schema = PrebuiltSchema.load(StartupBenchmark.class.getClassLoader(), List.of(codeSource()),
+                PrebuiltSchema.settings(TypeAutoNameStrategy.Default.name(), false));
+        if (schema == null) {
+            throw new IllegalStateException("No prebuilt schema model, build the benchmarks with -Pbenchmarks");
+        }
+        return firstRequest(schema);
+    }
+
+    private static ExecutionResponse firstRequest(Schema schema) {
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema, true);
+        ExecutionService executionService = new ExecutionService(graphQLSchema, schema);
+        ExecutionResponse[] response = new ExecutionResponse[1];
+        executionService.executeSync(FIRST_REQUEST, er -> response[0] = er);
+        if (!response[0].getExecutionResult().getErrors().isEmpty()) {
+            throw new IllegalStateException("First request failed: " + response[0].getExecutionResult().getErrors());
+        }
+        return response[0];
+    }
+
+    private static Path codeSource() throws URISyntaxException {
+        return Paths.get(StartupBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private static IndexView indexCodeSource() throws IOException, URISyntaxException {
+        Path codeSource = codeSource();
+        Indexer indexer = new Indexer();
+        if (Files.isDirectory(codeSource)) {
+            List<Path> classFiles;
+            try (Stream<Path> files = Files.walk(codeSource)) {
+                classFiles = files.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList());
+            }
+            for (Path classFile : classFiles) {
+                try (InputStream in = Files.newInputStream(classFile)) {
+                    indexer.index(in);
+                }
+            }
+        } else {
+            try (ZipFile jar = new ZipFile(codeSource.toFile())) {
+                Enumeration<? extends ZipEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.getName().endsWith(".class") && !entry.getName().startsWith("META-INF/")) {
+                        try (InputStream in = jar.getInputStream(entry)) {
+                            indexer.index(in);
+                        } catch (IllegalArgumentException | IOException ex) {
+                            // Not a class Jandex can read, the servlet integration skips those too
+                        }
+                    }
+                }
+            }
+        }
+        return indexer.complete();
+    }
+}
@@ -0,0 +1,117 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Every phase of startup on its own, for generated applications of increasing size (see {@link SyntheticApplication}):
+ * building the schema model from the index, bootstrapping the GraphQL schema from the model, and creating the
+ * execution service up to the first request. The execution service builds its GraphQL instance on first use, so that
+ * phase executes a {@code __typename} query.
+ * <p>
+ * This measures the steady state, {@link ColdStartupPhasesBenchmark} measures the first time in a fresh JVM.
+ * Every phase only sets up what it needs, so a phase does not warm up the code it measures.
+ * Run with {@code -prof gc} to see the allocations of every phase.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StartupPhasesBenchmark {
+    private static final JsonObject FIRST_REQUEST = Json.createObjectBuilder().add("query", "{ __typename }").build();
+
+    @State(Scope.Benchmark)
+    public static class Application {
+        @Param({ "100", "1000", "5000" })
+        int types;
+
+        @Param({ "10" })
+        int fields;
+
+        @Param({ "3" })
+        int depth;
+
+        @Param({ "true" })
+        boolean federation;
+
+        SyntheticApplication application;
+        private ClassLoader contextClassLoader;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            // Read by the schema builder and the runtime config
+            System.setProperty("smallrye.graphql.federation.enabled", String.valueOf(federation));
+            application = SyntheticApplication.generate(types, fields, depth);
+            contextClassLoader = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(application.getClassLoader());
+        }
+
+        @TearDown(Level.Trial)
+        public void restore() {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Model {
+        Schema schema;
+
+        @Setup(Level.Trial)
+        public void build(Application application) {
+            schema = SchemaBuilder.build(application.application.getIndex());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Bootstrapped {
+        Schema schema;
+        GraphQLSchema graphQLSchema;
+
+        @Setup(Level.Trial)
+        public void bootstrap(Model model) {
+            schema = model.schema;
+            graphQLSchema = Bootstrap.bootstrap(schema, true);
+        }
+    }
+
+    @Benchmark
+    public Schema schemaBuild(Application application) {
+        return SchemaBuilder.build(application.application.getIndex());
+    }
+
+    @Benchmark
+    public GraphQLSchema bootstrap(Model model) {
+        return Bootstrap.bootstrap(model.schema, true);
+    }
+
+    @Benchmark
+    public JsonObject executionService(Bootstrapped bootstrapped) {
+        ExecutionService executionService = new ExecutionService(bootstrapped.graphQLSchema, bootstrapped.schema);
+        JsonObject[] response = new JsonObject[1];
+        executionService.executeSync(FIRST_REQUEST, er -> response[0] = er.getExecutionResultAsJsonObject());
+        return response[0];
+    }
+}
@@ -0,0 +1,241 @@
+package io.smallrye.graphql.benchmarks.startup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Repeatable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+import io.smallrye.graphql.api.Directive;
+import io.smallrye.graphql.api.federation.FieldSet;
+import io.smallrye.graphql.api.federation.Key;
+
+/**
+ * A generated GraphQL application, compiled and indexed, to measure how startup scales with the size of the schema.
+ * <p>
+ * The types are generated in packages of 100. Every package has
+ * <ul>
+ * <li>a package annotation ({@code @DefaultNonNull})</li>
+ * <li>a chain of abstract base classes, {@code depth} deep, that every type of the package extends</li>
+ * <li>an interface that every type implements, and a union of every fifth type</li>
+ * <li>an API with a query per type, a mutation with a (recursive) input for every tenth type,
+ * a {@code @Source} field for every fourth type and a batched {@code @Source} field for every eighth type</li>
+ * </ul>
+ * Every type is a federation entity ({@code @Key}) with {@code fields} scalar fields, a date with a format,
+ * and references to the next type of its package.
+ * <p>
+ * The compiled classes are kept in the temporary directory, so that forks and later runs with the same shape
+ * only have to index them.
+ */
+public final class SyntheticApplication {
+    // Change it when the generated application changes, so that old compiled applications are not used
+    private static final int GENERATION = 1;
+    private static final int TYPES_PER_PACKAGE = 100;
+    private static final String[] SCALARS = { "String", "int", "java.math.BigDecimal", "boolean", "java.util.List<String>",
+            "Long" };
+    private static final Class<?>[] DIRECTIVES = { Repeatable.class, Directive.class, Key.class, Key.Keys.class,
+            FieldSet.class };
+
+    private final IndexView index;
+    private final ClassLoader classLoader;
+
+    private SyntheticApplication(IndexView index, ClassLoader classLoader) {
+        this.index = index;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Generate (or reuse) the application.
+     *
+     * @param types the number of types
+     * @param fields the number of scalar fields of every type
+     * @param depth the depth of the inheritance chain of every type
+     * @return the application
+     */
+    public static SyntheticApplication generate(int types, int fields, int depth) {
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"),
+                "smallrye-graphql-synthetic-" + GENERATION + "-" + types + "-" + fields + "-" + depth);
+        Path classes = directory.resolve("classes");
+        try {
+            if (!Files.exists(directory.resolve("complete"))) {
+                compile(generateSources(directory.resolve("src"), types, fields, depth), classes);
+                Files.createFile(directory.resolve("complete"));
+            }
+            return new SyntheticApplication(index(classes),
+                    new URLClassLoader(new URL[] { classes.toUri().toURL() }, SyntheticApplication.class.getClassLoader()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public IndexView getIndex() {
+        return index;
+    }
+
+    /**
+     * @return a class loader that can load the generated classes, to use as context class loader
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    private static List<String> generateSources(Path sources, int types, int fields, int depth) throws IOException {
+        List<String> sourceFiles = new ArrayList<>();
+        for (int p = 0; p * TYPES_PER_PACKAGE < types; p++) {
+            String packageName = "generated.p" + p;
+            Path packageDirectory = sources.resolve("generated").resolve("p" + p);
+            Files.createDirectories(packageDirectory);
+
+            sourceFiles.add(write(packageDirectory.resolve("package-info.java"),
+                    "@io.smallrye.graphql.api.DefaultNonNull\npackage " + packageName + ";\n"));
+            sourceFiles.add(write(packageDirectory.resolve("Node" + p + ".java"), "package " + packageName + ";\n\n"
+                    + "public interface Node" + p + " {\n"
+                    + "    String getId();\n"
+                    + "}\n"));
+            sourceFiles.add(write(packageDirectory.resolve("SearchResult" + p + ".java"), "package " + packageName + ";\n\n"
+                    + "@io.smallrye.graphql.api.Union\n"
+                    + "public interface SearchResult" + p + " {\n"
+                    + "}\n"));
+            for (int d = 0; d < depth; d++) {
+                sourceFiles.add(write(packageDirectory.resolve("Base" + p + "_" + d + ".java"), "package " + packageName
+                        + ";\n\n"
+                        + "public abstract class Base" + p + "_" + d + (d == 0 ? "" : " extends Base" + p + "_" + (d - 1))
+                        + " {\n"
+                        + "    public String inherited" + d + ";\n"
+                        + "}\n"));
+            }
+
+            int first = p * TYPES_PER_PACKAGE;
+            int last = Math.min(first + TYPES_PER_PACKAGE, types) - 1;
+            StringBuilder api = new StringBuilder()
+                    .append("package ").append(packageName).append(";\n\n")
+                    .append("import java.util.List;\n")
+                    .append("import org.eclipse.microprofile.graphql.*;\n\n")
+                    .append("@GraphQLApi\npublic class Api").append(p).append(" {\n")
+                    .append("    @Query public List<SearchResult").append(p).append("> search").append(p)
+                    .append("(String text) { return null; }\n");
+            for (int t = first; t <= last; t++) {
+                int next = t == last ? first : t + 1;
+                String base = depth == 0 ? null : "Base" + p + "_" + (depth - 1);
+                sourceFiles.add(write(packageDirectory.resolve("Type" + t + ".java"),
+                        type(packageName, p, t, next, fields, base, t % 5 == 0)));
+                api.append("    @Query @Description(\"Type ").append(t).append(" by id\")\n")
+                        .append("    public Type").append(t).append(" type").append(t)
+                        .append("(@Id String id, @DefaultValue(\"10\") int limit) { return null; }\n");
+                if (t % 10 == 0) {
+                    sourceFiles.add(write(packageDirectory.resolve("Input" + t + ".java"), input(packageName, t, fields)));
+                    api.append("    @Mutation public Type").append(t).append(" saveType").append(t)
+                            .append("(Input").append(t).append(" input) { return null; }\n");
+                }
+                if (t % 4 == 0) {
+                    api.append("    public String extra").append(t).append("(@Source Type").append(t)
+                            .append(" source) { return null; }\n");
+                }
+                if (t % 8 == 0) {
+                    api.append("    public List<String> batched").append(t).append("(@Source List<Type").append(t)
+                            .append("> sources) { return null; }\n");
+                }
+            }
+            api.append("}\n");
+            sourceFiles.add(write(packageDirectory.resolve("Api" + p + ".java"), api.toString()));
+        }
+        return sourceFiles;
+    }
+
+    private static String type(String packageName, int p, int t, int next, int fields, String base,
+            boolean searchResult) {
+        StringBuilder type = new StringBuilder()
+                .append("package ").append(packageName).append(";\n\n")
+                .append("import java.time.LocalDate;\n")
+                .append("import java.util.List;\n")
+                .append("import org.eclipse.microprofile.graphql.*;\n")
+                .append("import io.smallrye.graphql.api.Nullable;\n")
+                .append("import io.smallrye.graphql.api.federation.*;\n\n")
+                .append("@Key(fields = @FieldSet(\"id\"))\n")
+                .append("@Description(\"Generated type ").append(t).append("\")\n")
+                .append("public class Type").append(t)
+                .append(base == null ? "" : " extends " + base)
+                .append(" implements Node").append(p).append(searchResult ? ", SearchResult" + p : "").append(" {\n")
+                .append("    private String id;\n")
+                .append("    public String getId() { return id; }\n")
+                .append("    public void setId(String id) { this.id = id; }\n")
+                .append("    public @DateFormat(\"dd.MM.yyyy\") LocalDate date;\n")
+                .append("    @Nullable public Type").append(next).append(" related;\n")
+                .append("    @Nullable public List<Type").append(next).append("> children;\n");
+        for (int f = 0; f < fields; f++) {
+            type.append("    ");
+            if (f % 3 == 0) {
+                type.append("@Description(\"Field ").append(f).append("\") ");
+            }
+            type.append("public ").append(SCALARS[f % SCALARS.length]).append(" field").append(f).append(";\n");
+        }
+        return type.append("}\n").toString();
+    }
+
+    private static String input(String packageName, int t, int fields) {
+        StringBuilder input = new StringBuilder()
+                .append("package ").append(packageName).append(";\n\n")
+                .append("import java.time.LocalDate;\n")
+                .append("import org.eclipse.microprofile.graphql.*;\n")
+                .append("import io.smallrye.graphql.api.Nullable;\n\n")
+                .append("public class Input").append(t).append(" {\n")
+                .append("    public String id;\n")
+                .append("    public @DateFormat(\"dd.MM.yyyy\") LocalDate date;\n")
+                .append("    @Nullable public Input").append(t).append(" parent;\n");
+        for (int f = 0; f < fields; f++) {
+            input.append("    public ").append(SCALARS[f % SCALARS.length]).append(" field").append(f).append(";\n");
+        }
+        return input.append("}\n").toString();
+    }
+
+    private static void compile(List<String> sourceFiles, Path classes) throws IOException {
+        Files.createDirectories(classes);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating the application needs a JDK");
+        }
+        List<String> arguments = new ArrayList<>(List.of("-proc:none", "-nowarn", "-parameters",
+                "-classpath", System.getProperty("java.class.path"), "-d", classes.toString()));
+        arguments.addAll(sourceFiles);
+        if (compiler.run(null, null, null, arguments.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Could not compile the generated application");
+        }
+    }
+
+    private static IndexView index(Path classes) throws IOException {
+        Indexer indexer = new Indexer();
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(classes)) {
+            classFiles = files.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        for (Path classFile : classFiles) {
+            try (InputStream in = Files.newInputStream(classFile)) {
+                indexer.index(in);
+            }
+        }
+        // The directives the application uses, an application index would have them from the API jar
+        for (Class<?> directive : DIRECTIVES) {
+            indexer.indexClass(directive);
+        }
+        return indexer.complete();
+    }
+
+    private static String write(Path file, String source) throws IOException {
+        Files.writeString(file, source);
+        return file.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package io.smallrye.graphql.cdi.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+
+/**
+ * The overhead of the resolver spans of {@link FieldTracingInstrumentation}, on a list of items that each have a
+ * trivial (property) field and a resolver that is not trivial: without the instrumentation ({@code off}), with an
+ * execution that is not sampled ({@code unsampled}), and with one that is ({@code sampled}).
+ * <p>
+ * The spans are created by the OpenTelemetry SDK, without an exporter. This is in the package of the instrumentation,
+ * as it is not public.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FieldTracingBenchmark {
+    private static final String SDL = "type Query { items: [Item] }\n"
+            + "type Item { id: ID name: String owner: Owner }\n"
+            + "type Owner { name: String }";
+    private static final String QUERY = "{ items { id name owner { name } } }";
+
+    @Param({ "off", "unsampled", "sampled" })
+    public String tracing;
+
+    @Param({ "1000" })
+    public int items;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private GraphQL graphQL;
+
+    public static class Item {
+        private final String id;
+
+        Item(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return "Item " + id;
+        }
+    }
+
+    public static class Owner {
+        private final String name;
+
+        Owner(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tracerProvider = SdkTracerProvider.builder().build();
+        tracer = tracerProvider.get("benchmark");
+
+        List<Item> list = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            list.add(new Item(String.valueOf(i)));
+        }
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type.dataFetcher("items", environment -> list))
+                .type("Item", type -> type.dataFetcher("owner",
+                        environment -> new Owner("Owner of " + environment.<Item> getSource().getId())))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+
+        GraphQL.Builder builder = GraphQL.newGraphQL(schema);
+        if (!tracing.equals("off")) {
+            builder.instrumentation(new FieldTracingInstrumentation(tracer, tracing.equals("sampled") ? 1.0 : 0.0));
+        }
+        graphQL = builder.build();
+
+        ExecutionResult result = execute();
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("Query failed: " + result.getErrors());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        // Like the TracingService, every execution has its own (sampled) execution span
+        Span span = tracer.spanBuilder(TracingService.PREFIX).startSpan();
+        try {
+            return graphQL.execute(ExecutionInput.newExecutionInput()
+                    .query(QUERY)
+                    .graphQLContext(Map.of(TracingService.EXECUTION_TRACE,
+                            new TracingService.ExecutionTrace(span, Scope.noop())))
+                    .build());
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.smallrye.graphql.client;
+
+/**
+ * How a query uses the normalized response cache of a client, if the client has one.
+ * Mutations always go to the server, and their results are written to the cache.
+ */
+public enum CachePolicy {
+    /**
+     * Answer the query from the cache, if all of its fields are cached and not expired;
+     * otherwise send it to the server and write the result to the cache.
+     */
+    CACHE_FIRST,
+
+    /**
+     * Always send the query to the server, and write the result to the cache.
+     */
+    NETWORK_ONLY,
+
+    /**
+     * Answer the query from the cache, if all of its fields are cached, even if some of them are expired;
+     * in that case, also send it to the server in the background, to refresh the cache.
+     * If some fields are not cached, send the query to the server, like {@link #CACHE_FIRST}.
+     */
+    STALE_WHILE_REVALIDATE;
+
+    /**
+     * @param value the name (case-insensitive), with underscores or dashes, e.g. <code>cache-first</code>
+     */
+    public static CachePolicy fromString(String value) {
+        String trimmed = value.trim().replace('-', '_');
+        for (CachePolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(trimmed)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache policy: " + value);
+    }
+}
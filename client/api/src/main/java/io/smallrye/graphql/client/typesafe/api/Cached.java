@@ -0,0 +1,33 @@
+package io.smallrye.graphql.client.typesafe.api;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import io.smallrye.graphql.client.CachePolicy;
+
+/**
+ * The {@link CachePolicy} of a query method, or of all query methods of a {@link GraphQLClientApi API} interface.
+ * Only applies if the client has a normalized response cache, e.g. configured with
+ * <code>CLIENT_NAME/mp-graphql/cacheMaxEntries</code>.
+ * <p>
+ * E.g.
+ *
+ * <pre>
+ * &#64;GraphQlClientApi
+ * interface CountriesApi {
+ *     &#64;Cached(CachePolicy.STALE_WHILE_REVALIDATE)
+ *     List&lt;Country&gt; countries();
+ * }
+ * </pre>
+ *
+ * An annotation on the method overrides the one on the interface, which overrides the configured policy.
+ */
+@Retention(RUNTIME)
+@Target({ TYPE, METHOD })
+public @interface Cached {
+    CachePolicy value() default CachePolicy.CACHE_FIRST;
+}
@@ -0,0 +1,47 @@
+package io.smallrye.graphql.client.vertx;
+
+import java.io.InputStream;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Reads the bytes of a {@link Buffer} without copying them into one array first, like {@link Buffer#getBytes()} does.
+ */
+public class BufferInputStream extends InputStream {
+    private final Buffer buffer;
+    private int position;
+
+    public BufferInputStream(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        return (position < buffer.length()) ? buffer.getByte(position++) & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0)
+            return 0;
+        int remaining = buffer.length() - position;
+        if (remaining <= 0)
+            return -1;
+        int count = Math.min(length, remaining);
+        buffer.getBytes(position, position + count, bytes, offset);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long count = Math.max(0, Math.min(n, buffer.length() - position));
+        position += (int) count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buffer.length() - position;
+    }
+}
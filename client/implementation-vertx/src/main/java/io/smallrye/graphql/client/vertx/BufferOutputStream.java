@@ -0,0 +1,26 @@
+package io.smallrye.graphql.client.vertx;
+
+import java.io.OutputStream;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Appends everything that is written to a {@link Buffer}, so it doesn't have to be copied from another array.
+ */
+public class BufferOutputStream extends OutputStream {
+    private final Buffer buffer;
+
+    public BufferOutputStream(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        buffer.appendBytes(bytes, offset, length);
+    }
+}
@@ -5,6 +5,7 @@ import java.security.KeyStore;
 import io.smallrye.graphql.client.impl.GraphQLClientConfiguration;
 import io.smallrye.graphql.client.vertx.ssl.SSLTools;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.ProxyOptions;
 
@@ -46,9 +47,59 @@ public class VertxClientOptionsHelper {
             options.setMaxRedirects(configuration.getMaxRedirects());
         }
 
+        applyTransportToVertxOptions(options, configuration);
+
         if (options.isSsl()) {
             // TODO: this is not supported yet
             options.setVerifyHost(false);
         }
     }
+
+    /**
+     * Applies the HTTP version and the connection pool settings, i.e. only those that are set. The clients' builders
+     * call this again with the values from their builder methods, so they take precedence over the configuration.
+     */
+    public static void applyTransportToVertxOptions(HttpClientOptions options, GraphQLClientConfiguration configuration) {
+        boolean priorKnowledge = Boolean.TRUE.equals(configuration.getHttp2PriorKnowledge());
+        if (priorKnowledge && Boolean.FALSE.equals(configuration.getHttp2())) {
+            throw new IllegalArgumentException("http2PriorKnowledge starts connections with HTTP/2, but http2 is false");
+        }
+        // prior knowledge is a way to talk HTTP/2, so it implies it
+        if (configuration.getHttp2() != null || priorKnowledge) {
+            if (priorKnowledge || configuration.getHttp2()) {
+                options.setProtocolVersion(HttpVersion.HTTP_2);
+                // for h2; plain connections use h2c, either with an upgrade request or with prior knowledge
+                options.setUseAlpn(true);
+            } else {
+                options.setProtocolVersion(HttpVersion.HTTP_1_1);
+            }
+        }
+        if (configuration.getHttp2PriorKnowledge() != null) {
+            options.setHttp2ClearTextUpgrade(!configuration.getHttp2PriorKnowledge());
+        }
+        if (configuration.getMaxPoolSize() != null) {
+            options.setMaxPoolSize(configuration.getMaxPoolSize());
+        }
+        if (configuration.getHttp2MaxPoolSize() != null) {
+            options.setHttp2MaxPoolSize(configuration.getHttp2MaxPoolSize());
+        }
+        if (configuration.getHttp2MultiplexingLimit() != null) {
+            options.setHttp2MultiplexingLimit(configuration.getHttp2MultiplexingLimit());
+        }
+        if (configuration.getPipelining() != null) {
+            options.setPipelining(configuration.getPipelining());
+        }
+        if (configuration.getPipeliningLimit() != null) {
+            options.setPipeliningLimit(configuration.getPipeliningLimit());
+        }
+        if (configuration.getKeepAlive() != null) {
+            options.setKeepAlive(configuration.getKeepAlive());
+        }
+        if (configuration.getKeepAliveTimeout() != null) {
+            options.setKeepAliveTimeout(configuration.getKeepAliveTimeout());
+        }
+        if (configuration.getIdleTimeout() != null) {
+            options.setIdleTimeout(configuration.getIdleTimeout());
+        }
+    }
 }
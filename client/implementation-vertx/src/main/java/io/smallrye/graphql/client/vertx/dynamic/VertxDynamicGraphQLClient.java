@@ -7,24 +7,38 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import jakarta.json.Json;
+import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
 
 import org.jboss.logging.Logger;
 
+import io.smallrye.graphql.client.CachePolicy;
 import io.smallrye.graphql.client.Request;
 import io.smallrye.graphql.client.Response;
 import io.smallrye.graphql.client.core.Document;
+import io.smallrye.graphql.client.core.FragmentOrOperation;
+import io.smallrye.graphql.client.core.Operation;
+import io.smallrye.graphql.client.core.OperationType;
 import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.graphql.client.impl.PersistedQueries;
 import io.smallrye.graphql.client.impl.RequestImpl;
 import io.smallrye.graphql.client.impl.ResponseReader;
+import io.smallrye.graphql.client.impl.cache.CacheableOperation;
+import io.smallrye.graphql.client.impl.cache.DocumentSelections;
+import io.smallrye.graphql.client.impl.cache.NormalizedCache;
 import io.smallrye.graphql.client.impl.discovery.ServiceURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StaticURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StorkServiceURLSupplier;
+import io.smallrye.graphql.client.impl.encoding.ResponseFormat;
+import io.smallrye.graphql.client.vertx.BufferInputStream;
 import io.smallrye.graphql.client.vertx.websocket.BuiltinWebsocketSubprotocolHandlers;
+import io.smallrye.graphql.client.vertx.websocket.SharedWebSocketConnections;
 import io.smallrye.graphql.client.vertx.websocket.WebSocketSubprotocolHandler;
 import io.smallrye.graphql.client.websocket.WebsocketSubprotocol;
 import io.smallrye.mutiny.Multi;
@@ -36,6 +50,8 @@ import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.WebSocket;
 import io.vertx.core.http.WebsocketVersion;
 import io.vertx.core.http.impl.headers.HeadersMultiMap;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 
@@ -43,6 +59,8 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     private static final Logger log = Logger.getLogger(VertxDynamicGraphQLClient.class);
 
+    private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+
     private final WebClient webClient;
     private final HttpClient httpClient;
 
@@ -56,6 +74,16 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
     private final List<WebsocketSubprotocol> subprotocols;
     private final Integer subscriptionInitializationTimeout;
     private final boolean allowUnexpectedResponseFields;
+    private final NormalizedCache cache;
+    private final CachePolicy cachePolicy;
+    private final PersistedQueries persistedQueryHashes = new PersistedQueries(1000);
+    private final boolean persistedQueriesGet;
+    private final Vertx vertx;
+    private final WebClientOptions options;
+    private final boolean sharedWebsocket;
+    private final int websocketMaxOperations;
+    // set to false when the server responds that it doesn't support persisted queries
+    private volatile boolean persistedQueries;
 
     // Do NOT use this field directly, always retrieve by calling `webSocketHandler()`.
     // When a websocket connection is required, then this is populated with a Uni
@@ -71,7 +99,9 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
             MultiMap headers, Map<String, Uni<String>> dynamicHeaders,
             Map<String, Object> initPayload, WebClientOptions options,
             List<WebsocketSubprotocol> subprotocols, Integer subscriptionInitializationTimeout,
-            boolean allowUnexpectedResponseFields) {
+            boolean allowUnexpectedResponseFields, NormalizedCache cache, CachePolicy cachePolicy,
+            boolean persistedQueries, boolean persistedQueriesGet, boolean sharedWebsocket,
+            int websocketMaxOperations) {
         if (options != null) {
             this.httpClient = vertx.createHttpClient(options);
         } else {
@@ -108,47 +138,55 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
         this.subprotocols = subprotocols;
         this.subscriptionInitializationTimeout = subscriptionInitializationTimeout;
         this.allowUnexpectedResponseFields = allowUnexpectedResponseFields;
+        this.cache = cache;
+        this.cachePolicy = cachePolicy;
+        this.persistedQueries = persistedQueries;
+        this.persistedQueriesGet = persistedQueriesGet;
+        this.vertx = vertx;
+        this.options = options;
+        this.sharedWebsocket = sharedWebsocket;
+        this.websocketMaxOperations = websocketMaxOperations;
     }
 
     @Override
     public Response executeSync(Document document) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, null).toJsonObject(), null);
+        return executeSync(document, buildRequest(document, null, null).toJsonObject(), cachePolicy, null);
     }
 
     public Response executeSync(Document document, MultiMap headers) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, null).toJsonObject(), headers);
+        return executeSync(document, buildRequest(document, null, null).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
     public Response executeSync(Document document, Map<String, Object> variables)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, null).toJsonObject(), null);
+        return executeSync(document, buildRequest(document, variables, null).toJsonObject(), cachePolicy, null);
     }
 
     public Response executeSync(Document document, Map<String, Object> variables, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, null).toJsonObject(), headers);
+        return executeSync(document, buildRequest(document, variables, null).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
     public Response executeSync(Document document, String operationName) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, operationName).toJsonObject(), null);
+        return executeSync(document, buildRequest(document, null, operationName).toJsonObject(), cachePolicy, null);
     }
 
     public Response executeSync(Document document, String operationName, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, operationName).toJsonObject(), headers);
+        return executeSync(document, buildRequest(document, null, operationName).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
     public Response executeSync(Document document, Map<String, Object> variables, String operationName)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, operationName).toJsonObject(), null);
+        return executeSync(document, buildRequest(document, variables, operationName).toJsonObject(), cachePolicy, null);
     }
 
     public Response executeSync(Document document, Map<String, Object> variables, String operationName, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, operationName).toJsonObject(), headers);
+        return executeSync(document, buildRequest(document, variables, operationName).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
@@ -200,7 +238,24 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
         return executeSync(buildRequest(query, variables, operationName).toJsonObject(), headers);
     }
 
+    /**
+     * Executes the document with this cache policy, instead of the configured one.
+     * Without a cache, it's the same as {@link #executeSync(Document, Map)}.
+     */
+    public Response executeSync(Document document, Map<String, Object> variables, CachePolicy cachePolicy)
+            throws ExecutionException, InterruptedException {
+        return executeSync(document, buildRequest(document, variables, null).toJsonObject(), cachePolicy, null);
+    }
+
     private Response executeSync(JsonObject json, MultiMap additionalHeaders) {
+        return executeSync(null, json, null, additionalHeaders);
+    }
+
+    /**
+     * @param document the document of the request, if the response may be cached
+     */
+    private Response executeSync(Document document, JsonObject json, CachePolicy cachePolicy,
+            MultiMap additionalHeaders) {
         if (executeSingleOperationsOverWebsocket) {
             return executeSingleResultOperationOverWebsocket(json).await().indefinitely();
         } else {
@@ -212,7 +267,7 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
             for (Map.Entry<String, Uni<String>> dynamicHeaderEntry : dynamicHeaders.entrySet()) {
                 allHeaders.add(dynamicHeaderEntry.getKey(), dynamicHeaderEntry.getValue().await().indefinitely());
             }
-            return executeSingleResultOperationOverHttp(json, allHeaders).await().indefinitely();
+            return executeSingleResultOperationOverHttp(document, json, cachePolicy, allHeaders).await().indefinitely();
         }
     }
 
@@ -226,39 +281,39 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     @Override
     public Uni<Response> executeAsync(Document document) {
-        return executeAsync(buildRequest(document, null, null).toJsonObject(), null);
+        return executeAsync(document, buildRequest(document, null, null).toJsonObject(), cachePolicy, null);
     }
 
     public Uni<Response> executeAsync(Document document, MultiMap headers) {
-        return executeAsync(buildRequest(document, null, null).toJsonObject(), headers);
+        return executeAsync(document, buildRequest(document, null, null).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables) {
-        return executeAsync(buildRequest(document, variables, null).toJsonObject(), null);
+        return executeAsync(document, buildRequest(document, variables, null).toJsonObject(), cachePolicy, null);
     }
 
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables, MultiMap headers) {
-        return executeAsync(buildRequest(document, variables, null).toJsonObject(), headers);
+        return executeAsync(document, buildRequest(document, variables, null).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
     public Uni<Response> executeAsync(Document document, String operationName) {
-        return executeAsync(buildRequest(document, null, operationName).toJsonObject(), null);
+        return executeAsync(document, buildRequest(document, null, operationName).toJsonObject(), cachePolicy, null);
     }
 
     public Uni<Response> executeAsync(Document document, String operationName, MultiMap headers) {
-        return executeAsync(buildRequest(document, null, operationName).toJsonObject(), headers);
+        return executeAsync(document, buildRequest(document, null, operationName).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables, String operationName) {
-        return executeAsync(buildRequest(document, variables, operationName));
+        return executeAsync(document, buildRequest(document, variables, operationName).toJsonObject(), cachePolicy, null);
     }
 
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables, String operationName,
             MultiMap headers) {
-        return executeAsync(buildRequest(document, variables, operationName).toJsonObject(), headers);
+        return executeAsync(document, buildRequest(document, variables, operationName).toJsonObject(), cachePolicy, headers);
     }
 
     @Override
@@ -306,7 +361,23 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
         return executeAsync(buildRequest(query, variables, operationName).toJsonObject(), headers);
     }
 
+    /**
+     * Executes the document with this cache policy, instead of the configured one.
+     * Without a cache, it's the same as {@link #executeAsync(Document, Map)}.
+     */
+    public Uni<Response> executeAsync(Document document, Map<String, Object> variables, CachePolicy cachePolicy) {
+        return executeAsync(document, buildRequest(document, variables, null).toJsonObject(), cachePolicy, null);
+    }
+
     private Uni<Response> executeAsync(JsonObject json, MultiMap additionalHeaders) {
+        return executeAsync(null, json, null, additionalHeaders);
+    }
+
+    /**
+     * @param document the document of the request, if the response may be cached
+     */
+    private Uni<Response> executeAsync(Document document, JsonObject json, CachePolicy cachePolicy,
+            MultiMap additionalHeaders) {
         if (executeSingleOperationsOverWebsocket) {
             return executeSingleResultOperationOverWebsocket(json);
         } else {
@@ -322,11 +393,11 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
                 }).replaceWithVoid());
             }
             if (unis.isEmpty()) {
-                return executeSingleResultOperationOverHttp(json, allHeaders);
+                return executeSingleResultOperationOverHttp(document, json, cachePolicy, allHeaders);
             } else {
                 return Uni.combine().all().unis(unis)
                         .combinedWith(f -> f).onItem()
-                        .transformToUni(f -> executeSingleResultOperationOverHttp(json, allHeaders));
+                        .transformToUni(f -> executeSingleResultOperationOverHttp(document, json, cachePolicy, allHeaders));
             }
         }
     }
@@ -397,6 +468,15 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     @Override
     public void close() {
+        if (sharedWebsocket) {
+            // release the shared connections; the own http client closes the own websocket connection
+            Uni<WebSocketSubprotocolHandler> handler = webSocketHandler.getAndSet(null);
+            if (handler != null) {
+                handler.subscribe().with(WebSocketSubprotocolHandler::close, failure -> {
+                    // there was no handler
+                });
+            }
+        }
         try {
             httpClient.close();
         } catch (Throwable t) {
@@ -411,7 +491,9 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     private Uni<WebSocketSubprotocolHandler> webSocketHandler() {
         return webSocketHandler.updateAndGet(currentValue -> {
-            if (currentValue == null) {
+            if (currentValue == null && sharedWebsocket) {
+                return sharedWebSocketHandler();
+            } else if (currentValue == null) {
                 // if we don't have a handler, create a new one
                 return Uni.createFrom().<WebSocketSubprotocolHandler> emitter(handlerEmitter -> {
                     List<String> subprotocolIds = subprotocols.stream().map(i -> i.getProtocolId()).collect(toList());
@@ -442,15 +524,138 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
         });
     }
 
-    private Uni<Response> executeSingleResultOperationOverHttp(JsonObject json, MultiMap allHeaders) {
+    /**
+     * The handler of the connections that are shared with the compatible clients. Unlike the own connection, it's kept
+     * until the client is closed, as the shared connections reconnect by themselves.
+     */
+    private Uni<WebSocketSubprotocolHandler> sharedWebSocketHandler() {
+        List<String> subprotocolIds = subprotocols.stream().map(i -> i.getProtocolId()).collect(toList());
+        return websocketUrl.get()
+                .onItem().<WebSocketSubprotocolHandler> transform(wsUrl -> SharedWebSocketConnections.getInstance()
+                        .acquire(vertx, options, wsUrl, headers, subprotocolIds, initPayload,
+                                subscriptionInitializationTimeout, websocketMaxOperations))
+                .onFailure().invoke(() -> webSocketHandler.set(null))
+                .memoize().indefinitely();
+    }
+
+    /**
+     * Answers the request from the cache, if there is one and the document can be cached, see {@link NormalizedCache}
+     */
+    private Uni<Response> executeSingleResultOperationOverHttp(Document document, JsonObject json,
+            CachePolicy cachePolicy, MultiMap allHeaders) {
+        boolean get = persistedQueriesGet && document != null && isQueriesOnly(document);
+        CacheableOperation operation = (cache == null || document == null) ? null
+                : DocumentSelections.of(document, json.getJsonObject("variables"), json.getString("operationName", null));
+        if (operation == null) {
+            return executeSingleResultOperationOverHttp(json, allHeaders, get);
+        }
+        return cache.execute(cachePolicy, operation, allHeaders,
+                () -> executeSingleResultOperationOverHttp(json, allHeaders, get),
+                data -> ResponseReader.readFrom(jsonObjectFactory.createObjectBuilder().add("data", data).build(),
+                        Collections.emptyMap(), null, null, allowUnexpectedResponseFields),
+                response -> response.hasError() ? null : response.getData());
+    }
+
+    private static boolean isQueriesOnly(Document document) {
+        for (FragmentOrOperation fragmentOrOperation : document.getOperations()) {
+            if (fragmentOrOperation instanceof Operation
+                    && ((Operation) fragmentOrOperation).getType() != OperationType.QUERY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * With persisted queries, only the hash of the query is sent first, and the whole request only if the server
+     * doesn't know the hash yet, see {@link PersistedQueries}.
+     *
+     * @param get send the request with only the hash with GET, so HTTP caches can serve it
+     */
+    private Uni<Response> executeSingleResultOperationOverHttp(JsonObject json, MultiMap allHeaders, boolean get) {
+        if (!persistedQueries || !json.containsKey("query")) {
+            return post(json, allHeaders);
+        }
+        String hash = persistedQueryHashes.hash(json.getString("query"));
+        return Uni.createFrom().completionStage(url.get().subscribeAsCompletionStage()
+                .thenCompose(instanceUrl -> sendHash(instanceUrl, json, hash, allHeaders, get)))
+                .onItem().transformToUni(response -> {
+                    String error = persistedQueryError(response);
+                    if (error == null) {
+                        return Uni.createFrom().item(readResponse(response));
+                    }
+                    if (PersistedQueries.NOT_SUPPORTED.equals(error)) {
+                        log.debug("the server doesn't support persisted queries, sending whole requests from now on");
+                        persistedQueries = false;
+                        return post(json, allHeaders);
+                    }
+                    // the server only registers the query, if it gets the hash with it
+                    return post(jsonObjectFactory.createObjectBuilder(json)
+                            .add("extensions", PersistedQueries.extensions(hash))
+                            .build(), allHeaders);
+                });
+    }
+
+    private CompletionStage<HttpResponse<Buffer>> sendHash(String instanceUrl, JsonObject json, String hash,
+            MultiMap allHeaders, boolean get) {
+        if (get) {
+            HttpRequest<Buffer> request = webClient.getAbs(instanceUrl)
+                    .putHeaders(allHeaders)
+                    .addQueryParam("extensions", PersistedQueries.extensions(hash).toString());
+            if (json.containsKey("operationName")) {
+                request.addQueryParam("operationName", json.getString("operationName"));
+            }
+            if (json.containsKey("variables")) {
+                request.addQueryParam("variables", json.get("variables").toString());
+            }
+            return request.send().toCompletionStage();
+        }
+        JsonObject hashed = jsonObjectFactory.createObjectBuilder(json)
+                .remove("query")
+                .add("extensions", PersistedQueries.extensions(hash))
+                .build();
+        return webClient.postAbs(instanceUrl)
+                .putHeaders(allHeaders)
+                .sendBuffer(Buffer.buffer(hashed.toString()))
+                .toCompletionStage();
+    }
+
+    private static String persistedQueryError(HttpResponse<Buffer> response) {
+        Buffer body = response.bodyAsBuffer();
+        if (body == null) {
+            return null;
+        }
+        ResponseFormat format = ResponseFormat.forContentType(response.getHeader("Content-Type"));
+        if (format.isBinary()) {
+            try {
+                return PersistedQueries.error(format.decode(body.getBytes()));
+            } catch (RuntimeException e) {
+                return null; // it's for the reader of the response to report
+            }
+        }
+        return PersistedQueries.error(new BufferInputStream(body));
+    }
+
+    private Uni<Response> post(JsonObject json, MultiMap allHeaders) {
         return Uni.createFrom().completionStage(
                 url.get().subscribeAsCompletionStage().thenCompose(instanceUrl -> webClient.postAbs(instanceUrl)
                         .putHeaders(allHeaders)
                         .sendBuffer(Buffer.buffer(json.toString()))
                         .toCompletionStage()))
-                .map(response -> ResponseReader.readFrom(response.bodyAsString(),
-                        convertHeaders(response.headers()), response.statusCode(), response.statusMessage(),
-                        allowUnexpectedResponseFields));
+                .map(this::readResponse);
+    }
+
+    private Response readResponse(HttpResponse<Buffer> response) {
+        ResponseFormat format = ResponseFormat.forContentType(response.getHeader("Content-Type"));
+        if (format.isBinary()) {
+            Buffer body = response.bodyAsBuffer();
+            return ResponseReader.readFrom(format.decode(body == null ? null : body.getBytes()),
+                    convertHeaders(response.headers()), response.statusCode(), response.statusMessage(),
+                    allowUnexpectedResponseFields);
+        }
+        return ResponseReader.readFrom(response.bodyAsString(),
+                convertHeaders(response.headers()), response.statusCode(), response.statusMessage(),
+                allowUnexpectedResponseFields);
     }
 
     private Uni<Response> executeSingleResultOperationOverWebsocket(JsonObject json) {
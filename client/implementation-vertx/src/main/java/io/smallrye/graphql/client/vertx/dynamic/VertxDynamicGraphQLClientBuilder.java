@@ -4,12 +4,15 @@ import java.util.*;
 
 import org.jboss.logging.Logger;
 
+import io.smallrye.graphql.client.CachePolicy;
 import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
 import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClientBuilder;
 import io.smallrye.graphql.client.impl.ErrorMessageProvider;
 import io.smallrye.graphql.client.impl.GraphQLClientConfiguration;
 import io.smallrye.graphql.client.impl.GraphQLClientsConfiguration;
 import io.smallrye.graphql.client.impl.SmallRyeGraphQLClientMessages;
+import io.smallrye.graphql.client.impl.cache.NormalizedCache;
+import io.smallrye.graphql.client.impl.encoding.ResponseFormat;
 import io.smallrye.graphql.client.vertx.VertxClientOptionsHelper;
 import io.smallrye.graphql.client.vertx.VertxManager;
 import io.smallrye.graphql.client.websocket.WebsocketSubprotocol;
@@ -40,6 +43,15 @@ public class VertxDynamicGraphQLClientBuilder implements DynamicGraphQLClientBui
     private List<WebsocketSubprotocol> subprotocols;
     private Integer subscriptionInitializationTimeout;
     private Boolean allowUnexpectedResponseFields;
+    private ResponseFormat responseFormat;
+    private NormalizedCache cache;
+    private CachePolicy cachePolicy;
+    private Boolean persistedQueries;
+    private Boolean persistedQueriesGet;
+    private Boolean sharedWebsocket;
+    private Integer websocketMaxOperations;
+    /** The HTTP version and connection pool settings of the builder methods, applied after the configuration */
+    private final GraphQLClientConfiguration transport = new GraphQLClientConfiguration();
 
     public VertxDynamicGraphQLClientBuilder() {
         headersMap = new HeadersMultiMap();
@@ -95,6 +107,148 @@ public class VertxDynamicGraphQLClientBuilder implements DynamicGraphQLClientBui
         return this;
     }
 
+    /**
+     * Ask the server to encode responses in a binary format instead of JSON. Requests are still sent as JSON.
+     */
+    public VertxDynamicGraphQLClientBuilder responseFormat(ResponseFormat responseFormat) {
+        this.responseFormat = responseFormat;
+        return this;
+    }
+
+    /**
+     * Keep the responses of queries built as a {@link io.smallrye.graphql.client.core.Document} in this normalized
+     * cache. Configured caches are shared by all clients with the same configuration key.
+     */
+    public VertxDynamicGraphQLClientBuilder cache(NormalizedCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * The policy of the queries, if there is a {@link #cache(NormalizedCache) cache}.
+     */
+    public VertxDynamicGraphQLClientBuilder cachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        return this;
+    }
+
+    /**
+     * Send only the hash of a query first, and the whole query only if the server doesn't know the hash yet
+     * (automatic persisted queries)
+     */
+    public VertxDynamicGraphQLClientBuilder persistedQueries(boolean persistedQueries) {
+        this.persistedQueries = persistedQueries;
+        return this;
+    }
+
+    /**
+     * Send the queries of {@link io.smallrye.graphql.client.core.Document}s with only the hash with GET, so HTTP
+     * caches can serve them. Mutations and queries from strings are always sent with POST.
+     */
+    public VertxDynamicGraphQLClientBuilder persistedQueriesGet(boolean persistedQueriesGet) {
+        this.persistedQueriesGet = persistedQueriesGet;
+        return this;
+    }
+
+    /**
+     * Share the websocket connections with all other clients with the same websocket URL, headers, subprotocols and
+     * init payload, instead of opening an own connection, see
+     * {@link io.smallrye.graphql.client.vertx.websocket.SharedWebSocketConnections}.
+     */
+    public VertxDynamicGraphQLClientBuilder sharedWebsocket(boolean sharedWebsocket) {
+        this.sharedWebsocket = sharedWebsocket;
+        return this;
+    }
+
+    /**
+     * The maximum number of operations on one shared websocket connection, or 0 for no limit.
+     */
+    public VertxDynamicGraphQLClientBuilder websocketMaxOperations(int websocketMaxOperations) {
+        this.websocketMaxOperations = websocketMaxOperations;
+        return this;
+    }
+
+    /**
+     * Talk HTTP/2 to the server: h2 negotiated with ALPN over TLS, or h2c over plain connections.
+     */
+    public VertxDynamicGraphQLClientBuilder http2(boolean http2) {
+        transport.setHttp2(http2);
+        return this;
+    }
+
+    /**
+     * Start h2c connections with HTTP/2 right away, instead of upgrading an HTTP/1.1 request first. Only for
+     * servers that are known to talk HTTP/2, e.g. within a cluster. Implies {@link #http2(boolean) http2}.
+     */
+    public VertxDynamicGraphQLClientBuilder http2PriorKnowledge(boolean http2PriorKnowledge) {
+        transport.setHttp2PriorKnowledge(http2PriorKnowledge);
+        return this;
+    }
+
+    /**
+     * The maximum number of HTTP/1.x connections to each server.
+     */
+    public VertxDynamicGraphQLClientBuilder maxPoolSize(int maxPoolSize) {
+        transport.setMaxPoolSize(maxPoolSize);
+        return this;
+    }
+
+    /**
+     * The maximum number of HTTP/2 connections to each server.
+     */
+    public VertxDynamicGraphQLClientBuilder http2MaxPoolSize(int http2MaxPoolSize) {
+        transport.setHttp2MaxPoolSize(http2MaxPoolSize);
+        return this;
+    }
+
+    /**
+     * The maximum number of concurrent requests on one HTTP/2 connection, or -1 to use the limit of the server.
+     */
+    public VertxDynamicGraphQLClientBuilder http2MultiplexingLimit(int http2MultiplexingLimit) {
+        transport.setHttp2MultiplexingLimit(http2MultiplexingLimit);
+        return this;
+    }
+
+    /**
+     * Pipeline HTTP/1.1 requests on the connections.
+     */
+    public VertxDynamicGraphQLClientBuilder pipelining(boolean pipelining) {
+        transport.setPipelining(pipelining);
+        return this;
+    }
+
+    /**
+     * The maximum number of pipelined requests on one HTTP/1.1 connection.
+     */
+    public VertxDynamicGraphQLClientBuilder pipeliningLimit(int pipeliningLimit) {
+        transport.setPipeliningLimit(pipeliningLimit);
+        return this;
+    }
+
+    /**
+     * If false, HTTP/1.x connections are closed after each request.
+     */
+    public VertxDynamicGraphQLClientBuilder keepAlive(boolean keepAlive) {
+        transport.setKeepAlive(keepAlive);
+        return this;
+    }
+
+    /**
+     * How long, in seconds, an unused HTTP/1.x connection is kept in the pool.
+     */
+    public VertxDynamicGraphQLClientBuilder keepAliveTimeout(int keepAliveTimeout) {
+        transport.setKeepAliveTimeout(keepAliveTimeout);
+        return this;
+    }
+
+    /**
+     * How long, in seconds, a connection may be idle before it is closed, or 0 to never close it.
+     */
+    public VertxDynamicGraphQLClientBuilder idleTimeout(int idleTimeout) {
+        transport.setIdleTimeout(idleTimeout);
+        return this;
+    }
+
     @Override
     public DynamicGraphQLClientBuilder websocketInitializationTimeout(Integer timeoutInMilliseconds) {
         this.subscriptionInitializationTimeout = timeoutInMilliseconds;
@@ -136,6 +290,7 @@ public class VertxDynamicGraphQLClientBuilder implements DynamicGraphQLClientBui
                 applyConfig(persistentConfig);
             }
         }
+        VertxClientOptionsHelper.applyTransportToVertxOptions(options, transport);
         if (url == null) {
             if (configKey == null) {
                 throw SmallRyeGraphQLClientMessages.msg.urlNotConfiguredForProgrammaticClient();
@@ -156,9 +311,28 @@ public class VertxDynamicGraphQLClientBuilder implements DynamicGraphQLClientBui
         if (allowUnexpectedResponseFields == null) {
             allowUnexpectedResponseFields = false;
         }
+        if (cachePolicy == null) {
+            cachePolicy = CachePolicy.CACHE_FIRST;
+        }
+        if (persistedQueries == null) {
+            persistedQueries = false;
+        }
+        if (persistedQueriesGet == null) {
+            persistedQueriesGet = false;
+        }
+        if (sharedWebsocket == null) {
+            sharedWebsocket = false;
+        }
+        if (websocketMaxOperations == null) {
+            websocketMaxOperations = 100;
+        }
+        if (responseFormat != null && !headersMap.contains("Accept")) {
+            headersMap.set("Accept", responseFormat.getAcceptHeader());
+        }
         return new VertxDynamicGraphQLClient(toUseVertx, webClient, url, websocketUrl,
                 executeSingleOperationsOverWebsocket, headersMap, dynamicHeaders, initPayload, options, subprotocols,
-                subscriptionInitializationTimeout, allowUnexpectedResponseFields);
+                subscriptionInitializationTimeout, allowUnexpectedResponseFields, cache, cachePolicy,
+                persistedQueries, persistedQueriesGet, sharedWebsocket, websocketMaxOperations);
     }
 
     /**
@@ -206,6 +380,35 @@ public class VertxDynamicGraphQLClientBuilder implements DynamicGraphQLClientBui
         if (allowUnexpectedResponseFields == null && configuration.getAllowUnexpectedResponseFields() != null) {
             this.allowUnexpectedResponseFields = configuration.getAllowUnexpectedResponseFields();
         }
+        if (cache == null) {
+            this.cache = NormalizedCache.forClient(configKey, configuration);
+        }
+        if (cachePolicy == null && configuration.getCachePolicy() != null) {
+            try {
+                this.cachePolicy = CachePolicy.fromString(configuration.getCachePolicy());
+            } catch (IllegalArgumentException e) {
+                log.warn(e);
+            }
+        }
+        if (persistedQueries == null && configuration.getPersistedQueries() != null) {
+            this.persistedQueries = configuration.getPersistedQueries();
+        }
+        if (persistedQueriesGet == null && configuration.getPersistedQueriesGet() != null) {
+            this.persistedQueriesGet = configuration.getPersistedQueriesGet();
+        }
+        if (sharedWebsocket == null && configuration.getSharedWebsocket() != null) {
+            this.sharedWebsocket = configuration.getSharedWebsocket();
+        }
+        if (websocketMaxOperations == null && configuration.getWebsocketMaxOperations() != null) {
+            this.websocketMaxOperations = configuration.getWebsocketMaxOperations();
+        }
+        if (responseFormat == null && configuration.getResponseFormat() != null) {
+            try {
+                this.responseFormat = ResponseFormat.fromString(configuration.getResponseFormat());
+            } catch (IllegalArgumentException e) {
+                log.warn(e);
+            }
+        }
 
         VertxClientOptionsHelper.applyConfigToVertxOptions(options, configuration);
     }
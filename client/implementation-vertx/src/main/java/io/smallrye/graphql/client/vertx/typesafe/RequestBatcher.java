@@ -0,0 +1,343 @@
+package io.smallrye.graphql.client.vertx.typesafe;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.graphql.client.core.OperationType;
+import io.smallrye.graphql.client.impl.encoding.ResponseFormat;
+import io.smallrye.graphql.client.impl.typesafe.QueryBuilder;
+import io.smallrye.graphql.client.impl.typesafe.RequestWriter;
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.vertx.BufferInputStream;
+import io.smallrye.graphql.client.vertx.BufferOutputStream;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+
+/**
+ * Collects the queries of a typesafe client that are called within a short window, and sends them together:
+ * <ul>
+ * <li>Identical queries with the same headers are only sent once, also while one of them is in flight. All callers
+ * read the same response.</li>
+ * <li>Distinct queries with the same headers are merged into one document, with an alias for each root field and a
+ * prefix for each variable. Each caller reads its own slice of the response.</li>
+ * </ul>
+ * A batch is sent when the window is over, or as soon as it has the maximum number of queries.
+ * Mutations are never batched, as they may not be merged or skipped.
+ * If a merged request fails as a whole, e.g. with an HTTP error or without any data, its queries are sent again one by
+ * one, so a caller never gets the error of another query.
+ */
+class RequestBatcher {
+
+    private static final Logger log = Logger.getLogger(RequestBatcher.class);
+
+    private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
+
+    private static final String OPERATION_NAME = "batch";
+
+    private final Duration window;
+    private final int maxSize;
+    /** Select the <code>__typename</code> of all objects, like the queries that are sent alone */
+    private final boolean typename;
+    private final Sender sender;
+
+    private final ConcurrentMap<List<Object>, Uni<Result>> inFlight = new ConcurrentHashMap<>();
+    /** The variable declarations and the aliased root field of a method, at an index of a merged request */
+    private final ConcurrentMap<String, String[]> mergedParts = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private final Map<Map<String, List<String>>, Batch> open = new HashMap<>();
+
+    RequestBatcher(Duration window, int maxSize, boolean typename, Sender sender) {
+        this.window = window;
+        this.maxSize = maxSize;
+        this.typename = typename;
+        this.sender = sender;
+    }
+
+    boolean accepts(MethodInvocation method) {
+        return method.getOperationType() == OperationType.QUERY;
+    }
+
+    /**
+     * @param request the request of this method alone
+     * @param headers all headers, including the dynamic ones. Only queries with the same headers are sent together.
+     */
+    Uni<Result> submit(MethodInvocation method, Buffer request, MultiMap headers) {
+        Map<String, List<String>> headersKey = headersKey(headers);
+        List<Object> key = List.of(headersKey, request);
+        return Uni.createFrom().deferred(() -> inFlight.computeIfAbsent(key, k -> Uni.createFrom()
+                .<Result> emitter(emitter -> add(headersKey, new Operation(method, request, headers, emitter)))
+                .onTermination().invoke(() -> inFlight.remove(k))
+                .memoize().indefinitely()));
+    }
+
+    private void add(Map<String, List<String>> headersKey, Operation operation) {
+        Batch full = null;
+        synchronized (this) {
+            Batch batch = open.computeIfAbsent(headersKey, k -> new Batch(k, operation.headers));
+            batch.operations.add(operation);
+            if (batch.operations.size() >= maxSize) {
+                open.remove(headersKey);
+                full = batch;
+            } else if (batch.operations.size() == 1) {
+                batch.timer = Uni.createFrom().item(batch).onItem().delayIt().by(window)
+                        .subscribe().with(this::flush);
+            }
+        }
+        if (full != null) {
+            if (full.timer != null) {
+                full.timer.cancel();
+            }
+            send(full);
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (!open.remove(batch.key, batch)) {
+                return; // it was full, so it's already sent
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        List<Operation> mergeable = new ArrayList<>();
+        for (Operation operation : batch.operations) {
+            if (operation.method.isSingle()) {
+                mergeable.add(operation);
+            } else {
+                sendAlone(operation); // the root fields are the fields of the return type, so they can't be aliased
+            }
+        }
+        if (mergeable.size() == 1) {
+            sendAlone(mergeable.get(0));
+        } else if (mergeable.size() > 1) {
+            sendMerged(mergeable, batch.headers);
+        }
+    }
+
+    private void sendAlone(Operation operation) {
+        sender.send(operation.method, operation.request, operation.headers)
+                .subscribe().with(
+                        response -> operation.emitter.complete(new Result(response, null)),
+                        operation.emitter::fail);
+    }
+
+    private void sendMerged(List<Operation> operations, MultiMap headers) {
+        Buffer request = mergedRequest(operations);
+        sender.send(null, request, headers)
+                .subscribe().with(
+                        response -> split(operations, response),
+                        failure -> operations.forEach(operation -> operation.emitter.fail(failure)));
+    }
+
+    private Buffer mergedRequest(List<Operation> operations) {
+        StringBuilder declarations = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < operations.size(); i++) {
+            String[] parts = mergedParts(operations.get(i).method, i);
+            if (!parts[0].isEmpty()) {
+                if (declarations.length() > 0) {
+                    declarations.append(", ");
+                }
+                declarations.append(parts[0]);
+            }
+            fields.append(" ").append(parts[1]);
+        }
+        String query = "query " + OPERATION_NAME
+                + ((declarations.length() == 0) ? "" : "(" + declarations + ")")
+                + " {" + fields + " }";
+
+        Buffer buffer = Buffer.buffer();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(new BufferOutputStream(buffer),
+                StandardCharsets.UTF_8)) {
+            generator.writeStartObject();
+            generator.write("query", query);
+            generator.writeStartObject("variables");
+            for (int i = 0; i < operations.size(); i++) {
+                RequestWriter.writeVariables(generator, operations.get(i).method, prefix(i));
+            }
+            generator.writeEnd();
+            generator.write("operationName", OPERATION_NAME);
+            generator.writeEnd();
+        }
+        log.tracef("merged %d queries into the graphql request: %s", operations.size(), buffer);
+        return buffer;
+    }
+
+    private String[] mergedParts(MethodInvocation method, int index) {
+        return mergedParts.computeIfAbsent(index + "#" + method.getKey(), key -> {
+            QueryBuilder queryBuilder = new QueryBuilder(method, prefix(index));
+            if (typename) {
+                queryBuilder.withTypename();
+            }
+            return new String[] { queryBuilder.variableDeclarations(), queryBuilder.rootField(alias(index)) };
+        });
+    }
+
+    private void split(List<Operation> operations, HttpResponse<Buffer> response) {
+        JsonObject merged = parse(response);
+        if (merged == null || !(merged.get("data") instanceof JsonObject)) {
+            log.debugf("the merged request failed as a whole, sending its %d queries one by one", operations.size());
+            operations.forEach(this::sendAlone);
+            return;
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            try {
+                operation.emitter.complete(new Result(response, slice(merged, alias(i), operation.method.getName())));
+            } catch (RuntimeException e) {
+                operation.emitter.fail(e);
+            }
+        }
+    }
+
+    private static JsonObject parse(HttpResponse<Buffer> response) {
+        Buffer body = response.body();
+        if (response.statusCode() / 100 != 2 || body == null) {
+            return null;
+        }
+        try {
+            ResponseFormat format = ResponseFormat.forContentType(response.getHeader("Content-Type"));
+            if (format.isBinary()) {
+                return format.decode(body.getBytes());
+            }
+            try (JsonReader reader = Json.createReader(new BufferInputStream(body))) {
+                return reader.readObject();
+            }
+        } catch (RuntimeException e) {
+            log.tracef(e, "can't parse the response of a merged request");
+            return null;
+        }
+    }
+
+    /**
+     * The response of one query: its field of the merged data under its own name, the errors with a path into this
+     * field (and those without a path), and all extensions
+     */
+    private static JsonObject slice(JsonObject merged, String alias, String name) {
+        JsonObjectBuilder data = jsonObjectFactory.createObjectBuilder();
+        JsonValue value = merged.getJsonObject("data").get(alias);
+        if (value != null) {
+            data.add(name, value);
+        }
+        JsonObjectBuilder slice = jsonObjectFactory.createObjectBuilder().add("data", data);
+        JsonArray errors = errors(merged.get("errors"), alias, name);
+        if (!errors.isEmpty()) {
+            slice.add("errors", errors);
+        }
+        if (merged.containsKey("extensions")) {
+            slice.add("extensions", merged.get("extensions"));
+        }
+        return slice.build();
+    }
+
+    private static JsonArray errors(JsonValue mergedErrors, String alias, String name) {
+        JsonArrayBuilder errors = jsonObjectFactory.createArrayBuilder();
+        if (!(mergedErrors instanceof JsonArray)) {
+            return errors.build();
+        }
+        for (JsonValue error : (JsonArray) mergedErrors) {
+            JsonValue path = (error instanceof JsonObject) ? ((JsonObject) error).get("path") : null;
+            if (!(path instanceof JsonArray) || ((JsonArray) path).isEmpty()) {
+                errors.add(error);
+            } else if (((JsonArray) path).get(0) instanceof JsonString
+                    && alias.equals(((JsonArray) path).getString(0))) {
+                errors.add(jsonObjectFactory.createObjectBuilder((JsonObject) error)
+                        .add("path", jsonObjectFactory.createArrayBuilder((JsonArray) path).set(0, name)));
+            }
+        }
+        return errors.build();
+    }
+
+    private static String alias(int index) {
+        return "_" + index;
+    }
+
+    private static String prefix(int index) {
+        return "_" + index + "_";
+    }
+
+    private static Map<String, List<String>> headersKey(MultiMap headers) {
+        return headers.entries().stream()
+                .collect(groupingBy(Map.Entry::getKey,
+                        mapping(Map.Entry::getValue, toList())));
+    }
+
+    interface Sender {
+        /**
+         * @param method the method of the request, or null if it's a merged request
+         */
+        Uni<HttpResponse<Buffer>> send(MethodInvocation method, Buffer request, MultiMap headers);
+    }
+
+    /**
+     * The response to one query: the whole HTTP response, and, if the query was merged with others, its slice
+     */
+    static class Result {
+        final HttpResponse<Buffer> response;
+        /** null, if the query was sent alone */
+        final JsonObject slice;
+
+        private Result(HttpResponse<Buffer> response, JsonObject slice) {
+            this.response = response;
+            this.slice = slice;
+        }
+    }
+
+    private static class Operation {
+        private final MethodInvocation method;
+        private final Buffer request;
+        private final MultiMap headers;
+        private final UniEmitter<? super Result> emitter;
+
+        private Operation(MethodInvocation method, Buffer request, MultiMap headers, UniEmitter<? super Result> emitter) {
+            this.method = method;
+            this.request = request;
+            this.headers = headers;
+            this.emitter = emitter;
+        }
+    }
+
+    private static class Batch {
+        private final Map<String, List<String>> key;
+        private final MultiMap headers;
+        private final List<Operation> operations = new ArrayList<>();
+        private Cancellable timer;
+
+        private Batch(Map<String, List<String>> key, MultiMap headers) {
+            this.key = key;
+            this.headers = headers;
+        }
+    }
+}
@@ -14,9 +14,12 @@ import java.util.Map;
 
 import org.jboss.logging.Logger;
 
+import io.smallrye.graphql.client.CachePolicy;
 import io.smallrye.graphql.client.impl.ErrorMessageProvider;
 import io.smallrye.graphql.client.impl.GraphQLClientConfiguration;
 import io.smallrye.graphql.client.impl.GraphQLClientsConfiguration;
+import io.smallrye.graphql.client.impl.cache.NormalizedCache;
+import io.smallrye.graphql.client.impl.encoding.ResponseFormat;
 import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
 import io.smallrye.graphql.client.model.ClientModel;
 import io.smallrye.graphql.client.model.ClientModels;
@@ -50,6 +53,18 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
     private HttpClient httpClient;
     private Integer websocketInitializationTimeout;
     private Boolean allowUnexpectedResponseFields;
+    private ResponseFormat responseFormat;
+    private Boolean streamResponses;
+    private Integer batchWindow;
+    private Integer batchMaxSize;
+    private NormalizedCache cache;
+    private CachePolicy cachePolicy;
+    private Boolean persistedQueries;
+    private Boolean persistedQueriesGet;
+    private Boolean sharedWebsocket;
+    private Integer websocketMaxOperations;
+    /** The HTTP version and connection pool settings of the builder methods, applied after the configuration */
+    private final GraphQLClientConfiguration transport = new GraphQLClientConfiguration();
     private ClientModels clientModels;
 
     public VertxTypesafeGraphQLClientBuilder() {
@@ -137,6 +152,175 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         return this;
     }
 
+    /**
+     * Ask the server to encode responses in a binary format instead of JSON. Requests are still sent as JSON.
+     */
+    public VertxTypesafeGraphQLClientBuilder responseFormat(ResponseFormat responseFormat) {
+        this.responseFormat = responseFormat;
+        return this;
+    }
+
+    /**
+     * Read JSON responses straight from the bytes into the domain objects, instead of building a String and a tree of
+     * the whole response first. Responses with errors are still read as a tree.
+     */
+    public VertxTypesafeGraphQLClientBuilder streamResponses(boolean streamResponses) {
+        this.streamResponses = streamResponses;
+        return this;
+    }
+
+    /**
+     * Collect the queries that are called over HTTP within this number of milliseconds and send them together:
+     * identical queries only once, and distinct queries merged into one document. Mutations are never batched.
+     */
+    public VertxTypesafeGraphQLClientBuilder batchWindow(int milliseconds) {
+        this.batchWindow = milliseconds;
+        return this;
+    }
+
+    /**
+     * The maximum number of distinct queries that are sent together, if there is a {@link #batchWindow(int)}.
+     * A full batch is sent right away.
+     */
+    public VertxTypesafeGraphQLClientBuilder batchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+        return this;
+    }
+
+    /**
+     * Keep the responses in this normalized cache. Configured caches are shared by all clients with the same
+     * configuration key, see {@link NormalizedCache#forClient(String)}.
+     */
+    public VertxTypesafeGraphQLClientBuilder cache(NormalizedCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * The policy of the queries, if there is a {@link #cache(NormalizedCache) cache} and the method or API interface
+     * has no {@link io.smallrye.graphql.client.typesafe.api.Cached @Cached} annotation.
+     */
+    public VertxTypesafeGraphQLClientBuilder cachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        return this;
+    }
+
+    /**
+     * Send only the hash of a query first, and the whole query only if the server doesn't know the hash yet
+     * (automatic persisted queries)
+     */
+    public VertxTypesafeGraphQLClientBuilder persistedQueries(boolean persistedQueries) {
+        this.persistedQueries = persistedQueries;
+        return this;
+    }
+
+    /**
+     * Send the queries with only the hash with GET, so HTTP caches can serve them. Mutations are always sent with POST.
+     */
+    public VertxTypesafeGraphQLClientBuilder persistedQueriesGet(boolean persistedQueriesGet) {
+        this.persistedQueriesGet = persistedQueriesGet;
+        return this;
+    }
+
+    /**
+     * Share the websocket connections with all other clients with the same websocket URL, headers, subprotocols and
+     * init payload, instead of opening an own connection, see
+     * {@link io.smallrye.graphql.client.vertx.websocket.SharedWebSocketConnections}.
+     */
+    public VertxTypesafeGraphQLClientBuilder sharedWebsocket(boolean sharedWebsocket) {
+        this.sharedWebsocket = sharedWebsocket;
+        return this;
+    }
+
+    /**
+     * The maximum number of operations on one shared websocket connection, or 0 for no limit.
+     */
+    public VertxTypesafeGraphQLClientBuilder websocketMaxOperations(int websocketMaxOperations) {
+        this.websocketMaxOperations = websocketMaxOperations;
+        return this;
+    }
+
+    /**
+     * Talk HTTP/2 to the server: h2 negotiated with ALPN over TLS, or h2c over plain connections.
+     */
+    public VertxTypesafeGraphQLClientBuilder http2(boolean http2) {
+        transport.setHttp2(http2);
+        return this;
+    }
+
+    /**
+     * Start h2c connections with HTTP/2 right away, instead of upgrading an HTTP/1.1 request first. Only for
+     * servers that are known to talk HTTP/2, e.g. within a cluster. Implies {@link #http2(boolean) http2}.
+     */
+    public VertxTypesafeGraphQLClientBuilder http2PriorKnowledge(boolean http2PriorKnowledge) {
+        transport.setHttp2PriorKnowledge(http2PriorKnowledge);
+        return this;
+    }
+
+    /**
+     * The maximum number of HTTP/1.x connections to each server.
+     */
+    public VertxTypesafeGraphQLClientBuilder maxPoolSize(int maxPoolSize) {
+        transport.setMaxPoolSize(maxPoolSize);
+        return this;
+    }
+
+    /**
+     * The maximum number of HTTP/2 connections to each server.
+     */
+    public VertxTypesafeGraphQLClientBuilder http2MaxPoolSize(int http2MaxPoolSize) {
+        transport.setHttp2MaxPoolSize(http2MaxPoolSize);
+        return this;
+    }
+
+    /**
+     * The maximum number of concurrent requests on one HTTP/2 connection, or -1 to use the limit of the server.
+     */
+    public VertxTypesafeGraphQLClientBuilder http2MultiplexingLimit(int http2MultiplexingLimit) {
+        transport.setHttp2MultiplexingLimit(http2MultiplexingLimit);
+        return this;
+    }
+
+    /**
+     * Pipeline HTTP/1.1 requests on the connections.
+     */
+    public VertxTypesafeGraphQLClientBuilder pipelining(boolean pipelining) {
+        transport.setPipelining(pipelining);
+        return this;
+    }
+
+    /**
+     * The maximum number of pipelined requests on one HTTP/1.1 connection.
+     */
+    public VertxTypesafeGraphQLClientBuilder pipeliningLimit(int pipeliningLimit) {
+        transport.setPipeliningLimit(pipeliningLimit);
+        return this;
+    }
+
+    /**
+     * If false, HTTP/1.x connections are closed after each request.
+     */
+    public VertxTypesafeGraphQLClientBuilder keepAlive(boolean keepAlive) {
+        transport.setKeepAlive(keepAlive);
+        return this;
+    }
+
+    /**
+     * How long, in seconds, an unused HTTP/1.x connection is kept in the pool.
+     */
+    public VertxTypesafeGraphQLClientBuilder keepAliveTimeout(int keepAliveTimeout) {
+        transport.setKeepAliveTimeout(keepAliveTimeout);
+        return this;
+    }
+
+    /**
+     * How long, in seconds, a connection may be idle before it is closed, or 0 to never close it.
+     */
+    public VertxTypesafeGraphQLClientBuilder idleTimeout(int idleTimeout) {
+        transport.setIdleTimeout(idleTimeout);
+        return this;
+    }
+
     @Override
     public VertxTypesafeGraphQLClientBuilder websocketInitializationTimeout(Integer timeoutInMilliseconds) {
         this.websocketInitializationTimeout = timeoutInMilliseconds;
@@ -153,6 +337,7 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         }
 
         applyConfigFor(apiClass);
+        VertxClientOptionsHelper.applyTransportToVertxOptions(options, transport);
 
         if (endpoint == null) {
             throw ErrorMessageProvider.get().urlMissingErrorForNamedClient(configKey);
@@ -171,9 +356,35 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         if (allowUnexpectedResponseFields == null) {
             allowUnexpectedResponseFields = false;
         }
+        if (streamResponses == null) {
+            streamResponses = false;
+        }
+        if (batchMaxSize == null) {
+            batchMaxSize = 10;
+        }
+        if (cachePolicy == null) {
+            cachePolicy = CachePolicy.CACHE_FIRST;
+        }
+        if (persistedQueries == null) {
+            persistedQueries = false;
+        }
+        if (persistedQueriesGet == null) {
+            persistedQueriesGet = false;
+        }
+        if (sharedWebsocket == null) {
+            sharedWebsocket = false;
+        }
+        if (websocketMaxOperations == null) {
+            websocketMaxOperations = 100;
+        }
         if (dynamicHeaders == null) {
             dynamicHeaders = new HashMap<>();
         }
+        if (responseFormat != null) {
+            // copy, as the headers might come from the shared configuration
+            headers = (headers == null) ? new LinkedHashMap<>() : new LinkedHashMap<>(headers);
+            headers.putIfAbsent("Accept", responseFormat.getAcceptHeader());
+        }
 
         ClientModel clientModel = null;
         if (clientModels != null) {
@@ -185,7 +396,9 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
                 endpoint,
                 websocketUrl, executeSingleOperationsOverWebsocket, httpClient, webClient, subprotocols,
                 websocketInitializationTimeout,
-                allowUnexpectedResponseFields);
+                allowUnexpectedResponseFields, streamResponses, batchWindow, batchMaxSize,
+                cache, cachePolicy, persistedQueries, persistedQueriesGet,
+                vertx(), options, sharedWebsocket, websocketMaxOperations);
 
         return apiClass.cast(Proxy.newProxyInstance(getClassLoader(apiClass), new Class<?>[] { apiClass },
                 (proxy, method, args) -> invoke(graphQLClient, method, args)));
@@ -266,6 +479,44 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         if (allowUnexpectedResponseFields == null && configuration.getAllowUnexpectedResponseFields() != null) {
             this.allowUnexpectedResponseFields = configuration.getAllowUnexpectedResponseFields();
         }
+        if (streamResponses == null && configuration.getStreamResponses() != null) {
+            this.streamResponses = configuration.getStreamResponses();
+        }
+        if (batchWindow == null && configuration.getBatchWindow() != null) {
+            this.batchWindow = configuration.getBatchWindow();
+        }
+        if (batchMaxSize == null && configuration.getBatchMaxSize() != null) {
+            this.batchMaxSize = configuration.getBatchMaxSize();
+        }
+        if (cache == null) {
+            this.cache = NormalizedCache.forClient(configKey, configuration);
+        }
+        if (cachePolicy == null && configuration.getCachePolicy() != null) {
+            try {
+                this.cachePolicy = CachePolicy.fromString(configuration.getCachePolicy());
+            } catch (IllegalArgumentException e) {
+                log.warn(e);
+            }
+        }
+        if (persistedQueries == null && configuration.getPersistedQueries() != null) {
+            this.persistedQueries = configuration.getPersistedQueries();
+        }
+        if (persistedQueriesGet == null && configuration.getPersistedQueriesGet() != null) {
+            this.persistedQueriesGet = configuration.getPersistedQueriesGet();
+        }
+        if (sharedWebsocket == null && configuration.getSharedWebsocket() != null) {
+            this.sharedWebsocket = configuration.getSharedWebsocket();
+        }
+        if (websocketMaxOperations == null && configuration.getWebsocketMaxOperations() != null) {
+            this.websocketMaxOperations = configuration.getWebsocketMaxOperations();
+        }
+        if (responseFormat == null && configuration.getResponseFormat() != null) {
+            try {
+                this.responseFormat = ResponseFormat.fromString(configuration.getResponseFormat());
+            } catch (IllegalArgumentException e) {
+                log.warn(e);
+            }
+        }
 
         if (configuration.getWebsocketSubprotocols() != null) {
             configuration.getWebsocketSubprotocols().forEach(protocol -> {
@@ -3,57 +3,61 @@ package io.smallrye.graphql.client.vertx.typesafe;
 import static java.util.stream.Collectors.*;
 import static java.util.stream.Collectors.toList;
 
-import java.lang.reflect.Array;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Collection;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.OptionalDouble;
-import java.util.OptionalInt;
-import java.util.OptionalLong;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Stream;
 
 import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
-import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 
 import org.jboss.logging.Logger;
 
+import io.smallrye.graphql.client.CachePolicy;
 import io.smallrye.graphql.client.InvalidResponseException;
+import io.smallrye.graphql.client.core.OperationType;
+import io.smallrye.graphql.client.impl.PersistedQueries;
+import io.smallrye.graphql.client.impl.ResponseReader;
+import io.smallrye.graphql.client.impl.cache.NormalizedCache;
 import io.smallrye.graphql.client.impl.discovery.ServiceURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StaticURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StorkServiceURLSupplier;
+import io.smallrye.graphql.client.impl.encoding.ResponseFormat;
 import io.smallrye.graphql.client.impl.typesafe.HeaderBuilder;
+import io.smallrye.graphql.client.impl.typesafe.HeaderTemplate;
+import io.smallrye.graphql.client.impl.typesafe.JsonTreeGenerator;
 import io.smallrye.graphql.client.impl.typesafe.QueryBuilder;
+import io.smallrye.graphql.client.impl.typesafe.RequestWriter;
 import io.smallrye.graphql.client.impl.typesafe.ResultBuilder;
-import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
+import io.smallrye.graphql.client.impl.typesafe.SelectionBuilder;
+import io.smallrye.graphql.client.impl.typesafe.StreamingResultBuilder;
 import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
-import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
 import io.smallrye.graphql.client.model.ClientModel;
+import io.smallrye.graphql.client.typesafe.api.Cached;
+import io.smallrye.graphql.client.vertx.BufferInputStream;
+import io.smallrye.graphql.client.vertx.BufferOutputStream;
 import io.smallrye.graphql.client.vertx.websocket.BuiltinWebsocketSubprotocolHandlers;
+import io.smallrye.graphql.client.vertx.websocket.SharedWebSocketConnections;
 import io.smallrye.graphql.client.vertx.websocket.WebSocketSubprotocolHandler;
 import io.smallrye.graphql.client.websocket.WebsocketSubprotocol;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.WebSocket;
 import io.vertx.core.http.WebsocketVersion;
 import io.vertx.core.http.impl.headers.HeadersMultiMap;
@@ -65,8 +69,14 @@ class VertxTypesafeGraphQLClientProxy {
     private static final Logger log = Logger.getLogger(VertxTypesafeGraphQLClientProxy.class);
 
     private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
 
     private final ConcurrentMap<String, String> queryCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CachePolicy> cachePolicies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> queryHashes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HeaderTemplate> headerTemplates = new ConcurrentHashMap<>();
+    // the headers of the methods with only constant headers; they are shared by all invocations, so don't modify them
+    private final ConcurrentMap<String, MultiMap> constantHeaders = new ConcurrentHashMap<>();
 
     private final Map<String, String> additionalHeaders;
     private final Map<String, Uni<String>> dynamicHeaders;
@@ -81,6 +91,17 @@ class VertxTypesafeGraphQLClientProxy {
     private final ClientModel clientModel;
     private final boolean executeSingleOperationsOverWebsocket;
     private final boolean allowUnexpectedResponseFields;
+    private final boolean streamResponses;
+    private final RequestBatcher batcher;
+    private final NormalizedCache cache;
+    private final CachePolicy cachePolicy;
+    private final boolean persistedQueriesGet;
+    private final Vertx vertx;
+    private final HttpClientOptions options;
+    private final boolean sharedWebsocket;
+    private final int websocketMaxOperations;
+    // set to false when the server responds that it doesn't support persisted queries
+    private volatile boolean persistedQueries;
 
     // Do NOT use this field directly, always retrieve by calling `webSocketHandler()`.
     // When a websocket connection is required, then this is populated with a Uni
@@ -104,7 +125,18 @@ class VertxTypesafeGraphQLClientProxy {
             WebClient webClient,
             List<WebsocketSubprotocol> subprotocols,
             Integer subscriptionInitializationTimeout,
-            boolean allowUnexpectedResponseFields) {
+            boolean allowUnexpectedResponseFields,
+            boolean streamResponses,
+            Integer batchWindow,
+            int batchMaxSize,
+            NormalizedCache cache,
+            CachePolicy cachePolicy,
+            boolean persistedQueries,
+            boolean persistedQueriesGet,
+            Vertx vertx,
+            HttpClientOptions options,
+            boolean sharedWebsocket,
+            int websocketMaxOperations) {
         this.api = api;
         this.clientModel = clientModel;
         this.additionalHeaders = additionalHeaders;
@@ -134,6 +166,21 @@ class VertxTypesafeGraphQLClientProxy {
         this.subprotocols = subprotocols;
         this.subscriptionInitializationTimeout = subscriptionInitializationTimeout;
         this.allowUnexpectedResponseFields = allowUnexpectedResponseFields;
+        this.streamResponses = streamResponses;
+        this.cache = cache;
+        this.cachePolicy = cachePolicy;
+        this.persistedQueries = persistedQueries;
+        this.persistedQueriesGet = persistedQueriesGet;
+        this.vertx = vertx;
+        this.options = options;
+        this.sharedWebsocket = sharedWebsocket;
+        this.websocketMaxOperations = websocketMaxOperations;
+        if (batchWindow != null && batchWindow > 0) {
+            this.batcher = new RequestBatcher(Duration.ofMillis(batchWindow), batchMaxSize, cache != null,
+                    this::send);
+        } else {
+            this.batcher = null;
+        }
     }
 
     Object invoke(MethodInvocation method) {
@@ -141,46 +188,72 @@ class VertxTypesafeGraphQLClientProxy {
             return method.invoke(this);
         }
 
-        MultiMap headers = HeadersMultiMap.headers()
-                .addAll(new HeaderBuilder(api, method, additionalHeaders).build());
-        JsonObject request = request(method);
+        MultiMap headers = headers(method);
 
         if (method.getReturnType().isUni()) {
             if (executeSingleOperationsOverWebsocket) {
-                return executeSingleResultOperationOverWebsocket(method, request);
+                return executeSingleResultOperationOverWebsocket(method, request(method));
             } else {
-                return executeSingleResultOperationOverHttpAsync(method, request, headers);
+                return executeSingleResultOperationOverHttpAsync(method, requestBuffer(method), headers);
             }
         } else if (method.getReturnType().isMulti()) {
-            return executeSubscriptionOverWebsocket(method, request);
+            return executeSubscriptionOverWebsocket(method, request(method));
         } else {
             if (executeSingleOperationsOverWebsocket) {
-                return executeSingleResultOperationOverWebsocket(method, request).await().indefinitely();
+                return executeSingleResultOperationOverWebsocket(method, request(method)).await().indefinitely();
             } else {
-                return executeSingleResultOperationOverHttpSync(method, request, headers);
+                return executeSingleResultOperationOverHttpSync(method, requestBuffer(method), headers);
             }
         }
     }
 
-    private Object executeSingleResultOperationOverHttpSync(MethodInvocation method, JsonObject request, MultiMap headers) {
-        MultiMap allHeaders = new HeadersMultiMap();
-        allHeaders.addAll(headers);
-        // obtain values of dynamic headers and add them to the request
-        for (Map.Entry<String, Uni<String>> dynamicHeaderEntry : dynamicHeaders.entrySet()) {
-            allHeaders.add(dynamicHeaderEntry.getKey(), dynamicHeaderEntry.getValue().await().indefinitely());
+    /**
+     * The headers of this invocation. The annotations and the configuration are only resolved once per method, see
+     * {@link HeaderTemplate}; and if all headers of the method are constant, they are only put into a map once.
+     */
+    private MultiMap headers(MethodInvocation method) {
+        HeaderTemplate template = headerTemplates.computeIfAbsent(method.getKey(),
+                key -> new HeaderBuilder(api, method, additionalHeaders).template());
+        if (template.isConstant()) {
+            return constantHeaders.computeIfAbsent(method.getKey(),
+                    key -> HeadersMultiMap.headers().addAll(template.build(method)));
+        }
+        return HeadersMultiMap.headers().addAll(template.build(method));
+    }
+
+    private Object executeSingleResultOperationOverHttpSync(MethodInvocation method, Buffer request, MultiMap headers) {
+        MultiMap allHeaders = headers;
+        if (!dynamicHeaders.isEmpty()) {
+            // copy, as the headers may be shared by other invocations
+            allHeaders = new HeadersMultiMap();
+            allHeaders.addAll(headers);
+            // obtain values of dynamic headers and add them to the request
+            for (Map.Entry<String, Uni<String>> dynamicHeaderEntry : dynamicHeaders.entrySet()) {
+                allHeaders.add(dynamicHeaderEntry.getKey(), dynamicHeaderEntry.getValue().await().indefinitely());
+            }
+        }
+        if (cache != null) {
+            return postAsyncAndRead(method, request, allHeaders).await().indefinitely();
+        }
+        if (batcher != null && batcher.accepts(method)) {
+            return readResult(method, batcher.submit(method, request, allHeaders).await().indefinitely(), allHeaders);
         }
-        HttpResponse<Buffer> response = postSync(request.toString(), allHeaders);
+        HttpResponse<Buffer> response = persistedQueries
+                ? send(method, request, allHeaders).await().indefinitely()
+                : postSync(request, allHeaders);
         if (log.isTraceEnabled() && response != null) {
             log.tracef("response graphql: %s", response.bodyAsString());
         }
-        return new ResultBuilder(method, response.bodyAsString(),
-                response.statusCode(), response.statusMessage(), convertHeaders(allHeaders),
-                allowUnexpectedResponseFields).read();
+        return readResult(method, response, allHeaders);
     }
 
-    private Uni<Object> executeSingleResultOperationOverHttpAsync(MethodInvocation method, JsonObject request,
+    private Uni<Object> executeSingleResultOperationOverHttpAsync(MethodInvocation method, Buffer request,
             MultiMap headers) {
+        if (dynamicHeaders.isEmpty()) {
+            return postAsyncAndRead(method, request, headers);
+        }
         List<Uni<Void>> unis = new ArrayList<>();
+        // copy, as the headers may be shared by other invocations
         MultiMap allHeaders = new HeadersMultiMap();
         allHeaders.addAll(headers);
         // obtain values of dynamic headers and add them to the request
@@ -189,21 +262,98 @@ class VertxTypesafeGraphQLClientProxy {
                 allHeaders.add(stringUniEntry.getKey(), headerValue);
             }).replaceWithVoid());
         }
-        if (unis.isEmpty()) {
-            return Uni.createFrom().completionStage(postAsync(request.toString(), allHeaders))
-                    .map(response -> new ResultBuilder(method, response.bodyAsString(),
-                            response.statusCode(), response.statusMessage(), convertHeaders(allHeaders),
+        // when all dynamic headers have been obtained, proceed with the request
+        return Uni.combine().all().unis(unis)
+                .combinedWith(f -> f)
+                .onItem().transformToUni(g -> postAsyncAndRead(method, request, allHeaders));
+    }
+
+    private Uni<Object> postAsyncAndRead(MethodInvocation method, Buffer request, MultiMap allHeaders) {
+        if (cache != null) {
+            return cache.execute(cachePolicy(method), new SelectionBuilder(method).build(), allHeaders,
+                    () -> postAsyncForJson(method, request, allHeaders),
+                    data -> jsonObjectFactory.createObjectBuilder().add("data", data).build(),
+                    response -> (response.containsKey("errors") || !(response.get("data") instanceof JsonObject))
+                            ? null
+                            : response.getJsonObject("data"))
+                    .map(response -> new ResultBuilder(method, response, null, null, convertHeaders(allHeaders),
                             allowUnexpectedResponseFields).read());
-        } else {
-            // when all dynamic headers have been obtained, proceed with the request
-            return Uni.combine().all().unis(unis)
-                    .combinedWith(f -> f)
-                    .onItem().transformToUni(g -> Uni.createFrom()
-                            .completionStage(postAsync(request.toString(), allHeaders))
-                            .map(response -> new ResultBuilder(method, response.bodyAsString(),
-                                    response.statusCode(), response.statusMessage(), convertHeaders(allHeaders),
-                                    allowUnexpectedResponseFields).read()));
         }
+        if (batcher != null && batcher.accepts(method)) {
+            return batcher.submit(method, request, allHeaders)
+                    .map(result -> readResult(method, result, allHeaders));
+        }
+        return send(method, request, allHeaders)
+                .map(response -> readResult(method, response, allHeaders));
+    }
+
+    /**
+     * The whole response as JSON, so the cache can store its data
+     */
+    private Uni<JsonObject> postAsyncForJson(MethodInvocation method, Buffer request, MultiMap allHeaders) {
+        if (batcher != null && batcher.accepts(method)) {
+            return batcher.submit(method, request, allHeaders)
+                    .map(result -> (result.slice != null) ? result.slice : parseResponse(result.response));
+        }
+        return send(method, request, allHeaders)
+                .map(this::parseResponse);
+    }
+
+    private JsonObject parseResponse(HttpResponse<Buffer> response) {
+        ResponseFormat format = ResponseFormat.forContentType(response.getHeader("Content-Type"));
+        Buffer body = response.bodyAsBuffer();
+        JsonObject json = format.isBinary()
+                ? ResponseReader.parseGraphQLResponse(format.decode(body == null ? null : body.getBytes()),
+                        allowUnexpectedResponseFields)
+                : ResponseReader.parseGraphQLResponse(response.bodyAsString(), allowUnexpectedResponseFields);
+        if (json == null) {
+            throw new InvalidResponseException(
+                    "Unexpected response. Code=" + response.statusCode() + ", message=\"" + response.statusMessage()
+                            + "\", body=\"" + response.bodyAsString() + "\"");
+        }
+        return json;
+    }
+
+    /**
+     * The policy of the {@link Cached} annotation on the method or the API interface, or the configured one
+     */
+    private CachePolicy cachePolicy(MethodInvocation method) {
+        return cachePolicies.computeIfAbsent(method.getKey(), key -> method.getResolvedAnnotations(api, Cached.class)
+                // getResolvedAnnotations returns class-level annotations first, then method-level annotations
+                .reduce((first, second) -> second)
+                .map(Cached::value)
+                .orElse(cachePolicy));
+    }
+
+    private Object readResult(MethodInvocation method, RequestBatcher.Result result, MultiMap allHeaders) {
+        if (result.slice == null) {
+            return readResult(method, result.response, allHeaders);
+        }
+        return new ResultBuilder(method, result.slice,
+                result.response.statusCode(), result.response.statusMessage(), convertHeaders(allHeaders),
+                allowUnexpectedResponseFields).read();
+    }
+
+    private Object readResult(MethodInvocation method, HttpResponse<Buffer> response, MultiMap allHeaders) {
+        ResponseFormat format = ResponseFormat.forContentType(response.getHeader("Content-Type"));
+        Map<String, List<String>> transportMeta = convertHeaders(allHeaders);
+        Buffer body = response.bodyAsBuffer();
+        if (format.isBinary()) {
+            return new ResultBuilder(method, format.decode(body == null ? null : body.getBytes()),
+                    response.statusCode(), response.statusMessage(), transportMeta,
+                    allowUnexpectedResponseFields).read();
+        }
+        if (streamResponses && body != null) {
+            // read from the bytes of the buffer, without copying them
+            return new StreamingResultBuilder(method, () -> new BufferInputStream(body), transportMeta,
+                    () -> new ResultBuilder(method, response.bodyAsString(),
+                            response.statusCode(), response.statusMessage(), transportMeta,
+                            allowUnexpectedResponseFields))
+                    .read();
+        }
+        return new ResultBuilder(method, response.bodyAsString(),
+                response.statusCode(), response.statusMessage(), transportMeta,
+                allowUnexpectedResponseFields).read();
     }
 
     private Map<String, List<String>> convertHeaders(MultiMap input) {
@@ -269,7 +419,9 @@ class VertxTypesafeGraphQLClientProxy {
 
     private Uni<WebSocketSubprotocolHandler> webSocketHandler() {
         return webSocketHandler.updateAndGet(currentValue -> {
-            if (currentValue == null) {
+            if (currentValue == null && sharedWebsocket) {
+                return sharedWebSocketHandler();
+            } else if (currentValue == null) {
                 return Uni.createFrom().<WebSocketSubprotocolHandler> emitter(handlerEmitter -> {
                     List<String> subprotocolIds = subprotocols.stream().map(i -> i.getProtocolId()).collect(toList());
                     MultiMap headers = HeadersMultiMap.headers()
@@ -299,165 +451,149 @@ class VertxTypesafeGraphQLClientProxy {
         });
     }
 
-    private JsonObject request(MethodInvocation method) {
-        JsonObjectBuilder request = jsonObjectFactory.createObjectBuilder();
-        String query;
-        if (clientModel == null) {
-            query = queryCache.computeIfAbsent(method.getKey(), key -> new QueryBuilder(method).build());
-        } else {
-            query = clientModel.getOperationMap().get(method.getMethodKey());
-        }
-        request.add("query", query);
-        request.add("variables", variables(method));
-        request.add("operationName", method.getName());
-        JsonObject result = request.build();
-        log.tracef("full graphql request: %s", result.toString());
-        return result;
+    /**
+     * The handler of the connections that are shared with the compatible clients. Unlike the own connection, it's kept
+     * until the client is closed, as the shared connections reconnect by themselves.
+     */
+    private Uni<WebSocketSubprotocolHandler> sharedWebSocketHandler() {
+        List<String> subprotocolIds = subprotocols.stream().map(i -> i.getProtocolId()).collect(toList());
+        MultiMap headers = HeadersMultiMap.headers().addAll(new HeaderBuilder(api, null, additionalHeaders).build());
+        return websocketUrl.get()
+                .onItem().<WebSocketSubprotocolHandler> transform(wsUrl -> SharedWebSocketConnections.getInstance()
+                        .acquire(vertx, options, wsUrl, headers, subprotocolIds, initPayload,
+                                subscriptionInitializationTimeout, websocketMaxOperations))
+                .onFailure().invoke(() -> webSocketHandler.set(null))
+                .memoize().indefinitely();
     }
 
-    private JsonObjectBuilder variables(MethodInvocation method) {
-        JsonObjectBuilder builder = jsonObjectFactory.createObjectBuilder();
-        method.valueParameters().forEach(parameter -> builder.add(parameter.getRawName(), value(parameter.getValue())));
-        return builder;
-    }
-
-    // TODO: the logic for serializing objects into JSON should probably be shared with server-side module
-    // through a common module. Also this is not vert.x specific, another reason to move it out of this module
-    private JsonValue value(Object value) {
-        if (value == null) {
-            return JsonValue.NULL;
-        }
-        TypeInfo type = TypeInfo.of(value.getClass());
-        if (type.isScalar()) {
-            return scalarValue(value);
-        }
-        if (type.isCollection()) {
-            return arrayValue(value);
-        }
-        if (type.isMap()) {
-            return mapValue(value);
-        }
-        return objectValue(value, type.fields());
-    }
-
-    private JsonValue scalarValue(Object value) {
-        if (value instanceof String) {
-            return Json.createValue((String) value);
-        }
-        if (value instanceof java.sql.Date) {
-            return Json.createValue(value.toString());
-        }
-        if (value instanceof Date) {
-            return Json.createValue(((Date) value).toInstant().toString());
-        }
-        if (value instanceof Calendar) {
-            return Json.createValue(((Calendar) value).toInstant().toString());
-        }
-        if (value instanceof Enum) {
-            return Json.createValue(((Enum<?>) value).name());
-        }
-        if (value instanceof Boolean) {
-            return ((Boolean) value) ? JsonValue.TRUE : JsonValue.FALSE;
-        }
-        if (value instanceof Byte) {
-            return Json.createValue((Byte) value);
-        }
-        if (value instanceof Short) {
-            return Json.createValue((Short) value);
-        }
-        if (value instanceof Integer) {
-            return Json.createValue((Integer) value);
-        }
-        if (value instanceof Long) {
-            return Json.createValue((Long) value);
-        }
-        if (value instanceof Double) {
-            return Json.createValue((Double) value);
-        }
-        if (value instanceof Float) {
-            return Json.createValue((Float) value);
+    private String query(MethodInvocation method) {
+        if (clientModel == null || cache != null) { // the client models don't select the __typename for the cache
+            return queryCache.computeIfAbsent(method.getKey(), key -> (cache == null)
+                    ? new QueryBuilder(method).build()
+                    : new QueryBuilder(method).withTypename().build());
         }
-        if (value instanceof BigInteger) {
-            return Json.createValue((BigInteger) value);
-        }
-        if (value instanceof BigDecimal) {
-            return Json.createValue((BigDecimal) value);
-        }
-        if (value instanceof OptionalInt) {
-            OptionalInt optionalValue = ((OptionalInt) value);
-            return ((optionalValue.isPresent()) ? Json.createValue(optionalValue.getAsInt()) : JsonValue.NULL);
-        }
-        if (value instanceof OptionalLong) {
-            OptionalLong optionalValue = ((OptionalLong) value);
-            return ((optionalValue.isPresent()) ? Json.createValue(optionalValue.getAsLong()) : JsonValue.NULL);
-        }
-        if (value instanceof OptionalDouble) {
-            OptionalDouble optionalValue = ((OptionalDouble) value);
-            return ((optionalValue.isPresent()) ? Json.createValue(optionalValue.getAsDouble()) : JsonValue.NULL);
-        }
-        return Json.createValue(value.toString());
+        return clientModel.getOperationMap().get(method.getMethodKey());
     }
 
-    private JsonArray arrayValue(Object value) {
-        JsonArrayBuilder array = jsonObjectFactory.createArrayBuilder();
-        values(value).forEach(item -> array.add(value(item)));
-        return array.build();
+    /**
+     * The request as a buffer, to send it over HTTP. It's written straight into the buffer, see {@link RequestWriter}.
+     */
+    private Buffer requestBuffer(MethodInvocation method) {
+        return requestBuffer(method, null);
     }
 
-    private JsonArray mapValue(Object value) {
-        Map<?, ?> map = (Map<?, ?>) value;
-        JsonArrayBuilder array = jsonObjectFactory.createArrayBuilder();
-        map.forEach((k, v) -> {
-            JsonObjectBuilder entryBuilder = jsonObjectFactory.createObjectBuilder();
-            entryBuilder.add("key", value(k));
-            entryBuilder.add("value", value(v));
-            array.add(entryBuilder.build());
-        });
-        return array.build();
+    /**
+     * The whole request, with the hash of the query if it's not null, so the server can register the persisted query
+     */
+    private Buffer requestBuffer(MethodInvocation method, String persistedQueryHash) {
+        Buffer buffer = Buffer.buffer();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(new BufferOutputStream(buffer),
+                StandardCharsets.UTF_8)) {
+            RequestWriter.write(generator, query(method), method, persistedQueryHash);
+        }
+        log.tracef("full graphql request: %s", buffer);
+        return buffer;
     }
 
-    private Collection<?> values(Object value) {
-        return value.getClass().isArray() ? array(value) : (Collection<?>) value;
+    /**
+     * The request as a JSON object, for the websocket subprotocol handlers. The {@link RequestWriter} builds it as a
+     * tree, so the variables are the same as over HTTP.
+     */
+    private JsonObject request(MethodInvocation method) {
+        JsonTreeGenerator generator = new JsonTreeGenerator();
+        RequestWriter.write(generator, query(method), method);
+        JsonObject request = generator.getResult().asJsonObject();
+        log.tracef("full graphql request: %s", request);
+        return request;
     }
 
-    private List<Object> array(Object value) {
-        if (value.getClass().getComponentType().isPrimitive()) {
-            return primitiveArray(value);
-        }
-        return Arrays.asList((Object[]) value);
+    /**
+     * Sends the request of this method. With persisted queries, only the hash of the query is sent first, and the
+     * whole request only if the server doesn't know the hash yet, see {@link PersistedQueries}.
+     *
+     * @param method the method of the request, or null if it's a merged request of the {@link RequestBatcher}
+     * @param request the whole request
+     */
+    private Uni<HttpResponse<Buffer>> send(MethodInvocation method, Buffer request, MultiMap headers) {
+        if (method == null || !persistedQueries) {
+            return Uni.createFrom().completionStage(() -> postAsync(request, headers));
+        }
+        String hash = queryHashes.computeIfAbsent(method.getKey(), key -> PersistedQueries.sha256(query(method)));
+        return Uni.createFrom().completionStage(() -> sendHash(method, hash, headers))
+                .onItem().transformToUni(response -> {
+                    String error = persistedQueryError(response);
+                    if (error == null) {
+                        return Uni.createFrom().item(response);
+                    }
+                    if (PersistedQueries.NOT_SUPPORTED.equals(error)) {
+                        log.debug("the server doesn't support persisted queries, sending whole requests from now on");
+                        persistedQueries = false;
+                        return Uni.createFrom().completionStage(() -> postAsync(request, headers));
+                    }
+                    // the server only registers the query, if it gets the hash with it
+                    return Uni.createFrom().completionStage(() -> postAsync(requestBuffer(method, hash), headers));
+                });
     }
 
-    private List<Object> primitiveArray(Object value) {
-        int length = Array.getLength(value);
-        List<Object> out = new ArrayList<>(length);
-        for (int i = 0; i < length; i++) {
-            out.add(Array.get(value, i));
-        }
-        return out;
+    /**
+     * Sends the request with only the hash of the query; queries with GET, if configured, so HTTP caches can serve
+     * them
+     */
+    private CompletionStage<HttpResponse<Buffer>> sendHash(MethodInvocation method, String hash, MultiMap headers) {
+        if (persistedQueriesGet && method.getOperationType() == OperationType.QUERY) {
+            Buffer variables = Buffer.buffer();
+            try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(new BufferOutputStream(variables),
+                    StandardCharsets.UTF_8)) {
+                generator.writeStartObject();
+                RequestWriter.writeVariables(generator, method, "");
+                generator.writeEnd();
+            }
+            return endpoint.get().subscribeAsCompletionStage()
+                    .thenCompose(url -> webClient.getAbs(url)
+                            .putHeaders(headers)
+                            .addQueryParam("operationName", method.getName())
+                            .addQueryParam("variables", variables.toString())
+                            .addQueryParam("extensions", PersistedQueries.extensions(hash).toString())
+                            .send()
+                            .toCompletionStage());
+        }
+        Buffer buffer = Buffer.buffer();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(new BufferOutputStream(buffer),
+                StandardCharsets.UTF_8)) {
+            RequestWriter.write(generator, null, method, hash);
+        }
+        log.tracef("persisted graphql request: %s", buffer);
+        return postAsync(buffer, headers);
     }
 
-    private JsonObject objectValue(Object object, Stream<FieldInfo> fields) {
-        JsonObjectBuilder builder = jsonObjectFactory.createObjectBuilder();
-        fields.forEach(field -> {
-            if (field.isIncludeNull() || field.get(object) != null) {
-                builder.add(field.getName(), value(field.get(object)));
+    private static String persistedQueryError(HttpResponse<Buffer> response) {
+        Buffer body = response.bodyAsBuffer();
+        if (body == null) {
+            return null;
+        }
+        ResponseFormat format = ResponseFormat.forContentType(response.getHeader("Content-Type"));
+        if (format.isBinary()) {
+            try {
+                return PersistedQueries.error(format.decode(body.getBytes()));
+            } catch (RuntimeException e) {
+                return null; // it's for the reader of the response to report
             }
-        });
-        return builder.build();
+        }
+        return PersistedQueries.error(new BufferInputStream(body));
     }
 
-    private CompletionStage<HttpResponse<Buffer>> postAsync(String request, MultiMap headers) {
+    private CompletionStage<HttpResponse<Buffer>> postAsync(Buffer request, MultiMap headers) {
         return endpoint.get().subscribeAsCompletionStage()
                 .thenCompose(url -> webClient.postAbs(url)
                         .putHeaders(headers)
-                        .sendBuffer(Buffer.buffer(request))
+                        .sendBuffer(request)
                         .toCompletionStage());
     }
 
-    private HttpResponse<Buffer> postSync(String request, MultiMap headers) {
+    private HttpResponse<Buffer> postSync(Buffer request, MultiMap headers) {
         Future<HttpResponse<Buffer>> future = webClient.postAbs(endpoint.get().await().indefinitely())
                 .putHeaders(headers)
-                .sendBuffer(Buffer.buffer(request));
+                .sendBuffer(request);
         try {
             return future.toCompletionStage().toCompletableFuture().get();
         } catch (InterruptedException | ExecutionException e) {
@@ -466,6 +602,15 @@ class VertxTypesafeGraphQLClientProxy {
     }
 
     void close() {
+        if (sharedWebsocket) {
+            // release the shared connections; the own http client closes the own websocket connection
+            Uni<WebSocketSubprotocolHandler> handler = webSocketHandler.getAndSet(null);
+            if (handler != null) {
+                handler.subscribe().with(WebSocketSubprotocolHandler::close, failure -> {
+                    // there was no handler
+                });
+            }
+        }
         try {
             httpClient.close();
         } catch (Throwable t) {
@@ -0,0 +1,411 @@
+package io.smallrye.graphql.client.vertx.websocket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import jakarta.json.JsonObject;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.graphql.client.UnexpectedCloseException;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.http.WebsocketVersion;
+import io.vertx.core.http.impl.headers.HeadersMultiMap;
+
+/**
+ * Websocket connections that are shared by all clients with the same websocket URL, headers, subprotocols, init
+ * payload and HTTP client options, instead of every client opening its own connection. The operations of all those
+ * clients are multiplexed over the connections of one pool: one connection, or more if the number of operations on a
+ * connection reaches the limit. Additional connections are closed again when they have no more operations.
+ * <p>
+ * A client {@link #acquire acquires} a {@link SharedWebSocketHandler}, and closes it when the client is closed; the
+ * last client that closes it also closes the connections. If a connection is lost, it is reconnected and the
+ * subscriptions on it are started again. Single-result operations fail, as they might not be idempotent.
+ */
+public class SharedWebSocketConnections {
+    private static final Logger log = Logger.getLogger(SharedWebSocketConnections.class);
+
+    private static final SharedWebSocketConnections INSTANCE = new SharedWebSocketConnections();
+
+    /** Milliseconds to wait before the first attempt to reconnect; the delay doubles with every failed attempt */
+    private static final long RECONNECT_DELAY = 200;
+    private static final long MAX_RECONNECT_DELAY = 10_000;
+    private static final int MAX_RECONNECT_ATTEMPTS = 10;
+
+    private final Map<Key, Pool> pools = new HashMap<>();
+
+    public static SharedWebSocketConnections getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The handler for the operations of one client, over the connections shared with all compatible clients.
+     *
+     * @param maxOperations the maximum number of operations on one connection, or 0 for no limit
+     */
+    public synchronized SharedWebSocketHandler acquire(Vertx vertx, HttpClientOptions options, String url,
+            MultiMap headers, List<String> subprotocols, Map<String, Object> initPayload,
+            Integer initializationTimeout, int maxOperations) {
+        Key key = new Key(vertx, options, url, headers, subprotocols, initPayload, initializationTimeout, maxOperations);
+        Pool pool = pools.computeIfAbsent(key,
+                k -> new Pool(k, vertx, options, url, headers, subprotocols, initPayload, initializationTimeout,
+                        maxOperations));
+        pool.references++;
+        return new SharedWebSocketHandler(pool);
+    }
+
+    synchronized void release(Pool pool) {
+        if (--pool.references == 0) {
+            pools.remove(pool.key);
+            pool.close();
+        }
+    }
+
+    /** The clients that can share connections, i.e. everything that goes into opening and initializing one */
+    private static class Key {
+        private final Vertx vertx;
+        private final String options;
+        private final String url;
+        private final List<String> headers;
+        private final List<String> subprotocols;
+        private final Map<String, Object> initPayload;
+        private final Integer initializationTimeout;
+        private final int maxOperations;
+
+        private Key(Vertx vertx, HttpClientOptions options, String url, MultiMap headers, List<String> subprotocols,
+                Map<String, Object> initPayload, Integer initializationTimeout, int maxOperations) {
+            this.vertx = vertx;
+            this.options = (options == null) ? "" : options.toJson().encode();
+            this.url = url;
+            this.headers = (headers == null) ? List.of()
+                    : headers.entries().stream()
+                            .map(header -> header.getKey().toLowerCase() + ": " + header.getValue())
+                            .sorted()
+                            .collect(Collectors.toList());
+            this.subprotocols = List.copyOf(subprotocols);
+            this.initPayload = (initPayload == null) ? Map.of() : new HashMap<>(initPayload);
+            this.initializationTimeout = initializationTimeout;
+            this.maxOperations = maxOperations;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            Key that = (Key) o;
+            return vertx == that.vertx
+                    && options.equals(that.options)
+                    && url.equals(that.url)
+                    && headers.equals(that.headers)
+                    && subprotocols.equals(that.subprotocols)
+                    && initPayload.equals(that.initPayload)
+                    && Objects.equals(initializationTimeout, that.initializationTimeout)
+                    && maxOperations == that.maxOperations;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(vertx), options, url, headers, subprotocols, initPayload,
+                    initializationTimeout, maxOperations);
+        }
+    }
+
+    /** The connections of the clients with the same {@link Key}; they have their own http client */
+    class Pool {
+        private final Key key;
+        private final Vertx vertx;
+        private final HttpClientOptions options;
+        private final String url;
+        private final MultiMap headers;
+        private final List<String> subprotocols;
+        private final Map<String, Object> initPayload;
+        private final Integer initializationTimeout;
+        private final int maxOperations;
+        private final List<Connection> connections = new ArrayList<>();
+        private final AtomicLong operationIds = new AtomicLong();
+        private HttpClient httpClient;
+        private int references;
+
+        private Pool(Key key, Vertx vertx, HttpClientOptions options, String url, MultiMap headers,
+                List<String> subprotocols, Map<String, Object> initPayload, Integer initializationTimeout,
+                int maxOperations) {
+            this.key = key;
+            this.vertx = vertx;
+            this.options = (options == null) ? new HttpClientOptions() : new HttpClientOptions(options);
+            this.url = url;
+            this.headers = (headers == null) ? HeadersMultiMap.headers() : HeadersMultiMap.headers().addAll(headers);
+            this.subprotocols = List.copyOf(subprotocols);
+            this.initPayload = initPayload;
+            this.initializationTimeout = initializationTimeout;
+            this.maxOperations = maxOperations;
+        }
+
+        SharedWebSocketConnections registry() {
+            return SharedWebSocketConnections.this;
+        }
+
+        /** Adds the operation to the first connection with room for it, or to a new connection */
+        synchronized Operation add(SharedWebSocketHandler owner, JsonObject request, UniEmitter<? super String> uni,
+                MultiEmitter<? super String> multi) {
+            Connection connection = connections.stream()
+                    .filter(candidate -> maxOperations <= 0 || candidate.operations.size() < maxOperations)
+                    .findFirst()
+                    .orElseGet(() -> {
+                        Connection added = new Connection(this);
+                        connections.add(added);
+                        log.debugf("Opening shared websocket connection %d to %s", connections.size(), url);
+                        return added;
+                    });
+            Operation operation = new Operation(owner, connection, operationIds.incrementAndGet(), request, uni, multi);
+            connection.operations.put(operation.id, operation);
+            return operation;
+        }
+
+        synchronized void finished(Operation operation) {
+            Connection connection = operation.connection;
+            if (connection.operations.remove(operation.id) == null)
+                return;
+            if (connection.operations.isEmpty() && connections.size() > 1) {
+                connections.remove(connection);
+                connection.close();
+            }
+        }
+
+        private synchronized HttpClient httpClient() {
+            if (httpClient == null) {
+                httpClient = vertx.createHttpClient(options);
+            }
+            return httpClient;
+        }
+
+        private synchronized void close() {
+            connections.forEach(Connection::close);
+            connections.clear();
+            if (httpClient != null) {
+                try {
+                    httpClient.close();
+                } catch (Throwable t) {
+                    log.warn(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * One websocket connection of a pool. Like the clients' own connections, it's only opened when an operation needs
+     * it, and opened again by the next operation after it was lost.
+     */
+    static class Connection {
+        private final Pool pool;
+        private final Map<Long, Operation> operations = new ConcurrentHashMap<>();
+        private final AtomicReference<Uni<WebSocketSubprotocolHandler>> handler = new AtomicReference<>();
+        private volatile boolean closed;
+        private int reconnectAttempts;
+
+        private Connection(Pool pool) {
+            this.pool = pool;
+        }
+
+        private Uni<WebSocketSubprotocolHandler> handler() {
+            return handler.updateAndGet(currentValue -> (currentValue == null) ? connect() : currentValue);
+        }
+
+        private Uni<WebSocketSubprotocolHandler> connect() {
+            return Uni.createFrom().<WebSocketSubprotocolHandler> emitter(handlerEmitter -> pool.httpClient()
+                    .webSocketAbs(pool.url, pool.headers, WebsocketVersion.V13, pool.subprotocols, result -> {
+                        if (result.succeeded()) {
+                            WebSocket webSocket = result.result();
+                            AtomicReference<WebSocketSubprotocolHandler> created = new AtomicReference<>();
+                            created.set(BuiltinWebsocketSubprotocolHandlers.createHandlerFor(webSocket.subProtocol(),
+                                    webSocket, pool.initializationTimeout, pool.initPayload, () -> lost(created.get())));
+                            handlerEmitter.complete(created.get());
+                            log.debug("Using shared websocket subprotocol handler: " + created.get());
+                        } else {
+                            handler.set(null);
+                            handlerEmitter.fail(result.cause());
+                        }
+                    })).memoize().indefinitely();
+        }
+
+        /**
+         * The subprotocol handler calls this (once) when the connection fails or is closed, before it fails or completes
+         * the operations on the connection, so the subscriptions can wait to be started again on the new connection.
+         */
+        private void lost(WebSocketSubprotocolHandler lostHandler) {
+            handler.set(null);
+            if (closed)
+                return;
+            boolean resubscribe = false;
+            for (Operation operation : operations.values()) {
+                if (operation.multi != null && operation.handler == lostHandler) {
+                    operation.interrupted = true;
+                    resubscribe = true;
+                }
+            }
+            if (resubscribe) {
+                log.debugf("Shared websocket connection to %s lost, reconnecting", pool.url);
+                reconnect();
+            }
+        }
+
+        private void reconnect() {
+            long delay = Math.min(RECONNECT_DELAY << reconnectAttempts, MAX_RECONNECT_DELAY);
+            pool.vertx.setTimer(delay, timer -> {
+                if (closed)
+                    return;
+                handler().subscribe().with(connected -> {
+                    reconnectAttempts = 0;
+                    operations.values().stream().filter(operation -> operation.interrupted).forEach(Operation::start);
+                }, failure -> {
+                    if (++reconnectAttempts < MAX_RECONNECT_ATTEMPTS) {
+                        reconnect();
+                    } else {
+                        log.debugf("Giving up to reconnect to %s after %d attempts", pool.url, reconnectAttempts);
+                        reconnectAttempts = 0;
+                        operations.values().stream().filter(operation -> operation.interrupted)
+                                .forEach(operation -> operation.fail(failure));
+                    }
+                });
+            });
+        }
+
+        private void close() {
+            closed = true;
+            Uni<WebSocketSubprotocolHandler> current = handler.getAndSet(null);
+            if (current != null) {
+                current.subscribe().with(WebSocketSubprotocolHandler::close, failure -> {
+                    // there's nothing to close
+                });
+            }
+        }
+    }
+
+    /**
+     * An operation of a client on a shared connection. It's executed by the subprotocol handler of the connection
+     * with an emitter of its own, so it can be started again after the connection was lost.
+     */
+    static class Operation {
+        private final SharedWebSocketHandler owner;
+        private final Connection connection;
+        private final long id;
+        private final JsonObject request;
+        private final UniEmitter<? super String> uni;
+        private final MultiEmitter<? super String> multi;
+        private volatile WebSocketSubprotocolHandler handler;
+        private volatile String handlerOperationId;
+        private volatile Cancellable subscription;
+        private volatile boolean interrupted;
+        private volatile boolean cancelled;
+
+        private Operation(SharedWebSocketHandler owner, Connection connection, long id, JsonObject request,
+                UniEmitter<? super String> uni, MultiEmitter<? super String> multi) {
+            this.owner = owner;
+            this.connection = connection;
+            this.id = id;
+            this.request = request;
+            this.uni = uni;
+            this.multi = multi;
+        }
+
+        long id() {
+            return id;
+        }
+
+        void start() {
+            interrupted = false;
+            connection.handler().subscribe().with(connected -> {
+                if (cancelled)
+                    return;
+                this.handler = connected;
+                if (multi != null) {
+                    subscription = Multi.createFrom()
+                            .<String> emitter(emitter -> handlerOperationId = connected.executeMulti(request, emitter))
+                            .subscribe().with(multi::emit, this::failed, this::completed);
+                } else {
+                    subscription = Uni.createFrom()
+                            .<String> emitter(emitter -> handlerOperationId = connected.executeUni(request, emitter))
+                            .subscribe().with(this::received, this::failed);
+                }
+            }, this::failed);
+        }
+
+        private void received(String data) {
+            finish();
+            uni.complete(data);
+        }
+
+        private void failed(Throwable failure) {
+            if (interrupted)
+                return; // it's started again when the connection is back
+            fail(failure);
+        }
+
+        private void completed() {
+            if (interrupted)
+                return; // the connection was closed by the server; it's started again when the connection is back
+            finish();
+            multi.complete();
+        }
+
+        private void fail(Throwable failure) {
+            finish();
+            if (multi != null) {
+                multi.fail(failure);
+            } else {
+                uni.fail(failure);
+            }
+        }
+
+        /** Cancels the operation on the server; the client takes care of its own subscriber */
+        void cancel() {
+            cancelled = true;
+            finish();
+            WebSocketSubprotocolHandler currentHandler = this.handler;
+            String currentId = this.handlerOperationId;
+            if (currentHandler != null && currentId != null && !interrupted) {
+                if (multi != null) {
+                    currentHandler.cancelMulti(currentId);
+                } else {
+                    currentHandler.cancelUni(currentId);
+                }
+            }
+            Cancellable currentSubscription = this.subscription;
+            if (currentSubscription != null) {
+                currentSubscription.cancel();
+            }
+        }
+
+        /** Cancels the operation, because the client is closed, and ends it like a closed connection would */
+        void close() {
+            cancel();
+            if (multi != null) {
+                multi.complete();
+            } else {
+                uni.fail(new UnexpectedCloseException("Connection closed before data was received", 1000));
+            }
+        }
+
+        private void finish() {
+            owner.finished(this);
+            connection.pool.finished(this);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.smallrye.graphql.client.vertx.websocket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.json.JsonObject;
+
+import io.smallrye.graphql.client.vertx.websocket.SharedWebSocketConnections.Operation;
+import io.smallrye.graphql.client.vertx.websocket.SharedWebSocketConnections.Pool;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+/**
+ * The websocket handler of one client, with {@link SharedWebSocketConnections shared connections}. Closing it cancels
+ * the operations of this client, but only closes the connections if no other client uses them any more.
+ */
+public class SharedWebSocketHandler implements WebSocketSubprotocolHandler {
+
+    private final Pool pool;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SharedWebSocketHandler(Pool pool) {
+        this.pool = pool;
+    }
+
+    /** The connections are opened and initialized by the operations that need them */
+    @Override
+    public Uni<Void> ensureInitialized() {
+        return Uni.createFrom().voidItem();
+    }
+
+    @Override
+    public String executeUni(JsonObject request, UniEmitter<? super String> emitter) {
+        return start(pool.add(this, request, emitter, null));
+    }
+
+    @Override
+    public String executeMulti(JsonObject request, MultiEmitter<? super String> emitter) {
+        return start(pool.add(this, request, null, emitter));
+    }
+
+    private String start(Operation operation) {
+        String id = Long.toString(operation.id());
+        operations.put(id, operation);
+        operation.start();
+        return id;
+    }
+
+    @Override
+    public void cancelUni(String operationId) {
+        cancel(operationId);
+    }
+
+    @Override
+    public void cancelMulti(String operationId) {
+        cancel(operationId);
+    }
+
+    private void cancel(String operationId) {
+        Operation operation = operations.remove(operationId);
+        if (operation != null) {
+            operation.cancel();
+        }
+    }
+
+    void finished(Operation operation) {
+        operations.remove(Long.toString(operation.id()));
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            operations.values().forEach(Operation::close);
+            operations.clear();
+            pool.registry().release(pool);
+        }
+    }
+}
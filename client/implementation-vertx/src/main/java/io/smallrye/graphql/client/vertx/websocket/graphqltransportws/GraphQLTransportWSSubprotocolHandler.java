@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import jakarta.json.Json;
@@ -58,6 +59,7 @@ public class GraphQLTransportWSSubprotocolHandler implements WebSocketSubprotoco
     private final Map<String, MultiEmitter<? super String>> multiOperations;
 
     private final Runnable onClose;
+    private final AtomicBoolean lost = new AtomicBoolean();
 
     private final OperationIDGenerator operationIdGenerator;
     private final Map<String, Object> initPayload;
@@ -98,7 +100,7 @@ public class GraphQLTransportWSSubprotocolHandler implements WebSocketSubprotoco
                     .add("payload", jsonBuilderFactory.createObjectBuilder().add("message", "keepalive")).build();
 
             webSocket.closeHandler((v) -> {
-                onClose.run();
+                connectionLost();
                 if (webSocket.closeStatusCode() != null) {
                     if (webSocket.closeStatusCode() == 1000) {
                         log.debug("WebSocket closed with status code 1000");
@@ -121,7 +123,11 @@ public class GraphQLTransportWSSubprotocolHandler implements WebSocketSubprotoco
                     multiOperations.forEach((id, emitter) -> emitter.fail(exception));
                 }
             });
-            webSocket.exceptionHandler(this::failAllActiveOperationsWith);
+            webSocket.exceptionHandler(failure -> {
+                // the connection is gone (or about to be closed), so let the owner know before the operations fail
+                connectionLost();
+                failAllActiveOperationsWith(failure);
+            });
 
             send(webSocket, connectionInitMessage);
 
@@ -234,6 +240,13 @@ public class GraphQLTransportWSSubprotocolHandler implements WebSocketSubprotoco
         }
     }
 
+    /** Runs onClose once, whether the connection fails or is closed first (or both) */
+    private void connectionLost() {
+        if (lost.compareAndSet(false, true)) {
+            onClose.run();
+        }
+    }
+
     private void failAllActiveOperationsWith(Throwable throwable) {
         log.debug("Failing all active operations");
         for (String s : uniOperations.keySet()) {
@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import jakarta.json.Json;
 import jakarta.json.JsonBuilderFactory;
@@ -52,6 +53,7 @@ public class GraphQLWSSubprotocolHandler implements WebSocketSubprotocolHandler
     private final Map<String, MultiEmitter<? super String>> multiOperations;
 
     private final Runnable onClose;
+    private final AtomicBoolean lost = new AtomicBoolean();
 
     private final OperationIDGenerator operationIdGenerator;
     private final Map<String, Object> initPayload;
@@ -78,7 +80,7 @@ public class GraphQLWSSubprotocolHandler implements WebSocketSubprotocolHandler
             }
 
             webSocket.closeHandler((v) -> {
-                onClose.run();
+                connectionLost();
                 if (webSocket.closeStatusCode() != null) {
                     if (webSocket.closeStatusCode() == 1000) {
                         log.debug("WebSocket closed with status code 1000");
@@ -101,7 +103,11 @@ public class GraphQLWSSubprotocolHandler implements WebSocketSubprotocolHandler
                     multiOperations.forEach((id, emitter) -> emitter.fail(exception));
                 }
             });
-            webSocket.exceptionHandler(this::failAllActiveOperationsWith);
+            webSocket.exceptionHandler(failure -> {
+                // the connection is gone (or about to be closed), so let the owner know before the operations fail
+                connectionLost();
+                failAllActiveOperationsWith(failure);
+            });
 
             send(webSocket, createConnectionInitMessage());
 
@@ -270,6 +276,13 @@ public class GraphQLWSSubprotocolHandler implements WebSocketSubprotocolHandler
                 .build();
     }
 
+    /** Runs onClose once, whether the connection fails or is closed first (or both) */
+    private void connectionLost() {
+        if (lost.compareAndSet(false, true)) {
+            onClose.run();
+        }
+    }
+
     private void failAllActiveOperationsWith(Throwable throwable) {
         log.debug("Failing all active operations");
         for (String s : uniOperations.keySet()) {
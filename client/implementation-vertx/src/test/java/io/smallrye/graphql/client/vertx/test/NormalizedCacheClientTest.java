@@ -0,0 +1,126 @@
+package io.smallrye.graphql.client.vertx.test;
+
+import static io.smallrye.graphql.client.core.Argument.arg;
+import static io.smallrye.graphql.client.core.Argument.args;
+import static io.smallrye.graphql.client.core.Document.document;
+import static io.smallrye.graphql.client.core.Field.field;
+import static io.smallrye.graphql.client.core.Operation.operation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Closeable;
+import java.time.Duration;
+
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.core.Document;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.graphql.client.impl.cache.NormalizedCache;
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.graphql.client.vertx.dynamic.VertxDynamicGraphQLClient;
+import io.smallrye.graphql.client.vertx.dynamic.VertxDynamicGraphQLClientBuilder;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.vertx.core.MultiMap;
+
+/**
+ * The normalized cache, as the typesafe and the dynamic clients use it
+ */
+public class NormalizedCacheClientTest {
+
+    /** Responds with a person named after the token in the Authorization header, so the tests see whose data it is */
+    @RegisterExtension
+    static final StubGraphQLServer SERVER = new StubGraphQLServer(request -> {
+        String authorization = request.http().getHeader("Authorization");
+        String name = (authorization == null) ? "anonymous" : authorization.substring("Bearer ".length());
+        return "{\"data\":{\"person\":{\"__typename\":\"Person\",\"id\":\"1\",\"name\":\"" + name + "\"}}}";
+    });
+
+    private static final Document PERSON = document(operation(
+            field("person", args(arg("id", "1")), field("__typename"), field("id"), field("name"))));
+
+    private final NormalizedCache cache = new NormalizedCache(100, Duration.ofMinutes(1), "id");
+
+    public static class Person {
+        public String id;
+        public String name;
+    }
+
+    @GraphQLClientApi
+    interface PersonApi extends Closeable {
+        @Query
+        Person person(@Name("id") String id);
+    }
+
+    private PersonApi typesafeClient(String token) {
+        return new VertxTypesafeGraphQLClientBuilder()
+                .endpoint(SERVER.url())
+                .header("Authorization", "Bearer " + token)
+                .cache(cache)
+                .build(PersonApi.class);
+    }
+
+    private DynamicGraphQLClient dynamicClient(String token) {
+        VertxDynamicGraphQLClientBuilder builder = new VertxDynamicGraphQLClientBuilder()
+                .url(SERVER.url())
+                .cache(cache);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static String name(Response response) {
+        return response.getData().getJsonObject("person").getString("name");
+    }
+
+    @Test
+    public void typesafeClientShouldAnswerRepeatedQueriesFromTheCache() throws Exception {
+        try (PersonApi client = typesafeClient("alice")) {
+            assertEquals("alice", client.person("1").name);
+            assertEquals("alice", client.person("1").name);
+
+            assertEquals(1, SERVER.requests().size());
+            assertEquals(1, cache.getStatistics().getHits());
+        }
+    }
+
+    @Test
+    public void typesafeClientsWithOtherCredentialsShouldNotShareData() throws Exception {
+        try (PersonApi alice = typesafeClient("alice"); PersonApi bob = typesafeClient("bob")) {
+            assertEquals("alice", alice.person("1").name);
+            assertEquals("bob", bob.person("1").name);
+            assertEquals("alice", alice.person("1").name);
+
+            assertEquals(2, SERVER.requests().size());
+        }
+    }
+
+    @Test
+    public void dynamicClientShouldAnswerRepeatedQueriesFromTheCache() throws Exception {
+        try (DynamicGraphQLClient client = dynamicClient("alice")) {
+            assertEquals("alice", name(client.executeSync(PERSON)));
+            assertEquals("alice", name(client.executeSync(PERSON)));
+
+            assertEquals(1, SERVER.requests().size());
+        }
+    }
+
+    @Test
+    public void dynamicClientsWithOtherHeadersShouldNotShareData() throws Exception {
+        try (DynamicGraphQLClient alice = dynamicClient("alice"); DynamicGraphQLClient anonymous = dynamicClient(null)) {
+            assertEquals("alice", name(alice.executeSync(PERSON)));
+            assertEquals("anonymous", name(anonymous.executeSync(PERSON)));
+
+            MultiMap bob = MultiMap.caseInsensitiveMultiMap().add("Authorization", "Bearer bob");
+            Response perCall = ((VertxDynamicGraphQLClient) anonymous).executeAsync(PERSON, bob)
+                    .await().atMost(Duration.ofSeconds(10));
+            assertEquals("bob", name(perCall));
+
+            assertEquals("alice", name(alice.executeSync(PERSON)));
+            assertEquals(3, SERVER.requests().size());
+        }
+    }
+}
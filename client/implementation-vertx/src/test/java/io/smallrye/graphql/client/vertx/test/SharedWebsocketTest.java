@@ -0,0 +1,191 @@
+package io.smallrye.graphql.client.vertx.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.graphql.client.vertx.dynamic.VertxDynamicGraphQLClientBuilder;
+import io.smallrye.graphql.client.websocket.WebsocketSubprotocol;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetServerOptions;
+import io.vertx.core.net.NetSocket;
+
+public class SharedWebsocketTest {
+
+    private static Vertx vertx;
+    private static HttpServer server;
+    private static NetServer proxy;
+
+    private static final List<ServerWebSocket> CONNECTIONS = new CopyOnWriteArrayList<>();
+    private static final List<NetSocket> PROXIED = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger SUBSCRIPTIONS = new AtomicInteger();
+
+    /**
+     * A mock server with the graphql-transport-ws protocol, that sends one item for every subscription, with the
+     * number of the connection and the number of the subscription
+     */
+    @BeforeAll
+    public static void startServer() throws Exception {
+        vertx = Vertx.vertx();
+        HttpServerOptions options = new HttpServerOptions();
+        options.setHost("localhost");
+        options.addWebSocketSubProtocol("graphql-transport-ws");
+        server = vertx.createHttpServer(options)
+                .webSocketHandler(webSocket -> {
+                    CONNECTIONS.add(webSocket);
+                    int connection = CONNECTIONS.size();
+                    webSocket.textMessageHandler(text -> {
+                        JsonObject message = Json.createReader(new StringReader(text)).readObject();
+                        switch (message.getString("type")) {
+                            case "connection_init":
+                                webSocket.writeTextMessage("{\"type\":\"connection_ack\"}");
+                                break;
+                            case "subscribe":
+                                webSocket.writeTextMessage("{\"type\":\"next\",\"id\":\"" + message.getString("id")
+                                        + "\",\"payload\":{\"data\":{\"greeting\":\"" + connection + "/"
+                                        + SUBSCRIPTIONS.incrementAndGet() + "\"}}}");
+                                break;
+                            default:
+                        }
+                    });
+                })
+                .listen(0).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        // A TCP proxy in front of the server, that resets the connections when it closes them (SO_LINGER 0)
+        proxy = vertx.createNetServer(new NetServerOptions().setHost("localhost").setSoLinger(0))
+                .connectHandler(front -> {
+                    front.pause();
+                    PROXIED.add(front);
+                    vertx.createNetClient().connect(server.actualPort(), "localhost")
+                            .onSuccess(back -> {
+                                back.pipeTo(front);
+                                front.pipeTo(back);
+                            })
+                            .onFailure(failure -> front.close());
+                })
+                .listen(0).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    public static void stopServer() throws ExecutionException, InterruptedException {
+        try {
+            proxy.close().toCompletionStage().toCompletableFuture().get();
+            server.close().toCompletionStage().toCompletableFuture().get();
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get();
+        }
+    }
+
+    @BeforeEach
+    public void reset() {
+        CONNECTIONS.clear();
+        PROXIED.clear();
+        SUBSCRIPTIONS.set(0);
+    }
+
+    private DynamicGraphQLClient client(int maxOperations) {
+        return client(maxOperations, server.actualPort());
+    }
+
+    private DynamicGraphQLClient client(int maxOperations, int port) {
+        return new VertxDynamicGraphQLClientBuilder()
+                .vertx(vertx)
+                .subprotocols(WebsocketSubprotocol.GRAPHQL_TRANSPORT_WS)
+                .sharedWebsocket(true)
+                .websocketMaxOperations(maxOperations)
+                .url("http://localhost:" + port)
+                .build();
+    }
+
+    private static String firstGreeting(Multi<Response> subscription) {
+        return subscription.toUni().await().atMost(Duration.ofSeconds(5)).getData().getString("greeting");
+    }
+
+    @Test
+    public void shouldShareOneConnection() throws Exception {
+        try (DynamicGraphQLClient first = client(10); DynamicGraphQLClient second = client(10)) {
+            List<Response> items = new CopyOnWriteArrayList<>();
+            first.subscription("subscription { greeting }").subscribe().with(items::add);
+            second.subscription("subscription { greeting }").subscribe().with(items::add);
+
+            waitFor(() -> items.size() == 2);
+            assertEquals(1, CONNECTIONS.size());
+        }
+    }
+
+    @Test
+    public void shouldOpenAnotherConnectionAboveTheLimit() throws Exception {
+        try (DynamicGraphQLClient first = client(1); DynamicGraphQLClient second = client(1)) {
+            first.subscription("subscription { greeting }").subscribe().with(item -> {
+            });
+            waitFor(() -> SUBSCRIPTIONS.get() == 1);
+
+            assertEquals("2/2", firstGreeting(second.subscription("subscription { greeting }")));
+            assertEquals(2, CONNECTIONS.size());
+        }
+    }
+
+    @Test
+    public void shouldResubscribeAfterTheConnectionIsLost() throws Exception {
+        try (DynamicGraphQLClient client = client(10)) {
+            List<String> items = new CopyOnWriteArrayList<>();
+            client.subscription("subscription { greeting }").subscribe()
+                    .with(item -> items.add(item.getData().getString("greeting")));
+            waitFor(() -> items.size() == 1);
+
+            CONNECTIONS.get(0).close((short) 1011);
+
+            waitFor(() -> items.size() == 2);
+            assertEquals(List.of("1/1", "2/2"), items);
+        }
+    }
+
+    @Test
+    public void shouldResubscribeAfterTheTcpConnectionIsDropped() throws Exception {
+        try (DynamicGraphQLClient client = client(10, proxy.actualPort())) {
+            List<String> items = new CopyOnWriteArrayList<>();
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            client.subscription("subscription { greeting }").subscribe()
+                    .with(item -> items.add(item.getData().getString("greeting")), failures::add);
+            waitFor(() -> items.size() == 1);
+
+            // Without a close frame, the client sees an exception (connection reset) before the connection is closed
+            PROXIED.get(0).close();
+
+            waitFor(() -> items.size() == 2);
+            assertEquals(List.of("1/1", "2/2"), items);
+            assertEquals(List.of(), failures);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end)
+                throw new AssertionError("timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.smallrye.graphql.client.vertx.test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+
+/**
+ * A dummy GraphQL http server for the tests of the clients, that saves the requests that it received and responds
+ * with whatever the responder returns. Register it as a static extension: it's started before all tests of the class
+ * (on its own Vert.x instance, that it closes after them), and it forgets the requests before each test.
+ * <p>
+ * It also accepts h2c, with an upgrade or with prior knowledge.
+ */
+public class StubGraphQLServer implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback {
+
+    /** A request the server received */
+    public static class Request {
+        private final HttpServerRequest http;
+        private final JsonObject graphQL;
+
+        private Request(HttpServerRequest http, JsonObject graphQL) {
+            this.http = http;
+            this.graphQL = graphQL;
+        }
+
+        public HttpServerRequest http() {
+            return http;
+        }
+
+        /** The GraphQL request: the body of a POST, or the parameters of a GET */
+        public JsonObject graphQL() {
+            return graphQL;
+        }
+    }
+
+    private final Function<Request, String> responder;
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private Vertx vertx;
+    private HttpServer server;
+
+    /**
+     * @param responder the body of the (JSON) response to a request
+     */
+    public StubGraphQLServer(Function<Request, String> responder) {
+        this.responder = responder;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws Exception {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer()
+                .requestHandler(http -> http.body().onSuccess(body -> {
+                    Request request = new Request(http, parse(http, body));
+                    requests.add(request);
+                    http.response().putHeader("Content-Type", "application/json").end(responder.apply(request));
+                }))
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get();
+    }
+
+    private static JsonObject parse(HttpServerRequest http, Buffer body) {
+        if (http.method() != HttpMethod.GET) {
+            return Json.createReader(new StringReader(body.toString())).readObject();
+        }
+        JsonObjectBuilder parameters = Json.createObjectBuilder();
+        for (String name : List.of("query", "operationName")) {
+            if (http.getParam(name) != null) {
+                parameters.add(name, http.getParam(name));
+            }
+        }
+        for (String name : List.of("variables", "extensions")) {
+            if (http.getParam(name) != null) {
+                parameters.add(name, Json.createReader(new StringReader(http.getParam(name))).readObject());
+            }
+        }
+        return parameters.build();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws Exception {
+        try {
+            server.close().toCompletionStage().toCompletableFuture().get();
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get();
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        requests.clear();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.actualPort();
+    }
+
+    /** The requests the server received in this test */
+    public List<Request> requests() {
+        return requests;
+    }
+}
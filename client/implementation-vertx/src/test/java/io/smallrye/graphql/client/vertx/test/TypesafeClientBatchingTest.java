@@ -0,0 +1,103 @@
+package io.smallrye.graphql.client.vertx.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.json.JsonObject;
+
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.smallrye.graphql.client.GraphQLClientException;
+import io.smallrye.graphql.client.GraphQLError;
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.tuples.Tuple2;
+
+public class TypesafeClientBatchingTest {
+
+    private static final AtomicReference<String> RESPONSE = new AtomicReference<>();
+
+    /** Responds with the {@link #RESPONSE} */
+    @RegisterExtension
+    static final StubGraphQLServer SERVER = new StubGraphQLServer(request -> RESPONSE.get());
+
+    @GraphQLClientApi
+    interface BatchingApi extends Closeable {
+        @Query
+        Uni<String> greeting(@Name("name") String name);
+
+        @Query
+        Uni<Integer> count();
+    }
+
+    private BatchingApi client() {
+        return new VertxTypesafeGraphQLClientBuilder()
+                .endpoint(SERVER.url())
+                .batchWindow(100)
+                .build(BatchingApi.class);
+    }
+
+    @Test
+    public void shouldMergeDistinctQueries() throws Exception {
+        RESPONSE.set("{\"data\":{\"_0\":\"hi a\",\"_1\":3}}");
+        try (BatchingApi client = client()) {
+            Tuple2<String, Integer> results = Uni.combine().all().unis(client.greeting("a"), client.count())
+                    .asTuple().await().atMost(Duration.ofSeconds(10));
+
+            assertEquals("hi a", results.getItem1());
+            assertEquals(3, results.getItem2());
+            assertEquals(1, SERVER.requests().size());
+            JsonObject request = SERVER.requests().get(0).graphQL();
+            assertEquals("query batch($_0_name: String) { _0: greeting(name: $_0_name) _1: count }",
+                    request.getString("query"));
+            assertEquals("{\"_0_name\":\"a\"}", request.getJsonObject("variables").toString());
+            assertEquals("batch", request.getString("operationName"));
+        }
+    }
+
+    @Test
+    public void shouldSendIdenticalQueriesOnlyOnce() throws Exception {
+        RESPONSE.set("{\"data\":{\"greeting\":\"hi a\"}}");
+        try (BatchingApi client = client()) {
+            Tuple2<String, String> results = Uni.combine().all().unis(client.greeting("a"), client.greeting("a"))
+                    .asTuple().await().atMost(Duration.ofSeconds(10));
+
+            assertEquals("hi a", results.getItem1());
+            assertEquals("hi a", results.getItem2());
+            assertEquals(1, SERVER.requests().size());
+            assertEquals("greeting", SERVER.requests().get(0).graphQL().getString("operationName"));
+        }
+    }
+
+    @Test
+    public void shouldOnlyApplyErrorsToTheirQuery() throws Exception {
+        RESPONSE.set("{\"data\":{\"_0\":null,\"_1\":3}," +
+                "\"errors\":[{\"message\":\"boom\",\"path\":[\"_0\"]}]}");
+        try (BatchingApi client = client()) {
+            CompletableFuture<String> greeting = client.greeting("a").subscribeAsCompletionStage();
+            CompletableFuture<Integer> count = client.count().subscribeAsCompletionStage();
+
+            assertEquals(3, count.get(10, TimeUnit.SECONDS));
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> greeting.get(10, TimeUnit.SECONDS));
+            assertTrue(thrown.getCause() instanceof GraphQLClientException);
+            GraphQLError error = ((GraphQLClientException) thrown.getCause()).getErrors().get(0);
+            assertEquals("boom", error.getMessage());
+            assertArrayEquals(new Object[] { "greeting" }, error.getPath());
+            assertEquals(1, SERVER.requests().size());
+        }
+    }
+}
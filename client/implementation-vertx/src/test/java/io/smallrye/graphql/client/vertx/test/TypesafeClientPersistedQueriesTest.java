@@ -0,0 +1,115 @@
+package io.smallrye.graphql.client.vertx.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.json.JsonObject;
+
+import org.eclipse.microprofile.graphql.Mutation;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.smallrye.graphql.client.impl.PersistedQueries;
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.vertx.core.http.HttpMethod;
+
+public class TypesafeClientPersistedQueriesTest {
+
+    private static final Map<String, String> PERSISTED = new ConcurrentHashMap<>();
+
+    /** Knows the queries that it received with their hash before, and responds with PersistedQueryNotFound otherwise */
+    @RegisterExtension
+    static final StubGraphQLServer SERVER = new StubGraphQLServer(request -> respond(request.graphQL()));
+
+    @GraphQLClientApi
+    interface PersistedApi extends Closeable {
+        @Query
+        String greeting(@Name("name") String name);
+
+        @Mutation
+        String rename(@Name("name") String name);
+    }
+
+    private static String respond(JsonObject request) {
+        if (!request.containsKey("extensions")) {
+            // a whole request without the hash: the query is not registered
+            return "{\"data\":{\"" + request.getString("operationName") + "\":\"hi\"}}";
+        }
+        String hash = request.getJsonObject("extensions").getJsonObject("persistedQuery").getString("sha256Hash");
+        if (request.containsKey("query")) {
+            PERSISTED.put(hash, request.getString("query"));
+        } else if (!PERSISTED.containsKey(hash)) {
+            return "{\"errors\":[{\"message\":\"PersistedQueryNotFound\"}]}";
+        }
+        return "{\"data\":{\"" + request.getString("operationName") + "\":\"hi\"}}";
+    }
+
+    @BeforeEach
+    public void reset() {
+        PERSISTED.clear();
+    }
+
+    private PersistedApi client(boolean get) {
+        return new VertxTypesafeGraphQLClientBuilder()
+                .endpoint(SERVER.url())
+                .persistedQueries(true)
+                .persistedQueriesGet(get)
+                .build(PersistedApi.class);
+    }
+
+    @Test
+    public void shouldSendQueryOnlyIfHashIsUnknown() throws Exception {
+        try (PersistedApi client = client(false)) {
+            assertEquals("hi", client.greeting("a"));
+            assertEquals("hi", client.greeting("b"));
+
+            assertEquals(3, SERVER.requests().size());
+            JsonObject hashOnly = SERVER.requests().get(0).graphQL();
+            assertFalse(hashOnly.containsKey("query"));
+            assertEquals("{\"name\":\"a\"}", hashOnly.getJsonObject("variables").toString());
+            JsonObject whole = SERVER.requests().get(1).graphQL();
+            assertEquals(PersistedQueries.sha256(whole.getString("query")),
+                    hashOnly.getJsonObject("extensions").getJsonObject("persistedQuery").getString("sha256Hash"));
+            assertEquals(hashOnly.getJsonObject("extensions"), whole.getJsonObject("extensions"));
+            assertFalse(SERVER.requests().get(2).graphQL().containsKey("query"));
+            assertEquals("{\"name\":\"b\"}", SERVER.requests().get(2).graphQL().getJsonObject("variables").toString());
+        }
+    }
+
+    @Test
+    public void shouldSendQueriesWithGetButMutationsWithPost() throws Exception {
+        try (PersistedApi client = client(true)) {
+            assertEquals("hi", client.greeting("a"));
+            assertEquals("hi", client.rename("b"));
+
+            assertEquals(HttpMethod.GET, SERVER.requests().get(0).http().method());
+            assertEquals("greeting", SERVER.requests().get(0).graphQL().getString("operationName"));
+            assertEquals(HttpMethod.POST, SERVER.requests().get(1).http().method());
+            assertTrue(SERVER.requests().get(1).graphQL().containsKey("query"));
+            assertEquals(HttpMethod.POST, SERVER.requests().get(2).http().method());
+            assertFalse(SERVER.requests().get(2).graphQL().containsKey("query"));
+        }
+    }
+
+    @Test
+    public void shouldRegisterTheQueryWithTheFirstWholeRequest() throws Exception {
+        try (PersistedApi client = client(false)) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals("hi", client.greeting("a" + i));
+            }
+
+            // only the first call needs two round trips
+            assertEquals(4, SERVER.requests().size());
+            assertEquals(1, PERSISTED.size());
+        }
+    }
+}
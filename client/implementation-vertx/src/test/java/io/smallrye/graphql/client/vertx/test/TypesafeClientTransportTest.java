@@ -0,0 +1,78 @@
+package io.smallrye.graphql.client.vertx.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Closeable;
+import java.net.URI;
+
+import org.eclipse.microprofile.graphql.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.vertx.core.http.HttpVersion;
+
+public class TypesafeClientTransportTest {
+
+    @RegisterExtension
+    static final StubGraphQLServer SERVER = new StubGraphQLServer(request -> "{\"data\":{\"greeting\":\"hi\"}}");
+
+    @GraphQLClientApi
+    interface GreetingApi extends Closeable {
+        @Query
+        String greeting();
+    }
+
+    private VertxTypesafeGraphQLClientBuilder builder() {
+        return new VertxTypesafeGraphQLClientBuilder()
+                .endpoint(URI.create(SERVER.url()));
+    }
+
+    @Test
+    public void shouldUseHttp1ByDefault() throws Exception {
+        try (GreetingApi client = builder().build(GreetingApi.class)) {
+            assertEquals("hi", client.greeting());
+
+            assertEquals(HttpVersion.HTTP_1_1, SERVER.requests().get(0).http().version());
+        }
+    }
+
+    @Test
+    public void shouldUseH2cWithPriorKnowledge() throws Exception {
+        try (GreetingApi client = builder().http2(true).http2PriorKnowledge(true).build(GreetingApi.class)) {
+            assertEquals("hi", client.greeting());
+            assertEquals("hi", client.greeting());
+
+            assertEquals(2, SERVER.requests().size());
+            assertEquals(HttpVersion.HTTP_2, SERVER.requests().get(0).http().version());
+            assertEquals(HttpVersion.HTTP_2, SERVER.requests().get(1).http().version());
+            assertEquals(SERVER.requests().get(0).http().connection(), SERVER.requests().get(1).http().connection());
+        }
+    }
+
+    @Test
+    public void shouldUseHttp2WhenOnlyPriorKnowledgeIsSet() throws Exception {
+        try (GreetingApi client = builder().http2PriorKnowledge(true).build(GreetingApi.class)) {
+            assertEquals("hi", client.greeting());
+
+            assertEquals(HttpVersion.HTTP_2, SERVER.requests().get(0).http().version());
+        }
+    }
+
+    @Test
+    public void shouldRejectPriorKnowledgeWithoutHttp2() {
+        assertThrows(IllegalArgumentException.class,
+                () -> builder().http2(false).http2PriorKnowledge(true).build(GreetingApi.class));
+    }
+
+    @Test
+    public void shouldCloseConnectionsWithoutKeepAlive() throws Exception {
+        try (GreetingApi client = builder().keepAlive(false).build(GreetingApi.class)) {
+            assertEquals("hi", client.greeting());
+
+            assertEquals("close", SERVER.requests().get(0).http().getHeader("Connection"));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package test.tck;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import tck.graphql.typesafe.TypesafeTCK;
+
+/**
+ * Runs the TCK with clients that send their queries through a batching window, see
+ * {@link io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder#batchWindow(int)}
+ */
+class TypesafeTckBatchingSuite extends TypesafeTCK {
+    @BeforeAll
+    static void beforeAll() {
+        System.clearProperty("clientModelCase");
+        System.clearProperty("streamResponses");
+        System.setProperty("clientModelCase", "false");
+        System.setProperty("batchWindow", "1");
+    }
+
+    // This test aims to initialize system properties.
+    // With it, the *beforeAll* method will be executed (before all the suite tests).
+    @Test
+    void minimalTest() {
+    }
+}
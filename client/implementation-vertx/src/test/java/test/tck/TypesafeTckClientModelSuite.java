@@ -47,6 +47,8 @@ class TypesafeTckClientModelSuite extends TypesafeTCK {
         // using the client model and the one that does not.
 
         System.clearProperty("clientModelCase");
+        System.clearProperty("streamResponses");
+        System.clearProperty("batchWindow");
         System.setProperty("clientModelCase", "true");
     }
 
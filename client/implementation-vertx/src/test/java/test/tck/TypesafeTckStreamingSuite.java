@@ -0,0 +1,26 @@
+package test.tck;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import tck.graphql.typesafe.TypesafeTCK;
+
+/**
+ * Runs the TCK with clients that read the responses as a stream, see
+ * {@link io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder#streamResponses(boolean)}
+ */
+class TypesafeTckStreamingSuite extends TypesafeTCK {
+    @BeforeAll
+    static void beforeAll() {
+        System.clearProperty("clientModelCase");
+        System.clearProperty("batchWindow");
+        System.setProperty("clientModelCase", "false");
+        System.setProperty("streamResponses", "true");
+    }
+
+    // This test aims to initialize system properties.
+    // With it, the *beforeAll* method will be executed (before all the suite tests).
+    @Test
+    void minimalTest() {
+    }
+}
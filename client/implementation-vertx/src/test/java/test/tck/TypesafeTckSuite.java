@@ -12,6 +12,8 @@ class TypesafeTckSuite extends TypesafeTCK {
         // using the client model and the one that does not.
 
         System.clearProperty("clientModelCase");
+        System.clearProperty("streamResponses");
+        System.clearProperty("batchWindow");
         System.setProperty("clientModelCase", "false");
     }
 
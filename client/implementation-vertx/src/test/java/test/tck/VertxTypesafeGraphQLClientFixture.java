@@ -46,6 +46,7 @@ public class VertxTypesafeGraphQLClientFixture implements TypesafeGraphQLClientF
         HttpResponse<Buffer> mockHttpResponse = (HttpResponse<Buffer>) Mockito.mock(HttpResponse.class);
         given(mockHttpRequest.sendBuffer(any(Buffer.class))).willReturn(new SucceededFuture<>(mockHttpResponse));
         given(mockHttpResponse.bodyAsString()).will(i -> response);
+        given(mockHttpResponse.bodyAsBuffer()).will(i -> (response == null) ? null : Buffer.buffer(response));
         given(mockHttpResponse.statusCode()).will(i -> statusCode);
         given(mockHttpResponse.statusMessage()).will(i -> statusMessage);
         given(mockHttpResponse.headers()).will(i -> toMultiMap(transportMeta));
@@ -82,6 +83,12 @@ public class VertxTypesafeGraphQLClientFixture implements TypesafeGraphQLClientF
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException("can't set client on builder", e);
         }
+        if (Boolean.getBoolean("streamResponses")) {
+            ((VertxTypesafeGraphQLClientBuilder) builder).streamResponses(true);
+        }
+        if (Integer.getInteger("batchWindow") != null) {
+            ((VertxTypesafeGraphQLClientBuilder) builder).batchWindow(Integer.getInteger("batchWindow"));
+        }
         return builder;
     }
 
@@ -113,6 +113,123 @@ public class GraphQLClientConfiguration {
      */
     private Boolean allowUnexpectedResponseFields;
 
+    /**
+     * The format to ask the server to encode responses in: json (the default), cbor or msgpack.
+     */
+    private String responseFormat;
+
+    /**
+     * If true, typesafe clients read JSON responses straight from the bytes into the domain objects, instead of
+     * building a tree of the whole response first.
+     */
+    private Boolean streamResponses;
+
+    /**
+     * If set, typesafe clients collect the queries that are called within this number of milliseconds and send them
+     * together: identical queries only once, and distinct queries merged into one document.
+     */
+    private Integer batchWindow;
+
+    /**
+     * The maximum number of distinct queries that are sent together, if the batchWindow is set.
+     */
+    private Integer batchMaxSize;
+
+    /**
+     * If set, the clients keep a normalized cache of the responses, with at most this number of entities and root
+     * fields.
+     */
+    private Integer cacheMaxEntries;
+
+    /**
+     * How long, in seconds, cached values are fresh.
+     */
+    private Integer cacheTtl;
+
+    /**
+     * The field that identifies an object of a type in the normalized cache.
+     */
+    private String cacheKeyField;
+
+    /**
+     * The cache policy of the queries: cache-first (the default), network-only or stale-while-revalidate.
+     */
+    private String cachePolicy;
+
+    /**
+     * If true, the clients first only send the hash of a query, and the query only if the server doesn't know it yet
+     * (automatic persisted queries).
+     */
+    private Boolean persistedQueries;
+
+    /**
+     * If true, queries with only the hash are sent with GET, so HTTP caches can serve them.
+     */
+    private Boolean persistedQueriesGet;
+
+    /**
+     * If true, the clients talk HTTP/2 to the server: h2 negotiated with ALPN over TLS, or h2c over plain
+     * connections.
+     */
+    private Boolean http2;
+
+    /**
+     * If true, h2c connections start with HTTP/2 right away (prior knowledge), instead of upgrading an HTTP/1.1
+     * request first. Only for servers that are known to talk HTTP/2, e.g. within a cluster.
+     */
+    private Boolean http2PriorKnowledge;
+
+    /**
+     * The maximum number of HTTP/1.x connections to each server.
+     */
+    private Integer maxPoolSize;
+
+    /**
+     * The maximum number of HTTP/2 connections to each server.
+     */
+    private Integer http2MaxPoolSize;
+
+    /**
+     * The maximum number of concurrent requests on one HTTP/2 connection, or -1 to use the limit of the server.
+     */
+    private Integer http2MultiplexingLimit;
+
+    /**
+     * If true, HTTP/1.1 requests are pipelined on the connections.
+     */
+    private Boolean pipelining;
+
+    /**
+     * The maximum number of pipelined requests on one HTTP/1.1 connection.
+     */
+    private Integer pipeliningLimit;
+
+    /**
+     * If false, HTTP/1.x connections are closed after each request.
+     */
+    private Boolean keepAlive;
+
+    /**
+     * How long, in seconds, an unused HTTP/1.x connection is kept in the pool.
+     */
+    private Integer keepAliveTimeout;
+
+    /**
+     * How long, in seconds, a connection may be idle before it is closed, or 0 to never close it.
+     */
+    private Integer idleTimeout;
+
+    /**
+     * If true, the clients share their websocket connections with all other clients with the same websocket URL,
+     * headers, subprotocols and init payload, see <code>SharedWebSocketConnections</code> of the Vert.x clients.
+     */
+    private Boolean sharedWebsocket;
+
+    /**
+     * The maximum number of operations on one shared websocket connection, or 0 for no limit.
+     */
+    private Integer websocketMaxOperations;
+
     public String getUrl() {
         return url;
     }
@@ -273,6 +390,182 @@ public class GraphQLClientConfiguration {
         this.allowUnexpectedResponseFields = allowUnexpectedResponseFields;
     }
 
+    public String getResponseFormat() {
+        return responseFormat;
+    }
+
+    public void setResponseFormat(String responseFormat) {
+        this.responseFormat = responseFormat;
+    }
+
+    public Boolean getStreamResponses() {
+        return streamResponses;
+    }
+
+    public void setStreamResponses(Boolean streamResponses) {
+        this.streamResponses = streamResponses;
+    }
+
+    public Integer getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Integer batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public Integer getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(Integer batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public Integer getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(Integer cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Integer getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Integer cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public String getCacheKeyField() {
+        return cacheKeyField;
+    }
+
+    public void setCacheKeyField(String cacheKeyField) {
+        this.cacheKeyField = cacheKeyField;
+    }
+
+    public String getCachePolicy() {
+        return cachePolicy;
+    }
+
+    public void setCachePolicy(String cachePolicy) {
+        this.cachePolicy = cachePolicy;
+    }
+
+    public Boolean getPersistedQueries() {
+        return persistedQueries;
+    }
+
+    public void setPersistedQueries(Boolean persistedQueries) {
+        this.persistedQueries = persistedQueries;
+    }
+
+    public Boolean getPersistedQueriesGet() {
+        return persistedQueriesGet;
+    }
+
+    public void setPersistedQueriesGet(Boolean persistedQueriesGet) {
+        this.persistedQueriesGet = persistedQueriesGet;
+    }
+
+    public Boolean getHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(Boolean http2) {
+        this.http2 = http2;
+    }
+
+    public Boolean getHttp2PriorKnowledge() {
+        return http2PriorKnowledge;
+    }
+
+    public void setHttp2PriorKnowledge(Boolean http2PriorKnowledge) {
+        this.http2PriorKnowledge = http2PriorKnowledge;
+    }
+
+    public Integer getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Integer maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Integer getHttp2MaxPoolSize() {
+        return http2MaxPoolSize;
+    }
+
+    public void setHttp2MaxPoolSize(Integer http2MaxPoolSize) {
+        this.http2MaxPoolSize = http2MaxPoolSize;
+    }
+
+    public Integer getHttp2MultiplexingLimit() {
+        return http2MultiplexingLimit;
+    }
+
+    public void setHttp2MultiplexingLimit(Integer http2MultiplexingLimit) {
+        this.http2MultiplexingLimit = http2MultiplexingLimit;
+    }
+
+    public Boolean getPipelining() {
+        return pipelining;
+    }
+
+    public void setPipelining(Boolean pipelining) {
+        this.pipelining = pipelining;
+    }
+
+    public Integer getPipeliningLimit() {
+        return pipeliningLimit;
+    }
+
+    public void setPipeliningLimit(Integer pipeliningLimit) {
+        this.pipeliningLimit = pipeliningLimit;
+    }
+
+    public Boolean getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(Boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public Integer getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    public void setKeepAliveTimeout(Integer keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    public Integer getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Integer idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Boolean getSharedWebsocket() {
+        return sharedWebsocket;
+    }
+
+    public void setSharedWebsocket(Boolean sharedWebsocket) {
+        this.sharedWebsocket = sharedWebsocket;
+    }
+
+    public Integer getWebsocketMaxOperations() {
+        return websocketMaxOperations;
+    }
+
+    public void setWebsocketMaxOperations(Integer websocketMaxOperations) {
+        this.websocketMaxOperations = websocketMaxOperations;
+    }
+
     /**
      * Merge the `other` configuration into this one. Values in `other` take precedence.
      * This method has to be idempotent because it can be called multiple times to allow for changes in configuration.
@@ -350,6 +643,72 @@ public class GraphQLClientConfiguration {
         if (other.allowUnexpectedResponseFields != null) {
             this.allowUnexpectedResponseFields = other.allowUnexpectedResponseFields;
         }
+        if (other.responseFormat != null) {
+            this.responseFormat = other.responseFormat;
+        }
+        if (other.streamResponses != null) {
+            this.streamResponses = other.streamResponses;
+        }
+        if (other.batchWindow != null) {
+            this.batchWindow = other.batchWindow;
+        }
+        if (other.batchMaxSize != null) {
+            this.batchMaxSize = other.batchMaxSize;
+        }
+        if (other.cacheMaxEntries != null) {
+            this.cacheMaxEntries = other.cacheMaxEntries;
+        }
+        if (other.cacheTtl != null) {
+            this.cacheTtl = other.cacheTtl;
+        }
+        if (other.cacheKeyField != null) {
+            this.cacheKeyField = other.cacheKeyField;
+        }
+        if (other.cachePolicy != null) {
+            this.cachePolicy = other.cachePolicy;
+        }
+        if (other.persistedQueries != null) {
+            this.persistedQueries = other.persistedQueries;
+        }
+        if (other.persistedQueriesGet != null) {
+            this.persistedQueriesGet = other.persistedQueriesGet;
+        }
+        if (other.http2 != null) {
+            this.http2 = other.http2;
+        }
+        if (other.http2PriorKnowledge != null) {
+            this.http2PriorKnowledge = other.http2PriorKnowledge;
+        }
+        if (other.maxPoolSize != null) {
+            this.maxPoolSize = other.maxPoolSize;
+        }
+        if (other.http2MaxPoolSize != null) {
+            this.http2MaxPoolSize = other.http2MaxPoolSize;
+        }
+        if (other.http2MultiplexingLimit != null) {
+            this.http2MultiplexingLimit = other.http2MultiplexingLimit;
+        }
+        if (other.pipelining != null) {
+            this.pipelining = other.pipelining;
+        }
+        if (other.pipeliningLimit != null) {
+            this.pipeliningLimit = other.pipeliningLimit;
+        }
+        if (other.keepAlive != null) {
+            this.keepAlive = other.keepAlive;
+        }
+        if (other.keepAliveTimeout != null) {
+            this.keepAliveTimeout = other.keepAliveTimeout;
+        }
+        if (other.idleTimeout != null) {
+            this.idleTimeout = other.idleTimeout;
+        }
+        if (other.sharedWebsocket != null) {
+            this.sharedWebsocket = other.sharedWebsocket;
+        }
+        if (other.websocketMaxOperations != null) {
+            this.websocketMaxOperations = other.websocketMaxOperations;
+        }
         return this;
     }
 }
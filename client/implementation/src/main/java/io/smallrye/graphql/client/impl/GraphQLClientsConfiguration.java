@@ -126,6 +126,50 @@ public class GraphQLClientsConfiguration {
                 .ifPresent(configuration::setExecuteSingleOperationsOverWebsocket);
         mpConfig.getOptionalValue(clientName + "/mp-graphql/allowUnexpectedResponseFields", Boolean.class)
                 .ifPresent(configuration::setAllowUnexpectedResponseFields);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/responseFormat", String.class)
+                .ifPresent(configuration::setResponseFormat);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/streamResponses", Boolean.class)
+                .ifPresent(configuration::setStreamResponses);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/batchWindow", Integer.class)
+                .ifPresent(configuration::setBatchWindow);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/batchMaxSize", Integer.class)
+                .ifPresent(configuration::setBatchMaxSize);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/cacheMaxEntries", Integer.class)
+                .ifPresent(configuration::setCacheMaxEntries);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/cacheTtl", Integer.class)
+                .ifPresent(configuration::setCacheTtl);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/cacheKeyField", String.class)
+                .ifPresent(configuration::setCacheKeyField);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/cachePolicy", String.class)
+                .ifPresent(configuration::setCachePolicy);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/persistedQueries", Boolean.class)
+                .ifPresent(configuration::setPersistedQueries);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/persistedQueriesGet", Boolean.class)
+                .ifPresent(configuration::setPersistedQueriesGet);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/http2", Boolean.class)
+                .ifPresent(configuration::setHttp2);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/http2PriorKnowledge", Boolean.class)
+                .ifPresent(configuration::setHttp2PriorKnowledge);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/maxPoolSize", Integer.class)
+                .ifPresent(configuration::setMaxPoolSize);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/http2MaxPoolSize", Integer.class)
+                .ifPresent(configuration::setHttp2MaxPoolSize);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/http2MultiplexingLimit", Integer.class)
+                .ifPresent(configuration::setHttp2MultiplexingLimit);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/pipelining", Boolean.class)
+                .ifPresent(configuration::setPipelining);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/pipeliningLimit", Integer.class)
+                .ifPresent(configuration::setPipeliningLimit);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/keepAlive", Boolean.class)
+                .ifPresent(configuration::setKeepAlive);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/keepAliveTimeout", Integer.class)
+                .ifPresent(configuration::setKeepAliveTimeout);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/idleTimeout", Integer.class)
+                .ifPresent(configuration::setIdleTimeout);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/sharedWebsocket", Boolean.class)
+                .ifPresent(configuration::setSharedWebsocket);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/websocketMaxOperations", Integer.class)
+                .ifPresent(configuration::setWebsocketMaxOperations);
         return configuration;
     }
 
@@ -0,0 +1,160 @@
+package io.smallrye.graphql.client.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+
+/**
+ * The client side of automatic persisted queries: a request first only sends the SHA-256 hash of its query, in
+ * <code>extensions.persistedQuery</code>. If the server doesn't know the hash yet, it responds with a
+ * {@value #NOT_FOUND} error, and the client sends the request again with the query, so the server can store it.
+ * If the server responds with {@value #NOT_SUPPORTED}, the client should stop sending hashes.
+ */
+public class PersistedQueries {
+    public static final String NOT_FOUND = "PersistedQueryNotFound";
+    public static final String NOT_SUPPORTED = "PersistedQueryNotSupported";
+
+    private static final String NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    private static final String NOT_SUPPORTED_CODE = "PERSISTED_QUERY_NOT_SUPPORTED";
+
+    private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+    private static final JsonParserFactory jsonParserFactory = Json.createParserFactory(null);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // guarded by itself
+    private final Map<String, String> hashes;
+
+    /**
+     * @param maxQueries the number of queries to keep the hashes of
+     */
+    public PersistedQueries(int maxQueries) {
+        this.hashes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxQueries;
+            }
+        };
+    }
+
+    /**
+     * The hash of this query, only computed the first time
+     */
+    public String hash(String query) {
+        synchronized (hashes) {
+            return hashes.computeIfAbsent(query, PersistedQueries::sha256);
+        }
+    }
+
+    public static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[2 * i] = HEX[(digest[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // every Java platform has it
+        }
+    }
+
+    /**
+     * The <code>extensions</code> of a request with only the hash of its query
+     */
+    public static JsonObject extensions(String hash) {
+        return jsonObjectFactory.createObjectBuilder()
+                .add("persistedQuery", jsonObjectFactory.createObjectBuilder()
+                        .add("version", 1)
+                        .add("sha256Hash", hash))
+                .build();
+    }
+
+    /**
+     * Writes the <code>extensions</code> of a request with only the hash of its query into the current object
+     */
+    public static void writeExtensions(JsonGenerator generator, String hash) {
+        generator.writeStartObject("extensions");
+        generator.writeStartObject("persistedQuery");
+        generator.write("version", 1);
+        generator.write("sha256Hash", hash);
+        generator.writeEnd();
+        generator.writeEnd();
+    }
+
+    /**
+     * @return {@link #NOT_FOUND}, {@link #NOT_SUPPORTED}, or null if the response has neither error
+     */
+    public static String error(JsonObject response) {
+        if (response == null || !(response.get("errors") instanceof JsonArray))
+            return null;
+        for (JsonValue error : response.getJsonArray("errors")) {
+            String persistedQueryError = error(error);
+            if (persistedQueryError != null)
+                return persistedQueryError;
+        }
+        return null;
+    }
+
+    /**
+     * Like {@link #error(JsonObject)}, but reads the JSON response as a stream, and stops as soon as it finds data,
+     * as responses to unknown hashes never have any
+     */
+    public static String error(InputStream response) {
+        try (JsonParser parser = jsonParserFactory.createParser(response)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT)
+                return null;
+            while (parser.hasNext() && parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event value = parser.next();
+                if ("data".equals(key) && value != JsonParser.Event.VALUE_NULL) {
+                    return null;
+                } else if ("errors".equals(key) && value == JsonParser.Event.START_ARRAY) {
+                    for (JsonValue error : parser.getArray()) {
+                        String persistedQueryError = error(error);
+                        if (persistedQueryError != null)
+                            return persistedQueryError;
+                    }
+                } else if (value == JsonParser.Event.START_OBJECT) {
+                    parser.skipObject();
+                } else if (value == JsonParser.Event.START_ARRAY) {
+                    parser.skipArray();
+                }
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return null; // not JSON, so it's for the reader of the response to report
+        }
+    }
+
+    private static String error(JsonValue error) {
+        if (!(error instanceof JsonObject))
+            return null;
+        JsonObject object = (JsonObject) error;
+        String message = (object.get("message") instanceof JsonString) ? object.getString("message") : null;
+        JsonValue extensions = object.get("extensions");
+        String code = (extensions instanceof JsonObject && ((JsonObject) extensions).get("code") instanceof JsonString)
+                ? ((JsonObject) extensions).getString("code")
+                : null;
+        if (NOT_FOUND.equals(message) || NOT_FOUND_CODE.equals(code))
+            return NOT_FOUND;
+        if (NOT_SUPPORTED.equals(message) || NOT_SUPPORTED_CODE.equals(code))
+            return NOT_SUPPORTED;
+        return null;
+    }
+}
@@ -50,14 +50,25 @@ public class ResponseReader {
 
             // validate that this is what we consider a GraphQL response - else return null
             if (jsonResponse.size() >= 1) {
-                return checkExpectedResponseFields(jsonResponse,
-                        allowUnexpectedResponseFields);
+                return ResponseUncruncher.uncrunch(checkExpectedResponseFields(jsonResponse,
+                        allowUnexpectedResponseFields));
             } else {
                 return null;
             }
         }
     }
 
+    /**
+     * Validate an already decoded GraphQL response, e.g. one received in a binary format.
+     * Returns the response if it is one, `null` if it is not.
+     */
+    public static JsonObject parseGraphQLResponse(JsonObject jsonResponse, Boolean allowUnexpectedResponseFields) {
+        if (jsonResponse == null || jsonResponse.isEmpty()) {
+            return null;
+        }
+        return ResponseUncruncher.uncrunch(checkExpectedResponseFields(jsonResponse, allowUnexpectedResponseFields));
+    }
+
     private static JsonObject checkExpectedResponseFields(JsonObject jsonResponse,
             Boolean allowUnexpectedResponseFields) {
         for (String key : jsonResponse.keySet()) {
@@ -80,6 +91,25 @@ public class ResponseReader {
                     "Unexpected response. Code=" + statusCode + ", message=\"" + statusMessage + "\", " +
                             "body=\"" + input + "\"");
         }
+        return toResponse(jsonResponse, headers, statusCode, statusMessage);
+    }
+
+    /**
+     * Read a response that has already been decoded, e.g. from a binary format
+     */
+    public static ResponseImpl readFrom(JsonObject decoded, Map<String, List<String>> headers, Integer statusCode,
+            String statusMessage, Boolean allowUnexpectedResponseFields) {
+        JsonObject jsonResponse = parseGraphQLResponse(decoded, allowUnexpectedResponseFields);
+        if (jsonResponse == null) {
+            throw new InvalidResponseException(
+                    "Unexpected response. Code=" + statusCode + ", message=\"" + statusMessage + "\", " +
+                            "body=\"" + decoded + "\"");
+        }
+        return toResponse(jsonResponse, headers, statusCode, statusMessage);
+    }
+
+    private static ResponseImpl toResponse(JsonObject jsonResponse, Map<String, List<String>> headers, Integer statusCode,
+            String statusMessage) {
         JsonObject data = null;
         if (jsonResponse.containsKey("data")) {
             if (!jsonResponse.isNull("data")) {
@@ -0,0 +1,84 @@
+package io.smallrye.graphql.client.impl;
+
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+import io.smallrye.graphql.client.InvalidResponseException;
+
+/**
+ * Expands responses in the graphql-crunch format, that the server sends when asked for it with the
+ * {@code GraphQL-Crunch} header. The data of such a response is a table of distinct values, where objects and lists
+ * refer to their members by index, and the root is the last entry.
+ * Members always come before the values that contain them, so each entry is expanded exactly once and shared by
+ * all the values that refer to it.
+ */
+public class ResponseUncruncher {
+    private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+
+    private ResponseUncruncher() {
+    }
+
+    /**
+     * @return the response with expanded data, or the response itself if it is not crunched
+     */
+    public static JsonObject uncrunch(JsonObject response) {
+        if (response == null) {
+            return null;
+        }
+        JsonValue data = response.get("data");
+        if (data == null || data.getValueType() != JsonValue.ValueType.ARRAY) {
+            return response;
+        }
+        return jsonBuilderFactory.createObjectBuilder(response)
+                .add("data", uncrunchData(data.asJsonArray()))
+                .build();
+    }
+
+    public static JsonValue uncrunchData(JsonArray table) {
+        if (table.isEmpty()) {
+            return JsonValue.NULL;
+        }
+        JsonValue[] values = new JsonValue[table.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonValue entry = table.get(i);
+            switch (entry.getValueType()) {
+                case OBJECT:
+                    JsonObjectBuilder object = jsonBuilderFactory.createObjectBuilder();
+                    for (Map.Entry<String, JsonValue> field : entry.asJsonObject().entrySet()) {
+                        object.add(field.getKey(), lookup(values, field.getValue(), i));
+                    }
+                    values[i] = object.build();
+                    break;
+                case ARRAY:
+                    JsonArrayBuilder array = jsonBuilderFactory.createArrayBuilder();
+                    for (JsonValue item : entry.asJsonArray()) {
+                        array.add(lookup(values, item, i));
+                    }
+                    values[i] = array.build();
+                    break;
+                default:
+                    values[i] = entry;
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static JsonValue lookup(JsonValue[] values, JsonValue reference, int current) {
+        if (reference.getValueType() != JsonValue.ValueType.NUMBER) {
+            throw new InvalidResponseException("Invalid reference in crunched response: " + reference);
+        }
+        int index = ((JsonNumber) reference).intValue();
+        if (index < 0 || index >= current) {
+            throw new InvalidResponseException("Invalid reference in crunched response: " + index);
+        }
+        return values[index];
+    }
+}
@@ -0,0 +1,64 @@
+package io.smallrye.graphql.client.impl.cache;
+
+/**
+ * A snapshot of the counters of a {@link NormalizedCache}
+ */
+public class CacheStatistics {
+    private final long hits;
+    private final long staleHits;
+    private final long misses;
+    private final long evictions;
+    private final int entries;
+    private final long estimatedBytes;
+
+    CacheStatistics(long hits, long staleHits, long misses, long evictions, int entries, long estimatedBytes) {
+        this.hits = hits;
+        this.staleHits = staleHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /** The number of queries that were answered from the cache with data that was not expired */
+    public long getHits() {
+        return hits;
+    }
+
+    /** The number of queries that were answered from the cache with expired data, while refreshing it */
+    public long getStaleHits() {
+        return staleHits;
+    }
+
+    /** The number of queries that looked into the cache, but had to be sent to the server */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** The number of entries that were removed, because the cache was full */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /** The number of entities and root fields that are currently cached */
+    public int getEntries() {
+        return entries;
+    }
+
+    /** A rough estimate of the memory used by the cached values, in bytes */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /** The share of the queries that looked into the cache and were answered from it, between 0 and 1 */
+    public double getHitRatio() {
+        long lookups = hits + staleHits + misses;
+        return (lookups == 0) ? 0 : (double) (hits + staleHits) / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hits=" + hits + ", staleHits=" + staleHits + ", misses=" + misses
+                + ", evictions=" + evictions + ", entries=" + entries + ", estimatedBytes=" + estimatedBytes + "}";
+    }
+}
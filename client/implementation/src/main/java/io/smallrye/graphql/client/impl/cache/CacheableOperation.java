@@ -0,0 +1,31 @@
+package io.smallrye.graphql.client.impl.cache;
+
+import java.util.List;
+
+import io.smallrye.graphql.client.core.OperationType;
+
+/**
+ * An operation that the {@link NormalizedCache} can answer or store: its type and the root fields it selects
+ */
+public class CacheableOperation {
+    private final OperationType type;
+    private final List<Selection> selections;
+
+    public CacheableOperation(OperationType type, List<Selection> selections) {
+        this.type = type;
+        this.selections = selections;
+    }
+
+    public OperationType getType() {
+        return type;
+    }
+
+    public List<Selection> getSelections() {
+        return selections;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + selections;
+    }
+}
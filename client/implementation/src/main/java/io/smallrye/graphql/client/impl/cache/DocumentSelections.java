@@ -0,0 +1,203 @@
+package io.smallrye.graphql.client.impl.cache;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import io.smallrye.graphql.client.core.Argument;
+import io.smallrye.graphql.client.core.Document;
+import io.smallrye.graphql.client.core.Field;
+import io.smallrye.graphql.client.core.FieldOrFragment;
+import io.smallrye.graphql.client.core.Fragment;
+import io.smallrye.graphql.client.core.FragmentOrOperation;
+import io.smallrye.graphql.client.core.FragmentReference;
+import io.smallrye.graphql.client.core.InlineFragment;
+import io.smallrye.graphql.client.core.InputObject;
+import io.smallrye.graphql.client.core.InputObjectField;
+import io.smallrye.graphql.client.core.Operation;
+import io.smallrye.graphql.client.core.Variable;
+import io.smallrye.graphql.client.impl.core.utils.ValueFormatter;
+
+/**
+ * Works out the {@link Selection}s of an operation of a dynamic client's {@link Document}.
+ * <p>
+ * The fields of fragments are merged into the selection set they are spread into. So a query with fragments on
+ * other types than the object actually has is only answered from the cache, if the object has all of their fields.
+ */
+public class DocumentSelections {
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    private final JsonObject variables;
+
+    /**
+     * @param variables the values of the variables, as they are sent to the server
+     * @param operationName the name of the operation to execute, or null if the document has only one
+     * @return the operation, or null if it can't be cached, e.g. because it uses directives
+     */
+    public static CacheableOperation of(Document document, JsonObject variables, String operationName) {
+        return new DocumentSelections(document, variables).operation(document, operationName);
+    }
+
+    private DocumentSelections(Document document, JsonObject variables) {
+        this.variables = variables;
+        for (FragmentOrOperation fragmentOrOperation : document.getOperations()) {
+            if (fragmentOrOperation instanceof Fragment) {
+                Fragment fragment = (Fragment) fragmentOrOperation;
+                fragments.put(fragment.getName(), fragment);
+            }
+        }
+    }
+
+    private CacheableOperation operation(Document document, String operationName) {
+        Operation operation = null;
+        for (FragmentOrOperation fragmentOrOperation : document.getOperations()) {
+            if (!(fragmentOrOperation instanceof Operation))
+                continue;
+            Operation candidate = (Operation) fragmentOrOperation;
+            if (operationName == null || operationName.isEmpty()) {
+                if (operation != null)
+                    return null; // the server rejects it
+                operation = candidate;
+            } else if (operationName.equals(candidate.getName())) {
+                operation = candidate;
+            }
+        }
+        if (operation == null || hasDirectives(operation.getDirectives()))
+            return null;
+        List<Selection> selections = selections(operation.getFields());
+        return (selections == null) ? null : new CacheableOperation(operation.getType(), selections);
+    }
+
+    /** The selections, or null if they can't be cached */
+    private List<Selection> selections(List<FieldOrFragment> fieldsOrFragments) {
+        List<Selection> selections = new ArrayList<>();
+        if (!addSelections(selections, fieldsOrFragments))
+            return null;
+        return selections;
+    }
+
+    private boolean addSelections(List<Selection> selections, List<FieldOrFragment> fieldsOrFragments) {
+        for (FieldOrFragment fieldOrFragment : fieldsOrFragments) {
+            if (fieldOrFragment instanceof Field) {
+                Selection selection = selection((Field) fieldOrFragment);
+                if (selection == null)
+                    return false;
+                add(selections, selection);
+            } else if (fieldOrFragment instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) fieldOrFragment;
+                if (hasDirectives(inlineFragment.getDirectives())
+                        || !addSelections(selections, inlineFragment.getFields()))
+                    return false;
+            } else if (fieldOrFragment instanceof FragmentReference) {
+                FragmentReference reference = (FragmentReference) fieldOrFragment;
+                Fragment fragment = fragments.get(reference.getName());
+                if (fragment == null || hasDirectives(reference.getDirectives())
+                        || hasDirectives(fragment.getDirectives())
+                        || !addSelections(selections, fragment.getFields()))
+                    return false;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Adds the selection, or merges it with the one with the same response key */
+    private static void add(List<Selection> selections, Selection selection) {
+        for (int i = 0; i < selections.size(); i++) {
+            Selection existing = selections.get(i);
+            if (existing.getResponseKey().equals(selection.getResponseKey())) {
+                if (existing.getChildren() != null && selection.getChildren() != null) {
+                    selection.getChildren().forEach(child -> add(existing.getChildren(), child));
+                }
+                return;
+            }
+        }
+        selections.add(selection);
+    }
+
+    private Selection selection(Field field) {
+        if (hasDirectives(field.getDirectives()))
+            return null;
+        String name = field.getName();
+        String alias = null;
+        int colon = name.indexOf(':');
+        if (colon > 0) {
+            alias = name.substring(0, colon).trim();
+            name = name.substring(colon + 1).trim();
+        }
+        List<Selection> children = null;
+        if (field.getFields() != null && !field.getFields().isEmpty()) {
+            children = selections(field.getFields());
+            if (children == null)
+                return null;
+        }
+        return new Selection(name, alias, arguments(field.getArguments()), children);
+    }
+
+    private String arguments(List<Argument> arguments) {
+        if (arguments == null || arguments.isEmpty())
+            return null;
+        StringBuilder out = new StringBuilder();
+        List<Argument> sorted = new ArrayList<>(arguments);
+        sorted.sort(Comparator.comparing(Argument::getName));
+        for (Argument argument : sorted) {
+            if (out.length() > 0)
+                out.append(",");
+            out.append(argument.getName()).append(":");
+            appendValue(out, argument.getValue());
+        }
+        return out.toString();
+    }
+
+    private void appendValue(StringBuilder out, Object value) {
+        if (value instanceof Variable) {
+            JsonValue variable = (variables == null) ? null : variables.get(((Variable) value).getName());
+            if (variable != null) {
+                out.append(variable);
+            } else {
+                appendValue(out, ((Variable) value).getDefaultValue().orElse(null));
+            }
+        } else if (value instanceof InputObject) {
+            List<InputObjectField> fields = new ArrayList<>(((InputObject) value).getInputObjectFields());
+            fields.sort(Comparator.comparing(InputObjectField::getName));
+            out.append("{");
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0)
+                    out.append(",");
+                out.append(fields.get(i).getName()).append(":");
+                appendValue(out, fields.get(i).getValue());
+            }
+            out.append("}");
+        } else if (value instanceof Iterable) {
+            out.append("[");
+            boolean first = true;
+            for (Object item : (Iterable<?>) value) {
+                if (!first)
+                    out.append(",");
+                first = false;
+                appendValue(out, item);
+            }
+            out.append("]");
+        } else if (value != null && value.getClass().isArray()) {
+            out.append("[");
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (i > 0)
+                    out.append(",");
+                appendValue(out, Array.get(value, i));
+            }
+            out.append("]");
+        } else {
+            out.append(ValueFormatter.format(value));
+        }
+    }
+
+    private static boolean hasDirectives(List<?> directives) {
+        return directives != null && !directives.isEmpty();
+    }
+}
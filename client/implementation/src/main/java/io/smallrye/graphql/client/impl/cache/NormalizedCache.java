@@ -0,0 +1,398 @@
+package io.smallrye.graphql.client.impl.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.graphql.client.CachePolicy;
+import io.smallrye.graphql.client.core.OperationType;
+import io.smallrye.graphql.client.impl.GraphQLClientConfiguration;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * A client-side cache of GraphQL responses, that stores the objects in the responses as entities, not as whole
+ * responses, so different queries share the same data, and the result of a mutation updates the data of all queries.
+ * <p>
+ * An object with a <code>__typename</code> and a key field (<code>id</code> by default) is stored once, as an entity
+ * under the key <code>Typename:id</code>, with the values of all the fields that were ever selected. The fields of
+ * root queries are stored with their arguments, and refer to the entities. Objects without a key are stored within the
+ * field that holds them.
+ * <p>
+ * A query is answered from the cache, if all the fields it selects are in it. Every field expires after the time to
+ * live, and the least recently used entries are evicted when there are more than the maximum number of entries.
+ * <p>
+ * One cache can be shared by several clients with the same configuration key, see {@link #forClient(String)}.
+ * The data is partitioned by the headers of the requests, so clients (or calls) with different headers, e.g.
+ * different <code>Authorization</code> headers, never see the data of each other; not even the entities.
+ */
+public class NormalizedCache {
+    private static final Logger log = Logger.getLogger(NormalizedCache.class);
+
+    private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+    private static final ConcurrentMap<String, NormalizedCache> CLIENT_CACHES = new ConcurrentHashMap<>();
+
+    private static final String ROOT = "ROOT_QUERY.";
+    private static final String TYPENAME = "__typename";
+    private static final String REF = "__ref";
+
+    /**
+     * The cache of the clients with this configuration key, or null if there is none
+     */
+    public static NormalizedCache forClient(String configKey) {
+        return CLIENT_CACHES.get(configKey);
+    }
+
+    /**
+     * The cache of the clients with this configuration key; it's created, if there is none yet
+     */
+    public static NormalizedCache forClient(String configKey, Supplier<NormalizedCache> create) {
+        return CLIENT_CACHES.computeIfAbsent(configKey, key -> create.get());
+    }
+
+    /**
+     * The cache of the clients with this configuration key, created from the configuration, if there is none yet;
+     * null if the configuration has no <code>cacheMaxEntries</code>
+     */
+    public static NormalizedCache forClient(String configKey, GraphQLClientConfiguration configuration) {
+        if (configuration.getCacheMaxEntries() == null)
+            return null;
+        return forClient(configKey, () -> new NormalizedCache(configuration.getCacheMaxEntries(),
+                Duration.ofSeconds((configuration.getCacheTtl() == null) ? 300 : configuration.getCacheTtl()),
+                (configuration.getCacheKeyField() == null) ? "id" : configuration.getCacheKeyField()));
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final String keyField;
+    private final LongSupplier clock;
+
+    // all guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= maxEntries)
+                return false;
+            estimatedBytes -= eldest.getValue().bytes;
+            evictions++;
+            return true;
+        }
+    };
+    private long estimatedBytes;
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param keyField the name of the field that identifies an entity of a type, e.g. <code>id</code>
+     */
+    public NormalizedCache(int maxEntries, Duration ttl, String keyField) {
+        this(maxEntries, ttl, keyField, System::currentTimeMillis);
+    }
+
+    NormalizedCache(int maxEntries, Duration ttl, String keyField, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.keyField = keyField;
+        this.clock = clock;
+    }
+
+    /**
+     * Executes an operation with this policy: the result comes from the cache or from the network, and the data of
+     * the network results is written to the cache.
+     *
+     * @param headers all headers of the request, the data is only shared with requests with the same headers
+     * @param network sends the operation to the server
+     * @param fromCache creates the result from the cached data
+     * @param dataOf the data of a network result that may be cached, or null, e.g. if the result has errors
+     */
+    public <T> Uni<T> execute(CachePolicy policy, CacheableOperation operation, Iterable<Map.Entry<String, String>> headers,
+            Supplier<Uni<T>> network, Function<JsonObject, T> fromCache, Function<T, JsonObject> dataOf) {
+        String partition = partition(headers);
+        if (operation.getType() != OperationType.QUERY || policy == CachePolicy.NETWORK_ONLY) {
+            return fetch(operation, partition, network, dataOf);
+        }
+        return Uni.createFrom().deferred(() -> {
+            CachedData cached = read(partition, operation.getSelections());
+            if (cached == null || (cached.stale && policy != CachePolicy.STALE_WHILE_REVALIDATE)) {
+                count(() -> misses++);
+                return fetch(operation, partition, network, dataOf);
+            }
+            if (cached.stale) {
+                count(() -> staleHits++);
+                log.tracef("answering %s with stale data, while refreshing it", operation);
+                fetch(operation, partition, network, dataOf).subscribe().with(
+                        result -> {
+                        },
+                        failure -> log.debugf(failure, "refreshing %s failed", operation));
+            } else {
+                count(() -> hits++);
+            }
+            return Uni.createFrom().item(() -> fromCache.apply(cached.data));
+        });
+    }
+
+    private <T> Uni<T> fetch(CacheableOperation operation, String partition, Supplier<Uni<T>> network,
+            Function<T, JsonObject> dataOf) {
+        return network.get().invoke(result -> write(operation, partition, dataOf.apply(result)));
+    }
+
+    /**
+     * The prefix of the keys of the data of requests with these headers: a digest of all header names and values, so
+     * the values (e.g. tokens) are not kept in the keys. Empty, if there are no headers.
+     */
+    static String partition(Iterable<Map.Entry<String, String>> headers) {
+        List<String> sorted = new ArrayList<>();
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers) {
+                sorted.add(header.getKey().toLowerCase(Locale.ROOT) + ":" + header.getValue());
+            }
+        }
+        if (sorted.isEmpty())
+            return "";
+        Collections.sort(sorted);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String header : sorted) {
+                digest.update(header.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "/";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private synchronized void count(Runnable counter) {
+        counter.run();
+    }
+
+    /**
+     * Store the data of a response to a request without headers. The root fields of queries are stored, so they can
+     * be read again; of other operations, only the entities are stored.
+     */
+    public void write(CacheableOperation operation, JsonObject data) {
+        write(operation, "", data);
+    }
+
+    private void write(CacheableOperation operation, String partition, JsonObject data) {
+        if (data == null)
+            return;
+        long now = clock.getAsLong();
+        synchronized (this) {
+            for (Selection selection : operation.getSelections()) {
+                JsonValue value = data.get(selection.getResponseKey());
+                if (value == null)
+                    continue;
+                JsonValue normalized = normalize(value, selection, partition, now);
+                if (operation.getType() == OperationType.QUERY)
+                    put(partition + ROOT + selection.getStorageKey(), selection.getStorageKey(), normalized, now);
+            }
+        }
+    }
+
+    private JsonValue normalize(JsonValue value, Selection selection, String partition, long now) {
+        if (selection.getChildren() == null)
+            return value;
+        if (value instanceof JsonArray) {
+            JsonArrayBuilder items = jsonObjectFactory.createArrayBuilder();
+            for (JsonValue item : (JsonArray) value)
+                items.add(normalize(item, selection, partition, now));
+            return items.build();
+        }
+        if (!(value instanceof JsonObject))
+            return value;
+        JsonObject object = (JsonObject) value;
+        Map<String, JsonValue> fields = new LinkedHashMap<>();
+        for (Selection child : selection.getChildren()) {
+            JsonValue childValue = object.get(child.getResponseKey());
+            if (childValue != null)
+                fields.put(child.getStorageKey(), normalize(childValue, child, partition, now));
+        }
+        JsonValue typename = object.get(TYPENAME);
+        String id = id(object.get(keyField));
+        if (!(typename instanceof JsonString) || id == null) {
+            JsonObjectBuilder embedded = jsonObjectFactory.createObjectBuilder();
+            fields.forEach(embedded::add);
+            return embedded.build();
+        }
+        String key = partition + ((JsonString) typename).getString() + ":" + id;
+        fields.put(TYPENAME, typename);
+        fields.forEach((name, fieldValue) -> put(key, name, fieldValue, now));
+        return jsonObjectFactory.createObjectBuilder().add(REF, key).build();
+    }
+
+    private static String id(JsonValue value) {
+        if (value instanceof JsonString)
+            return ((JsonString) value).getString();
+        if (value instanceof JsonNumber)
+            return value.toString();
+        return null;
+    }
+
+    private void put(String key, String name, JsonValue value, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(key, entry);
+        }
+        long bytes = estimateBytes(name, value);
+        Field previous = entry.fields.put(name, new Field(value, now, bytes));
+        long delta = bytes - ((previous == null) ? 0 : previous.bytes);
+        entry.bytes += delta;
+        if (entries.get(key) == entry) // it may have been evicted right away, if the cache is tiny
+            estimatedBytes += delta;
+    }
+
+    private static long estimateBytes(String name, JsonValue value) {
+        // two bytes per char, plus the objects holding them
+        return 2L * (name.length() + value.toString().length()) + 64;
+    }
+
+    /**
+     * The data for these root fields, or null if some of it is not in the cache
+     */
+    CachedData read(List<Selection> selections) {
+        return read("", selections);
+    }
+
+    private synchronized CachedData read(String partition, List<Selection> selections) {
+        ReadState state = new ReadState(clock.getAsLong());
+        JsonObjectBuilder data = jsonObjectFactory.createObjectBuilder();
+        for (Selection selection : selections) {
+            Entry root = entries.get(partition + ROOT + selection.getStorageKey());
+            JsonValue value = (root == null) ? null
+                    : denormalize(state.get(root, selection.getStorageKey()), selection, state);
+            if (value == null)
+                return null;
+            data.add(selection.getResponseKey(), value);
+        }
+        return new CachedData(data.build(), state.stale);
+    }
+
+    private JsonValue denormalize(JsonValue value, Selection selection, ReadState state) {
+        if (value == null || selection.getChildren() == null)
+            return value;
+        if (value instanceof JsonArray) {
+            JsonArrayBuilder items = jsonObjectFactory.createArrayBuilder();
+            for (JsonValue item : (JsonArray) value) {
+                JsonValue denormalized = denormalize(item, selection, state);
+                if (denormalized == null)
+                    return null;
+                items.add(denormalized);
+            }
+            return items.build();
+        }
+        if (!(value instanceof JsonObject))
+            return value;
+        JsonObject object = (JsonObject) value;
+        if (object.containsKey(REF)) {
+            Entry entity = entries.get(object.getString(REF));
+            return (entity == null) ? null
+                    : denormalizeFields(name -> state.get(entity, name), selection.getChildren(), state);
+        }
+        return denormalizeFields(object::get, selection.getChildren(), state);
+    }
+
+    private JsonValue denormalizeFields(Function<String, JsonValue> fields, List<Selection> selections,
+            ReadState state) {
+        JsonObjectBuilder object = jsonObjectFactory.createObjectBuilder();
+        for (Selection selection : selections) {
+            JsonValue value = denormalize(fields.apply(selection.getStorageKey()), selection, state);
+            if (value == null)
+                return null;
+            object.add(selection.getResponseKey(), value);
+        }
+        return object.build();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        estimatedBytes = 0;
+    }
+
+    /**
+     * The counters of this cache. The client has no metrics API, so to monitor the cache, register gauges for them in
+     * the registry of the application, e.g. with Micrometer:
+     *
+     * <pre>
+     * Gauge.builder("graphql.client.cache.hit.ratio", cache, c -&gt; c.getStatistics().getHitRatio()).register(registry);
+     * </pre>
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hits, staleHits, misses, evictions, entries.size(), estimatedBytes);
+    }
+
+    /** An entity, or a root field of a query */
+    private static class Entry {
+        private final Map<String, Field> fields = new HashMap<>();
+        private long bytes;
+    }
+
+    private static class Field {
+        private final JsonValue value;
+        private final long writtenAt;
+        private final long bytes;
+
+        private Field(JsonValue value, long writtenAt, long bytes) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+            this.bytes = bytes;
+        }
+    }
+
+    private class ReadState {
+        private final long now;
+        private boolean stale;
+
+        private ReadState(long now) {
+            this.now = now;
+        }
+
+        private JsonValue get(Entry entry, String name) {
+            Field field = entry.fields.get(name);
+            if (field == null)
+                return null;
+            if (now - field.writtenAt > ttlMillis)
+                stale = true;
+            return field.value;
+        }
+    }
+
+    static class CachedData {
+        final JsonObject data;
+        /** Some of the data has expired */
+        final boolean stale;
+
+        private CachedData(JsonObject data, boolean stale) {
+            this.data = data;
+            this.stale = stale;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.smallrye.graphql.client.impl.cache;
+
+import java.util.List;
+
+/**
+ * A field that an operation selects, with what the {@link NormalizedCache} needs to store its value and to read it
+ * back: the key of the value in the response, the key to store it under, and the selection set of objects.
+ */
+public class Selection {
+    private final String responseKey;
+    private final String storageKey;
+    private final List<Selection> children;
+
+    /**
+     * @param alias the alias of the field, or null
+     * @param arguments the arguments with their values, e.g. <code>id:"1",limit:3</code>, or null if there are none
+     * @param children the selection set, or null if the field is a scalar
+     */
+    public Selection(String name, String alias, String arguments, List<Selection> children) {
+        this.responseKey = (alias == null) ? name : alias;
+        this.storageKey = (arguments == null || arguments.isEmpty()) ? name : name + "(" + arguments + ")";
+        this.children = children;
+    }
+
+    /** The key of the value in the response, i.e. the alias or the name of the field */
+    public String getResponseKey() {
+        return responseKey;
+    }
+
+    /** The key of the value in the cache: the name of the field, with the arguments, but without the alias */
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    /** The selection set, or null if the field is a scalar */
+    public List<Selection> getChildren() {
+        return children;
+    }
+
+    @Override
+    public String toString() {
+        return storageKey + ((children == null) ? "" : " " + children);
+    }
+}
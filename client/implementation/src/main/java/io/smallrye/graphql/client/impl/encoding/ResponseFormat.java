@@ -0,0 +1,104 @@
+package io.smallrye.graphql.client.impl.encoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import io.smallrye.graphql.encoding.BinaryReader;
+import io.smallrye.graphql.encoding.CborReader;
+import io.smallrye.graphql.encoding.MessagePackReader;
+
+/**
+ * The formats a client can ask the server to encode responses in. JSON is the default;
+ * the binary formats are requested with the Accept header and detected by the Content-Type of the response.
+ */
+public enum ResponseFormat {
+    JSON("application/json"),
+    CBOR("application/cbor"),
+    MSGPACK("application/msgpack");
+
+    private final String mediaType;
+
+    ResponseFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * The Accept header to send. JSON stays acceptable, in case the server does not support the binary format.
+     */
+    public String getAcceptHeader() {
+        if (isBinary()) {
+            return mediaType + ", application/json;q=0.9";
+        }
+        return mediaType;
+    }
+
+    /**
+     * @param value the name (case-insensitive) or media type of a format
+     */
+    public static ResponseFormat fromString(String value) {
+        String trimmed = value.trim();
+        for (ResponseFormat format : values()) {
+            if (format.name().equalsIgnoreCase(trimmed) || format.mediaType.equalsIgnoreCase(trimmed)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown response format: " + value);
+    }
+
+    /**
+     * @param contentType the Content-Type of a response, may be null
+     * @return the matching format, JSON if it is not one of the binary formats
+     */
+    public static ResponseFormat forContentType(String contentType) {
+        if (contentType != null) {
+            String type = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+            for (ResponseFormat format : values()) {
+                if (format.mediaType.equals(type)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Decode a binary response body into its JSON representation
+     *
+     * @return the decoded object, or null if the body is not a valid object in this format
+     */
+    public JsonObject decode(byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        BinaryReader reader;
+        switch (this) {
+            case CBOR:
+                reader = new CborReader(in);
+                break;
+            case MSGPACK:
+                reader = new MessagePackReader(in);
+                break;
+            default:
+                throw new UnsupportedOperationException("JSON responses are read as text");
+        }
+        try {
+            JsonValue value = reader.readValue();
+            return value.getValueType() == JsonValue.ValueType.OBJECT ? value.asJsonObject() : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -4,8 +4,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -47,37 +48,48 @@ public class HeaderBuilder {
         return annotation.configKey();
     }
 
+    /**
+     * The headers of the invocation. Don't modify the map, see {@link HeaderTemplate#build(MethodInvocation)}.
+     */
     public Map<String, String> build() {
-        Map<String, String> headers = new LinkedHashMap<>();
+        return template().build(method);
+    }
+
+    /**
+     * Resolves the annotations and the configuration for the headers of the method, so this only has to be done once
+     * per method, and not for every invocation
+     */
+    public HeaderTemplate template() {
+        List<HeaderTemplate.Entry> headers = new ArrayList<>();
         addDefaultHeaders(headers);
         if (method != null) {
             method.getResolvedAnnotations(api, Header.class)
                     // getResolvedAnnotations returns class-level annotations first
                     // so if there is something on class level, it will be overwritten
                     // by a header on the method
-                    .forEach(annotation -> resolve(annotation).apply(headers));
-            method.headerParameters().forEach(parameter -> resolve(parameter).apply(headers));
+                    .forEach(annotation -> headers.add(resolve(annotation)));
+            method.headerParameters().forEach(parameter -> headers.add(resolve(parameter)));
             method.getResolvedAnnotations(api, AuthorizationHeader.class)
                     // getResolvedAnnotations returns class-level annotations first, then method-level annotations,
                     // so we need to take the last element of this stream.
                     // This `reduce` operation is basically 'find the last element'
                     .reduce((first, second) -> second)
                     .map(this::resolveAuthHeader)
-                    .ifPresent(auth -> headers.put("Authorization", auth));
+                    .ifPresent(auth -> headers.add(HeaderTemplate.constant("Authorization", auth)));
         }
         if (additionalHeaders != null) {
-            headers.putAll(additionalHeaders);
+            additionalHeaders.forEach((name, value) -> headers.add(HeaderTemplate.constant(name, value)));
         }
-        headers.putAll(configuredCredentials());
-        return headers;
+        configuredCredentials().forEach((name, value) -> headers.add(HeaderTemplate.constant(name, value)));
+        return new HeaderTemplate(headers);
     }
 
-    private void addDefaultHeaders(Map<String, String> headers) {
-        headers.put("Accept", APPLICATION_JSON_UTF8);
-        headers.put("Content-Type", APPLICATION_JSON_UTF8);
+    private void addDefaultHeaders(List<HeaderTemplate.Entry> headers) {
+        headers.add(HeaderTemplate.constant("Accept", APPLICATION_JSON_UTF8));
+        headers.add(HeaderTemplate.constant("Content-Type", APPLICATION_JSON_UTF8));
     }
 
-    private HeaderDescriptor resolve(Header header) {
+    private HeaderTemplate.Entry resolve(Header header) {
         if (!header.method().isEmpty()) {
             if (!header.constant().isEmpty())
                 throw new RuntimeException("Header with 'method' AND 'constant' not allowed: " + header);
@@ -87,17 +99,17 @@ public class HeaderBuilder {
             throw new RuntimeException("Header must have either 'method' XOR 'constant': " + header);
         if (header.name().isEmpty())
             throw new RuntimeException("Missing header name for constant '" + header.constant() + "'");
-        return new HeaderDescriptor(header.constant(), header.name());
+        return HeaderTemplate.constant(header.name(), header.constant());
     }
 
-    private HeaderDescriptor resolveHeaderMethod(Header header) {
+    /** The method is resolved only once, but called for every invocation, as the value may change */
+    private HeaderTemplate.Entry resolveHeaderMethod(Header header) {
         TypeInfo declaringType = method.getDeclaringType();
         MethodInvocation method = new MethodResolver(declaringType, header.method()).resolve();
         if (!method.isStatic())
             throw new RuntimeException("referenced header method '" + header.method() + "'" +
                     " in " + declaringType.getTypeName() + " is not static");
-        String value = callMethod(method);
-        return new HeaderDescriptor(value, toHeaderName(header, method));
+        return HeaderTemplate.dynamic(toHeaderName(header, method), invocation -> callMethod(method));
     }
 
     private String callMethod(MethodInvocation method) {
@@ -118,31 +130,17 @@ public class HeaderBuilder {
         return namedElement.isRenamed() ? name : camelToKebab(name);
     }
 
-    private HeaderDescriptor resolve(ParameterInfo parameter) {
+    private HeaderTemplate.Entry resolve(ParameterInfo parameter) {
         Header header = parameter.getAnnotations(Header.class)[0];
-        return new HeaderDescriptor(parameter.getValue(), toHeaderName(header, parameter));
+        int index = parameter.getIndex();
+        return HeaderTemplate.dynamic(toHeaderName(header, parameter),
+                invocation -> invocation.getParameterValue(index));
     }
 
     private static String camelToKebab(String input) {
         return String.join("-", input.split("(?=\\p{javaUpperCase})")); // header title-casing is done by vert.x
     }
 
-    private static class HeaderDescriptor {
-        private final String name;
-        private final String value;
-
-        public HeaderDescriptor(Object value, String name) {
-            this.value = (value == null) ? null : value.toString();
-            this.name = name;
-        }
-
-        public void apply(Map<String, String> headers) {
-            if (value != null) {
-                headers.put(name, value);
-            }
-        }
-    }
-
     private String resolveAuthHeader(AuthorizationHeader header) {
         String prefix = prefix(header);
         switch (header.type()) {
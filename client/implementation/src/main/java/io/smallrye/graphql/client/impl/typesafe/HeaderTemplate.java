@@ -0,0 +1,85 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+
+/**
+ * The headers of a method of a typesafe client, as worked out once by the {@link HeaderBuilder}. The headers from
+ * annotation constants and from the configuration are resolved up front; only the values of header parameters and of
+ * header methods are resolved for every invocation.
+ * <p>
+ * The headers are applied in the same order as they were resolved, so a later header with the same name still
+ * overwrites an earlier one, e.g. a header on the method one on the class.
+ */
+public class HeaderTemplate {
+    private final List<Entry> entries;
+    private final Map<String, String> constantHeaders;
+
+    HeaderTemplate(List<Entry> entries) {
+        this.entries = entries;
+        this.constantHeaders = entries.stream().allMatch(entry -> entry.dynamicValue == null)
+                ? unmodifiableMap(apply(null))
+                : null;
+    }
+
+    /**
+     * Are the headers the same for every invocation, so {@link #build(MethodInvocation)} always returns the same map?
+     */
+    public boolean isConstant() {
+        return constantHeaders != null;
+    }
+
+    /**
+     * The headers of this invocation. Don't modify the map: if the headers are {@link #isConstant() constant}, it's
+     * the same for all invocations.
+     */
+    public Map<String, String> build(MethodInvocation invocation) {
+        if (constantHeaders != null)
+            return constantHeaders;
+        return apply(invocation);
+    }
+
+    private Map<String, String> apply(MethodInvocation invocation) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            String value = entry.value(invocation);
+            if (value != null) {
+                headers.put(entry.name, value);
+            }
+        }
+        return headers;
+    }
+
+    static Entry constant(String name, String value) {
+        return new Entry(name, value, null);
+    }
+
+    static Entry dynamic(String name, Function<MethodInvocation, Object> value) {
+        return new Entry(name, null, value);
+    }
+
+    static class Entry {
+        private final String name;
+        private final String value;
+        private final Function<MethodInvocation, Object> dynamicValue;
+
+        private Entry(String name, String value, Function<MethodInvocation, Object> dynamicValue) {
+            this.name = name;
+            this.value = value;
+            this.dynamicValue = dynamicValue;
+        }
+
+        private String value(MethodInvocation invocation) {
+            if (dynamicValue == null)
+                return value;
+            Object dynamic = dynamicValue.apply(invocation);
+            return (dynamic == null) ? null : dynamic.toString();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerationException;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * A {@link JsonGenerator} that builds a tree of {@link JsonValue}s instead of writing text, so what the
+ * {@link RequestWriter} writes can also be handed over as a <code>JsonObject</code>, without writing and parsing it.
+ */
+public class JsonTreeGenerator implements JsonGenerator {
+    private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+
+    /** An object or an array that is not finished yet, with its name in the enclosing object */
+    private static class Frame {
+        private final JsonObjectBuilder object;
+        private final JsonArrayBuilder array;
+        private final String name;
+
+        private Frame(JsonObjectBuilder object, JsonArrayBuilder array, String name) {
+            this.object = object;
+            this.array = array;
+            this.name = name;
+        }
+    }
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private String key;
+    private JsonValue result;
+
+    /**
+     * @return the value that was written, or null if it's not complete yet
+     */
+    public JsonValue getResult() {
+        return frames.isEmpty() ? result : null;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        frames.push(new Frame(jsonBuilderFactory.createObjectBuilder(), null, nameInEnclosingObject()));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        return writeKey(name).writeStartObject();
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        if (frames.isEmpty() || frames.peek().object == null || key != null) {
+            throw new JsonGenerationException("A name is only allowed for the next value in an object");
+        }
+        key = name;
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        frames.push(new Frame(null, jsonBuilderFactory.createArrayBuilder(), nameInEnclosingObject()));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        return writeKey(name).writeStartArray();
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        if (frames.isEmpty() || key != null) {
+            throw new JsonGenerationException("There is no object or array to end");
+        }
+        Frame frame = frames.pop();
+        JsonValue value = (frame.object != null) ? frame.object.build() : frame.array.build();
+        Frame enclosing = frames.peek();
+        if (enclosing == null) {
+            result = value;
+        } else if (enclosing.object != null) {
+            enclosing.object.add(frame.name, value);
+        } else {
+            enclosing.array.add(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        Frame enclosing = frames.peek();
+        if (enclosing == null) {
+            if (result != null) {
+                throw new JsonGenerationException("A value was already written");
+            }
+            result = value;
+        } else if (enclosing.object != null) {
+            enclosing.object.add(nameInEnclosingObject(), value);
+        } else {
+            enclosing.array.add(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        return write(Json.createValue(value));
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        return write(Json.createValue(value));
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        return write(Json.createValue(value));
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        return write(Json.createValue(value));
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        return write(Json.createValue(value));
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        return write(Json.createValue(value));
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        return write(value ? JsonValue.TRUE : JsonValue.FALSE);
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        return write(JsonValue.NULL);
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        return writeKey(name).writeNull();
+    }
+
+    @Override
+    public void close() {
+        if (!frames.isEmpty()) {
+            throw new JsonGenerationException("Incomplete JSON");
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /** The name that was written for the next value, if the value is in an object; null in an array or at the top */
+    private String nameInEnclosingObject() {
+        if (frames.isEmpty() || frames.peek().object == null) {
+            return null;
+        }
+        if (key == null) {
+            throw new JsonGenerationException("A value in an object needs a name");
+        }
+        String name = key;
+        key = null;
+        return name;
+    }
+}
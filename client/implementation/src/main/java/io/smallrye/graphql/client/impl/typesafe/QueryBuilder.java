@@ -4,6 +4,7 @@ import static java.util.stream.Collectors.joining;
 
 import java.util.List;
 import java.util.Stack;
+import java.util.stream.Stream;
 
 import io.smallrye.graphql.client.impl.SmallRyeGraphQLClientMessages;
 import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
@@ -13,11 +14,31 @@ import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
 
 public class QueryBuilder {
     private final MethodInvocation method;
+    private final String variablePrefix;
+    private boolean typename;
     private final Stack<String> typeStack = new Stack<>();
     private final Stack<String> expressionStack = new Stack<>();
 
     public QueryBuilder(MethodInvocation method) {
+        this(method, "");
+    }
+
+    /**
+     * @param variablePrefix is put in front of the names of the variables, so the root field of this operation can be
+     *        merged with the root fields of other operations into one document, see {@link #rootField(String)}
+     */
+    public QueryBuilder(MethodInvocation method, String variablePrefix) {
         this.method = method;
+        this.variablePrefix = variablePrefix;
+    }
+
+    /**
+     * Also select the <code>__typename</code> of all objects, so the response can be normalized,
+     * see {@link io.smallrye.graphql.client.impl.cache.NormalizedCache}
+     */
+    public QueryBuilder withTypename() {
+        this.typename = true;
+        return this;
     }
 
     public String build() {
@@ -25,31 +46,50 @@ public class QueryBuilder {
         request.append(" ");
         request.append(method.getName());
         if (method.hasValueParameters())
-            request.append(method.valueParameters().map(this::declare).collect(joining(", ", "(", ")")));
+            request.append("(").append(variableDeclarations()).append(")");
 
         if (method.isSingle()) {
             request.append(" { ");
-            request.append(method.getName());
-            if (method.hasRootParameters())
-                request.append(method.rootParameters()
-                        .map(this::bind)
-                        .collect(joining(", ", "(", ")")));
+            request.append(rootField());
+            request.append(" }");
+        } else {
+            request.append(fields(method.getReturnType()));
         }
 
-        request.append(fields(method.getReturnType()));
+        return request.toString();
+    }
+
+    /**
+     * The declarations of the variables of the operation, separated by commas; empty if there are none
+     */
+    public String variableDeclarations() {
+        return method.valueParameters().map(this::declare).collect(joining(", "));
+    }
 
-        if (method.isSingle())
-            request.append(" }");
+    /**
+     * The root field of a {@link MethodInvocation#isSingle() single} operation, with its arguments and its selection
+     * set, under this alias
+     */
+    public String rootField(String alias) {
+        return alias + ": " + rootField();
+    }
 
-        return request.toString();
+    private String rootField() {
+        StringBuilder field = new StringBuilder(method.getName());
+        if (method.hasRootParameters())
+            field.append(method.rootParameters()
+                    .map(this::bind)
+                    .collect(joining(", ", "(", ")")));
+        field.append(fields(method.getReturnType()));
+        return field.toString();
     }
 
     private String declare(ParameterInfo parameter) {
-        return "$" + parameter.getRawName() + ": " + parameter.graphQlInputTypeName();
+        return "$" + variablePrefix + parameter.getRawName() + ": " + parameter.graphQlInputTypeName();
     }
 
     private String bind(ParameterInfo parameter) {
-        return parameter.getName() + ": $" + parameter.getRawName();
+        return parameter.getName() + ": $" + variablePrefix + parameter.getRawName();
     }
 
     private String fields(TypeInfo type) {
@@ -76,9 +116,10 @@ public class QueryBuilder {
             String valueFields = fields(type.getValueType());
             return "{ key " + keyFields + " value " + valueFields + "}";
         }
-        return type.fields()
-                .map(this::field)
-                .collect(joining(" ", " {", "}"));
+        Stream<String> fields = type.fields().map(this::field);
+        if (typename && (method.isSingle() || !expressionStack.isEmpty()))
+            fields = Stream.concat(Stream.of("__typename"), fields);
+        return fields.collect(joining(" ", " {", "}"));
     }
 
     private String field(FieldInfo field) {
@@ -0,0 +1,214 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import jakarta.json.stream.JsonGenerator;
+
+import io.smallrye.graphql.client.impl.PersistedQueries;
+import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.impl.typesafe.reflection.ParameterInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+
+/**
+ * Writes the request of a typesafe client, i.e. the query, the variables and the operation name, straight to a
+ * {@link JsonGenerator}, instead of building a tree of the request first.
+ * <p>
+ * How to write the values of a class is only worked out once: whether it is a scalar, a collection, a map, or an object
+ * with fields.
+ */
+public class RequestWriter {
+    private static final ClassValue<ValueWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ValueWriter computeValue(Class<?> type) {
+            return writerFor(type);
+        }
+    };
+
+    private RequestWriter() {
+    }
+
+    public static void write(JsonGenerator generator, String query, MethodInvocation method) {
+        write(generator, query, method, null);
+    }
+
+    /**
+     * @param query the query, or null to only send the hash of a persisted query
+     * @param persistedQueryHash the hash of the query, see {@link PersistedQueries}, or null
+     */
+    public static void write(JsonGenerator generator, String query, MethodInvocation method, String persistedQueryHash) {
+        generator.writeStartObject();
+        if (query != null) {
+            generator.write("query", query);
+        }
+        generator.writeStartObject("variables");
+        writeVariables(generator, method, "");
+        generator.writeEnd();
+        generator.write("operationName", method.getName());
+        if (persistedQueryHash != null) {
+            PersistedQueries.writeExtensions(generator, persistedQueryHash);
+        }
+        generator.writeEnd();
+    }
+
+    /**
+     * Writes the variables of this method into the current object, the names with this prefix, see
+     * {@link QueryBuilder#QueryBuilder(MethodInvocation, String)}
+     */
+    public static void writeVariables(JsonGenerator generator, MethodInvocation method, String prefix) {
+        method.valueParameters().forEach(parameter -> writeVariable(generator, parameter, prefix));
+    }
+
+    private static void writeVariable(JsonGenerator generator, ParameterInfo parameter, String prefix) {
+        generator.writeKey(prefix + parameter.getRawName());
+        writeValue(generator, parameter.getValue());
+    }
+
+    public static void writeValue(JsonGenerator generator, Object value) {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            WRITERS.get(value.getClass()).write(generator, value);
+        }
+    }
+
+    private interface ValueWriter {
+        void write(JsonGenerator generator, Object value);
+    }
+
+    private static ValueWriter writerFor(Class<?> type) {
+        TypeInfo typeInfo = TypeInfo.of(type);
+        if (typeInfo.isScalar()) {
+            return RequestWriter::writeScalar;
+        }
+        if (typeInfo.isCollection()) {
+            if (!type.isArray()) {
+                return RequestWriter::writeCollection;
+            }
+            return type.getComponentType().isPrimitive() ? RequestWriter::writePrimitiveArray : RequestWriter::writeArray;
+        }
+        if (typeInfo.isMap()) {
+            return RequestWriter::writeMap;
+        }
+        return new ObjectWriter(typeInfo.fields().toArray(FieldInfo[]::new));
+    }
+
+    private static void writeScalar(JsonGenerator generator, Object value) {
+        if (value instanceof String) {
+            generator.write((String) value);
+        } else if (value instanceof java.sql.Date) {
+            generator.write(value.toString());
+        } else if (value instanceof Date) {
+            generator.write(((Date) value).toInstant().toString());
+        } else if (value instanceof Calendar) {
+            generator.write(((Calendar) value).toInstant().toString());
+        } else if (value instanceof Enum) {
+            generator.write(((Enum<?>) value).name());
+        } else if (value instanceof Boolean) {
+            generator.write((Boolean) value);
+        } else if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+            generator.write(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.write((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeDouble(generator, ((Number) value).doubleValue());
+        } else if (value instanceof BigInteger) {
+            generator.write((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.write((BigDecimal) value);
+        } else if (value instanceof OptionalInt) {
+            OptionalInt optionalValue = (OptionalInt) value;
+            if (optionalValue.isPresent())
+                generator.write(optionalValue.getAsInt());
+            else
+                generator.writeNull();
+        } else if (value instanceof OptionalLong) {
+            OptionalLong optionalValue = (OptionalLong) value;
+            if (optionalValue.isPresent())
+                generator.write(optionalValue.getAsLong());
+            else
+                generator.writeNull();
+        } else if (value instanceof OptionalDouble) {
+            OptionalDouble optionalValue = (OptionalDouble) value;
+            if (optionalValue.isPresent())
+                writeDouble(generator, optionalValue.getAsDouble());
+            else
+                generator.writeNull();
+        } else {
+            generator.write(value.toString());
+        }
+    }
+
+    /** Written like a {@link jakarta.json.JsonNumber} created from a double, e.g. <code>1.0E+20</code> */
+    private static void writeDouble(JsonGenerator generator, double value) {
+        generator.write(BigDecimal.valueOf(value));
+    }
+
+    private static void writeCollection(JsonGenerator generator, Object value) {
+        generator.writeStartArray();
+        for (Object item : (Collection<?>) value) {
+            writeValue(generator, item);
+        }
+        generator.writeEnd();
+    }
+
+    private static void writeArray(JsonGenerator generator, Object value) {
+        generator.writeStartArray();
+        for (Object item : (Object[]) value) {
+            writeValue(generator, item);
+        }
+        generator.writeEnd();
+    }
+
+    private static void writePrimitiveArray(JsonGenerator generator, Object value) {
+        generator.writeStartArray();
+        int length = Array.getLength(value);
+        for (int i = 0; i < length; i++) {
+            writeValue(generator, Array.get(value, i));
+        }
+        generator.writeEnd();
+    }
+
+    private static void writeMap(JsonGenerator generator, Object value) {
+        generator.writeStartArray();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+            generator.writeStartObject();
+            generator.writeKey("key");
+            writeValue(generator, entry.getKey());
+            generator.writeKey("value");
+            writeValue(generator, entry.getValue());
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+    }
+
+    private static class ObjectWriter implements ValueWriter {
+        private final FieldInfo[] fields;
+
+        private ObjectWriter(FieldInfo[] fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, Object object) {
+            generator.writeStartObject();
+            for (FieldInfo field : fields) {
+                Object value = field.get(object);
+                if (value != null || field.isIncludeNull()) {
+                    generator.writeKey(field.getName());
+                    writeValue(generator, value);
+                }
+            }
+            generator.writeEnd();
+        }
+    }
+}
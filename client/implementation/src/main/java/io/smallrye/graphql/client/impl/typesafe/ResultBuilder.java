@@ -57,6 +57,23 @@ public class ResultBuilder {
         this.response = ResponseReader.parseGraphQLResponse(responseString, allowUnexpectedResponseFields);
     }
 
+    /**
+     * For responses that were not received as JSON text, but decoded from a binary format
+     */
+    public ResultBuilder(MethodInvocation method,
+            JsonObject decodedResponse,
+            Integer statusCode,
+            String statusMessage,
+            Map<String, List<String>> transportMeta,
+            boolean allowUnexpectedResponseFields) {
+        this.method = method;
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.responseString = String.valueOf(decodedResponse);
+        this.transportMeta = transportMeta;
+        this.response = ResponseReader.parseGraphQLResponse(decodedResponse, allowUnexpectedResponseFields);
+    }
+
     public Object read() {
         if (response == null) {
             throw new InvalidResponseException(
@@ -0,0 +1,76 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+import io.smallrye.graphql.client.impl.cache.CacheableOperation;
+import io.smallrye.graphql.client.impl.cache.Selection;
+import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.impl.typesafe.reflection.ParameterInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+
+/**
+ * The {@link Selection}s of the request that the {@link QueryBuilder} builds, with the values of the arguments of
+ * this invocation, so the response can be stored in a {@link io.smallrye.graphql.client.impl.cache.NormalizedCache}.
+ */
+public class SelectionBuilder {
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
+
+    private final MethodInvocation method;
+
+    public SelectionBuilder(MethodInvocation method) {
+        this.method = method;
+    }
+
+    public CacheableOperation build() {
+        List<Selection> selections = method.isSingle()
+                ? List.of(new Selection(method.getName(), null, arguments(method.rootParameters()),
+                        children(method.getReturnType(), "")))
+                : children(method.getReturnType(), "");
+        return new CacheableOperation(method.getOperationType(), selections);
+    }
+
+    private List<Selection> children(TypeInfo type, String prefix) {
+        while (type.isOptional() || type.isErrorOr() || type.isTypesafeResponse())
+            type = type.getItemType();
+        if (type.isScalar())
+            return null;
+        if (type.isCollection() || type.isAsync())
+            return children(type.getItemType(), prefix);
+        if (type.isMap()) {
+            return List.of(
+                    new Selection("key", null, null, children(type.getKeyType(), prefix)),
+                    new Selection("value", null, null, children(type.getValueType(), prefix)));
+        }
+        return type.fields().map(field -> field(field, prefix)).collect(toList());
+    }
+
+    private Selection field(FieldInfo field, String prefix) {
+        String path = prefix + field.getRawName();
+        return new Selection(field.getName(), field.getAlias().orElse(null),
+                arguments(method.nestedParameters(path).stream()),
+                children(field.getType(), path + "."));
+    }
+
+    private static String arguments(Stream<ParameterInfo> parameters) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            parameters.forEach(parameter -> {
+                generator.writeKey(parameter.getName());
+                RequestWriter.writeValue(generator, parameter.getValue());
+            });
+            generator.writeEnd();
+        }
+        String arguments = out.toString();
+        return "{}".equals(arguments) ? null : arguments.substring(1, arguments.length() - 1);
+    }
+}
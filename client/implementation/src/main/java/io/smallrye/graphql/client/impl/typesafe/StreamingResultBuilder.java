@@ -0,0 +1,124 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParserFactory;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.graphql.client.impl.typesafe.json.JsonStreamReader;
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+import io.smallrye.graphql.client.typesafe.api.ErrorOr;
+import io.smallrye.graphql.client.typesafe.api.TypesafeResponse;
+
+/**
+ * Reads a JSON response straight from its bytes into the domain objects, instead of first building a String and a
+ * tree of the whole response, like the {@link ResultBuilder} does. So a large response is only in memory as bytes
+ * and as the result.
+ * <p>
+ * Only the common case is read like this: a response with data and without errors. Everything else, e.g. errors
+ * that may have to be applied to {@link ErrorOr} values, crunched data, unexpected fields, or values that don't fit
+ * their types, is read again by the fallback {@link ResultBuilder}, so it behaves exactly the same.
+ */
+public class StreamingResultBuilder {
+    private static final Logger LOG = Logger.getLogger(StreamingResultBuilder.class);
+    private static final JsonParserFactory jsonParserFactory = Json.createParserFactory(null);
+    private static final Object FALLBACK = new Object();
+
+    private final MethodInvocation method;
+    private final Supplier<InputStream> body;
+    private final Map<String, List<String>> transportMeta;
+    private final Supplier<ResultBuilder> fallback;
+
+    /**
+     * @param body opens the body of the response, once more if the fallback is needed
+     * @param fallback reads the response, if it can't be read as a stream
+     */
+    public StreamingResultBuilder(MethodInvocation method,
+            Supplier<InputStream> body,
+            Map<String, List<String>> transportMeta,
+            Supplier<ResultBuilder> fallback) {
+        this.method = method;
+        this.body = body;
+        this.transportMeta = transportMeta;
+        this.fallback = fallback;
+    }
+
+    public Object read() {
+        try (JsonParser parser = jsonParserFactory.createParser(body.get())) {
+            Object result = readResponse(parser);
+            if (result != FALLBACK)
+                return result;
+        } catch (RuntimeException e) {
+            // the fallback throws the same exception, unless it was caused by errors that have to be applied first
+            LOG.tracef(e, "Can't stream the response of %s", method);
+        }
+        LOG.tracef("Reading the response of %s with the fallback", method);
+        return fallback.get().read();
+    }
+
+    private Object readResponse(JsonParser parser) {
+        if (!parser.hasNext() || parser.next() != Event.START_OBJECT)
+            return FALLBACK;
+        Object data = FALLBACK;
+        JsonObject extensions = null;
+        while (parser.next() != Event.END_OBJECT) {
+            String key = parser.getString();
+            Event event = parser.next();
+            switch (key) {
+                case "data":
+                    data = readData(parser, event);
+                    if (data == FALLBACK)
+                        return FALLBACK;
+                    break;
+                case "errors":
+                    if (event == Event.START_ARRAY && parser.next() == Event.END_ARRAY)
+                        break;
+                    if (event == Event.VALUE_NULL)
+                        break;
+                    return FALLBACK;
+                case "extensions":
+                    if (event == Event.START_OBJECT)
+                        extensions = parser.getObject();
+                    else if (event != Event.VALUE_NULL)
+                        return FALLBACK;
+                    break;
+                default:
+                    return FALLBACK;
+            }
+        }
+        if (data == FALLBACK)
+            return FALLBACK;
+        if (method.getReturnType().isTypesafeResponse())
+            return TypesafeResponse.withTransportMetaAndExtensions(TypesafeResponse.of(data), transportMeta, extensions);
+        return data;
+    }
+
+    private Object readData(JsonParser parser, Event event) {
+        if (event != Event.START_OBJECT)
+            return FALLBACK; // null, or crunched
+        TypeInfo type = method.getReturnType().isTypesafeResponse()
+                ? method.getReturnType().getItemType()
+                : method.getReturnType();
+        if (!method.isSingle())
+            return JsonStreamReader.readJson(method.toString(), type, parser, event);
+        Object result = FALLBACK;
+        while (parser.next() != Event.END_OBJECT) {
+            String name = parser.getString();
+            Event value = parser.next();
+            if (name.equals(method.getName()))
+                result = JsonStreamReader.readJson(method.toString(), type, parser, value);
+            else
+                JsonStreamReader.skip(parser, value);
+        }
+        return result;
+    }
+}
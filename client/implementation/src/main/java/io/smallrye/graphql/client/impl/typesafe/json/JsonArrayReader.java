@@ -42,10 +42,13 @@ class JsonArrayReader extends Reader<JsonArray> {
     }
 
     private Collector<Object, ?, ?> collector() {
-        Class<?> ct = getCollectionType();
+        return collector(getCollectionType(), getItemType());
+    }
+
+    static Collector<Object, ?, ?> collector(Class<?> ct, TypeInfo itemType) {
         if (ct.isArray()) {
             @SuppressWarnings("unchecked")
-            Class<Object> rawItemType = (Class<Object>) getItemType().getRawType();
+            Class<Object> rawItemType = (Class<Object>) itemType.getRawType();
             return CollectionUtils.toArray(rawItemType);
         }
         if (Set.class.isAssignableFrom(ct))
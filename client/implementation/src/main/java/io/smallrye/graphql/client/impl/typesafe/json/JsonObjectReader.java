@@ -11,6 +11,7 @@ import jakarta.json.JsonValue;
 
 import io.smallrye.graphql.client.InvalidResponseException;
 import io.smallrye.graphql.client.impl.SmallRyeGraphQLClientMessages;
+import io.smallrye.graphql.client.impl.typesafe.json.ObjectReaderPlan.FieldPlan;
 import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
 import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
 
@@ -28,40 +29,40 @@ class JsonObjectReader extends Reader<JsonObject> {
     }
 
     private Object readObject() {
-        if (!type.isRecord()) {
-            Object instance = newInstance();
-            type.fields().forEach(field -> {
-                Object fieldValue = buildValue(location, value, field);
-                field.set(instance, fieldValue);
-            });
+        ObjectReaderPlan plan = ObjectReaderPlan.of(type);
+        FieldPlan[] fields = plan.fields();
+        if (!plan.isRecord()) {
+            Object instance = newInstance(plan, new Object[0]);
+            for (FieldPlan field : fields) {
+                field.set(instance, buildValue(field));
+            }
             return instance;
         } else {
-            Object[] values = type.fields().map(field -> buildValue(location, value, field)).toArray(Object[]::new);
-            return newInstance(values);
+            Object[] values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = buildValue(fields[i]);
+            }
+            return newInstance(plan, values);
         }
     }
 
-    private Object newInstance(Object[] parameters) {
+    private Object newInstance(ObjectReaderPlan plan, Object[] parameters) {
         try {
-            return type.newInstance(parameters);
+            return plan.newInstance(type, parameters);
         } catch (Exception e) {
             throw SmallRyeGraphQLClientMessages.msg.cannotInstantiateDomainObject(location.toString(), e);
         }
     }
 
-    private Object newInstance() {
-        return newInstance(new Object[0]);
-    }
-
-    private Object buildValue(Location location, JsonObject value, FieldInfo field) {
-        String fieldName = field.getAlias().orElseGet(field::getName);
-        Location fieldLocation = new Location(field.getType(), location.getDescription() + "." + fieldName);
-        JsonValue jsonFieldValue = value.get(fieldName);
+    private Object buildValue(FieldPlan field) {
+        TypeInfo fieldType = field.type(type);
+        Location fieldLocation = location.field(fieldType, field.jsonName());
+        JsonValue jsonFieldValue = value.get(field.jsonName());
         if (jsonFieldValue == null) {
-            if (field.isNonNull())
+            if (field.isNonNull(type))
                 throw new InvalidResponseException("missing " + fieldLocation);
             return null;
         }
-        return readJson(fieldLocation, field.getType(), jsonFieldValue, field);
+        return readJson(fieldLocation, fieldType, jsonFieldValue, field.info());
     }
 }
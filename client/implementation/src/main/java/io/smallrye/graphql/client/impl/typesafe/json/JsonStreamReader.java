@@ -0,0 +1,122 @@
+package io.smallrye.graphql.client.impl.typesafe.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+
+import io.smallrye.graphql.client.InvalidResponseException;
+import io.smallrye.graphql.client.impl.SmallRyeGraphQLClientMessages;
+import io.smallrye.graphql.client.impl.typesafe.json.ObjectReaderPlan.FieldPlan;
+import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+import io.smallrye.graphql.client.typesafe.api.ErrorOr;
+
+/**
+ * Reads a value straight from a {@link JsonParser} into the domain objects, without building a tree of the value
+ * first, like the {@link JsonReader} needs.
+ * <p>
+ * Objects and collections are read from the parser events. Scalars, and the values that are not read like this,
+ * e.g. maps, are taken from the parser as a (small) tree and read by the {@link JsonReader}.
+ * Errors are not applied to {@link ErrorOr} values, the caller has to read responses with errors with the
+ * {@link JsonReader}.
+ */
+public class JsonStreamReader {
+    private final JsonParser parser;
+
+    /**
+     * @param event the event of the value, that was just returned by {@link JsonParser#next()}
+     */
+    public static Object readJson(String description, TypeInfo type, JsonParser parser, Event event) {
+        return new JsonStreamReader(parser).read(new Location(type, description), type, event, null);
+    }
+
+    /**
+     * Skip the value of this event, that was just returned by {@link JsonParser#next()}
+     */
+    public static void skip(JsonParser parser, Event event) {
+        if (event == Event.START_OBJECT)
+            parser.skipObject();
+        else if (event == Event.START_ARRAY)
+            parser.skipArray();
+    }
+
+    private JsonStreamReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    private Object read(Location location, TypeInfo type, Event event, FieldInfo field) {
+        if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+            if (type.isOptional())
+                return Optional.ofNullable(read(location, type.getItemType(), event, field));
+            if (type.isAsync())
+                return read(location, type.getItemType(), event, field);
+            if (type.isErrorOr() && event == Event.START_OBJECT)
+                return ErrorOr.of(read(location, type.getItemType(), event, field));
+            if (event == Event.START_OBJECT && isObject(type))
+                return readObject(location, type);
+            if (event == Event.START_ARRAY && type.isCollection())
+                return readArray(location, type, field);
+        }
+        return JsonReader.readJson(location, type, parser.getValue(), field);
+    }
+
+    private static boolean isObject(TypeInfo type) {
+        return !type.isCollection() && !type.isScalar() && !type.isMap()
+                && !type.isErrorOr() && !type.isTypesafeResponse();
+    }
+
+    private Object readObject(Location location, TypeInfo type) {
+        ObjectReaderPlan plan = ObjectReaderPlan.of(type);
+        FieldPlan[] fields = plan.fields();
+        Object instance = plan.isRecord() ? null : newInstance(location, type, plan, new Object[0]);
+        Object[] values = new Object[fields.length];
+        boolean[] present = new boolean[fields.length];
+        while (parser.next() != Event.END_OBJECT) {
+            String name = parser.getString();
+            Event event = parser.next();
+            int index = plan.indexOf(name);
+            if (index < 0) {
+                skip(parser, event);
+                continue;
+            }
+            FieldPlan field = fields[index];
+            TypeInfo fieldType = field.type(type);
+            values[index] = read(location.field(fieldType, name), fieldType, event, field.info());
+            present[index] = true;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (!present[i] && fields[i].isNonNull(type))
+                throw new InvalidResponseException("missing " + location.field(fields[i].type(type), fields[i].jsonName()));
+        }
+        if (plan.isRecord())
+            return newInstance(location, type, plan, values);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].set(instance, values[i]);
+        }
+        return instance;
+    }
+
+    private Object newInstance(Location location, TypeInfo type, ObjectReaderPlan plan, Object[] parameters) {
+        try {
+            return plan.newInstance(type, parameters);
+        } catch (Exception e) {
+            throw SmallRyeGraphQLClientMessages.msg.cannotInstantiateDomainObject(location.toString(), e);
+        }
+    }
+
+    private Object readArray(Location location, TypeInfo type, FieldInfo field) {
+        TypeInfo itemType = type.getItemType();
+        List<Object> items = new ArrayList<>();
+        Event event;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            Location itemLocation = location.item(itemType, items.size());
+            if (event == Event.VALUE_NULL && itemType.isNonNull())
+                throw new InvalidResponseException("invalid null " + itemLocation);
+            items.add(read(itemLocation, itemType, event, field));
+        }
+        return items.stream().collect(JsonArrayReader.collector(type.getRawType(), itemType));
+    }
+}
@@ -2,18 +2,42 @@ package io.smallrye.graphql.client.impl.typesafe.json;
 
 import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
 
+/**
+ * Where a value is in the response, for error messages. The description is only built when it's needed, i.e. for
+ * an error, so reading a value that is fine doesn't pay for the string concatenation.
+ */
 class Location {
     private final TypeInfo type;
-    private final String description;
+    private final Location parent;
+    private final String field;
+    private final int index;
+    private String description;
 
     public Location(TypeInfo type, String description) {
-        this.type = type;
+        this(type, null, null, -1);
         this.description = description;
     }
 
+    private Location(TypeInfo type, Location parent, String field, int index) {
+        this.type = type;
+        this.parent = parent;
+        this.field = field;
+        this.index = index;
+    }
+
+    /** The location of a field of the object at this location */
+    Location field(TypeInfo type, String name) {
+        return new Location(type, this, name, -1);
+    }
+
+    /** The location of an item of the array at this location */
+    Location item(TypeInfo type, int index) {
+        return new Location(type, this, null, index);
+    }
+
     @Override
     public String toString() {
-        return type.getTypeName() + " value for " + description;
+        return type.getTypeName() + " value for " + getDescription();
     }
 
     public TypeInfo getType() {
@@ -21,6 +45,10 @@ class Location {
     }
 
     public String getDescription() {
+        if (description == null && parent != null)
+            description = (field != null)
+                    ? parent.getDescription() + "." + field
+                    : parent.getDescription() + "[" + index + "]";
         return this.description;
     }
 }
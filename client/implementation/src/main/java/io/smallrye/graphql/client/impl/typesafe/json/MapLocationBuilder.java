@@ -7,20 +7,20 @@ import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
 class MapLocationBuilder {
     private final TypeInfo keyType;
     private final TypeInfo valueType;
-    private final String baseDescription;
+    private final Location location;
     private final AtomicInteger index = new AtomicInteger();
 
     MapLocationBuilder(Location location) {
         this.keyType = location.getType().getKeyType();
         this.valueType = location.getType().getValueType();
-        this.baseDescription = location.getDescription();
+        this.location = location;
     }
 
     Location nextKeyLocation() {
-        return new Location(keyType, baseDescription + "[" + index.get() + "]");
+        return location.item(keyType, index.get());
     }
 
     Location nextValueLocation() {
-        return new Location(valueType, baseDescription + "[" + index.getAndIncrement() + "]");
+        return location.item(valueType, index.getAndIncrement());
     }
 }
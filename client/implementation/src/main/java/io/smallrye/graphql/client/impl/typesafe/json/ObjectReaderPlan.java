@@ -0,0 +1,115 @@
+package io.smallrye.graphql.client.impl.typesafe.json;
+
+import java.lang.reflect.Constructor;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+
+/**
+ * What {@link JsonObjectReader} needs to know about a class, computed once per class instead of for every object that
+ * is read: the fields with their JSON names and types, how to set them, and how to create an instance.
+ */
+class ObjectReaderPlan {
+    private static final ClassValue<ObjectReaderPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ObjectReaderPlan computeValue(Class<?> type) {
+            return new ObjectReaderPlan(type);
+        }
+    };
+
+    static ObjectReaderPlan of(TypeInfo type) {
+        return PLANS.get(type.getRawType());
+    }
+
+    private final boolean record;
+    private final FieldPlan[] fields;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    /** The no-args constructor, or the canonical constructor of a record; null if there is none */
+    private final Constructor<?> constructor;
+
+    private ObjectReaderPlan(Class<?> rawType) {
+        TypeInfo type = TypeInfo.of(rawType);
+        this.record = type.isRecord();
+        this.fields = type.fields().map(field -> new FieldPlan(field)).toArray(FieldPlan[]::new);
+        for (int i = 0; i < fields.length; i++)
+            indexes.putIfAbsent(fields[i].jsonName(), i);
+        this.constructor = findConstructor(rawType, record ? fields.length : 0);
+    }
+
+    private static Constructor<?> findConstructor(Class<?> rawType, int parameterCount) {
+        Constructor<?>[] constructors = (System.getSecurityManager() == null)
+                ? rawType.getDeclaredConstructors()
+                : AccessController.doPrivileged((PrivilegedAction<Constructor<?>[]>) rawType::getDeclaredConstructors);
+        Constructor<?> constructor = Arrays.stream(constructors)
+                .filter(c -> c.getParameterCount() == parameterCount)
+                .findAny().orElse(null);
+        if (constructor != null)
+            constructor.setAccessible(true);
+        return constructor;
+    }
+
+    boolean isRecord() {
+        return record;
+    }
+
+    FieldPlan[] fields() {
+        return fields;
+    }
+
+    /** The index of the field with this JSON name, or -1 if there is none */
+    int indexOf(String jsonName) {
+        Integer index = indexes.get(jsonName);
+        return (index == null) ? -1 : index;
+    }
+
+    Object newInstance(TypeInfo type, Object[] args) {
+        if (constructor == null)
+            return type.newInstance(args); // throws the same exception as before the plans were cached
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("can't instantiate " + type, e);
+        }
+    }
+
+    static class FieldPlan {
+        private final FieldInfo info;
+        private final String jsonName;
+        /** The type of the field, or null if it depends on the type arguments of the object that is read */
+        private final TypeInfo type;
+        private final boolean nonNull;
+
+        private FieldPlan(FieldInfo info) {
+            this.info = info;
+            this.jsonName = info.getAlias().orElseGet(info::getName);
+            TypeInfo type = info.getType();
+            this.type = type.hasTypeVariables() ? null : type;
+            this.nonNull = (this.type != null) && info.isNonNull();
+        }
+
+        FieldInfo info() {
+            return info;
+        }
+
+        String jsonName() {
+            return jsonName;
+        }
+
+        TypeInfo type(TypeInfo container) {
+            return (type != null) ? type : info.getType(container);
+        }
+
+        boolean isNonNull(TypeInfo container) {
+            return (type != null) ? nonNull : info.isNonNull(container);
+        }
+
+        void set(Object instance, Object value) {
+            info.set(instance, value);
+        }
+    }
+}
@@ -16,6 +16,7 @@ public class FieldInfo {
     private final Field field;
     private final boolean includeIfNull;
     private final String name;
+    private volatile boolean accessible;
 
     private static final String JSONB_PROPERTY = "jakarta.json.bind.annotation.JsonbProperty";
     private static final String JACKSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
@@ -38,6 +39,11 @@ public class FieldInfo {
     }
 
     public TypeInfo getType() {
+        return getType(container);
+    }
+
+    /** The type of this field in the given container, e.g. to resolve a type variable with a parameterized container */
+    public TypeInfo getType(TypeInfo container) {
         return new TypeInfo(container, field.getGenericType());
     }
 
@@ -93,7 +99,10 @@ public class FieldInfo {
 
     public Object get(Object instance) {
         try {
-            field.setAccessible(true);
+            if (!accessible) {
+                field.setAccessible(true);
+                accessible = true;
+            }
             return field.get(instance);
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException("can't get field " + this, e); // TODO test with static?
@@ -102,7 +111,10 @@ public class FieldInfo {
 
     public void set(Object instance, Object value) {
         try {
-            field.setAccessible(true);
+            if (!accessible) {
+                field.setAccessible(true);
+                accessible = true;
+            }
             field.set(instance, value);
         } catch (ReflectiveOperationException e) {
             // this code is unreachable: setAccessible also allows to change `final` fields
@@ -111,6 +123,10 @@ public class FieldInfo {
     }
 
     public boolean isNonNull() {
+        return isNonNull(container);
+    }
+
+    public boolean isNonNull(TypeInfo container) {
         Class jakartaNotNullClass = null;
         try {
             jakartaNotNullClass = Class.forName("jakarta.validation.constraints.NotNull", false,
@@ -120,7 +136,7 @@ public class FieldInfo {
         }
         return field.isAnnotationPresent(NonNull.class)
                 || (jakartaNotNullClass != null && field.isAnnotationPresent(jakartaNotNullClass))
-                || getType().isPrimitive();
+                || getType(container).isPrimitive();
     }
 
     public boolean isIncludeNull() {
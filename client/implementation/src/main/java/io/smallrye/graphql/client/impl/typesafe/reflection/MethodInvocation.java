@@ -145,12 +145,18 @@ public class MethodInvocation implements NamedElement {
             this.parameters = IntStream.range(0, method.getParameterCount())
                     .mapToObj(i -> new ParameterInfo(this,
                             method.getParameters()[i],
+                            i,
                             parameterValues[i],
                             method.getGenericParameterTypes()[i]))
                     .collect(toList());
         return parameters.stream();
     }
 
+    /** The value of the parameter at this position in this invocation */
+    public Object getParameterValue(int index) {
+        return parameterValues[index];
+    }
+
     public TypeInfo getDeclaringType() {
         return type;
     }
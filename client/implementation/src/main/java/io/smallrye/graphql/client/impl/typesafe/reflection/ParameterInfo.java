@@ -16,12 +16,14 @@ import io.smallrye.graphql.client.typesafe.api.NestedParameter;
 public class ParameterInfo implements NamedElement {
     private final MethodInvocation method;
     private final Parameter parameter;
+    private final int index;
     private final TypeInfo type;
     private final Object value;
 
-    public ParameterInfo(MethodInvocation method, Parameter parameter, Object value, Type genericParameterType) {
+    public ParameterInfo(MethodInvocation method, Parameter parameter, int index, Object value, Type genericParameterType) {
         this.method = method;
         this.parameter = parameter;
+        this.index = index;
         this.type = new TypeInfo(null,
                 parameter.getType(),
                 parameter.getAnnotatedType(),
@@ -143,6 +145,11 @@ public class ParameterInfo implements NamedElement {
         return this.value;
     }
 
+    /** The position of this parameter in the parameter list of the method */
+    public int getIndex() {
+        return this.index;
+    }
+
     @Override
     public String getName() {
         if (parameter.isAnnotationPresent(Name.class))
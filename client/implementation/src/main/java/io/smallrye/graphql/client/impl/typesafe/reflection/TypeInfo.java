@@ -10,11 +10,13 @@ import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
@@ -51,6 +53,9 @@ public class TypeInfo {
     private TypeInfo keyType; // if `this` represents a map, this field denotes the type of the map's keys
     private TypeInfo valueType; // if `this` represents a map, this field denotes the type of the map's values
     private Class<?> rawType;
+    // the readers ask these for every value, and computing them is expensive
+    private Boolean scalar;
+    private Boolean nonNull;
 
     public static TypeInfo of(Type type) {
         return new TypeInfo(null, type);
@@ -112,6 +117,23 @@ public class TypeInfo {
         }
     }
 
+    /** Is this type, or one of its type arguments, a type variable, so it can only be resolved with its container? */
+    public boolean hasTypeVariables() {
+        return hasTypeVariables(type);
+    }
+
+    private static boolean hasTypeVariables(Type type) {
+        if (type instanceof TypeVariable)
+            return true;
+        if (type instanceof ParameterizedType)
+            return Stream.of(((ParameterizedType) type).getActualTypeArguments()).anyMatch(TypeInfo::hasTypeVariables);
+        if (type instanceof GenericArrayType)
+            return hasTypeVariables(((GenericArrayType) type).getGenericComponentType());
+        if (type instanceof WildcardType)
+            return Stream.of(((WildcardType) type).getUpperBounds()).anyMatch(TypeInfo::hasTypeVariables);
+        return false;
+    }
+
     public String getPackage() {
         return ((Class<?>) type).getPackage().getName(); // TODO may throw Class Cast or NPE
     }
@@ -206,11 +228,17 @@ public class TypeInfo {
     }
 
     public boolean isRecord() {
-        Class<?> superclass = rawType.getSuperclass();
+        Class<?> superclass = getRawType().getSuperclass();
         return superclass != null && superclass.getName().equals("java.lang.Record");
     }
 
     public boolean isScalar() {
+        if (scalar == null)
+            scalar = computeScalar();
+        return scalar;
+    }
+
+    private boolean computeScalar() {
         return isPrimitive()
                 || Void.class.isAssignableFrom(getRawType())
                 || Number.class.isAssignableFrom(getRawType())
@@ -320,6 +348,12 @@ public class TypeInfo {
     }
 
     public boolean isNonNull() {
+        if (nonNull == null)
+            nonNull = computeNonNull();
+        return nonNull;
+    }
+
+    private boolean computeNonNull() {
         Class jakartaNotNullClass = null;
         try {
             jakartaNotNullClass = Class.forName("jakarta.validation.constraints.NotNull", false,
@@ -252,4 +252,21 @@ public class ResponseReaderTest {
                 Collections.emptyMap(), null, null, true);
         assertEquals(32, response.getObject(Long.class, "number"));
     }
+
+    @Test
+    public void crunchedResponse() {
+        String crunched = "{\"data\": [\"david\", \"MALE\", {\"name\": 0, \"gender\": 1}, \"jane\", \"FEMALE\", " +
+                "{\"name\": 3, \"gender\": 4}, [2, 5, 2], {\"people\": 6}]}";
+        ResponseImpl response = ResponseReader.readFrom(crunched, Collections.emptyMap());
+        List<Person> list = response.getList(Person.class, "people");
+        assertEquals(3, list.size());
+        assertEquals("jane", list.get(1).getName());
+        assertEquals(list.get(0).getName(), list.get(2).getName());
+    }
+
+    @Test
+    public void crunchedResponseWithInvalidReference() {
+        Assertions.assertThrows(InvalidResponseException.class, () -> ResponseReader.readFrom(
+                "{\"data\": [\"a\", {\"name\": 1}]}", Collections.emptyMap()));
+    }
 }
@@ -0,0 +1,157 @@
+package io.smallrye.graphql.client.impl.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.CachePolicy;
+import io.smallrye.graphql.client.core.OperationType;
+import io.smallrye.mutiny.Uni;
+
+public class NormalizedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final NormalizedCache cache = new NormalizedCache(100, Duration.ofSeconds(10), "id", now::get);
+
+    private static final List<Selection> PERSON = List.of(
+            new Selection("id", null, null, null),
+            new Selection("name", null, null, null));
+
+    private static CacheableOperation query(Selection... selections) {
+        return new CacheableOperation(OperationType.QUERY, List.of(selections));
+    }
+
+    private static JsonObject json(String json) {
+        return Json.createReader(new StringReader(json.replace('\'', '"'))).readObject();
+    }
+
+    private JsonObject execute(CachePolicy policy, CacheableOperation operation, String response, AtomicInteger calls) {
+        return execute(policy, operation, Map.of(), response, calls);
+    }
+
+    private JsonObject execute(CachePolicy policy, CacheableOperation operation, Map<String, String> headers,
+            String response, AtomicInteger calls) {
+        return cache.execute(policy, operation, headers.entrySet(),
+                () -> Uni.createFrom().item(() -> {
+                    calls.incrementAndGet();
+                    return json(response);
+                }),
+                data -> Json.createObjectBuilder().add("data", data).build(),
+                result -> result.getJsonObject("data"))
+                .await().indefinitely();
+    }
+
+    @Test
+    public void shouldAnswerRepeatedQueryFromCache() {
+        CacheableOperation operation = query(new Selection("person", null, "id:1", PERSON));
+        AtomicInteger calls = new AtomicInteger();
+
+        execute(CachePolicy.CACHE_FIRST, operation, "{'data':{'person':{'__typename':'Person','id':1,'name':'a'}}}", calls);
+        JsonObject cached = execute(CachePolicy.CACHE_FIRST, operation, "{}", calls);
+
+        assertEquals(1, calls.get());
+        assertEquals("{\"person\":{\"id\":1,\"name\":\"a\"}}", cached.getJsonObject("data").toString());
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+    }
+
+    @Test
+    public void shouldNotShareDataBetweenDifferentHeaders() {
+        CacheableOperation operation = query(new Selection("person", null, "id:1", PERSON));
+        AtomicInteger calls = new AtomicInteger();
+
+        execute(CachePolicy.CACHE_FIRST, operation, Map.of("Authorization", "Bearer alice"),
+                "{'data':{'person':{'__typename':'Person','id':1,'name':'a'}}}", calls);
+        JsonObject other = execute(CachePolicy.CACHE_FIRST, operation, Map.of("Authorization", "Bearer bob"),
+                "{'data':{'person':{'__typename':'Person','id':1,'name':'hidden'}}}", calls);
+        JsonObject none = execute(CachePolicy.CACHE_FIRST, operation, "{'data':{'person':null}}", calls);
+        JsonObject same = execute(CachePolicy.CACHE_FIRST, operation, Map.of("authorization", "Bearer alice"),
+                "{}", calls);
+
+        assertEquals(3, calls.get());
+        assertEquals("hidden", other.getJsonObject("data").getJsonObject("person").getString("name"));
+        assertEquals(JsonValue.NULL, none.getJsonObject("data").get("person"));
+        assertEquals("a", same.getJsonObject("data").getJsonObject("person").getString("name"));
+    }
+
+    @Test
+    public void shouldShareEntitiesBetweenQueries() {
+        AtomicInteger calls = new AtomicInteger();
+        execute(CachePolicy.CACHE_FIRST, query(new Selection("people", null, null, PERSON)),
+                "{'data':{'people':[{'__typename':'Person','id':1,'name':'a'}]}}", calls);
+        cache.write(new CacheableOperation(OperationType.MUTATION,
+                List.of(new Selection("rename", null, "id:1", PERSON))),
+                json("{'rename':{'__typename':'Person','id':1,'name':'b'}}"));
+
+        JsonObject cached = execute(CachePolicy.CACHE_FIRST, query(new Selection("people", null, null, PERSON)),
+                "{}", calls);
+
+        assertEquals(1, calls.get());
+        assertEquals("{\"people\":[{\"id\":1,\"name\":\"b\"}]}", cached.getJsonObject("data").toString());
+    }
+
+    @Test
+    public void shouldMissFieldsThatWereNeverSelected() {
+        AtomicInteger calls = new AtomicInteger();
+        execute(CachePolicy.CACHE_FIRST, query(new Selection("person", null, "id:1", PERSON.subList(0, 1))),
+                "{'data':{'person':{'__typename':'Person','id':1}}}", calls);
+
+        assertNull(cache.read(List.of(new Selection("person", null, "id:1", PERSON))));
+        assertNull(cache.read(List.of(new Selection("person", null, "id:2", PERSON.subList(0, 1)))));
+    }
+
+    @Test
+    public void shouldRefetchExpiredDataUnlessStaleWhileRevalidate() {
+        CacheableOperation operation = query(new Selection("count", null, null, null));
+        AtomicInteger calls = new AtomicInteger();
+        execute(CachePolicy.CACHE_FIRST, operation, "{'data':{'count':1}}", calls);
+        now.set(11_000);
+
+        JsonObject stale = execute(CachePolicy.STALE_WHILE_REVALIDATE, operation, "{'data':{'count':2}}", calls);
+        JsonObject fresh = execute(CachePolicy.CACHE_FIRST, operation, "{'data':{'count':3}}", calls);
+
+        assertEquals(1, stale.getJsonObject("data").getInt("count"));
+        assertEquals(2, fresh.getJsonObject("data").getInt("count"));
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.getStatistics().getStaleHits());
+    }
+
+    @Test
+    public void shouldAlwaysFetchNetworkOnly() {
+        CacheableOperation operation = query(new Selection("count", null, null, null));
+        AtomicInteger calls = new AtomicInteger();
+
+        execute(CachePolicy.NETWORK_ONLY, operation, "{'data':{'count':1}}", calls);
+        JsonObject result = execute(CachePolicy.NETWORK_ONLY, operation, "{'data':{'count':2}}", calls);
+
+        assertEquals(2, calls.get());
+        assertEquals(2, result.getJsonObject("data").getInt("count"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() {
+        NormalizedCache small = new NormalizedCache(2, Duration.ofSeconds(10), "id", now::get);
+        small.write(query(new Selection("a", null, null, null)), json("{'a':1}"));
+        small.write(query(new Selection("b", null, null, null)), json("{'b':2}"));
+        small.read(List.of(new Selection("a", null, null, null)));
+        small.write(query(new Selection("c", null, null, null)), json("{'c':3}"));
+
+        assertNull(small.read(List.of(new Selection("b", null, null, null))));
+        assertEquals(1, small.read(List.of(new Selection("a", null, null, null))).data.getInt("a"));
+        assertEquals(2, small.getStatistics().getEntries());
+        assertEquals(1, small.getStatistics().getEvictions());
+    }
+}
@@ -0,0 +1,109 @@
+package io.smallrye.graphql.client.impl.encoding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.impl.ResponseImpl;
+import io.smallrye.graphql.client.impl.ResponseReader;
+
+public class ResponseFormatTest {
+
+    @Test
+    public void testDecodeCbor() {
+        byte[] body = cbor(0xA1, "data", 0xA2,
+                "people", 0x81, 0xA3,
+                "name", "jane",
+                "age", 0x18, 30,
+                "rate", 0xF9, 0x3E, 0x00, // half precision 1.5
+                "big", 0xC2, 0x49, 1, 0, 0, 0, 0, 0, 0, 0, 0); // bignum 2^64
+
+        JsonObject response = ResponseFormat.CBOR.decode(body);
+
+        assertPeople(response);
+        assertEquals(BigInteger.ONE.shiftLeft(64), response.getJsonObject("data").getJsonNumber("big").bigIntegerValue());
+    }
+
+    @Test
+    public void testDecodeMessagePack() {
+        byte[] body = msgpack(0x81, "data", 0x82,
+                "people", 0x91, 0x83,
+                "name", "jane",
+                "age", 30,
+                "rate", 0xCB, 0x3F, 0xF8, 0, 0, 0, 0, 0, 0, // double 1.5
+                "big", 0xCF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF); // uint64 max
+
+        JsonObject response = ResponseFormat.MSGPACK.decode(body);
+
+        assertPeople(response);
+        assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE),
+                response.getJsonObject("data").getJsonNumber("big").bigIntegerValue());
+    }
+
+    @Test
+    public void testReadDecodedResponse() {
+        JsonObject decoded = ResponseFormat.MSGPACK.decode(msgpack(0x81, "data", 0x81, "hello", "world"));
+
+        ResponseImpl response = ResponseReader.readFrom(decoded, Collections.emptyMap(), 200, "OK", false);
+
+        assertEquals("world", response.getData().getString("hello"));
+    }
+
+    @Test
+    public void testInvalidBody() {
+        assertNull(ResponseFormat.CBOR.decode(cbor(0xA1, "data")));
+        assertNull(ResponseFormat.MSGPACK.decode(msgpack("not an object")));
+    }
+
+    @Test
+    public void testFormatLookup() {
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.forContentType("application/cbor"));
+        assertEquals(ResponseFormat.MSGPACK, ResponseFormat.forContentType("application/msgpack; charset=binary"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.forContentType("application/json;charset=UTF-8"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.forContentType(null));
+        assertEquals(ResponseFormat.MSGPACK, ResponseFormat.fromString("msgpack"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.fromString("application/cbor"));
+        assertThrows(IllegalArgumentException.class, () -> ResponseFormat.fromString("xml"));
+    }
+
+    private static void assertPeople(JsonObject response) {
+        JsonObject person = response.getJsonObject("data").getJsonArray("people").getJsonObject(0);
+        assertEquals("jane", person.getString("name"));
+        assertEquals(30, person.getInt("age"));
+        assertEquals(1.5, person.getJsonNumber("rate").doubleValue());
+    }
+
+    private static byte[] cbor(Object... values) {
+        return bytes(0x60, values);
+    }
+
+    private static byte[] msgpack(Object... values) {
+        return bytes(0xA0, values);
+    }
+
+    /**
+     * Integers are written as single bytes, strings with the short string prefix of the format
+     */
+    private static byte[] bytes(int stringPrefix, Object... values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Object value : values) {
+            if (value instanceof String) {
+                byte[] text = ((String) value).getBytes(StandardCharsets.UTF_8);
+                out.write(stringPrefix | text.length);
+                out.write(text, 0, text.length);
+            } else {
+                out.write((Integer) value);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.typesafe.api.Header;
+
+public class HeaderTemplateTest {
+
+    @Header(name = "H1", constant = "class")
+    @Header(name = "H2", constant = "class")
+    interface Api {
+        @Header(name = "H2", constant = "method")
+        String constant();
+
+        @Header(name = "H1", method = "counter")
+        String withParameter(@Header(name = "H2") String h2);
+
+        static String counter() {
+            return Integer.toString(++count);
+        }
+    }
+
+    private static int count;
+
+    private static MethodInvocation invocation(String name, Object... args) throws NoSuchMethodException {
+        for (Method method : Api.class.getDeclaredMethods())
+            if (method.getName().equals(name))
+                return MethodInvocation.of(method, args);
+        throw new NoSuchMethodException(name);
+    }
+
+    @Test
+    public void shouldResolveConstantHeadersOnce() throws Exception {
+        MethodInvocation invocation = invocation("constant");
+        HeaderTemplate template = new HeaderBuilder(Api.class, invocation, Map.of("H3", "additional")).template();
+
+        assertTrue(template.isConstant());
+        Map<String, String> headers = template.build(invocation);
+        assertEquals("class", headers.get("H1"));
+        assertEquals("method", headers.get("H2"));
+        assertEquals("additional", headers.get("H3"));
+        assertSame(headers, template.build(invocation("constant")));
+    }
+
+    @Test
+    public void shouldResolveParametersAndHeaderMethodsForEveryInvocation() throws Exception {
+        HeaderTemplate template = new HeaderBuilder(Api.class, invocation("withParameter", "a"), null).template();
+
+        assertFalse(template.isConstant());
+        Map<String, String> first = template.build(invocation("withParameter", "a"));
+        Map<String, String> second = template.build(invocation("withParameter", "b"));
+        assertEquals("a", first.get("H2"));
+        assertEquals("b", second.get("H2"));
+        assertEquals(Integer.parseInt(first.get("H1")) + 1, Integer.parseInt(second.get("H1")));
+    }
+
+    @Test
+    public void shouldSkipNullHeaderParameters() throws Exception {
+        HeaderTemplate template = new HeaderBuilder(Api.class, invocation("withParameter", "a"), null).template();
+
+        assertEquals("class", template.build(invocation("withParameter", (Object) null)).get("H2"));
+    }
+}
@@ -0,0 +1,90 @@
+package io.smallrye.graphql.client.impl.typesafe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import jakarta.json.Json;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The values that the {@link RequestWriter} writes have to be the same, byte for byte, as those of the tree of
+ * {@link JsonValue}s that the typesafe client used to build, so servers see the same variables; also when it writes
+ * them into a {@link JsonTreeGenerator}, for the websocket requests
+ */
+public class RequestWriterTest {
+
+    @Test
+    public void testFloatsAreWrittenLikeTreeValues() {
+        assertWrittenLike(Json.createValue((double) 1.1f), 1.1f);
+        assertWrittenLike(Json.createValue((double) 3.0f), 3.0f);
+    }
+
+    @Test
+    public void testDoublesAreWrittenLikeTreeValues() {
+        assertWrittenLike(Json.createValue(0.1), 0.1);
+        assertWrittenLike(Json.createValue(1e20), 1e20);
+        assertWrittenLike(Json.createValue(-2.5e-8), -2.5e-8);
+        assertWrittenLike(Json.createValue(42.0), 42.0);
+    }
+
+    @Test
+    public void testOptionalDoublesAreWrittenLikeTreeValues() {
+        assertWrittenLike(Json.createValue(2.5), OptionalDouble.of(2.5));
+        assertWrittenLike(Json.createValue(1e20), OptionalDouble.of(1e20));
+        assertWrittenLike(JsonValue.NULL, OptionalDouble.empty());
+    }
+
+    @Test
+    public void testPrimitiveArraysAreWrittenLikeTreeValues() {
+        assertWrittenLike(Json.createArrayBuilder().add(1).add(2).build(), new int[] { 1, 2 });
+        assertWrittenLike(Json.createArrayBuilder().add(1L).add(Long.MAX_VALUE).build(), new long[] { 1, Long.MAX_VALUE });
+        assertWrittenLike(Json.createArrayBuilder().add(0.1).add(1e20).build(), new double[] { 0.1, 1e20 });
+        assertWrittenLike(Json.createArrayBuilder().add((double) 1.1f).build(), new float[] { 1.1f });
+        assertWrittenLike(Json.createArrayBuilder().add(true).add(false).build(), new boolean[] { true, false });
+        assertWrittenLike(Json.createArrayBuilder().add("a").build(), new char[] { 'a' });
+        assertWrittenLike(Json.createArrayBuilder().build(), new int[0]);
+    }
+
+    @Test
+    public void testMapsAreWrittenLikeTreeValues() {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("one", 1.5);
+        map.put("none", null);
+        map.put(2, new int[] { 3 });
+
+        assertWrittenLike(Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add("key", "one").add("value", 1.5))
+                .add(Json.createObjectBuilder().add("key", "none").add("value", JsonValue.NULL))
+                .add(Json.createObjectBuilder().add("key", 2).add("value", Json.createArrayBuilder().add(3)))
+                .build(), map);
+    }
+
+    private static void assertWrittenLike(JsonValue expected, Object value) {
+        String tree = Json.createObjectBuilder().add("value", expected).build().toString();
+
+        StringWriter written = new StringWriter();
+        try (JsonGenerator generator = Json.createGenerator(written)) {
+            generator.writeStartObject();
+            generator.writeKey("value");
+            RequestWriter.writeValue(generator, value);
+            generator.writeEnd();
+        }
+
+        assertEquals(tree, written.toString());
+
+        // ...and the tree the websocket requests are built with
+        JsonTreeGenerator generator = new JsonTreeGenerator();
+        generator.writeStartObject();
+        generator.writeKey("value");
+        RequestWriter.writeValue(generator, value);
+        generator.writeEnd();
+        assertEquals(tree, generator.getResult().toString());
+    }
+}
@@ -273,6 +273,20 @@ class NestedBehavior {
                 new Greeting("c", 3, false));
     }
 
+    @Test
+    void shouldCallCrunchedObjectListQuery() {
+        fixture.returns("{\"data\":[\"a\",1,{\"text\":0,\"code\":1},\"b\",2,true,"
+                + "{\"text\":3,\"code\":4,\"successful\":5},[2,6,2],{\"greetings\":7}]}");
+        ObjectListApi api = fixture.build(ObjectListApi.class);
+
+        List<Greeting> greeting = api.greetings();
+
+        then(greeting).containsExactly(
+                new Greeting("a", 1, null),
+                new Greeting("b", 2, true),
+                new Greeting("a", 1, null));
+    }
+
     @Test
     void shouldFailToAssignStringToObjectListQuery() {
         fixture.returnsData("'greetings':[{'text':'a','code':1},123456]");
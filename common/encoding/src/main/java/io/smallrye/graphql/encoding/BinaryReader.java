@@ -0,0 +1,90 @@
+package io.smallrye.graphql.encoding;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.json.Json;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+
+/**
+ * Buffered reader for self-describing binary formats, producing a JSON-P tree. The server reads request bodies with it,
+ * and the clients read responses.
+ */
+public abstract class BinaryReader {
+    protected static final JsonProvider jsonProvider = JsonProvider.provider();
+    protected static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+
+    protected BinaryReader(InputStream in) {
+        this.in = in;
+    }
+
+    public abstract JsonValue readValue() throws IOException;
+
+    protected int readByte() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    protected int peekByte() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    protected int readShort() throws IOException {
+        return (readByte() << 8) | readByte();
+    }
+
+    protected int readInt() throws IOException {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    protected long readRawLong() throws IOException {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    protected byte[] readBytes(long length) throws IOException {
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Unsupported length " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (position == limit) {
+                fill();
+            }
+            int chunk = Math.min(limit - position, bytes.length - offset);
+            System.arraycopy(buffer, position, bytes, offset, chunk);
+            position += chunk;
+            offset += chunk;
+        }
+        return bytes;
+    }
+
+    protected String readString(long length) throws IOException {
+        return new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private void fill() throws IOException {
+        int read = in.read(buffer, 0, BUFFER_SIZE);
+        if (read <= 0) {
+            throw new EOFException("Unexpected end of input");
+        }
+        position = 0;
+        limit = read;
+    }
+}
@@ -0,0 +1,100 @@
+package io.smallrye.graphql.encoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Buffered writer for self-describing binary formats. Maps and arrays are written with their size up front.
+ */
+public abstract class BinaryWriter {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+
+    protected BinaryWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public abstract void writeMapHeader(int size) throws IOException;
+
+    public abstract void writeArrayHeader(int size) throws IOException;
+
+    public abstract void writeNull() throws IOException;
+
+    public abstract void writeBoolean(boolean value) throws IOException;
+
+    public abstract void writeString(String value) throws IOException;
+
+    public abstract void writeLong(long value) throws IOException;
+
+    public abstract void writeFloat(float value) throws IOException;
+
+    public abstract void writeDouble(double value) throws IOException;
+
+    public abstract void writeBigInteger(BigInteger value) throws IOException;
+
+    public abstract void writeBigDecimal(BigDecimal value) throws IOException;
+
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    protected void writeByte(int b) throws IOException {
+        if (position == BUFFER_SIZE) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    protected void writeShort(int value) throws IOException {
+        ensure(2);
+        buffer[position++] = (byte) (value >> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    protected void writeInt(int value) throws IOException {
+        ensure(4);
+        buffer[position++] = (byte) (value >> 24);
+        buffer[position++] = (byte) (value >> 16);
+        buffer[position++] = (byte) (value >> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    protected void writeRawLong(long value) throws IOException {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >> shift);
+        }
+    }
+
+    protected void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > BUFFER_SIZE - position) {
+            drain();
+            if (bytes.length > BUFFER_SIZE) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (BUFFER_SIZE - position < length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
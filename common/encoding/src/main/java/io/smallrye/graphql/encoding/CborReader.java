@@ -0,0 +1,235 @@
+package io.smallrye.graphql.encoding;
+
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_ARRAY;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_BYTES;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_MAP;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_NEGATIVE;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_SIMPLE;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_TAG;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_TEXT;
+import static io.smallrye.graphql.encoding.CborWriter.MAJOR_UNSIGNED;
+import static io.smallrye.graphql.encoding.CborWriter.TAG_DECIMAL_FRACTION;
+import static io.smallrye.graphql.encoding.CborWriter.TAG_NEGATIVE_BIGNUM;
+import static io.smallrye.graphql.encoding.CborWriter.TAG_POSITIVE_BIGNUM;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+/**
+ * Reads CBOR (RFC 8949) data items. Byte strings are mapped to base64 text, unknown tags are ignored.
+ */
+public class CborReader extends BinaryReader {
+
+    private static final int INDEFINITE = 31;
+    private static final int BREAK = 0xFF;
+
+    public CborReader(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public JsonValue readValue() throws IOException {
+        int initial = readByte();
+        if (initial == BREAK) {
+            throw new IOException("Unexpected CBOR break");
+        }
+        int major = initial >>> 5;
+        int info = initial & 0x1F;
+        switch (major) {
+            case MAJOR_UNSIGNED:
+                return unsigned(readArgument(info));
+            case MAJOR_NEGATIVE:
+                return negative(readArgument(info));
+            case MAJOR_BYTES:
+                return jsonProvider.createValue(Base64.getEncoder().encodeToString(readChunks(MAJOR_BYTES, info)));
+            case MAJOR_TEXT:
+                return jsonProvider.createValue(new String(readChunks(MAJOR_TEXT, info), StandardCharsets.UTF_8));
+            case MAJOR_ARRAY:
+                return readArray(info);
+            case MAJOR_MAP:
+                return readMap(info);
+            case MAJOR_TAG:
+                return readTagged(readArgument(info));
+            case MAJOR_SIMPLE:
+                return readSimple(info);
+            default:
+                throw new IOException("Unknown CBOR major type " + major);
+        }
+    }
+
+    private JsonValue readArray(int info) throws IOException {
+        JsonArrayBuilder builder = jsonBuilderFactory.createArrayBuilder();
+        if (info == INDEFINITE) {
+            while (peekByte() != BREAK) {
+                builder.add(readValue());
+            }
+            readByte();
+        } else {
+            long size = readArgument(info);
+            for (long i = 0; i < size; i++) {
+                builder.add(readValue());
+            }
+        }
+        return builder.build();
+    }
+
+    private JsonValue readMap(int info) throws IOException {
+        JsonObjectBuilder builder = jsonBuilderFactory.createObjectBuilder();
+        if (info == INDEFINITE) {
+            while (peekByte() != BREAK) {
+                builder.add(readKey(), readValue());
+            }
+            readByte();
+        } else {
+            long size = readArgument(info);
+            for (long i = 0; i < size; i++) {
+                builder.add(readKey(), readValue());
+            }
+        }
+        return builder.build();
+    }
+
+    private String readKey() throws IOException {
+        JsonValue key = readValue();
+        if (key instanceof JsonString) {
+            return ((JsonString) key).getString();
+        }
+        return key.toString();
+    }
+
+    private JsonValue readTagged(long tag) throws IOException {
+        if (tag == TAG_POSITIVE_BIGNUM || tag == TAG_NEGATIVE_BIGNUM) {
+            int initial = readByte();
+            if (initial >>> 5 != MAJOR_BYTES) {
+                throw new IOException("Invalid CBOR bignum");
+            }
+            BigInteger magnitude = new BigInteger(1, readChunks(MAJOR_BYTES, initial & 0x1F));
+            if (tag == TAG_NEGATIVE_BIGNUM) {
+                return jsonProvider.createValue(BigInteger.ONE.negate().subtract(magnitude));
+            }
+            return jsonProvider.createValue(magnitude);
+        } else if (tag == TAG_DECIMAL_FRACTION) {
+            JsonValue content = readValue();
+            if (content.getValueType() != JsonValue.ValueType.ARRAY || content.asJsonArray().size() != 2) {
+                throw new IOException("Invalid CBOR decimal fraction");
+            }
+            int exponent = ((JsonNumber) content.asJsonArray().get(0)).intValueExact();
+            BigInteger mantissa = ((JsonNumber) content.asJsonArray().get(1)).bigIntegerValueExact();
+            return jsonProvider.createValue(new BigDecimal(mantissa, -exponent));
+        }
+        // Other tags (dates, URIs, ...) carry no meaning for GraphQL, so we only keep the tagged value
+        return readValue();
+    }
+
+    private JsonValue readSimple(int info) throws IOException {
+        switch (info) {
+            case 20:
+                return JsonValue.FALSE;
+            case 21:
+                return JsonValue.TRUE;
+            case 22:
+            case 23:
+                return JsonValue.NULL;
+            case 25:
+                return floatValue(halfToFloat(readShort()));
+            case 26:
+                return floatValue(Float.intBitsToFloat(readInt()));
+            case 27:
+                return doubleValue(Double.longBitsToDouble(readRawLong()));
+            default:
+                if (info == 24) {
+                    readByte();
+                }
+                // Unassigned simple values
+                return JsonValue.NULL;
+        }
+    }
+
+    private byte[] readChunks(int major, int info) throws IOException {
+        if (info != INDEFINITE) {
+            return readBytes(readArgument(info));
+        }
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        while (peekByte() != BREAK) {
+            int initial = readByte();
+            if (initial >>> 5 != major) {
+                throw new IOException("Invalid chunk in indefinite length CBOR string");
+            }
+            chunks.write(readBytes(readArgument(initial & 0x1F)));
+        }
+        readByte();
+        return chunks.toByteArray();
+    }
+
+    private long readArgument(int info) throws IOException {
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return readByte();
+            case 25:
+                return readShort();
+            case 26:
+                return readInt() & 0xFFFFFFFFL;
+            case 27:
+                return readRawLong();
+            default:
+                throw new IOException("Invalid CBOR additional information " + info);
+        }
+    }
+
+    private static JsonValue unsigned(long value) {
+        if (value < 0) {
+            // More than 63 bits
+            return jsonProvider.createValue(new BigInteger(Long.toUnsignedString(value)));
+        }
+        return jsonProvider.createValue(value);
+    }
+
+    private static JsonValue negative(long value) {
+        if (value < 0) {
+            return jsonProvider.createValue(BigInteger.ONE.negate().subtract(new BigInteger(Long.toUnsignedString(value))));
+        }
+        return jsonProvider.createValue(-1 - value);
+    }
+
+    static JsonValue floatValue(float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            throw new IOException("Non finite numbers can not be represented");
+        }
+        return jsonProvider.createValue(new BigDecimal(Float.toString(value)));
+    }
+
+    static JsonValue doubleValue(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IOException("Non finite numbers can not be represented");
+        }
+        return jsonProvider.createValue(value);
+    }
+
+    private static float halfToFloat(int half) {
+        int sign = (half & 0x8000) << 16;
+        int exponent = (half >>> 10) & 0x1F;
+        int mantissa = half & 0x3FF;
+        if (exponent == 0) {
+            // Subnormal
+            float value = mantissa * 0x1p-24f;
+            return sign == 0 ? value : -value;
+        } else if (exponent == 0x1F) {
+            return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        }
+        return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+    }
+}
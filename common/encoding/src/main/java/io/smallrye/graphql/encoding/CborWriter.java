@@ -0,0 +1,149 @@
+package io.smallrye.graphql.encoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes CBOR (RFC 8949) data items
+ */
+public class CborWriter extends BinaryWriter {
+
+    static final int MAJOR_UNSIGNED = 0;
+    static final int MAJOR_NEGATIVE = 1;
+    static final int MAJOR_BYTES = 2;
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+    static final int MAJOR_TAG = 6;
+    static final int MAJOR_SIMPLE = 7;
+
+    static final int TAG_POSITIVE_BIGNUM = 2;
+    static final int TAG_NEGATIVE_BIGNUM = 3;
+    static final int TAG_DECIMAL_FRACTION = 4;
+
+    static final int FALSE = 0xF4;
+    static final int TRUE = 0xF5;
+    static final int NULL = 0xF6;
+    static final int FLOAT16 = 0xF9;
+    static final int FLOAT32 = 0xFA;
+    static final int FLOAT64 = 0xFB;
+
+    public CborWriter(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void writeMapHeader(int size) throws IOException {
+        writeHead(MAJOR_MAP, size);
+    }
+
+    @Override
+    public void writeArrayHeader(int size) throws IOException {
+        writeHead(MAJOR_ARRAY, size);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        writeByte(NULL);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeHead(MAJOR_TEXT, bytes.length);
+        writeBytes(bytes);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        if (value >= 0) {
+            writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(MAJOR_NEGATIVE, ~value);
+        }
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        writeByte(FLOAT32);
+        writeInt(Float.floatToIntBits(value));
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        // Use the shorter representation when it does not lose precision. Readers treat single precision values
+        // like a Java float (shortest decimal representation), so that must round-trip as well.
+        float narrowed = (float) value;
+        if (narrowed == value && Double.parseDouble(Float.toString(narrowed)) == value) {
+            writeFloat(narrowed);
+        } else {
+            writeByte(FLOAT64);
+            writeRawLong(Double.doubleToLongBits(value));
+        }
+    }
+
+    @Override
+    public void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() < 64) {
+            writeLong(value.longValue());
+        } else if (value.signum() >= 0) {
+            writeHead(MAJOR_TAG, TAG_POSITIVE_BIGNUM);
+            writeByteString(magnitude(value));
+        } else {
+            writeHead(MAJOR_TAG, TAG_NEGATIVE_BIGNUM);
+            writeByteString(magnitude(BigInteger.ONE.negate().subtract(value)));
+        }
+    }
+
+    @Override
+    public void writeBigDecimal(BigDecimal value) throws IOException {
+        // Decimal fraction: [exponent, mantissa] with value = mantissa * 10^exponent
+        writeHead(MAJOR_TAG, TAG_DECIMAL_FRACTION);
+        writeArrayHeader(2);
+        writeLong(-value.scale());
+        writeBigInteger(value.unscaledValue());
+    }
+
+    private void writeByteString(byte[] bytes) throws IOException {
+        writeHead(MAJOR_BYTES, bytes.length);
+        writeBytes(bytes);
+    }
+
+    private void writeHead(int majorType, long argument) throws IOException {
+        int major = majorType << 5;
+        if (argument < 24) {
+            writeByte(major | (int) argument);
+        } else if (argument <= 0xFFL) {
+            writeByte(major | 24);
+            writeByte((int) argument);
+        } else if (argument <= 0xFFFFL) {
+            writeByte(major | 25);
+            writeShort((int) argument);
+        } else if (argument <= 0xFFFFFFFFL) {
+            writeByte(major | 26);
+            writeInt((int) argument);
+        } else {
+            writeByte(major | 27);
+            writeRawLong(argument);
+        }
+    }
+
+    private static byte[] magnitude(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            // Strip the sign byte
+            byte[] stripped = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, stripped, 0, stripped.length);
+            return stripped;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,137 @@
+package io.smallrye.graphql.encoding;
+
+import static io.smallrye.graphql.encoding.MessagePackWriter.ARRAY16;
+import static io.smallrye.graphql.encoding.MessagePackWriter.ARRAY32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.BIN16;
+import static io.smallrye.graphql.encoding.MessagePackWriter.BIN32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.BIN8;
+import static io.smallrye.graphql.encoding.MessagePackWriter.FALSE;
+import static io.smallrye.graphql.encoding.MessagePackWriter.FLOAT32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.FLOAT64;
+import static io.smallrye.graphql.encoding.MessagePackWriter.INT16;
+import static io.smallrye.graphql.encoding.MessagePackWriter.INT32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.INT64;
+import static io.smallrye.graphql.encoding.MessagePackWriter.INT8;
+import static io.smallrye.graphql.encoding.MessagePackWriter.MAP16;
+import static io.smallrye.graphql.encoding.MessagePackWriter.MAP32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.NIL;
+import static io.smallrye.graphql.encoding.MessagePackWriter.STR16;
+import static io.smallrye.graphql.encoding.MessagePackWriter.STR32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.STR8;
+import static io.smallrye.graphql.encoding.MessagePackWriter.TRUE;
+import static io.smallrye.graphql.encoding.MessagePackWriter.UINT16;
+import static io.smallrye.graphql.encoding.MessagePackWriter.UINT32;
+import static io.smallrye.graphql.encoding.MessagePackWriter.UINT64;
+import static io.smallrye.graphql.encoding.MessagePackWriter.UINT8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.Base64;
+
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+/**
+ * Reads MessagePack values. Binary values are mapped to base64 text, extension types are not supported.
+ */
+public class MessagePackReader extends BinaryReader {
+
+    public MessagePackReader(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public JsonValue readValue() throws IOException {
+        int b = readByte();
+        if (b <= 0x7F) {
+            return jsonProvider.createValue(b);
+        } else if (b <= 0x8F) {
+            return readMap(b & 0x0F);
+        } else if (b <= 0x9F) {
+            return readArray(b & 0x0F);
+        } else if (b <= 0xBF) {
+            return jsonProvider.createValue(readString(b & 0x1F));
+        } else if (b >= 0xE0) {
+            return jsonProvider.createValue((byte) b);
+        }
+        switch (b) {
+            case NIL:
+                return JsonValue.NULL;
+            case FALSE:
+                return JsonValue.FALSE;
+            case TRUE:
+                return JsonValue.TRUE;
+            case BIN8:
+                return binary(readByte());
+            case BIN16:
+                return binary(readShort());
+            case BIN32:
+                return binary(readInt() & 0xFFFFFFFFL);
+            case FLOAT32:
+                return CborReader.floatValue(Float.intBitsToFloat(readInt()));
+            case FLOAT64:
+                return CborReader.doubleValue(Double.longBitsToDouble(readRawLong()));
+            case UINT8:
+                return jsonProvider.createValue(readByte());
+            case UINT16:
+                return jsonProvider.createValue(readShort());
+            case UINT32:
+                return jsonProvider.createValue(readInt() & 0xFFFFFFFFL);
+            case UINT64:
+                long unsigned = readRawLong();
+                if (unsigned < 0) {
+                    return jsonProvider.createValue(new BigInteger(Long.toUnsignedString(unsigned)));
+                }
+                return jsonProvider.createValue(unsigned);
+            case INT8:
+                return jsonProvider.createValue((byte) readByte());
+            case INT16:
+                return jsonProvider.createValue((short) readShort());
+            case INT32:
+                return jsonProvider.createValue(readInt());
+            case INT64:
+                return jsonProvider.createValue(readRawLong());
+            case STR8:
+                return jsonProvider.createValue(readString(readByte()));
+            case STR16:
+                return jsonProvider.createValue(readString(readShort()));
+            case STR32:
+                return jsonProvider.createValue(readString(readInt() & 0xFFFFFFFFL));
+            case ARRAY16:
+                return readArray(readShort());
+            case ARRAY32:
+                return readArray(readInt() & 0xFFFFFFFFL);
+            case MAP16:
+                return readMap(readShort());
+            case MAP32:
+                return readMap(readInt() & 0xFFFFFFFFL);
+            default:
+                throw new IOException("Unsupported MessagePack type 0x" + Integer.toHexString(b));
+        }
+    }
+
+    private JsonValue readArray(long size) throws IOException {
+        JsonArrayBuilder builder = jsonBuilderFactory.createArrayBuilder();
+        for (long i = 0; i < size; i++) {
+            builder.add(readValue());
+        }
+        return builder.build();
+    }
+
+    private JsonValue readMap(long size) throws IOException {
+        JsonObjectBuilder builder = jsonBuilderFactory.createObjectBuilder();
+        for (long i = 0; i < size; i++) {
+            JsonValue key = readValue();
+            String name = (key instanceof JsonString) ? ((JsonString) key).getString() : key.toString();
+            builder.add(name, readValue());
+        }
+        return builder.build();
+    }
+
+    private JsonValue binary(long length) throws IOException {
+        return jsonProvider.createValue(Base64.getEncoder().encodeToString(readBytes(length)));
+    }
+}
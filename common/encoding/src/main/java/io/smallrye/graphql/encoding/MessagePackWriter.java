@@ -0,0 +1,182 @@
+package io.smallrye.graphql.encoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes MessagePack values
+ */
+public class MessagePackWriter extends BinaryWriter {
+
+    static final int NIL = 0xC0;
+    static final int FALSE = 0xC2;
+    static final int TRUE = 0xC3;
+    static final int BIN8 = 0xC4;
+    static final int BIN16 = 0xC5;
+    static final int BIN32 = 0xC6;
+    static final int FLOAT32 = 0xCA;
+    static final int FLOAT64 = 0xCB;
+    static final int UINT8 = 0xCC;
+    static final int UINT16 = 0xCD;
+    static final int UINT32 = 0xCE;
+    static final int UINT64 = 0xCF;
+    static final int INT8 = 0xD0;
+    static final int INT16 = 0xD1;
+    static final int INT32 = 0xD2;
+    static final int INT64 = 0xD3;
+    static final int STR8 = 0xD9;
+    static final int STR16 = 0xDA;
+    static final int STR32 = 0xDB;
+    static final int ARRAY16 = 0xDC;
+    static final int ARRAY32 = 0xDD;
+    static final int MAP16 = 0xDE;
+    static final int MAP32 = 0xDF;
+
+    static final int FIXMAP_PREFIX = 0x80;
+    static final int FIXARRAY_PREFIX = 0x90;
+    static final int FIXSTR_PREFIX = 0xA0;
+
+    private static final BigInteger UINT64_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    public MessagePackWriter(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void writeMapHeader(int size) throws IOException {
+        if (size < 16) {
+            writeByte(FIXMAP_PREFIX | size);
+        } else if (size <= 0xFFFF) {
+            writeByte(MAP16);
+            writeShort(size);
+        } else {
+            writeByte(MAP32);
+            writeInt(size);
+        }
+    }
+
+    @Override
+    public void writeArrayHeader(int size) throws IOException {
+        if (size < 16) {
+            writeByte(FIXARRAY_PREFIX | size);
+        } else if (size <= 0xFFFF) {
+            writeByte(ARRAY16);
+            writeShort(size);
+        } else {
+            writeByte(ARRAY32);
+            writeInt(size);
+        }
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        writeByte(NIL);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        if (length < 32) {
+            writeByte(FIXSTR_PREFIX | length);
+        } else if (length <= 0xFF) {
+            writeByte(STR8);
+            writeByte(length);
+        } else if (length <= 0xFFFF) {
+            writeByte(STR16);
+            writeShort(length);
+        } else {
+            writeByte(STR32);
+            writeInt(length);
+        }
+        writeBytes(bytes);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        if (value >= 0) {
+            if (value < 128) {
+                writeByte((int) value);
+            } else if (value <= 0xFFL) {
+                writeByte(UINT8);
+                writeByte((int) value);
+            } else if (value <= 0xFFFFL) {
+                writeByte(UINT16);
+                writeShort((int) value);
+            } else if (value <= 0xFFFFFFFFL) {
+                writeByte(UINT32);
+                writeInt((int) value);
+            } else {
+                writeByte(UINT64);
+                writeRawLong(value);
+            }
+        } else {
+            if (value >= -32) {
+                writeByte((int) value);
+            } else if (value >= Byte.MIN_VALUE) {
+                writeByte(INT8);
+                writeByte((int) value);
+            } else if (value >= Short.MIN_VALUE) {
+                writeByte(INT16);
+                writeShort((int) value);
+            } else if (value >= Integer.MIN_VALUE) {
+                writeByte(INT32);
+                writeInt((int) value);
+            } else {
+                writeByte(INT64);
+                writeRawLong(value);
+            }
+        }
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        writeByte(FLOAT32);
+        writeInt(Float.floatToIntBits(value));
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        // Use the shorter representation when it does not lose precision. Readers treat single precision values
+        // like a Java float (shortest decimal representation), so that must round-trip as well.
+        float narrowed = (float) value;
+        if (narrowed == value && Double.parseDouble(Float.toString(narrowed)) == value) {
+            writeFloat(narrowed);
+        } else {
+            writeByte(FLOAT64);
+            writeRawLong(Double.doubleToLongBits(value));
+        }
+    }
+
+    @Override
+    public void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() < 64) {
+            writeLong(value.longValue());
+        } else if (value.signum() > 0 && value.compareTo(UINT64_MAX) <= 0) {
+            writeByte(UINT64);
+            writeRawLong(value.longValue());
+        } else {
+            // MessagePack has no arbitrary precision numbers, so fall back to the textual representation
+            writeString(value.toString());
+        }
+    }
+
+    @Override
+    public void writeBigDecimal(BigDecimal value) throws IOException {
+        double asDouble = value.doubleValue();
+        if (!Double.isInfinite(asDouble) && BigDecimal.valueOf(asDouble).compareTo(value) == 0) {
+            writeDouble(asDouble);
+        } else {
+            // Not representable as a double without losing precision
+            writeString(value.toString());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.smallrye.graphql.schema;
 import static java.util.Collections.emptyMap;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +76,10 @@ public class Annotations {
     }
 
     private static Map<DotName, AnnotationInstance> getParentAnnotations(ClassInfo classInfo) {
+        return ScanningContext.getParentAnnotations(classInfo.name(), className -> createParentAnnotations(classInfo));
+    }
+
+    private static Map<DotName, AnnotationInstance> createParentAnnotations(ClassInfo classInfo) {
         Map<DotName, AnnotationInstance> parentAnnotations = new HashMap<>();
 
         for (AnnotationInstance classAnnotation : classInfo.declaredAnnotations()) {
@@ -90,15 +95,20 @@ public class Annotations {
     }
 
     private static Map<DotName, AnnotationInstance> getPackageAnnotations(ClassInfo classInfo) {
+        DotName packageName = packageInfo(classInfo);
+        if (packageName == null) {
+            return emptyMap();
+        }
+        return ScanningContext.getPackageAnnotations(packageName, Annotations::createPackageAnnotations);
+    }
+
+    private static Map<DotName, AnnotationInstance> createPackageAnnotations(DotName packageName) {
         Map<DotName, AnnotationInstance> packageAnnotations = new HashMap<>();
 
-        DotName packageName = packageInfo(classInfo);
-        if (packageName != null) {
-            ClassInfo packageInfo = ScanningContext.getIndex().getClassByName(packageName);
-            if (packageInfo != null) {
-                for (AnnotationInstance packageAnnotation : packageInfo.declaredAnnotations()) {
-                    packageAnnotations.putIfAbsent(packageAnnotation.name(), packageAnnotation);
-                }
+        ClassInfo packageInfo = ScanningContext.getIndex().getClassByName(packageName);
+        if (packageInfo != null) {
+            for (AnnotationInstance packageAnnotation : packageInfo.declaredAnnotations()) {
+                packageAnnotations.putIfAbsent(packageAnnotation.name(), packageAnnotation);
             }
         }
 
@@ -176,7 +186,10 @@ public class Annotations {
      * @return annotation for this class
      */
     public static Annotations getAnnotationsForClass(ClassInfo classInfo) {
+        return ScanningContext.getClassAnnotations(classInfo.name(), className -> createAnnotationsForClass(classInfo));
+    }
 
+    private static Annotations createAnnotationsForClass(ClassInfo classInfo) {
         Map<DotName, AnnotationInstance> annotationMap = new HashMap<>();
 
         for (AnnotationInstance annotationInstance : classInfo.declaredAnnotations()) {
@@ -189,7 +202,7 @@ public class Annotations {
             annotationMap.putIfAbsent(dotName, packageAnnotations.get(dotName));
         }
 
-        return new Annotations(annotationMap, packageAnnotations);
+        return new Annotations(Collections.unmodifiableMap(annotationMap), packageAnnotations);
     }
 
     /**
@@ -249,7 +262,7 @@ public class Annotations {
     // ------- All static creators done, now the actual class --------
 
     private Annotations(Map<DotName, AnnotationInstance> annotations) {
-        this(annotations, new HashMap<>());
+        this(annotations, emptyMap());
     }
 
     /**
@@ -503,9 +516,9 @@ public class Annotations {
 
     private static Map<DotName, AnnotationInstance> getTypeUseAnnotations(org.jboss.jandex.Type type) {
         if (type != null) {
-            return getAnnotationsWithFilter(type,
+            return ScanningContext.getTypeUseAnnotations(type, t -> getAnnotationsWithFilter(t,
                     Annotations.DATE_FORMAT,
-                    Annotations.NUMBER_FORMAT);
+                    Annotations.NUMBER_FORMAT));
         }
         return emptyMap();
     }
@@ -1,11 +1,22 @@
 package io.smallrye.graphql.schema;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.DotName;
 import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Type;
 
 /**
  * A simple registry to hold the current scanning info
  *
- * At this point we only keep the index in the context
+ * We keep the index in the context, and cache the annotations that are looked up over and over again
+ * during one scan (the annotations of a class and its package are needed for every field, method and argument).
+ * The cached maps are immutable, so they can be shared.
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
@@ -25,9 +36,54 @@ public class ScanningContext {
         current.remove();
     }
 
+    static Annotations getClassAnnotations(DotName className, Function<DotName, Annotations> creator) {
+        ScanningContext context = current.get();
+        if (context == null) {
+            return creator.apply(className);
+        }
+        return context.classAnnotations.computeIfAbsent(className, creator);
+    }
+
+    static Map<DotName, AnnotationInstance> getParentAnnotations(DotName className,
+            Function<DotName, Map<DotName, AnnotationInstance>> creator) {
+        return cached(context -> context.parentAnnotations, className, creator);
+    }
+
+    static Map<DotName, AnnotationInstance> getPackageAnnotations(DotName packageInfo,
+            Function<DotName, Map<DotName, AnnotationInstance>> creator) {
+        return cached(context -> context.packageAnnotations, packageInfo, creator);
+    }
+
+    static Map<DotName, AnnotationInstance> getTypeUseAnnotations(Type type,
+            Function<Type, Map<DotName, AnnotationInstance>> creator) {
+        return cached(context -> context.typeUseAnnotations, type, creator);
+    }
+
+    private static <K> Map<DotName, AnnotationInstance> cached(
+            Function<ScanningContext, Map<K, Map<DotName, AnnotationInstance>>> cache, K key,
+            Function<K, Map<DotName, AnnotationInstance>> creator) {
+        ScanningContext context = current.get();
+        if (context == null) {
+            return creator.apply(key);
+        }
+        Map<K, Map<DotName, AnnotationInstance>> annotations = cache.apply(context);
+        Map<DotName, AnnotationInstance> cachedAnnotations = annotations.get(key);
+        if (cachedAnnotations == null) {
+            // Not computeIfAbsent, the creator might use another cache of this context
+            cachedAnnotations = Collections.unmodifiableMap(creator.apply(key));
+            annotations.put(key, cachedAnnotations);
+        }
+        return cachedAnnotations;
+    }
+
     private final IndexView index;
+    private final Map<DotName, Annotations> classAnnotations = new HashMap<>();
+    private final Map<DotName, Map<DotName, AnnotationInstance>> parentAnnotations = new HashMap<>();
+    private final Map<DotName, Map<DotName, AnnotationInstance>> packageAnnotations = new HashMap<>();
+    // By identity, the index shares type instances, and annotations on equal types can still have different targets
+    private final Map<Type, Map<DotName, AnnotationInstance>> typeUseAnnotations = new IdentityHashMap<>();
 
     private ScanningContext(final IndexView index) {
         this.index = index;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package io.smallrye.graphql.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Test writing and reading a schema that was built at build time
+ */
+public class PrebuiltSchemaTest {
+    private static final Jsonb JSONB = JsonbBuilder.create();
+    private static final Map<String, String> SETTINGS = PrebuiltSchema.settings(TypeAutoNameStrategy.Default.name(),
+            false);
+
+    @TempDir
+    Path classes;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Schema schema = SchemaBuilder.build(SchemaBuilderTest.getTCKIndex());
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        byte[] bytes = write(schema);
+        Schema read = read(bytes, classLoader);
+
+        assertEquals(JSONB.toJson(schema), JSONB.toJson(read));
+    }
+
+    @Test
+    public void testStaleWhenClassAdded() throws IOException {
+        Schema schema = SchemaBuilder.build(SchemaBuilderTest.getTCKIndex());
+        byte[] bytes = write(schema);
+
+        // A class the schema does not refer to yet, e.g. a new implementation of an interface
+        copyClass(PrebuiltSchemaTest.class, classes.resolve("io/smallrye/graphql/index/NewClass.class"));
+
+        assertStale(() -> read(bytes, getClass().getClassLoader()));
+    }
+
+    @Test
+    public void testStaleWhenJarChanged() throws IOException {
+        Path jar = classes.resolve("dependency.jar");
+        writeJar(jar, "com/example/Dependency.class", new byte[] { 1 });
+        Schema schema = SchemaBuilder.build(SchemaBuilderTest.getTCKIndex());
+        List<Path> classpath = List.of(classes, jar);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrebuiltSchema.write(schema, getClass().getClassLoader(), classpath, SETTINGS, out);
+        byte[] bytes = out.toByteArray();
+
+        // Same jar, again, is fine
+        writeJar(jar, "com/example/Dependency.class", new byte[] { 1 });
+        PrebuiltSchema.read(new ByteArrayInputStream(bytes), getClass().getClassLoader(), classpath, SETTINGS);
+
+        writeJar(jar, "com/example/Dependency.class", new byte[] { 2 });
+        assertStale(() -> PrebuiltSchema.read(new ByteArrayInputStream(bytes), getClass().getClassLoader(), classpath,
+                SETTINGS));
+    }
+
+    @Test
+    public void testStaleWhenSettingsChanged() throws IOException {
+        Schema schema = SchemaBuilder.build(SchemaBuilderTest.getTCKIndex());
+        byte[] bytes = write(schema);
+
+        assertStale(() -> PrebuiltSchema.read(new ByteArrayInputStream(bytes), getClass().getClassLoader(),
+                List.of(classes), PrebuiltSchema.settings(TypeAutoNameStrategy.MergeInnerClass.name(), false)));
+    }
+
+    @Test
+    public void testStaleWhenClassChanged() throws IOException {
+        Indexer indexer = new Indexer();
+        SchemaBuilderTest.indexDirectory(indexer, "io/smallrye/graphql/index/generic");
+        IndexView index = indexer.complete();
+        Schema schema = SchemaBuilder.build(index);
+        byte[] bytes = write(schema);
+
+        String someClass = schema.getQueries().iterator().next().getClassName().replace('.', '/') + ".class";
+        // Pretend the class was recompiled into something else
+        ClassLoader changed = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public URL getResource(String name) {
+                if (name.equals(someClass)) {
+                    return super.getResource(PrebuiltSchemaTest.class.getName().replace('.', '/') + ".class");
+                }
+                return super.getResource(name);
+            }
+        };
+
+        assertStale(() -> read(bytes, changed));
+    }
+
+    @Test
+    public void testNoPrebuiltSchema() throws IOException {
+        assertNull(PrebuiltSchema.load(getClass().getClassLoader(), List.of(classes), SETTINGS));
+    }
+
+    @Test
+    public void testNotAPrebuiltSchema() {
+        assertThrows(IOException.class,
+                () -> read("type Query".getBytes(), getClass().getClassLoader()));
+    }
+
+    private byte[] write(Schema schema) throws IOException {
+        copyClass(SchemaBuilder.class, classes.resolve("io/smallrye/graphql/schema/SchemaBuilder.class"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrebuiltSchema.write(schema, getClass().getClassLoader(), List.of(classes), SETTINGS, out);
+        return out.toByteArray();
+    }
+
+    private Schema read(byte[] bytes, ClassLoader classLoader) throws IOException {
+        return PrebuiltSchema.read(new ByteArrayInputStream(bytes), classLoader, List.of(classes), SETTINGS);
+    }
+
+    private static void assertStale(Executable read) {
+        IOException stale = assertThrows(IOException.class, read);
+        assertTrue(stale.getMessage().contains("stale"), stale.getMessage());
+    }
+
+    private static void copyClass(Class<?> type, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            Files.copy(in, target);
+        }
+    }
+
+    private static void writeJar(Path jar, String entry, byte[] content) throws IOException {
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(entry));
+            zip.write(content);
+            zip.closeEntry();
+        }
+    }
+}
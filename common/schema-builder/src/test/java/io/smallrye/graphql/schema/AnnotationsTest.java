@@ -1,6 +1,10 @@
 package io.smallrye.graphql.schema;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
@@ -9,6 +13,7 @@ import org.jboss.jandex.MethodInfo;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import io.smallrye.graphql.api.DefaultNonNull;
 import io.smallrye.graphql.schema.helper.package_nonnull.PackageNonNullTestApi;
 
 class AnnotationsTest {
@@ -29,4 +34,23 @@ class AnnotationsTest {
         final Annotations annotationsForMethod = Annotations.getAnnotationsForMethod(optionalString);
         assertFalse(annotationsForMethod.parentAnnotations.isEmpty());
     }
+
+    @Test
+    void shouldShareParentAnnotationsWithinOneScan() {
+        final Index index = IndexCreator.indexWithPackage(PackageNonNullTestApi.class);
+        ScanningContext.register(index);
+
+        ClassInfo classByName = index.getClassByName(DotName.createSimple(PackageNonNullTestApi.class.getName()));
+        Annotations optionalString = Annotations.getAnnotationsForMethod(classByName.method("optionalString"));
+        Annotations string = Annotations.getAnnotationsForMethod(classByName.method("string"));
+
+        assertSame(optionalString.parentAnnotations, string.parentAnnotations);
+        assertTrue(optionalString.containsOneOfTheseInheritableAnnotations(DotName.createSimple(DefaultNonNull.class)));
+        assertThrows(UnsupportedOperationException.class, () -> optionalString.parentAnnotations.clear());
+        assertSame(Annotations.getAnnotationsForClass(classByName), Annotations.getAnnotationsForClass(classByName));
+
+        ScanningContext.register(index);
+        assertNotSame(optionalString.parentAnnotations,
+                Annotations.getAnnotationsForMethod(classByName.method("optionalString")).parentAnnotations);
+    }
 }
@@ -1,5 +1,6 @@
 package io.smallrye.graphql.schema.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -13,7 +14,7 @@ import java.util.stream.Collectors;
  *
  * @see <a href="https://spec.graphql.org/draft/#sec-Type-System.Directives.Custom-Directives">Custom Directive</a>
  */
-public class DirectiveType {
+public class DirectiveType implements Serializable {
     private String className;
     private String name;
     private String description;
@@ -0,0 +1,332 @@
+package io.smallrye.graphql.schema.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads and writes a {@link Schema} that was built at build time, so that the runtime does not need to
+ * index the classpath and build the schema again.
+ * <p>
+ * The format is a header (magic number and format version), followed by the settings the schema was built with,
+ * a digest of every class that was scanned, a checksum of every class the schema refers to, and the deflated,
+ * serialized schema.
+ * When a setting is different, a class was added, removed or changed after the schema was written (in the
+ * application or in one of its jars), or the model classes changed, the prebuilt schema is stale and can not be used.
+ */
+public final class PrebuiltSchema {
+
+    /**
+     * Where the build tools put the prebuilt schema, and where the runtime looks for it
+     */
+    public static final String RESOURCE = "META-INF/smallrye-graphql/schema.model";
+
+    private static final int MAGIC = 0x53524751; // SRGQ
+    private static final short FORMAT_VERSION = 2;
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "io.smallrye.graphql.schema.model.*;java.lang.*;java.util.*;java.math.*;!*");
+
+    private PrebuiltSchema() {
+    }
+
+    /**
+     * Write the schema.
+     *
+     * @param schema the schema
+     * @param classLoader the class loader that can load the classes of the application
+     * @param classpath the directories and jars that were scanned to build the schema
+     * @param settings the settings the schema was built with, see {@link #settings(String, boolean)}
+     * @param out where to write to
+     * @throws IOException when a class of the schema can not be found, or the schema can not be serialized
+     */
+    public static void write(Schema schema, ClassLoader classLoader, Collection<Path> classpath,
+            Map<String, String> settings, OutputStream out) throws IOException {
+        Map<String, Long> checksums = new TreeMap<>();
+        for (String className : referencedClasses(schema)) {
+            Long checksum = checksum(classLoader, className);
+            if (checksum == null) {
+                throw new IOException("Can not find class " + className);
+            }
+            checksums.put(className, checksum);
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        Map<String, String> sortedSettings = new TreeMap<>(settings);
+        data.writeInt(sortedSettings.size());
+        for (Map.Entry<String, String> setting : sortedSettings.entrySet()) {
+            data.writeUTF(setting.getKey());
+            data.writeUTF(setting.getValue());
+        }
+        byte[] digest = classpathDigest(classpath);
+        data.writeShort(digest.length);
+        data.write(digest);
+        data.writeInt(checksums.size());
+        for (Map.Entry<String, Long> checksum : checksums.entrySet()) {
+            data.writeUTF(checksum.getKey());
+            data.writeLong(checksum.getValue());
+        }
+        data.flush();
+
+        DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION));
+        ObjectOutputStream objects = new ObjectOutputStream(deflater);
+        objects.writeObject(schema);
+        objects.flush();
+        deflater.finish();
+        out.flush();
+    }
+
+    /**
+     * Load the prebuilt schema from the classpath, if there is one.
+     *
+     * @param classLoader the class loader of the application
+     * @param classpath the directories and jars the runtime would scan to build the schema
+     * @param settings the settings the runtime would build the schema with, see {@link #settings(String, boolean)}
+     * @return the schema, or null if there is no prebuilt schema
+     * @throws IOException when the prebuilt schema is stale or can not be read
+     */
+    public static Schema load(ClassLoader classLoader, Collection<Path> classpath, Map<String, String> settings)
+            throws IOException {
+        URL url = classLoader.getResource(RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        try (InputStream in = url.openStream()) {
+            return read(in, classLoader, classpath, settings);
+        }
+    }
+
+    /**
+     * Read a prebuilt schema.
+     *
+     * @param in where to read from
+     * @param classLoader the class loader of the application, used to check if the schema is stale
+     * @param classpath the directories and jars the runtime would scan to build the schema
+     * @param settings the settings the runtime would build the schema with, see {@link #settings(String, boolean)}
+     * @return the schema
+     * @throws IOException when the prebuilt schema is stale or can not be read
+     */
+    public static Schema read(InputStream in, ClassLoader classLoader, Collection<Path> classpath,
+            Map<String, String> settings) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a prebuilt schema");
+        }
+        short version = data.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported prebuilt schema format " + version);
+        }
+        int settingsCount = data.readInt();
+        Map<String, String> builtWith = new TreeMap<>();
+        for (int i = 0; i < settingsCount; i++) {
+            builtWith.put(data.readUTF(), data.readUTF());
+        }
+        if (!builtWith.equals(new TreeMap<>(settings))) {
+            throw new IOException("Prebuilt schema is stale, it was built with " + builtWith + " instead of "
+                    + new TreeMap<>(settings));
+        }
+        byte[] digest = new byte[data.readShort()];
+        data.readFully(digest);
+        if (!Arrays.equals(digest, classpathDigest(classpath))) {
+            throw new IOException("Prebuilt schema is stale, classes were added, removed or changed");
+        }
+        int count = data.readInt();
+        for (int i = 0; i < count; i++) {
+            String className = data.readUTF();
+            long checksum = data.readLong();
+            Long actual = checksum(classLoader, className);
+            if (actual == null || actual != checksum) {
+                throw new IOException("Prebuilt schema is stale, class " + className + " changed");
+            }
+        }
+
+        try (ObjectInputStream objects = new ModelInputStream(new InflaterInputStream(data))) {
+            objects.setObjectInputFilter(FILTER);
+            return (Schema) objects.readObject();
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Can not read prebuilt schema", ex);
+        }
+    }
+
+    /**
+     * The settings that change the schema the schema builder builds from the same classes
+     *
+     * @param typeAutoNameStrategy the name of the type auto name strategy
+     * @param federation if federation is enabled
+     * @return the settings, to pass to {@link #write} and {@link #read}
+     */
+    public static Map<String, String> settings(String typeAutoNameStrategy, boolean federation) {
+        Map<String, String> settings = new TreeMap<>();
+        settings.put("typeAutoNameStrategy", typeAutoNameStrategy);
+        settings.put("federation", Boolean.toString(federation));
+        return settings;
+    }
+
+    /**
+     * A digest of the names and checksums of all classes in the directories and jars, in classpath order.
+     * It does not depend on where the classpath is, so the build and the runtime get the same digest, e.g. for
+     * target/classes and the dependencies, and for WEB-INF/classes and WEB-INF/lib. Like with a class loader, only
+     * the first class with a name counts.
+     */
+    static byte[] classpathDigest(Collection<Path> classpath) throws IOException {
+        Map<String, Long> classes = new TreeMap<>();
+        for (Path path : classpath) {
+            if (Files.isDirectory(path)) {
+                List<Path> classFiles;
+                try (Stream<Path> files = Files.walk(path)) {
+                    classFiles = files.filter(file -> file.toString().endsWith(".class")).collect(Collectors.toList());
+                }
+                for (Path classFile : classFiles) {
+                    String name = path.relativize(classFile).toString().replace(path.getFileSystem().getSeparator(), "/");
+                    if (isScanned(name) && !classes.containsKey(name)) {
+                        classes.put(name, checksum(classFile.toUri().toURL()));
+                    }
+                }
+            } else if (Files.isRegularFile(path)) {
+                try (ZipFile jar = new ZipFile(path.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && isScanned(entry.getName()) && entry.getCrc() != -1) {
+                            classes.putIfAbsent(entry.getName(), entry.getCrc());
+                        }
+                    }
+                }
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, Long> entry : classes.entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(Long.toString(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    // module descriptors and the versioned classes of multi-release jars are not scanned
+    private static boolean isScanned(String name) {
+        return name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class");
+    }
+
+    /**
+     * All application classes the schema was built from
+     */
+    static Set<String> referencedClasses(Schema schema) {
+        Set<String> classNames = new HashSet<>();
+        addOperations(classNames, schema.getQueries());
+        addOperations(classNames, schema.getMutations());
+        addOperations(classNames, schema.getSubscriptions());
+        schema.getGroupedQueries().values().forEach(operations -> addOperations(classNames, operations));
+        schema.getGroupedMutations().values().forEach(operations -> addOperations(classNames, operations));
+        schema.getGroupedSubscriptions().values().forEach(operations -> addOperations(classNames, operations));
+        for (Type type : schema.getTypes().values()) {
+            classNames.add(type.getClassName());
+            addOperations(classNames, type.getOperations().values());
+            addOperations(classNames, type.getBatchOperations().values());
+        }
+        for (Type type : schema.getInterfaces().values()) {
+            classNames.add(type.getClassName());
+        }
+        addReferences(classNames, schema.getInputs().values());
+        addReferences(classNames, schema.getUnions().values());
+        addReferences(classNames, schema.getEnums().values());
+        addReferences(classNames, schema.getCustomScalarTypes());
+        for (DirectiveType directiveType : schema.getDirectiveTypes()) {
+            classNames.add(directiveType.getClassName());
+        }
+        for (ErrorInfo errorInfo : schema.getErrors().values()) {
+            classNames.add(errorInfo.getClassName());
+        }
+        classNames.addAll(schema.getWrappedDataFetchers().values());
+        classNames.addAll(schema.getFieldDataFetchers().values());
+        classNames.remove(null);
+        return new TreeSet<>(classNames);
+    }
+
+    private static void addOperations(Set<String> classNames, Collection<Operation> operations) {
+        for (Operation operation : operations) {
+            classNames.add(operation.getClassName());
+        }
+    }
+
+    private static void addReferences(Set<String> classNames, Collection<? extends Reference> references) {
+        for (Reference reference : references) {
+            classNames.add(reference.getClassName());
+        }
+    }
+
+    private static Long checksum(ClassLoader classLoader, String className) throws IOException {
+        URL url = classLoader.getResource(className.replace('.', '/') + ".class");
+        if (url == null) {
+            return null;
+        }
+        return checksum(url);
+    }
+
+    private static long checksum(URL url) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = url.openStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Resolves the model classes with the class loader of the model, whatever the context class loader is
+     */
+    private static class ModelInputStream extends ObjectInputStream {
+
+        ModelInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (desc.getName().startsWith(PrebuiltSchema.class.getPackageName())) {
+                return Class.forName(desc.getName(), false, PrebuiltSchema.class.getClassLoader());
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.smallrye.graphql.loadtest;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+/**
+ * Compares the HdrHistogram logs of two load test runs, for example of two commits:
+ *
+ * <pre>
+ * java -cp ... io.smallrye.graphql.loadtest.CompareLogs target/load-tests/before target/load-tests/after
+ * </pre>
+ */
+public class CompareLogs {
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    public static void main(String... args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareLogs <directory of the baseline logs> <directory of the logs>");
+            System.exit(2);
+        }
+        Path baseline = Paths.get(args[0]);
+        Path current = Paths.get(args[1]);
+        List<Path> logs;
+        try (Stream<Path> files = Files.list(current)) {
+            logs = files.filter(file -> file.toString().endsWith(".hlog")).sorted().collect(Collectors.toList());
+        }
+
+        System.out.printf("%-20s %8s %12s %12s %8s%n", "Scenario", "", "Baseline ms", "ms", "Change");
+        for (Path log : logs) {
+            Path baselineLog = baseline.resolve(log.getFileName());
+            if (!Files.exists(baselineLog)) {
+                System.out.printf("%-20s (no baseline)%n", log.getFileName());
+                continue;
+            }
+            String scenario = log.getFileName().toString().replace(".hlog", "");
+            Histogram before = read(baselineLog);
+            Histogram after = read(log);
+            for (double percentile : PERCENTILES) {
+                double was = before.getValueAtPercentile(percentile) / 1000.0;
+                double is = after.getValueAtPercentile(percentile) / 1000.0;
+                System.out.printf("%-20s %8s %12.3f %12.3f %7.1f%%%n", scenario, "p" + percentile, was, is,
+                        was == 0 ? 0 : (is - was) * 100 / was);
+            }
+        }
+    }
+
+    private static Histogram read(Path log) throws FileNotFoundException {
+        Histogram total = null;
+        HistogramLogReader reader = new HistogramLogReader(log.toFile());
+        try {
+            EncodableHistogram interval;
+            while ((interval = reader.nextIntervalHistogram()) != null) {
+                if (total == null) {
+                    total = ((Histogram) interval).copy();
+                } else {
+                    total.add((Histogram) interval);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return total == null ? new Histogram(3) : total;
+    }
+}
@@ -0,0 +1,103 @@
+package io.smallrye.graphql.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+import io.smallrye.graphql.entry.http.ExecutionServlet;
+import io.smallrye.graphql.loadtest.app.ShopApi;
+
+/**
+ * Jetty with Weld, running the application as a war, the way the integration tests deploy it:
+ * the application in WEB-INF/classes and the servlet integration in WEB-INF/lib.
+ */
+final class EmbeddedServer implements AutoCloseable {
+    private static final String BEANS_XML = "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"4.0\" "
+            + "bean-discovery-mode=\"all\">\n</beans>\n";
+
+    private final Path war;
+    private final Server server;
+    private final String url;
+
+    private EmbeddedServer(Path war, Server server, String url) {
+        this.war = war;
+        this.server = server;
+        this.url = url;
+    }
+
+    static EmbeddedServer start() throws Exception {
+        Path war = Files.createTempDirectory("smallrye-graphql-load-test");
+        createWar(war);
+
+        Server server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setHost("localhost");
+        server.addConnector(connector);
+
+        WebAppContext context = new WebAppContext(war.toString(), "/");
+        // Scan the container jars that bring servlet container initializers (CDI and websockets)
+        context.setAttribute("org.eclipse.jetty.server.webapp.ContainerIncludeJarPattern",
+                ".*/weld-servlet-core-[^/]*\\.jar$|.*/websocket-jakarta-server-[^/]*\\.jar$");
+        // Weld decorates the servlets and listeners through Jetty's decorator API
+        context.getServerClassMatcher().exclude(
+                "org.eclipse.jetty.util.Decorator",
+                "org.eclipse.jetty.util.DecoratedObjectFactory",
+                "org.eclipse.jetty.server.handler.ContextHandler.",
+                "org.eclipse.jetty.server.handler.ContextHandler",
+                "org.eclipse.jetty.servlet.ServletContextHandler");
+        server.setHandler(context);
+        server.start();
+
+        return new EmbeddedServer(war, server, "http://localhost:" + connector.getLocalPort() + "/graphql");
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            server.stop();
+        } finally {
+            try (Stream<Path> files = Files.walk(war)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static void createWar(Path war) throws IOException, URISyntaxException {
+        Path webInf = war.resolve("WEB-INF");
+        Files.writeString(Files.createDirectories(webInf).resolve("beans.xml"), BEANS_XML);
+
+        // The application, only the application package, so that the harness and the clients are not deployed
+        String appPackage = ShopApi.class.getPackage().getName().replace('.', '/');
+        Path appClasses = codeSource(ShopApi.class).resolve(appPackage);
+        Path target = Files.createDirectories(webInf.resolve("classes").resolve(appPackage));
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.list(appClasses)) {
+            classFiles = files.filter(file -> file.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        for (Path classFile : classFiles) {
+            Files.copy(classFile, target.resolve(classFile.getFileName().toString()));
+        }
+
+        Path servletJar = codeSource(ExecutionServlet.class);
+        Files.copy(servletJar, Files.createDirectories(webInf.resolve("lib")).resolve(servletJar.getFileName().toString()));
+    }
+
+    private static Path codeSource(Class<?> type) throws URISyntaxException {
+        return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+}
@@ -0,0 +1,177 @@
+package io.smallrye.graphql.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Starts operations at a fixed rate, whether or not the earlier ones completed (an open model).
+ * <p>
+ * Latency is measured from the time an operation was due to start, not from the time it actually started,
+ * so that a stalled server, or a stalled generator, does not hide the requests that had to wait
+ * (coordinated omission). The latencies, in microseconds, are written every second to an HdrHistogram log.
+ */
+final class LoadGenerator {
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(10);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * An operation of a scenario
+     */
+    @FunctionalInterface
+    interface Operation {
+        /**
+         * @param scheduledAt when the operation was due to start, as {@link System#nanoTime()}
+         * @param latencies where the operation records its latencies, if it measures something else than the time
+         *        from {@code scheduledAt} until the returned Uni completes
+         * @return the operation, it fails if the response has errors
+         */
+        Uni<?> execute(long scheduledAt, Recorder latencies);
+    }
+
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Path output;
+
+    LoadGenerator(int rate, Duration warmup, Duration duration, Path output) {
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.output = output;
+    }
+
+    /**
+     * An operation that measures the time until it completes
+     */
+    static Operation request(Supplier<Uni<?>> request) {
+        return (scheduledAt, latencies) -> request.get()
+                .invoke(() -> latencies.recordValue(micros(System.nanoTime() - scheduledAt)));
+    }
+
+    static long micros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), HIGHEST_LATENCY);
+    }
+
+    Result run(String scenario, Operation operation) throws IOException, InterruptedException {
+        Recorder recorder = new Recorder(HIGHEST_LATENCY, 3);
+        AtomicLong inFlight = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+
+        // Warm up, then throw the latencies away
+        generate(operation, recorder, warmup, inFlight, new AtomicLong());
+        drain(inFlight);
+        recorder.reset();
+
+        Files.createDirectories(output);
+        Histogram total = new Histogram(HIGHEST_LATENCY, 3);
+        ScheduledExecutorService logger = Executors.newSingleThreadScheduledExecutor();
+        try (PrintStream log = new PrintStream(Files.newOutputStream(output.resolve(scenario + ".hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            long start = System.currentTimeMillis();
+            writer.outputLogFormatVersion();
+            writer.outputComment("scenario=" + scenario + " rate=" + rate + "/s unit=us");
+            writer.outputStartTime(start);
+            writer.setBaseTime(start);
+            writer.outputLegend();
+            Histogram[] interval = new Histogram[1];
+            Runnable writeInterval = () -> {
+                synchronized (writer) {
+                    interval[0] = recorder.getIntervalHistogram(interval[0]);
+                    total.add(interval[0]);
+                    writer.outputIntervalHistogram(interval[0]);
+                }
+            };
+            logger.scheduleAtFixedRate(writeInterval, 1, 1, TimeUnit.SECONDS);
+
+            long started = System.nanoTime();
+            long operations = generate(operation, recorder, duration, inFlight, errors);
+            long unfinished = drain(inFlight);
+            long elapsed = System.nanoTime() - started;
+
+            logger.shutdown();
+            logger.awaitTermination(5, TimeUnit.SECONDS);
+            writeInterval.run();
+            return new Result(scenario, operations, errors.get() + unfinished, total, elapsed);
+        } finally {
+            logger.shutdownNow();
+        }
+    }
+
+    private long generate(Operation operation, Recorder recorder, Duration time, AtomicLong inFlight,
+            AtomicLong errors) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + time.toNanos();
+        long operations = 0;
+        for (long scheduledAt = start; scheduledAt < end; scheduledAt += interval) {
+            long wait;
+            while ((wait = scheduledAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.incrementAndGet();
+            operations++;
+            Uni<?> uni;
+            try {
+                uni = operation.execute(scheduledAt, recorder);
+            } catch (RuntimeException ex) {
+                uni = Uni.createFrom().failure(ex);
+            }
+            uni.subscribe().with(
+                    ignored -> inFlight.decrementAndGet(),
+                    failure -> {
+                        errors.incrementAndGet();
+                        inFlight.decrementAndGet();
+                    });
+        }
+        return operations;
+    }
+
+    /**
+     * @return the number of operations that did not complete in time
+     */
+    private static long drain(AtomicLong inFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return inFlight.getAndSet(0);
+    }
+
+    static final class Result {
+        final String scenario;
+        final long operations;
+        final long errors;
+        final Histogram latencies;
+        final long elapsedNanos;
+
+        Result(String scenario, long operations, long errors, Histogram latencies, long elapsedNanos) {
+            this.scenario = scenario;
+            this.operations = operations;
+            this.errors = errors;
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return recorded latencies (requests or events) per second
+         */
+        double throughput() {
+            return latencies.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.smallrye.graphql.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.json.JsonObject;
+
+import io.smallrye.graphql.client.GraphQLClientException;
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.graphql.client.vertx.dynamic.VertxDynamicGraphQLClientBuilder;
+import io.smallrye.graphql.client.vertx.typesafe.VertxTypesafeGraphQLClientBuilder;
+import io.smallrye.graphql.loadtest.app.ShopApi;
+import io.smallrye.graphql.loadtest.client.OrderInput;
+import io.smallrye.graphql.loadtest.client.OrderLineInput;
+import io.smallrye.graphql.loadtest.client.ShopClientApi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+
+/**
+ * Runs the load test scenarios against the servlet integration, and prints the latency percentiles and the
+ * throughput of every scenario. The latencies of every scenario are written to an HdrHistogram log in the output
+ * directory.
+ * <p>
+ * Configured with system properties:
+ * <ul>
+ * <li>{@code loadtest.rate}: operations started per second (subscriptions per second for the subscription
+ * scenario), default 200</li>
+ * <li>{@code loadtest.warmup}: seconds of warm up for every scenario, default 10</li>
+ * <li>{@code loadtest.duration}: seconds of measurement for every scenario, default 30</li>
+ * <li>{@code loadtest.scenarios}: a comma separated list of scenarios, or {@code all}</li>
+ * <li>{@code loadtest.output}: the directory of the HdrHistogram logs, default {@code target/load-tests}</li>
+ * </ul>
+ */
+public class LoadTest {
+    private static final String CUSTOMER_QUERY = "query customer($id: Int!) { customer(id: $id) "
+            + "{ id name email orders { id placed status total lines { quantity product { id name price } } } } }";
+    private static final String PLACE_ORDER_MUTATION = "mutation placeOrder($order: OrderInput) { placeOrder(order: $order) "
+            + "{ id status total lines { quantity product { id name price } } } }";
+    private static final String ORDER_UPDATES_SUBSCRIPTION = "subscription orderUpdates($orderId: String) "
+            + "{ orderUpdates(orderId: $orderId, count: 10, intervalMillis: 100) { orderId status scheduledAt } }";
+
+    public static void main(String... args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+        String scenarios = System.getProperty("loadtest.scenarios", "all");
+        Path output = Paths.get(System.getProperty("loadtest.output", "target/load-tests"));
+
+        Vertx vertx = Vertx.vertx();
+        try (EmbeddedServer server = EmbeddedServer.start()) {
+            DynamicGraphQLClient dynamicClient = new VertxDynamicGraphQLClientBuilder()
+                    .vertx(vertx)
+                    .url(server.getUrl())
+                    .build();
+            ShopClientApi typesafeClient = new VertxTypesafeGraphQLClientBuilder()
+                    .vertx(vertx)
+                    .endpoint(server.getUrl())
+                    .build(ShopClientApi.class);
+
+            Map<String, LoadGenerator.Operation> operations = new LinkedHashMap<>();
+            operations.put("dynamic-query", LoadGenerator.request(
+                    () -> checked(dynamicClient.executeAsync(CUSTOMER_QUERY, Map.of("id", randomCustomer())))));
+            operations.put("typesafe-query", LoadGenerator.request(() -> typesafeClient.customer(randomCustomer())));
+            operations.put("dynamic-mutation", LoadGenerator.request(
+                    () -> checked(dynamicClient.executeAsync(PLACE_ORDER_MUTATION, Map.of("order", order())))));
+            operations.put("typesafe-mutation", LoadGenerator.request(() -> typesafeClient.placeOrder(order())));
+            operations.put("subscription", (scheduledAt, latencies) -> dynamicClient
+                    .subscription(ORDER_UPDATES_SUBSCRIPTION, Map.of("orderId", String.valueOf(randomCustomer())))
+                    .invoke(response -> {
+                        check(response);
+                        // How late the event arrived, compared to when the server should have published it
+                        JsonObject event = response.getData().getJsonObject("orderUpdates");
+                        long scheduled = event.getJsonNumber("scheduledAt").longValue();
+                        latencies.recordValue(LoadGenerator.micros(System.nanoTime() - scheduled));
+                    })
+                    .collect().last());
+
+            List<String> selected = scenarios.equals("all") ? new ArrayList<>(operations.keySet())
+                    : Arrays.asList(scenarios.split(","));
+            LoadGenerator generator = new LoadGenerator(rate, warmup, duration, output);
+            List<LoadGenerator.Result> results = new ArrayList<>();
+            for (String scenario : selected) {
+                LoadGenerator.Operation operation = operations.get(scenario.trim());
+                if (operation == null) {
+                    throw new IllegalArgumentException("Unknown scenario " + scenario + ", use one of "
+                            + operations.keySet());
+                }
+                System.out.printf("Running %s at %d/s for %ds (warm up %ds)%n", scenario.trim(), rate,
+                        duration.toSeconds(), warmup.toSeconds());
+                results.add(generator.run(scenario.trim(), operation));
+            }
+            dynamicClient.close();
+            report(results, output);
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    private static void report(List<LoadGenerator.Result> results, Path output) {
+        System.out.printf("%n%-20s %12s %12s %10s %10s %10s %10s %10s %8s%n", "Scenario", "Operations", "Throughput",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "Errors");
+        for (LoadGenerator.Result result : results) {
+            System.out.printf("%-20s %12d %10.1f/s %10.3f %10.3f %10.3f %10.3f %10.3f %8d%n", result.scenario,
+                    result.operations, result.throughput(), millis(result, 50), millis(result, 90), millis(result, 99),
+                    millis(result, 99.9), result.latencies.getMaxValue() / 1000.0, result.errors);
+        }
+        System.out.printf("%nHdrHistogram logs (microseconds) in %s%n", output.toAbsolutePath());
+    }
+
+    private static double millis(LoadGenerator.Result result, double percentile) {
+        return result.latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Uni<Response> checked(Uni<Response> response) {
+        return response.invoke(LoadTest::check);
+    }
+
+    private static void check(Response response) {
+        if (response.hasError()) {
+            throw new GraphQLClientException("The response has errors", response.getErrors());
+        }
+    }
+
+    private static int randomCustomer() {
+        return ThreadLocalRandom.current().nextInt(ShopApi.CUSTOMERS);
+    }
+
+    private static OrderInput order() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderLineInput> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(new OrderLineInput(random.nextInt(ShopApi.PRODUCTS), 1 + random.nextInt(5)));
+        }
+        return new OrderInput(randomCustomer(), lines);
+    }
+}
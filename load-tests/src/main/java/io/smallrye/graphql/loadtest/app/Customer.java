@@ -0,0 +1,20 @@
+package io.smallrye.graphql.loadtest.app;
+
+import java.util.List;
+
+public class Customer {
+    public int id;
+    public String name;
+    public String email;
+    public List<Order> orders;
+
+    public Customer() {
+    }
+
+    public Customer(int id, String name, String email, List<Order> orders) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.orders = orders;
+    }
+}
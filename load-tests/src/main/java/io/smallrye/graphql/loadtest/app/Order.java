@@ -0,0 +1,30 @@
+package io.smallrye.graphql.loadtest.app;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class Order {
+    public String id;
+    public LocalDate placed;
+    public OrderStatus status;
+    public List<OrderLine> lines;
+
+    public Order() {
+    }
+
+    public Order(String id, LocalDate placed, OrderStatus status, List<OrderLine> lines) {
+        this.id = id;
+        this.placed = placed;
+        this.status = status;
+        this.lines = lines;
+    }
+
+    public BigDecimal getTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderLine line : lines) {
+            total = total.add(line.product.price.multiply(BigDecimal.valueOf(line.quantity)));
+        }
+        return total;
+    }
+}
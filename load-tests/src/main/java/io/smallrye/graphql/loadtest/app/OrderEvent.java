@@ -0,0 +1,20 @@
+package io.smallrye.graphql.loadtest.app;
+
+public class OrderEvent {
+    public String orderId;
+    public OrderStatus status;
+    /**
+     * When the event was due to be published, as {@link System#nanoTime()}. The server and the clients run in
+     * the same JVM, so the clients can tell how late the event is.
+     */
+    public long scheduledAt;
+
+    public OrderEvent() {
+    }
+
+    public OrderEvent(String orderId, OrderStatus status, long scheduledAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.scheduledAt = scheduledAt;
+    }
+}
@@ -0,0 +1,8 @@
+package io.smallrye.graphql.loadtest.app;
+
+import java.util.List;
+
+public class OrderInput {
+    public int customerId;
+    public List<OrderLineInput> lines;
+}
@@ -0,0 +1,14 @@
+package io.smallrye.graphql.loadtest.app;
+
+public class OrderLine {
+    public Product product;
+    public int quantity;
+
+    public OrderLine() {
+    }
+
+    public OrderLine(Product product, int quantity) {
+        this.product = product;
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,6 @@
+package io.smallrye.graphql.loadtest.app;
+
+public class OrderLineInput {
+    public int productId;
+    public int quantity;
+}
@@ -0,0 +1,8 @@
+package io.smallrye.graphql.loadtest.app;
+
+public enum OrderStatus {
+    PLACED,
+    PAID,
+    SHIPPED,
+    DELIVERED
+}
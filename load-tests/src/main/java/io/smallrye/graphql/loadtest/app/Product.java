@@ -0,0 +1,20 @@
+package io.smallrye.graphql.loadtest.app;
+
+import java.math.BigDecimal;
+
+public class Product {
+    public int id;
+    public String name;
+    public String description;
+    public BigDecimal price;
+
+    public Product() {
+    }
+
+    public Product(int id, String name, String description, BigDecimal price) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+    }
+}
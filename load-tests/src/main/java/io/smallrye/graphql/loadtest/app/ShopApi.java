@@ -0,0 +1,83 @@
+package io.smallrye.graphql.loadtest.app;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.graphql.DefaultValue;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Mutation;
+import org.eclipse.microprofile.graphql.Query;
+
+import io.smallrye.graphql.api.Subscription;
+import io.smallrye.mutiny.Multi;
+
+/**
+ * The application under load: a shop with customers, their orders, a product catalog and order updates
+ */
+@GraphQLApi
+public class ShopApi {
+    public static final int CUSTOMERS = 1_000;
+    public static final int PRODUCTS = 500;
+
+    private static final List<Product> CATALOG = new ArrayList<>();
+    private static final List<Customer> CUSTOMER_LIST = new ArrayList<>();
+    private static final AtomicLong ORDER_IDS = new AtomicLong();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    static {
+        for (int p = 0; p < PRODUCTS; p++) {
+            CATALOG.add(new Product(p, "Product " + p, "A description of product " + p + " for the catalog",
+                    BigDecimal.valueOf(100 + p * 7L, 2)));
+        }
+        for (int c = 0; c < CUSTOMERS; c++) {
+            List<Order> orders = new ArrayList<>();
+            for (int o = 0; o < 5; o++) {
+                List<OrderLine> lines = new ArrayList<>();
+                for (int l = 0; l < 3; l++) {
+                    lines.add(new OrderLine(CATALOG.get((c * 31 + o * 7 + l) % PRODUCTS), 1 + l));
+                }
+                orders.add(new Order(c + "-" + o, LocalDate.of(2024, 1 + o, 1 + c % 28), STATUSES[o % STATUSES.length],
+                        lines));
+            }
+            CUSTOMER_LIST.add(new Customer(c, "Customer " + c, "customer" + c + "@example.com", orders));
+        }
+    }
+
+    @Query
+    public Customer customer(int id) {
+        return CUSTOMER_LIST.get(Math.floorMod(id, CUSTOMERS));
+    }
+
+    @Query
+    public List<Product> products(@DefaultValue("20") int first) {
+        return CATALOG.subList(0, Math.min(first, PRODUCTS));
+    }
+
+    @Mutation
+    public Order placeOrder(OrderInput order) {
+        List<OrderLine> lines = new ArrayList<>(order.lines.size());
+        for (OrderLineInput line : order.lines) {
+            lines.add(new OrderLine(CATALOG.get(Math.floorMod(line.productId, PRODUCTS)), line.quantity));
+        }
+        return new Order(order.customerId + "-n" + ORDER_IDS.incrementAndGet(), LocalDate.now(), OrderStatus.PLACED,
+                lines);
+    }
+
+    @Subscription
+    public Multi<OrderEvent> orderUpdates(String orderId, @DefaultValue("10") int count,
+            @DefaultValue("100") int intervalMillis) {
+        long interval = Duration.ofMillis(intervalMillis).toNanos();
+        return Multi.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return Multi.createFrom().ticks().every(Duration.ofMillis(intervalMillis))
+                    .select().first(count)
+                    // Scheduled times, not the actual ones, so that late ticks show up as latency
+                    .map(tick -> new OrderEvent(orderId, STATUSES[(int) (tick % STATUSES.length)],
+                            start + (tick + 1) * interval));
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package io.smallrye.graphql.loadtest.client;
+
+import java.util.List;
+
+public class Customer {
+    public int id;
+    public String name;
+    public String email;
+    public List<Order> orders;
+}
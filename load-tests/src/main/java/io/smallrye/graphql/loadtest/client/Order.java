@@ -0,0 +1,13 @@
+package io.smallrye.graphql.loadtest.client;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class Order {
+    public String id;
+    public LocalDate placed;
+    public String status;
+    public BigDecimal total;
+    public List<OrderLine> lines;
+}
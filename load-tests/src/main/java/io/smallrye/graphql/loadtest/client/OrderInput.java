@@ -0,0 +1,16 @@
+package io.smallrye.graphql.loadtest.client;
+
+import java.util.List;
+
+public class OrderInput {
+    public int customerId;
+    public List<OrderLineInput> lines;
+
+    public OrderInput() {
+    }
+
+    public OrderInput(int customerId, List<OrderLineInput> lines) {
+        this.customerId = customerId;
+        this.lines = lines;
+    }
+}
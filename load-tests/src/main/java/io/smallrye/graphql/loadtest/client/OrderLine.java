@@ -0,0 +1,6 @@
+package io.smallrye.graphql.loadtest.client;
+
+public class OrderLine {
+    public Product product;
+    public int quantity;
+}
@@ -0,0 +1,14 @@
+package io.smallrye.graphql.loadtest.client;
+
+public class OrderLineInput {
+    public int productId;
+    public int quantity;
+
+    public OrderLineInput() {
+    }
+
+    public OrderLineInput(int productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+}
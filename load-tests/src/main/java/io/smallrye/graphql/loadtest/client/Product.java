@@ -0,0 +1,9 @@
+package io.smallrye.graphql.loadtest.client;
+
+import java.math.BigDecimal;
+
+public class Product {
+    public int id;
+    public String name;
+    public BigDecimal price;
+}
@@ -0,0 +1,21 @@
+package io.smallrye.graphql.loadtest.client;
+
+import org.eclipse.microprofile.graphql.Mutation;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+
+import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * The typesafe client for the {@code ShopApi}
+ */
+@GraphQLClientApi
+public interface ShopClientApi {
+
+    @Query
+    Uni<Customer> customer(@Name("id") int id);
+
+    @Mutation
+    Uni<Order> placeOrder(@Name("order") OrderInput order);
+}
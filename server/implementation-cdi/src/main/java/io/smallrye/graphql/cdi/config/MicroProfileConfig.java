@@ -24,6 +24,7 @@ public class MicroProfileConfig implements Config {
     private Boolean allowGet;
     private Boolean allowPostWithQueryParameters;
     private Boolean metricsEnabled;
+    private List<Double> metricsPercentiles;
     private Boolean tracingEnabled;
     private Boolean eventsEnabled;
     private Boolean federationEnabled;
@@ -263,6 +264,16 @@ public class MicroProfileConfig implements Config {
         return Optional.ofNullable(unwrapExceptions);
     }
 
+    @Override
+    public Optional<List<Double>> getMetricsPercentiles() {
+        if (metricsPercentiles == null) {
+            org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
+            metricsPercentiles = microProfileConfig.getOptionalValues(ConfigKey.METRICS_PERCENTILES, Double.class)
+                    .orElse(null);
+        }
+        return Optional.ofNullable(metricsPercentiles);
+    }
+
     @Override
     public Optional<List<String>> getErrorExtensionFields() {
         if (errorExtensionFields == null) {
@@ -389,6 +400,10 @@ public class MicroProfileConfig implements Config {
         this.unwrapExceptions = unwrapExceptions;
     }
 
+    public void setMetricsPercentiles(List<Double> metricsPercentiles) {
+        this.metricsPercentiles = metricsPercentiles;
+    }
+
     public void setErrorExtensionFields(List<String> errorExtensionFields) {
         this.errorExtensionFields = errorExtensionFields;
     }
@@ -3,11 +3,13 @@ package io.smallrye.graphql.cdi.metrics;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.enterprise.util.AnnotationLiteral;
 
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.SimpleTimer;
 import org.eclipse.microprofile.metrics.Tag;
 import org.eclipse.microprofile.metrics.annotation.RegistryType;
 import org.jboss.logging.Logger;
@@ -41,30 +43,44 @@ public class MPMetricsService implements MetricsService {
         return metricRegistry;
     }
 
-    private Tag[] getTags(MetricMeasurement metricMeasurement) {
+    private Tag[] getTags(String name, String operationType, boolean source) {
         return new Tag[] {
-                new Tag("name", metricMeasurement.getName()),
-                new Tag("type", metricMeasurement.getOperationType()),
-                new Tag("source", String.valueOf(metricMeasurement.isSource()))
+                new Tag("name", name),
+                new Tag("type", operationType),
+                new Tag("source", String.valueOf(source))
         };
     }
 
+    @Override
+    public Meter bind(String fieldName, String operationType, boolean source) {
+        SimpleTimer timer = getMetricRegistry().simpleTimer(METRIC_NAME, getTags(fieldName, operationType, source));
+        // MP Metrics 4 has no update in nanoseconds, SimpleTimer only takes a Duration (or times a callable itself).
+        // Batched fields are recorded once per batch, and unbatched ones only when explicitly enabled.
+        return durationNanos -> timer.update(Duration.ofNanos(durationNanos));
+    }
+
+    @Override
+    public void registerGauge(String name, Supplier<Number> value) {
+        getMetricRegistry().gauge(name, value);
+    }
+
     @Override
     public void start(Long measurementId, Context context) {
         metricsMemory.put(measurementId, new MetricMeasurement(context.getFieldName(),
                 context.hasSource(),
                 context.getOperationType(),
                 System.nanoTime()));
-        LOG.tracef("(" + measurementId + ") Started recording metrics for: %s", context.getFieldName());
+        LOG.tracef("(%d) Started recording metrics for: %s", measurementId, context.getFieldName());
     }
 
     @Override
     public void end(Long measurementId) {
         MetricMeasurement metricMeasurement = metricsMemory.remove(measurementId);
         long duration = System.nanoTime() - metricMeasurement.getTimeStarted();
-        getMetricRegistry().simpleTimer(METRIC_NAME, getTags(metricMeasurement))
+        getMetricRegistry().simpleTimer(METRIC_NAME, getTags(metricMeasurement.getName(),
+                metricMeasurement.getOperationType(), metricMeasurement.isSource()))
                 .update(Duration.ofNanos(duration));
-        LOG.tracef("(" + measurementId + ") Finished recording metrics for: %s", metricMeasurement.getName());
+        LOG.tracef("(%d) Finished recording metrics for: %s", measurementId, metricMeasurement.getName());
     }
 
     class VendorType extends AnnotationLiteral<RegistryType> implements RegistryType {
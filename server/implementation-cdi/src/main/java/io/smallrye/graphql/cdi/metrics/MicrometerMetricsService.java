@@ -1,16 +1,22 @@
 package io.smallrye.graphql.cdi.metrics;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.jboss.logging.Logger;
 
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.spi.MetricsService;
+import io.smallrye.graphql.spi.config.Config;
 
 public class MicrometerMetricsService implements MetricsService {
     private final MeterRegistry meterRegistry = Metrics.globalRegistry;
@@ -24,10 +30,33 @@ public class MicrometerMetricsService implements MetricsService {
         meterRegistry.getMeters();
     }
 
-    private Tags getTags(MetricMeasurement metricMeasurement) {
-        return Tags.of("name", metricMeasurement.getName())
-                .and("type", metricMeasurement.getOperationType())
-                .and("source", String.valueOf(metricMeasurement.isSource()));
+    private Tags getTags(String name, String operationType, boolean source) {
+        return Tags.of("name", name)
+                .and("type", operationType)
+                .and("source", String.valueOf(source));
+    }
+
+    @Override
+    public Meter bind(String fieldName, String operationType, boolean source) {
+        // Percentiles are kept in lock-free (HdrHistogram based) histograms by Micrometer
+        Timer timer = Timer.builder(METRIC_NAME)
+                .tags(getTags(fieldName, operationType, source))
+                .publishPercentiles(getPercentiles())
+                .register(meterRegistry);
+        return durationNanos -> timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registerGauge(String name, Supplier<Number> value) {
+        Gauge.builder(name, value).register(meterRegistry);
+    }
+
+    private static double[] getPercentiles() {
+        List<Double> percentiles = Config.get().getMetricsPercentiles().orElse(null);
+        if (percentiles == null) {
+            return null;
+        }
+        return percentiles.stream().mapToDouble(Double::doubleValue).toArray();
     }
 
     @Override
@@ -38,15 +67,16 @@ public class MicrometerMetricsService implements MetricsService {
                         context.hasSource(),
                         context.getOperationType(),
                         System.nanoTime()));
-        LOG.tracef("(" + measurementId + ") Started recording metrics for: %s", context.getFieldName());
+        LOG.tracef("(%d) Started recording metrics for: %s", measurementId, context.getFieldName());
     }
 
     @Override
     public void end(Long measurementId) {
         MetricMeasurement metricMeasurement = metricsMemory.remove(measurementId);
         long duration = System.nanoTime() - metricMeasurement.getTimeStarted();
-        meterRegistry.timer(METRIC_NAME, getTags(metricMeasurement))
+        meterRegistry.timer(METRIC_NAME, getTags(metricMeasurement.getName(), metricMeasurement.getOperationType(),
+                metricMeasurement.isSource()))
                 .record(Duration.ofNanos(duration));
-        LOG.tracef("(" + measurementId + ") Finished recording metrics for: %s", metricMeasurement.getName());
+        LOG.tracef("(%d) Finished recording metrics for: %s", measurementId, metricMeasurement.getName());
     }
 }
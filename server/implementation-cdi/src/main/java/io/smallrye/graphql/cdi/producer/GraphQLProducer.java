@@ -1,15 +1,29 @@
 package io.smallrye.graphql.cdi.producer;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Produces;
 
+import org.jboss.logging.Logger;
+
 import graphql.execution.ExecutionStrategy;
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.bootstrap.Bootstrap;
 import io.smallrye.graphql.cdi.context.CDISmallRyeContext;
+import io.smallrye.graphql.config.ConfigKey;
 import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
 import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.spi.config.Config;
 
 /**
  * Produces the GraphQL Services
@@ -18,6 +32,7 @@ import io.smallrye.graphql.schema.model.Schema;
  */
 @ApplicationScoped
 public class GraphQLProducer {
+    private static final Logger LOG = Logger.getLogger(GraphQLProducer.class);
 
     public void setSchema(Schema schema) {
         this.schema = schema;
@@ -55,6 +70,61 @@ public class GraphQLProducer {
         return this.graphQLSchema;
     }
 
+    /**
+     * Initialize with the schema model that was generated at build time, so the classpath does not need to be scanned.
+     *
+     * @param classLoader the class loader of the application
+     * @param classpath the directories and jars that would be scanned otherwise, to check that the prebuilt schema
+     *        model was built from the same classes
+     * @param settings the settings the schema model would be built with otherwise, see
+     *        {@link PrebuiltSchema#settings(String, boolean)}
+     * @param allowMultipleDeployments allow multiple deployments
+     * @return the schema, or null if there is no prebuilt schema model or it is stale. The schema model then has to be
+     *         built and passed to one of the other initialize methods
+     */
+    public GraphQLSchema initializeFromPrebuiltSchema(ClassLoader classLoader, Collection<Path> classpath,
+            Map<String, String> settings, boolean allowMultipleDeployments) {
+        if (!Config.get().getConfigValue(ConfigKey.SCHEMA_PREBUILT_ENABLED, boolean.class, false)) {
+            return null;
+        }
+        Schema prebuilt;
+        try {
+            prebuilt = PrebuiltSchema.load(classLoader, classpath, settings);
+        } catch (IOException ex) {
+            LOG.infof("Not using the prebuilt schema model: %s", ex.getMessage());
+            return null;
+        }
+        if (prebuilt == null) {
+            return null;
+        }
+        LOG.debugf("Using the prebuilt schema model from %s", PrebuiltSchema.RESOURCE);
+        return initialize(prebuilt, allowMultipleDeployments);
+    }
+
+    /**
+     * Replace the schema without a restart, e.g. when GraphQL APIs are added or removed.
+     * <p>
+     * The new schema is built in the background, and swapped in once it is ready. Until then, and for the requests
+     * that already started, the current schema is used.
+     *
+     * @param schema the model of the new schema
+     * @param allowMultipleDeployments allow multiple deployments
+     * @param executor where to build the new schema
+     * @return the new schema, once it is swapped in
+     */
+    public CompletionStage<GraphQLSchema> reload(Schema schema, boolean allowMultipleDeployments, Executor executor) {
+        if (this.executionService == null) {
+            throw new IllegalStateException("Can't reload the schema before it is initialized");
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema, allowMultipleDeployments);
+            this.executionService.swap(graphQLSchema, schema);
+            this.schema = schema;
+            this.graphQLSchema = graphQLSchema;
+            return graphQLSchema;
+        }, executor);
+    }
+
     public GraphQLSchema initialize(ExecutionStrategy queryExecutionStrategy, ExecutionStrategy mutationExecutionStrategy) {
         return initialize(false, queryExecutionStrategy, mutationExecutionStrategy);
     }
@@ -63,6 +133,13 @@ public class GraphQLProducer {
         return initialize(false);
     }
 
+    @PreDestroy
+    void destroy() {
+        if (executionService != null) {
+            executionService.shutdown();
+        }
+    }
+
     @Produces
     ExecutionService executionService;
 
@@ -0,0 +1,155 @@
+package io.smallrye.graphql.cdi.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.smallrye.graphql.execution.datafetcher.BatchDataFetcher;
+
+/**
+ * Creates a child span of the execution span for every resolver.
+ * <p>
+ * Whether an execution gets resolver spans is decided once, when the execution starts (head based sampling),
+ * so executions that are not sampled only pay for one check per field.
+ * Trivial (property) fields do not get a span, and all keys of a batched source field that are loaded together
+ * share one span, with the number of keys as attribute.
+ */
+class FieldTracingInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final InstrumentationState NOT_SAMPLED = new InstrumentationState() {
+    };
+
+    private final Tracer tracer;
+    private final double sampleRatio;
+
+    FieldTracingInstrumentation(Tracer tracer, double sampleRatio) {
+        this.tracer = tracer;
+        this.sampleRatio = sampleRatio;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        TracingService.ExecutionTrace trace = parameters.getExecutionInput().getGraphQLContext()
+                .get(TracingService.EXECUTION_TRACE);
+        if (trace == null || !trace.span.getSpanContext().isSampled()
+                || ThreadLocalRandom.current().nextDouble() >= sampleRatio) {
+            return NOT_SAMPLED;
+        }
+        return new FieldTraces(trace.span);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+            InstrumentationState state) {
+        if (state == NOT_SAMPLED || state == null || parameters.isTrivialDataFetcher()) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        FieldTraces traces = (FieldTraces) state;
+        ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
+        GraphQLObjectType parentType = executionStepInfo.getObjectType();
+        GraphQLFieldDefinition field = parameters.getField();
+        String coordinates = parentType.getName() + "." + field.getName();
+
+        GraphQLCodeRegistry codeRegistry = parameters.getExecutionContext().getGraphQLSchema().getCodeRegistry();
+        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(parentType, field);
+        if (dataFetcher instanceof BatchDataFetcher) {
+            return traces.batch(coordinates);
+        }
+
+        Span span = traces.startSpan(coordinates);
+        span.setAttribute("graphql.field.path", executionStepInfo.getPath().toString());
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            if (throwable != null) {
+                span.recordException(throwable);
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        });
+    }
+
+    /**
+     * The resolver spans of one sampled execution
+     */
+    class FieldTraces implements InstrumentationState {
+        private final Context parent;
+        private final Map<String, BatchTrace> batches = new ConcurrentHashMap<>();
+
+        FieldTraces(Span executionSpan) {
+            this.parent = Context.current().with(executionSpan);
+        }
+
+        Span startSpan(String coordinates) {
+            return tracer.spanBuilder(TracingService.PREFIX + ":" + coordinates)
+                    .setParent(parent)
+                    .setAttribute("graphql.field.coordinates", coordinates)
+                    .startSpan();
+        }
+
+        InstrumentationContext<Object> batch(String coordinates) {
+            BatchTrace batch = batches.computeIfAbsent(coordinates, c -> new BatchTrace(startSpan(c)));
+            while (!batch.add()) {
+                // That batch just finished, so this key belongs to the next one
+                batches.remove(coordinates, batch);
+                batch = batches.computeIfAbsent(coordinates, c -> new BatchTrace(startSpan(c)));
+            }
+            BatchTrace added = batch;
+            return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+                if (added.complete(throwable)) {
+                    batches.remove(coordinates, added);
+                }
+            });
+        }
+    }
+
+    /**
+     * One span for all keys of a batched field that are loaded together
+     */
+    private static class BatchTrace {
+        private final Span span;
+        private int keys = 0;
+        private int pending = 0;
+        private boolean finished = false;
+
+        BatchTrace(Span span) {
+            this.span = span;
+        }
+
+        synchronized boolean add() {
+            if (finished) {
+                return false;
+            }
+            keys++;
+            pending++;
+            return true;
+        }
+
+        synchronized boolean complete(Throwable throwable) {
+            if (throwable != null) {
+                span.recordException(throwable);
+                span.setStatus(StatusCode.ERROR);
+            }
+            if (--pending > 0) {
+                return false;
+            }
+            finished = true;
+            span.setAttribute("graphql.batch.keys", keys);
+            span.end();
+            return true;
+        }
+    }
+}
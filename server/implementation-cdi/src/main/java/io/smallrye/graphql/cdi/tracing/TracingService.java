@@ -1,14 +1,15 @@
 package io.smallrye.graphql.cdi.tracing;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.annotation.Priority;
 import jakarta.enterprise.inject.spi.CDI;
 
 import org.jboss.logging.Logger;
 
+import graphql.ExecutionInput;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.Instrumentation;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
@@ -17,9 +18,11 @@ import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.config.ConfigKey;
 import io.smallrye.graphql.execution.event.Priorities;
 import io.smallrye.graphql.spi.EventingService;
+import io.smallrye.graphql.spi.config.Config;
 
 /**
- * Listening for operation start/end event and create traces from it
+ * Listening for operation start/end event and create traces from it.
+ * The span of an execution is kept in the GraphQL context of that execution, so nothing outlives it.
  *
  * @author Jan Martiska (jmartisk@redhat.com)
  * @author Phillip Kruger (phillip.kruger@redhat.com)
@@ -27,47 +30,58 @@ import io.smallrye.graphql.spi.EventingService;
 @Priority(Priorities.FIRST_IN_LAST_OUT)
 public class TracingService implements EventingService {
 
-    private Logger LOG = Logger.getLogger(TracingService.class);
-    private static final Map<String, Span> spans = new ConcurrentHashMap<>();
-    private static final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    private static final Logger LOG = Logger.getLogger(TracingService.class);
+    static final String EXECUTION_TRACE = TracingService.class.getName();
 
     private Tracer tracer;
 
     @Override
     public void beforeExecute(Context context) {
+        ExecutionInput executionInput = context.unwrap(ExecutionInput.class);
+        if (executionInput == null) {
+            return;
+        }
         String operationName = getOperationName(context);
         Span span = getTracer().spanBuilder(operationName)
                 .setAttribute("graphql.executionId", context.getExecutionId())
                 .setAttribute("graphql.operationType", getOperationNameString(context.getRequestedOperationTypes()))
                 .setAttribute("graphql.operationName", context.getOperationName().orElse(EMPTY))
                 .startSpan();
-        LOG.trace("Start span " + span.getSpanContext().getSpanId());
+        LOG.tracef("Start span %s", span.getSpanContext().getSpanId());
 
-        spans.put(context.getExecutionId(), span);
-        scopes.put(context.getExecutionId(), span.makeCurrent());
+        executionInput.getGraphQLContext().put(EXECUTION_TRACE, new ExecutionTrace(span, span.makeCurrent()));
     }
 
     @Override
     public void afterExecute(Context context) {
-        Span span = spans.remove(context.getExecutionId());
-
-        if (span != null) {
-            LOG.trace("Finish span " + span.getSpanContext().getSpanId());
-            scopes.remove(context.getExecutionId()).close();
-            span.end();
+        ExecutionTrace trace = removeExecutionTrace(context);
+        if (trace != null && trace.finish()) {
+            LOG.tracef("Finish span %s", trace.span.getSpanContext().getSpanId());
+            trace.scope.close();
+            trace.span.end();
         }
     }
 
     @Override
     public void errorExecute(Context context, Throwable t) {
-        Span span = spans.remove(context.getExecutionId());
-        if (span != null) {
-            LOG.trace("Exceptionally finish span " + span.getSpanContext().getSpanId());
-            span.recordException(t);
-            span.setStatus(StatusCode.ERROR);
-            scopes.remove(context.getExecutionId()).close();
-            span.end();
+        ExecutionTrace trace = removeExecutionTrace(context);
+        if (trace != null && trace.finish()) {
+            LOG.tracef("Exceptionally finish span %s", trace.span.getSpanContext().getSpanId());
+            trace.span.recordException(t);
+            trace.span.setStatus(StatusCode.ERROR);
+            trace.scope.close();
+            trace.span.end();
+        }
+    }
+
+    @Override
+    public Instrumentation createInstrumentation() {
+        Config config = Config.get();
+        if (!config.getConfigValue(ConfigKey.ENABLE_TRACING_FIELDS, boolean.class, false)) {
+            return null;
         }
+        double sampleRatio = config.getConfigValue(ConfigKey.TRACING_FIELDS_SAMPLE_RATIO, double.class, 1.0);
+        return new FieldTracingInstrumentation(getTracer(), sampleRatio);
     }
 
     @Override
@@ -82,6 +96,19 @@ public class TracingService implements EventingService {
         return tracer;
     }
 
+    private static ExecutionTrace removeExecutionTrace(Context context) {
+        ExecutionInput executionInput = context.unwrap(ExecutionInput.class);
+        if (executionInput == null) {
+            return null;
+        }
+        GraphQLContext graphQLContext = executionInput.getGraphQLContext();
+        ExecutionTrace trace = graphQLContext.get(EXECUTION_TRACE);
+        if (trace != null) {
+            graphQLContext.delete(EXECUTION_TRACE);
+        }
+        return trace;
+    }
+
     private static String getOperationName(Context context) {
         if (context.getOperationName().isPresent()) {
             return PREFIX + ":" + context.getOperationName().get();
@@ -93,7 +120,29 @@ public class TracingService implements EventingService {
         return String.join(UNDERSCORE, types);
     }
 
+    /**
+     * The span of one execution, and the scope it was made current in
+     */
+    static class ExecutionTrace {
+        final Span span;
+        final Scope scope;
+        private boolean finished = false;
+
+        ExecutionTrace(Span span, Scope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+
+        synchronized boolean finish() {
+            if (finished) {
+                return false;
+            }
+            finished = true;
+            return true;
+        }
+    }
+
     private static final String UNDERSCORE = "_";
     private static final String EMPTY = "";
-    private static final String PREFIX = "GraphQL";
-}
\ No newline at end of file
+    static final String PREFIX = "GraphQL";
+}
@@ -0,0 +1,143 @@
+package io.smallrye.graphql.cdi.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+/**
+ * Test the resolver spans: sampling, trivial fields, and the shared span of a batch
+ */
+class FieldTracingInstrumentationTest {
+
+    private static final String SDL = "type Query { people: [Person] }\n"
+            + "type Person { name: String friend: Person }";
+    private static final String QUERY = "{ people { name friend { name } } }";
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+    private final Tracer tracer = tracerProvider.get("test");
+
+    public static class Person {
+        private final String name;
+
+        Person(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void sampledExecutionShouldOnlyTraceResolversThatAreNotTrivial() {
+        execute(1.0, tracer.spanBuilder("GraphQL").startSpan());
+
+        // Person.name is a property, so it has no span
+        assertEquals(List.of("GraphQL:Query.people", "GraphQL:Person.friend", "GraphQL:Person.friend"), fieldSpans());
+    }
+
+    @Test
+    void executionShouldNotBeTracedWhenTheRatioSaysSo() {
+        execute(0.0, tracer.spanBuilder("GraphQL").startSpan());
+
+        assertTrue(fieldSpans().isEmpty());
+    }
+
+    @Test
+    void executionShouldNotBeTracedWhenTheExecutionSpanIsNotSampled() {
+        SpanContext notSampled = SpanContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331",
+                TraceFlags.getDefault(), TraceState.getDefault());
+
+        execute(1.0, Span.wrap(notSampled));
+
+        assertTrue(fieldSpans().isEmpty());
+    }
+
+    @Test
+    void keysThatAreLoadedTogetherShouldShareOneSpan() {
+        FieldTracingInstrumentation.FieldTraces traces = new FieldTracingInstrumentation(tracer, 1.0)
+                .new FieldTraces(tracer.spanBuilder("GraphQL").startSpan());
+
+        List<InstrumentationContext<Object>> batch = List.of(
+                traces.batch("Person.stock"), traces.batch("Person.stock"), traces.batch("Person.stock"));
+        batch.get(0).onCompleted(null, null);
+        batch.get(1).onCompleted(null, new IllegalStateException("out of stock"));
+        assertTrue(fieldSpans().isEmpty());
+        batch.get(2).onCompleted(null, null);
+
+        // A key that comes after the batch finished is the next batch
+        traces.batch("Person.stock").onCompleted(null, null);
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+        assertEquals("GraphQL:Person.stock", spans.get(0).getName());
+        assertEquals(3L, spans.get(0).getAttributes().get(AttributeKey.longKey("graphql.batch.keys")));
+        assertEquals(StatusCode.ERROR, spans.get(0).getStatus().getStatusCode());
+        assertEquals(1L, spans.get(1).getAttributes().get(AttributeKey.longKey("graphql.batch.keys")));
+        assertEquals(StatusCode.UNSET, spans.get(1).getStatus().getStatusCode());
+    }
+
+    private void execute(double sampleRatio, Span executionSpan) {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type.dataFetcher("people",
+                        environment -> List.of(new Person("Alice"), new Person("Bob"))))
+                .type("Person", type -> type.dataFetcher("friend",
+                        environment -> new Person("Friend of " + environment.<Person> getSource().getName())))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+        GraphQL graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(new FieldTracingInstrumentation(tracer, sampleRatio))
+                .build();
+
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(QUERY)
+                .graphQLContext(Map.of(TracingService.EXECUTION_TRACE,
+                        new TracingService.ExecutionTrace(executionSpan, Scope.noop())))
+                .build());
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+        executionSpan.end();
+    }
+
+    /** The names of the finished resolver spans, without the execution span */
+    private List<String> fieldSpans() {
+        return exporter.getFinishedSpanItems().stream()
+                .map(SpanData::getName)
+                .filter(name -> name.startsWith(TracingService.PREFIX + ":"))
+                .collect(Collectors.toList());
+    }
+}
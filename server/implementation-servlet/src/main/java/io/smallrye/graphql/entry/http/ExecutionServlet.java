@@ -2,6 +2,7 @@ package io.smallrye.graphql.entry.http;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -11,6 +12,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -26,6 +28,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.execution.encoding.ResponseEncoder;
+import io.smallrye.graphql.execution.encoding.ResponseEncoders;
 import io.smallrye.graphql.spi.config.Config;
 
 /**
@@ -56,7 +60,7 @@ public class ExecutionServlet extends HttpServlet {
         try {
             if (config.isAllowGet()) {
                 JsonObject jsonObject = getJsonObjectFromQueryParameters(request);
-                executionService.executeSync(jsonObject, getMetaData(request), new HttpServletResponseWriter(response));
+                executionService.executeSync(jsonObject, getMetaData(request), createResponseWriter(request, response));
             } else {
                 response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "GET Queries is not enabled");
             }
@@ -76,9 +80,9 @@ public class ExecutionServlet extends HttpServlet {
                 JsonObject jsonObjectFromQueryParameters = getJsonObjectFromQueryParameters(request);
                 JsonObject mergedJsonObject = Json.createMergePatch(jsonObjectFromQueryParameters).apply(jsonObjectFromBody)
                         .asJsonObject();
-                executionService.executeSync(mergedJsonObject, metaData, new HttpServletResponseWriter(response));
+                executionService.executeSync(mergedJsonObject, metaData, createResponseWriter(request, response));
             } else {
-                executionService.executeSync(jsonObjectFromBody, metaData, new HttpServletResponseWriter(response));
+                executionService.executeSync(jsonObjectFromBody, metaData, createResponseWriter(request, response));
             }
         } catch (IOException ex) {
             SmallRyeGraphQLServletLogging.log.ioException(ex);
@@ -116,9 +120,21 @@ public class ExecutionServlet extends HttpServlet {
         return input.build();
     }
 
+    private HttpServletResponseWriter createResponseWriter(HttpServletRequest request, HttpServletResponse response) {
+        Optional<ResponseEncoder> encoder = ResponseEncoders.get().forAccept(request.getHeader(ACCEPT));
+        return new HttpServletResponseWriter(response, encoder.orElse(null));
+    }
+
     private JsonObject getJsonObjectFromBody(HttpServletRequest request) throws IOException {
 
         String contentType = request.getContentType();
+        // Binary formats (CBOR, MessagePack, ...) are decoded by the matching encoder
+        Optional<ResponseEncoder> encoder = ResponseEncoders.get().forContentType(contentType);
+        if (encoder.isPresent()) {
+            try (InputStream inputStream = request.getInputStream()) {
+                return encoder.get().decode(inputStream);
+            }
+        }
         try (BufferedReader bufferedReader = request.getReader()) {
             // If the content type is application/graphql, the query is in the body
             if (contentType != null && contentType.startsWith(APPLICATION_GRAPHQL)) {
@@ -167,5 +183,6 @@ public class ExecutionServlet extends HttpServlet {
     private static final String VARIABLES = "variables";
     private static final String EXTENSIONS = "extensions";
     private static final String APPLICATION_GRAPHQL = "application/graphql";
+    private static final String ACCEPT = "Accept";
 
 }
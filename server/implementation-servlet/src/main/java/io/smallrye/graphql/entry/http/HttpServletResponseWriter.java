@@ -1,6 +1,8 @@
 package io.smallrye.graphql.entry.http;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import jakarta.json.Json;
 import jakarta.json.JsonWriter;
@@ -9,6 +11,8 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import io.smallrye.graphql.execution.ExecutionResponse;
 import io.smallrye.graphql.execution.ExecutionResponseWriter;
+import io.smallrye.graphql.execution.encoding.ResponseEncoder;
+import io.smallrye.graphql.execution.jfr.SerializationEvent;
 
 /**
  * Writing the response to HTTP servlet
@@ -20,20 +24,76 @@ public class HttpServletResponseWriter implements ExecutionResponseWriter {
     private static final JsonWriterFactory jsonWriterFactory = Json.createWriterFactory(null);
 
     private final HttpServletResponse response;
+    private final ResponseEncoder encoder;
 
     public HttpServletResponseWriter(HttpServletResponse response) {
+        this(response, null);
+    }
+
+    public HttpServletResponseWriter(HttpServletResponse response, ResponseEncoder encoder) {
         this.response = response;
+        this.encoder = encoder;
     }
 
     @Override
     public void write(ExecutionResponse executionResponse) {
-        if (executionResponse != null) {
-            try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(response.getOutputStream())) {
-                response.setContentType(APPLICATION_JSON_UTF8);
-                jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
-            } catch (IOException ex) {
-                throw new RuntimeException(ex);
+        if (executionResponse == null) {
+            return;
+        }
+        SerializationEvent event = SerializationEvent.isTypeEnabled() ? new SerializationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        try {
+            OutputStream out = response.getOutputStream();
+            CountingOutputStream countingOut = null;
+            if (event != null) {
+                countingOut = new CountingOutputStream(out);
+                out = countingOut;
             }
+            if (encoder != null) {
+                response.setContentType(encoder.getMediaType());
+                encoder.encode(executionResponse, out);
+            } else {
+                try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(out)) {
+                    response.setContentType(APPLICATION_JSON_UTF8);
+                    jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
+                }
+            }
+            if (event != null) {
+                event.setMediaType(encoder != null ? encoder.getMediaType() : APPLICATION_JSON_UTF8);
+                event.setBytes(countingOut.getCount());
+                event.commit();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Counts the bytes written, only used while serialization events are recorded
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
         }
     }
 }
@@ -2,30 +2,41 @@ package io.smallrye.graphql.entry.http;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Repeatable;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
 import org.jboss.jandex.Indexer;
 
 import io.smallrye.graphql.api.Deprecated;
@@ -53,6 +64,8 @@ import io.smallrye.graphql.api.federation.policy.PolicyItem;
 import io.smallrye.graphql.api.federation.requiresscopes.RequiresScopes;
 import io.smallrye.graphql.api.federation.requiresscopes.ScopeGroup;
 import io.smallrye.graphql.api.federation.requiresscopes.ScopeItem;
+import io.smallrye.graphql.config.ConfigKey;
+import io.smallrye.graphql.spi.config.Config;
 
 /**
  * This creates an index from the classpath.
@@ -61,13 +74,33 @@ import io.smallrye.graphql.api.federation.requiresscopes.ScopeItem;
  */
 public class IndexInitializer {
 
+    private final int parallelism;
+    private final Path cacheDirectory;
+
+    /**
+     * Index with the parallelism and cache directory from the configuration
+     */
+    public IndexInitializer() {
+        Config config = Config.get();
+        this.parallelism = config.getConfigValue(ConfigKey.INDEX_PARALLELISM, int.class,
+                Runtime.getRuntime().availableProcessors());
+        String cache = config.getConfigValue(ConfigKey.INDEX_CACHE_DIRECTORY, String.class, null);
+        this.cacheDirectory = cache == null || cache.isEmpty() ? null : Paths.get(cache);
+    }
+
+    /**
+     * @param parallelism the maximum number of jars and folders that are indexed at the same time
+     * @param cacheDirectory where to keep the indexes of jars that do not contain one, or null to not cache them
+     */
+    public IndexInitializer(int parallelism, Path cacheDirectory) {
+        this.parallelism = parallelism;
+        this.cacheDirectory = cacheDirectory;
+    }
+
     public IndexView createIndex(Set<URL> urls) {
         List<IndexView> indexes = new ArrayList<>();
 
-        // TODO: Read all jandex.idx in the classpath:
-        // something like Enumeration<URL> systemResources = ClassLoader.getSystemResources(JANDEX_IDX);
-
-        // Check in this war
+        // Check in this war (the jandex.idx of jars is used when they are indexed)
         try (InputStream stream = getClass().getClassLoader().getResourceAsStream(JANDEX_IDX)) {
             IndexReader reader = new IndexReader(stream);
             IndexView i = reader.read();
@@ -138,21 +171,153 @@ public class IndexInitializer {
     }
 
     private IndexView createIndexView(Set<URL> urls) {
+        if (urls.isEmpty()) {
+            return new Indexer().complete();
+        }
+        // Every url gets its own index, so they can be created in parallel
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, urls.size())));
+        try {
+            List<ForkJoinTask<IndexView>> tasks = new ArrayList<>(urls.size());
+            for (URL url : urls) {
+                tasks.add(pool.submit(() -> createIndexView(url)));
+            }
+            List<IndexView> indexes = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<IndexView> task : tasks) {
+                indexes.add(task.join());
+            }
+            return merge(indexes);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private IndexView createIndexView(URL url) {
         Indexer indexer = new Indexer();
-        for (URL url : urls) {
+        try {
+            if (url.toString().endsWith(DOT_JAR) || url.toString().endsWith(DOT_WAR)) {
+                SmallRyeGraphQLServletLogging.log.processingFile(url.toString());
+                Path jar = toPath(url);
+                if (jar != null && Files.isRegularFile(jar)) {
+                    return processJar(jar);
+                }
+                try (InputStream inputStream = url.openStream()) {
+                    processJar(inputStream, indexer);
+                }
+            } else {
+                processFolder(url, indexer);
+            }
+        } catch (IOException ex) {
+            SmallRyeGraphQLServletLogging.log.cannotProcessFile(url.toString(), ex);
+        }
+        return indexer.complete();
+    }
+
+    /**
+     * Index a jar on disk. The index in the jar is used if it has one, then the cached index if there is one.
+     */
+    private IndexView processJar(Path jar) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            ZipEntry jandexIdx = zipFile.getEntry(JANDEX_IDX);
+            if (jandexIdx != null) {
+                try (InputStream stream = zipFile.getInputStream(jandexIdx)) {
+                    IndexView index = new IndexReader(stream).read();
+                    SmallRyeGraphQLServletLogging.log.loadedIndexFrom(jar + "!/" + JANDEX_IDX);
+                    return index;
+                } catch (IOException | IllegalArgumentException ex) {
+                    // An index version this Jandex does not know, index the classes instead
+                    SmallRyeGraphQLServletLogging.log.cannotProcessFile(jar + "!/" + JANDEX_IDX, ex);
+                }
+            }
+
+            Path cached = cacheDirectory != null ? cacheDirectory.resolve(cacheFileName(jar, zipFile)) : null;
+            if (cached != null && Files.isRegularFile(cached)) {
+                try (InputStream stream = Files.newInputStream(cached)) {
+                    IndexView index = new IndexReader(stream).read();
+                    SmallRyeGraphQLServletLogging.log.loadedIndexFrom(cached.toString());
+                    return index;
+                } catch (IOException | IllegalArgumentException ex) {
+                    SmallRyeGraphQLServletLogging.log.cannotProcessFile(cached.toString(), ex);
+                }
+            }
+
+            Indexer indexer = new Indexer();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(DOT_CLASS) || entry.getName().endsWith(DOT_JAR)
+                        || entry.getName().endsWith(DOT_WAR)) {
+                    try (InputStream stream = zipFile.getInputStream(entry)) {
+                        processFile(entry.getName(), stream, indexer);
+                    }
+                }
+            }
+            Index index = indexer.complete();
+            if (cached != null) {
+                writeCache(index, cached);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The cached index of a jar is named after the jar, its modification time and the checksums of its entries,
+     * so a changed jar never uses the index of a previous version
+     */
+    private static String cacheFileName(Path jar, ZipFile zipFile) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+        buffer.putLong(Files.getLastModifiedTime(jar).toMillis());
+        buffer.putLong(Files.size(jar));
+        digest.update(buffer.array());
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+            buffer.clear();
+            buffer.putLong(entry.getCrc());
+            buffer.putLong(entry.getSize());
+            digest.update(buffer.array());
+        }
+        StringBuilder name = new StringBuilder(jar.getFileName().toString()).append('-');
+        byte[] hash = digest.digest();
+        for (int i = 0; i < 16; i++) {
+            name.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        return name.append(DOT_IDX).toString();
+    }
+
+    private void writeCache(Index index, Path cached) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            // Write to a temporary file first, so other instances never read a partial index
+            Path temp = Files.createTempFile(cacheDirectory, cached.getFileName().toString(), ".tmp");
             try {
-                if (url.toString().endsWith(DOT_JAR) || url.toString().endsWith(DOT_WAR)) {
-                    SmallRyeGraphQLServletLogging.log.processingFile(url.toString());
-                    processJar(url.openStream(), indexer);
-                } else {
-                    processFolder(url, indexer);
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    new IndexWriter(out).write(index);
                 }
-            } catch (IOException ex) {
-                SmallRyeGraphQLServletLogging.log.cannotProcessFile(url.toString(), ex);
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
             }
+        } catch (IOException ex) {
+            SmallRyeGraphQLServletLogging.log.cannotWriteIndexCache(cached.toString(), ex);
         }
+    }
 
-        return indexer.complete();
+    private static Path toPath(URL url) {
+        if (!FILE.equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            return null;
+        }
     }
 
     private Set<URL> collectURLsFromClassPath() {
@@ -180,7 +345,11 @@ public class IndexInitializer {
 
                     for (Path c : collected) {
                         String entryName = c.getFileName().toString();
-                        processFile(entryName, Files.newInputStream(c), indexer);
+                        if (entryName.endsWith(DOT_CLASS) || entryName.endsWith(DOT_JAR) || entryName.endsWith(DOT_WAR)) {
+                            try (InputStream stream = Files.newInputStream(c)) {
+                                processFile(entryName, stream, indexer);
+                            }
+                        }
                     }
                 }
             } else {
@@ -232,6 +401,8 @@ public class IndexInitializer {
     private static final String DOT_JAR = ".jar";
     private static final String DOT_WAR = ".war";
     private static final String DOT_CLASS = ".class";
+    private static final String DOT_IDX = ".idx";
+    private static final String FILE = "file";
     private static final String JAVA_CLASS_PATH = "java.class.path";
     private static final String PATH_SEPARATOR = "path.separator";
     private static final String JANDEX_IDX = "META-INF/jandex.idx";
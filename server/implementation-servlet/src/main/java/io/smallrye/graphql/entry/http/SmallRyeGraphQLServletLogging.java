@@ -55,6 +55,10 @@ public interface SmallRyeGraphQLServletLogging {
     @Message(id = 20008, value = "SmallRye GraphQL destroyed")
     void destroyed();
 
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 20009, value = "Cannot write the cached index [%s]")
+    void cannotWriteIndexCache(String path, @Cause Exception cause);
+
     /* 21000-21999: query processing related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
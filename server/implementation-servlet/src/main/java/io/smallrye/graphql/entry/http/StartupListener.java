@@ -23,6 +23,8 @@ import org.jboss.jandex.IndexView;
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.cdi.producer.GraphQLProducer;
 import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
 import io.smallrye.graphql.schema.model.Schema;
 
 /**
@@ -40,25 +42,40 @@ public class StartupListener implements ServletContextListener {
 
     @Override
     public void contextInitialized(ServletContextEvent sce) {
+        List<Path> warClasspath = getWarClasspath(sce);
+
+        GraphQLSchema graphQLSchema = graphQLProducer.initializeFromPrebuiltSchema(
+                Thread.currentThread().getContextClassLoader(), warClasspath,
+                PrebuiltSchema.settings(TypeAutoNameStrategy.Default.name(),
+                        Boolean.getBoolean("smallrye.graphql.federation.enabled")),
+                true);
+        if (graphQLSchema == null) {
+            graphQLSchema = scanAndInitialize(warClasspath);
+        }
+        sce.getServletContext().setAttribute(SchemaServlet.SCHEMA_PROP, graphQLSchema);
+        SmallRyeGraphQLServletLogging.log.initialized();
+    }
 
-        try {
-            Set<URL> warURLs = new HashSet<>();
-            // Classes in the war
-            String warClasses = sce.getServletContext().getRealPath("WEB-INF/classes");
-            warURLs.add(Paths.get(warClasses).toUri().toURL());
+    private List<Path> getWarClasspath(ServletContextEvent sce) {
+        List<Path> warClasspath = new ArrayList<>();
+        // Classes in the war
+        String warClasses = sce.getServletContext().getRealPath("WEB-INF/classes");
+        warClasspath.add(Paths.get(warClasses));
 
-            // Libs in the war
-            String libs = sce.getServletContext().getRealPath("WEB-INF/lib");
-            List<Path> jarsInLib = getJarsInLib(Paths.get(libs));
-            warURLs.addAll(toURLs(jarsInLib));
+        // Libs in the war
+        String libs = sce.getServletContext().getRealPath("WEB-INF/lib");
+        warClasspath.addAll(getJarsInLib(Paths.get(libs)));
+        return warClasspath;
+    }
+
+    private GraphQLSchema scanAndInitialize(List<Path> warClasspath) {
+        try {
+            Set<URL> warURLs = new HashSet<>(toURLs(warClasspath));
 
             IndexView index = indexInitializer.createIndex(warURLs);
 
             Schema schema = SchemaBuilder.build(index); // Get the smallrye schema
-            GraphQLSchema graphQLSchema = graphQLProducer.initialize(schema, true);
-
-            sce.getServletContext().setAttribute(SchemaServlet.SCHEMA_PROP, graphQLSchema);
-            SmallRyeGraphQLServletLogging.log.initialized();
+            return graphQLProducer.initialize(schema, true);
         } catch (MalformedURLException ex) {
             throw new RuntimeException(ex);
         }
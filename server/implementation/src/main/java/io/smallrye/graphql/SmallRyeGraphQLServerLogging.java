@@ -58,6 +58,10 @@ public interface SmallRyeGraphQLServerLogging {
     @Message(id = 11006, value = "Payload Out [%s]")
     void payloadOut(String payload);
 
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 11007, value = "Swapped in the new schema, %d of %d cached queries are still valid and were carried over")
+    void schemaSwapped(int warmed, int cached);
+
     /* 12000-12999: data fetching related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
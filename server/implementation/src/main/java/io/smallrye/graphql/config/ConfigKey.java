@@ -11,10 +11,21 @@ public interface ConfigKey extends org.eclipse.microprofile.graphql.ConfigKey {
     public static final String ALLOW_GET = "smallrye.graphql.allowGet";
     public static final String ALLOW_POST_WITH_QUERY_PARAMETERS = "smallrye.graphql.allowPostWithQueryParameters";
     public static final String ENABLE_METRICS = "smallrye.graphql.metrics.enabled";
+    public static final String ENABLE_OPERATION_METRICS = "smallrye.graphql.metrics.operations.enabled";
+    public static final String METRICS_PERCENTILES = "smallrye.graphql.metrics.percentiles";
     public static final String ENABLE_TRACING = "smallrye.graphql.tracing.enabled";
+    public static final String ENABLE_TRACING_FIELDS = "smallrye.graphql.tracing.fields.enabled";
+    public static final String TRACING_FIELDS_SAMPLE_RATIO = "smallrye.graphql.tracing.fields.sampleRatio";
     public static final String ENABLE_EVENTS = "smallrye.graphql.events.enabled";
     public static final String ENABLE_FEDERATION = "smallrye.graphql.federation.enabled";
     public static final String ENABLE_FEDERATION_BATCH_RESOLVING = "smallrye.graphql.federation.batchResolving.enabled";
+    public static final String INDEX_PARALLELISM = "smallrye.graphql.index.parallelism";
+    public static final String INDEX_CACHE_DIRECTORY = "smallrye.graphql.index.cacheDirectory";
+    public static final String QUERY_CACHE_SNAPSHOT_FILE = "smallrye.graphql.queryCache.snapshot.file";
+    public static final String QUERY_CACHE_SNAPSHOT_SIZE = "smallrye.graphql.queryCache.snapshot.size";
+    public static final String QUERY_CACHE_SNAPSHOT_INTERVAL = "smallrye.graphql.queryCache.snapshot.interval";
+    public static final String QUERY_CACHE_WARMUP_BUDGET = "smallrye.graphql.queryCache.warmUp.budget";
+    public static final String SCHEMA_PREBUILT_ENABLED = "smallrye.graphql.schema.prebuilt.enabled";
     public static final String SCHEMA_INCLUDE_SCALARS = "smallrye.graphql.schema.includeScalars";
     public static final String SCHEMA_INCLUDE_DEFINITION = "smallrye.graphql.schema.includeSchemaDefinition";
     public static final String SCHEMA_INCLUDE_DIRECTIVES = "smallrye.graphql.schema.includeDirectives";
@@ -53,13 +53,23 @@ public class ExecutionResponse {
 
     private final Set<List<Object>> errorPaths;
 
+    private final boolean crunched;
+
     public ExecutionResponse(ExecutionResult executionResult) {
         this(executionResult, null);
     }
 
     public ExecutionResponse(ExecutionResult executionResult, Map<String, Object> addedExtensions) {
+        this(executionResult, addedExtensions, false);
+    }
+
+    /**
+     * @param crunched write the data in the deduplicated graphql-crunch format
+     */
+    public ExecutionResponse(ExecutionResult executionResult, Map<String, Object> addedExtensions, boolean crunched) {
         this.executionResult = executionResult;
         this.addedExtensions = addedExtensions;
+        this.crunched = crunched;
         this.errorPaths = (executionResult != null)
                 ? executionResult.getErrors().stream().map(GraphQLError::getPath).collect(Collectors.toSet())
                 : Set.of();
@@ -73,6 +83,23 @@ public class ExecutionResponse {
         return this.executionResult;
     }
 
+    public Map<String, Object> getAddedExtensions() {
+        return this.addedExtensions;
+    }
+
+    public boolean isCrunched() {
+        return this.crunched;
+    }
+
+    /**
+     * The data as a table of distinct values, with the root as the last entry
+     */
+    public JsonArray getDataAsCrunchedJsonArray() {
+        ResponseCruncher cruncher = new ResponseCruncher(this::toJsonValue,
+                Config.get().isExcludeNullFieldsInResponses() ? errorPaths : null);
+        return cruncher.crunch(executionResult.getData());
+    }
+
     public JsonObject getExecutionResultAsJsonObject() {
         JsonObjectBuilder returnObjectBuilder = jsonObjectFactory.createObjectBuilder();
         // Errors
@@ -106,7 +133,9 @@ public class ExecutionResponse {
     }
 
     private JsonObjectBuilder addDataToResponse(JsonObjectBuilder returnObjectBuilder, Object pojoData) {
-        if (pojoData != null) {
+        if (pojoData != null && crunched) {
+            return returnObjectBuilder.add(DATA, getDataAsCrunchedJsonArray());
+        } else if (pojoData != null) {
             JsonValue data = toJsonValue(pojoData);
             return returnObjectBuilder.add(DATA, data);
         } else {
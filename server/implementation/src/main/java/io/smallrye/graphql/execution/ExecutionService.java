@@ -11,7 +11,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import jakarta.json.JsonObject;
 
@@ -46,6 +50,7 @@ import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
 import io.smallrye.graphql.execution.error.ExceptionHandler;
 import io.smallrye.graphql.execution.error.UnparseableDocumentException;
 import io.smallrye.graphql.execution.event.EventEmitter;
+import io.smallrye.graphql.execution.jfr.RequestEventInstrumentation;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Schema;
 import io.smallrye.graphql.schema.model.Type;
@@ -63,19 +68,18 @@ public class ExecutionService {
     private final String executionIdPrefix;
     private final AtomicLong executionId = new AtomicLong();
 
-    private final GraphQLSchema graphQLSchema;
-
     private final BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
     private final DataFetcherFactory dataFetcherFactory = new DataFetcherFactory();
-    private final Schema schema;
-    private final DataLoaderRegistry dataLoaderRegistry;
 
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
 
-    private GraphQL graphQL;
+    // Every request reads this once, so requests keep executing on the instance they started on when it is swapped
+    private volatile Instance instance;
 
-    private final QueryCache queryCache;
     private final LogPayloadOption payloadOption;
+    private final QueryCacheSnapshot queryCacheSnapshot;
+    // The query cache of the current schema, for the snapshot
+    private final Supplier<QueryCache> currentQueryCache = () -> this.instance.queryCache;
 
     private final ExecutionStrategy queryExecutionStrategy;
     private final ExecutionStrategy mutationExecutionStrategy;
@@ -87,27 +91,76 @@ public class ExecutionService {
     public ExecutionService(GraphQLSchema graphQLSchema, Schema schema, ExecutionStrategy queryExecutionStrategy,
             ExecutionStrategy mutationExecutionStrategy) {
 
-        this.graphQLSchema = graphQLSchema;
-        this.schema = schema;
-
-        List<Operation> batchOperations = schema.getBatchOperations();
-        if (batchOperations != null && !batchOperations.isEmpty()) {
-            this.dataLoaderRegistry = getDataLoaderRegistry(batchOperations);
-        } else {
-            this.dataLoaderRegistry = null;
-        }
-
         // use schema's hash as prefix to differentiate between multiple apps
         this.executionIdPrefix = Integer.toString(Objects.hashCode(graphQLSchema));
-        this.queryCache = new QueryCache();
 
         this.queryExecutionStrategy = queryExecutionStrategy;
         this.mutationExecutionStrategy = mutationExecutionStrategy;
 
+        this.instance = new Instance(graphQLSchema, schema, getDataLoaderRegistry(schema), new QueryCache());
+
+        // Parse and validate the queries that were used most before the restart, before the first request comes in
+        this.queryCacheSnapshot = QueryCacheSnapshot.create();
+        if (queryCacheSnapshot != null && graphQLSchema != null) {
+            queryCacheSnapshot.warmUp(instance.queryCache, graphQLSchema);
+            queryCacheSnapshot.start(currentQueryCache);
+        }
+
         Config config = Config.get();
         this.payloadOption = config.logPayload();
     }
 
+    public GraphQLSchema getGraphQLSchema() {
+        return instance.graphQLSchema;
+    }
+
+    public Schema getSchema() {
+        return instance.schema;
+    }
+
+    /**
+     * Replace the schema, without a restart.
+     * <p>
+     * The new GraphQL instance is built first, and the queries cached for the current schema that are still valid
+     * are cached for the new one. It is then swapped in, requests that already started finish on the current one.
+     *
+     * @param graphQLSchema the new schema
+     * @param schema the model of the new schema
+     * @return the number of cached queries that were carried over
+     */
+    public int swap(GraphQLSchema graphQLSchema, Schema schema) {
+        synchronized (this) {
+            Instance current = this.instance;
+            Instance next = new Instance(graphQLSchema, schema, getDataLoaderRegistry(schema), new QueryCache());
+            if (next.getGraphQL() == null) {
+                throw new IllegalArgumentException("The schema has no GraphQL methods");
+            }
+            Map<String, Long> hottestQueries = current.queryCache.getHottestQueries();
+            int warmed = next.queryCache.warmUp(graphQLSchema, hottestQueries);
+            this.instance = next;
+            log.schemaSwapped(warmed, hottestQueries.size());
+            return warmed;
+        }
+    }
+
+    /**
+     * Replace the schema, without a restart, building the new GraphQL instance in the background
+     *
+     * @see #swap(GraphQLSchema, Schema)
+     */
+    public CompletionStage<Integer> swapAsync(GraphQLSchema graphQLSchema, Schema schema, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> swap(graphQLSchema, schema), executor);
+    }
+
+    /**
+     * Write the query cache snapshot one last time, if there is one
+     */
+    public void shutdown() {
+        if (queryCacheSnapshot != null) {
+            queryCacheSnapshot.stop(currentQueryCache);
+        }
+    }
+
     @Deprecated
     public ExecutionResponse execute(JsonObject jsonInput) {
         try {
@@ -164,7 +217,8 @@ public class ExecutionService {
                 log.payloadIn(variables.toString());
             }
 
-            GraphQL g = getGraphQL();
+            Instance current = this.instance;
+            GraphQL g = current.getGraphQL();
             if (g != null) {
                 // Query
                 Builder executionBuilder = ExecutionInput.newExecutionInput()
@@ -179,14 +233,14 @@ public class ExecutionService {
                 smallRyeContext.getOperationName().ifPresent(executionBuilder::operationName);
 
                 // DataLoaders
-                if (this.dataLoaderRegistry != null) {
-                    executionBuilder.dataLoaderRegistry(this.dataLoaderRegistry);
+                if (current.dataLoaderRegistry != null) {
+                    executionBuilder.dataLoaderRegistry(current.dataLoaderRegistry);
                 }
 
                 ExecutionInput executionInput = executionBuilder.build();
                 // Context
                 try {
-                    smallRyeContext = SmallRyeContextManager.populateFromExecutionInput(executionInput, queryCache);
+                    smallRyeContext = SmallRyeContextManager.populateFromExecutionInput(executionInput, current.queryCache);
                 } catch (UnparseableDocumentException ex) {
                     sendError("Unparseable input document", writer);
                     return;
@@ -198,10 +252,11 @@ public class ExecutionService {
                 eventEmitter.fireBeforeExecute(smallRyeContext);
 
                 // Execute
+                boolean crunch = ResponseCruncher.isRequested(jsonInput, context);
                 if (async) {
-                    writeAsync(g, executionInput, smallRyeContext, writer);
+                    writeAsync(g, executionInput, smallRyeContext, writer, crunch);
                 } else {
-                    writeSync(g, executionInput, smallRyeContext, writer);
+                    writeSync(g, executionInput, smallRyeContext, writer, crunch);
                 }
             } else {
                 log.noGraphQLMethodsFound();
@@ -236,7 +291,8 @@ public class ExecutionService {
     private void writeAsync(GraphQL graphQL,
             ExecutionInput executionInput,
             SmallRyeContext smallRyeContext,
-            ExecutionResponseWriter writer) {
+            ExecutionResponseWriter writer,
+            boolean crunch) {
 
         Uni.createFrom().completionStage(() -> graphQL.executeAsync(executionInput))
 
@@ -244,10 +300,11 @@ public class ExecutionService {
 
                     SmallRyeContextManager.restore(smallRyeContext);
 
-                    notifyAndWrite(smallRyeContext, executionResult, writer);
+                    notifyAndWrite(smallRyeContext, executionResult, writer, crunch);
 
                 }, failure -> {
                     if (failure != null) {
+                        eventEmitter.fireOnExecuteError(smallRyeContext, failure);
                         writer.fail(failure);
                     }
                 });
@@ -256,10 +313,19 @@ public class ExecutionService {
     private void writeSync(GraphQL g,
             ExecutionInput executionInput,
             SmallRyeContext smallRyeContext,
-            ExecutionResponseWriter writer) {
+            ExecutionResponseWriter writer,
+            boolean crunch) {
+        ExecutionResult executionResult;
+        try {
+            executionResult = g.execute(executionInput);
+        } catch (Throwable t) {
+            // Only a failing execution is an execute error, not a failing writer
+            eventEmitter.fireOnExecuteError(smallRyeContext, t);
+            writer.fail(t);
+            return;
+        }
         try {
-            ExecutionResult executionResult = g.execute(executionInput);
-            notifyAndWrite(smallRyeContext, executionResult, writer);
+            notifyAndWrite(smallRyeContext, executionResult, writer, crunch);
         } catch (Throwable t) {
             writer.fail(t);
         }
@@ -267,13 +333,14 @@ public class ExecutionService {
 
     private void notifyAndWrite(SmallRyeContext smallRyeContext,
             ExecutionResult executionResult,
-            ExecutionResponseWriter writer) {
+            ExecutionResponseWriter writer,
+            boolean crunch) {
         smallRyeContext.setExecutionResult(executionResult);
         // Notify after
         eventEmitter.fireAfterExecute(smallRyeContext);
 
         ExecutionResponse executionResponse = new ExecutionResponse(executionResult,
-                smallRyeContext.getAddedExtensions());
+                smallRyeContext.getAddedExtensions(), crunch);
         if (!payloadOption.equals(LogPayloadOption.off)) {
             log.payloadOut(executionResponse.toString());
         }
@@ -281,7 +348,11 @@ public class ExecutionService {
         writer.write(executionResponse);
     }
 
-    private <K, T> DataLoaderRegistry getDataLoaderRegistry(List<Operation> operations) {
+    private <K, T> DataLoaderRegistry getDataLoaderRegistry(Schema schema) {
+        List<Operation> operations = schema.getBatchOperations();
+        if (operations == null || operations.isEmpty()) {
+            return null;
+        }
         DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
         for (Operation operation : operations) {
             Map<String, Type> types = schema.getTypes();
@@ -293,70 +364,103 @@ public class ExecutionService {
         return dataLoaderRegistry;
     }
 
-    private GraphQL getGraphQL() {
-        if (this.graphQL == null) {
-            if (graphQLSchema != null) {
-                Config config = Config.get();
-                setParserOptions(config);
+    private GraphQL buildGraphQL(GraphQLSchema graphQLSchema, Schema schema, QueryCache queryCache) {
+        if (graphQLSchema != null) {
+            Config config = Config.get();
+            setParserOptions(config);
 
-                GraphQL.Builder graphqlBuilder = GraphQL.newGraphQL(graphQLSchema);
-                graphqlBuilder = graphqlBuilder.defaultDataFetcherExceptionHandler(new ExceptionHandler());
+            GraphQL.Builder graphqlBuilder = GraphQL.newGraphQL(graphQLSchema);
+            graphqlBuilder = graphqlBuilder.defaultDataFetcherExceptionHandler(new ExceptionHandler());
 
-                List<Instrumentation> chainedList = new ArrayList<>();
+            List<Instrumentation> chainedList = new ArrayList<>();
 
-                if (config.getQueryComplexityInstrumentation().isPresent()) {
-                    chainedList.add(new MaxQueryComplexityInstrumentation(config.getQueryComplexityInstrumentation().get()));
-                }
-                if (config.getQueryDepthInstrumentation().isPresent()) {
-                    chainedList.add(new MaxQueryDepthInstrumentation(config.getQueryDepthInstrumentation().get()));
-                }
-                chainedList.add(queryCache);
-                if (Config.get().isFederationEnabled()) {
-                    // Custom logic in the predicate is required because the default behavior of Options.shouldTrace
-                    // method is to return true, potentially enabling tracing for all requests
-                    Options options = new Options(
-                            false,
-                            (ExecutionInput executionInput) -> {
-                                if (executionInput != null && executionInput.getGraphQLContext() != null
-                                        && executionInput.getGraphQLContext().hasKey("httpHeaders")) {
-                                    Map<String, List<String>> httpHeaders = executionInput.getGraphQLContext()
-                                            .get("httpHeaders");
-                                    if (httpHeaders != null && httpHeaders.containsKey(FEDERATED_TRACING_HEADER_NAME)) {
-                                        List<String> headerValues = httpHeaders.get(FEDERATED_TRACING_HEADER_NAME);
-                                        return headerValues.contains(FEDERATED_TRACING_HEADER_VALUE);
-                                    }
+            if (config.getQueryComplexityInstrumentation().isPresent()) {
+                chainedList.add(new MaxQueryComplexityInstrumentation(config.getQueryComplexityInstrumentation().get()));
+            }
+            if (config.getQueryDepthInstrumentation().isPresent()) {
+                chainedList.add(new MaxQueryDepthInstrumentation(config.getQueryDepthInstrumentation().get()));
+            }
+            chainedList.add(queryCache);
+            chainedList.add(new RequestEventInstrumentation());
+            if (Config.get().isFederationEnabled()) {
+                // Custom logic in the predicate is required because the default behavior of Options.shouldTrace
+                // method is to return true, potentially enabling tracing for all requests
+                Options options = new Options(
+                        false,
+                        (ExecutionInput executionInput) -> {
+                            if (executionInput != null && executionInput.getGraphQLContext() != null
+                                    && executionInput.getGraphQLContext().hasKey("httpHeaders")) {
+                                Map<String, List<String>> httpHeaders = executionInput.getGraphQLContext()
+                                        .get("httpHeaders");
+                                if (httpHeaders != null && httpHeaders.containsKey(FEDERATED_TRACING_HEADER_NAME)) {
+                                    List<String> headerValues = httpHeaders.get(FEDERATED_TRACING_HEADER_NAME);
+                                    return headerValues.contains(FEDERATED_TRACING_HEADER_VALUE);
                                 }
-                                return false;
-                            });
-                    chainedList.add(new FederatedTracingInstrumentation(options));
-                }
-                // TODO: Allow users to add custome instumentations
-                graphqlBuilder = graphqlBuilder.instrumentation(new ChainedInstrumentation(chainedList));
+                            }
+                            return false;
+                        });
+                chainedList.add(new FederatedTracingInstrumentation(options));
+            }
+            chainedList.addAll(eventEmitter.fireCreateInstrumentations());
+            // TODO: Allow users to add custome instumentations
+            graphqlBuilder = graphqlBuilder.instrumentation(new ChainedInstrumentation(chainedList));
 
-                graphqlBuilder = graphqlBuilder.preparsedDocumentProvider(queryCache);
+            graphqlBuilder = graphqlBuilder.preparsedDocumentProvider(queryCache);
 
-                if (queryExecutionStrategy != null) {
-                    graphqlBuilder = graphqlBuilder.queryExecutionStrategy(queryExecutionStrategy);
-                }
+            if (queryExecutionStrategy != null) {
+                graphqlBuilder = graphqlBuilder.queryExecutionStrategy(queryExecutionStrategy);
+            }
 
-                if (mutationExecutionStrategy != null) {
-                    graphqlBuilder = graphqlBuilder.mutationExecutionStrategy(mutationExecutionStrategy);
-                }
-                if (schema.hasSubscriptions()) {
-                    graphqlBuilder = graphqlBuilder
-                            .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy(new ExceptionHandler()));
-                }
+            if (mutationExecutionStrategy != null) {
+                graphqlBuilder = graphqlBuilder.mutationExecutionStrategy(mutationExecutionStrategy);
+            }
+            if (schema.hasSubscriptions()) {
+                graphqlBuilder = graphqlBuilder
+                        .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy(new ExceptionHandler()));
+            }
 
-                // Allow custom extension
-                graphqlBuilder = eventEmitter.fireBeforeGraphQLBuild(graphqlBuilder);
+            // Allow custom extension
+            graphqlBuilder = eventEmitter.fireBeforeGraphQLBuild(graphqlBuilder);
 
-                this.graphQL = graphqlBuilder.build();
-            } else {
-                log.noGraphQLMethodsFound();
-            }
+            return graphqlBuilder.build();
+        } else {
+            log.noGraphQLMethodsFound();
+            return null;
+        }
+    }
+
+    /**
+     * A schema, with the GraphQL instance and the caches that go with it
+     */
+    private class Instance {
+        private final GraphQLSchema graphQLSchema;
+        private final Schema schema;
+        private final DataLoaderRegistry dataLoaderRegistry;
+        private final QueryCache queryCache;
+
+        private volatile GraphQL graphQL;
+
+        Instance(GraphQLSchema graphQLSchema, Schema schema, DataLoaderRegistry dataLoaderRegistry, QueryCache queryCache) {
+            this.graphQLSchema = graphQLSchema;
+            this.schema = schema;
+            this.dataLoaderRegistry = dataLoaderRegistry;
+            this.queryCache = queryCache;
         }
-        return this.graphQL;
 
+        // Built on first use, as the services it uses might not be available yet when the ExecutionService is created
+        GraphQL getGraphQL() {
+            GraphQL graphQL = this.graphQL;
+            if (graphQL == null) {
+                synchronized (this) {
+                    graphQL = this.graphQL;
+                    if (graphQL == null) {
+                        graphQL = buildGraphQL(graphQLSchema, schema, queryCache);
+                        this.graphQL = graphQL;
+                    }
+                }
+            }
+            return graphQL;
+        }
     }
 
     private void setParserOptions(Config config) {
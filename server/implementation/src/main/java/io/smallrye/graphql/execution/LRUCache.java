@@ -1,10 +1,14 @@
 package io.smallrye.graphql.execution;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public class LRUCache<K, V> {
     private final int maxSize;
@@ -19,19 +23,32 @@ public class LRUCache<K, V> {
 
     V get(K key) {
         Entry<V> entry = cache.computeIfPresent(key, this::moveEntryToStart);
-        return entry == null ? null : entry.value;
+        if (entry == null) {
+            return null;
+        }
+        entry.uses.increment();
+        return entry.value;
     }
 
     V computeIfAbsent(K key, Function<K, V> valueFunction) {
+        return computeIfAbsent(key, valueFunction, 1);
+    }
+
+    /**
+     * @param uses how many times the value was used already, if it is added
+     */
+    V computeIfAbsent(K key, Function<K, V> valueFunction, long uses) {
         final AtomicBoolean called = new AtomicBoolean();
         Entry<V> entry = cache.computeIfAbsent(key, k -> {
             called.set(true);
             Entry<V> e = new Entry<V>(k, valueFunction.apply(k));
+            e.uses.add(uses);
             addToStart(e);
             return e;
         });
         if (!called.get()) {
             cache.computeIfPresent(key, this::moveEntryToStart);
+            entry.uses.increment();
         } else {
             int newSize = size.incrementAndGet();
             if (newSize > maxSize) {
@@ -62,6 +79,45 @@ public class LRUCache<K, V> {
         return entry.value;
     }
 
+    /**
+     * The keys with how many times they were used, the most recently used first
+     *
+     * @param max the maximum number of keys to return
+     */
+    synchronized Map<K, Long> recentlyUsed(int max) {
+        Map<K, Long> recentlyUsed = new LinkedHashMap<>();
+        for (Entry<V> entry = start; entry != null && recentlyUsed.size() < max; entry = entry.right) {
+            recentlyUsed.put(entry.key, entry.uses.sum());
+        }
+        return recentlyUsed;
+    }
+
+    /**
+     * The keys with how many times they were used, the most used first
+     *
+     * @param max the maximum number of keys to return
+     */
+    Map<K, Long> mostUsed(int max) {
+        return mostUsed(max, value -> true);
+    }
+
+    /**
+     * The keys with how many times they were used, the most used first
+     *
+     * @param max the maximum number of keys to return
+     * @param filter the values whose keys to return
+     */
+    Map<K, Long> mostUsed(int max, Predicate<V> filter) {
+        Map<K, Long> mostUsed = new LinkedHashMap<>();
+        cache.values().stream()
+                .filter(entry -> filter.test(entry.value))
+                .map(entry -> Map.entry(entry.key, entry.uses.sum()))
+                .sorted(Map.Entry.<K, Long> comparingByValue(Comparator.reverseOrder()))
+                .limit(max)
+                .forEach(entry -> mostUsed.put(entry.getKey(), entry.getValue()));
+        return mostUsed;
+    }
+
     private synchronized Entry<V> moveEntryToStart(K key, Entry<V> entry) {
         // If it is already at the start there is nothing to do
         if (start != entry) {
@@ -108,6 +164,7 @@ public class LRUCache<K, V> {
     private class Entry<V> {
         final K key;
         V value;
+        final LongAdder uses = new LongAdder();
         Entry<V> left;
         Entry<V> right;
 
@@ -4,17 +4,28 @@ import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.SimpleInstrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.FloatValue;
+import graphql.language.IntValue;
+import graphql.language.Node;
+import graphql.language.StringValue;
+import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
+import io.smallrye.graphql.execution.jfr.ParseValidateEvent;
 
 public class QueryCache extends SimpleInstrumentation implements PreparsedDocumentProvider {
     private static final int MAX_CACHE_SIZE = AccessController.doPrivileged((PrivilegedAction<Integer>) () -> {
@@ -29,17 +40,97 @@ public class QueryCache extends SimpleInstrumentation implements PreparsedDocume
     public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
             Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
         String query = executionInput.getQuery();
+        ParseValidateEvent event = ParseValidateEvent.isTypeEnabled() ? new ParseValidateEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
         PreparsedDocumentEntry entry = cache.get(query);
-        if (entry == null) {
+        boolean cacheHit = entry != null;
+        if (!cacheHit) {
             ExecutionFunction executionFunction = new ExecutionFunction(computeFunction, executionInput);
             executionFunctionTL.set(executionFunction);
             entry = computeFunction.apply(executionInput);
         } else {
             log.retrievedFromCache(query);
         }
+        if (event != null) {
+            event.setCacheHit(cacheHit);
+            event.setDocumentHash(query.hashCode());
+            event.commit();
+        }
         return entry;
     }
 
+    /**
+     * The cached queries with how many times they were used, the most recently used first
+     */
+    Map<String, Long> getHottestQueries() {
+        return cache.recentlyUsed(MAX_CACHE_SIZE);
+    }
+
+    /**
+     * Parse and validate the queries against the schema, and cache the ones that are valid. Used to carry the queries
+     * cached for a previous schema over to a new one, with how many times they were used.
+     *
+     * @param queries the queries with how many times they were used, the most recently used first
+     * @return the number of queries that are cached
+     */
+    int warmUp(GraphQLSchema graphQLSchema, Map<String, Long> queries) {
+        int warmed = 0;
+        // The least recently used first, so the most recently used end up at the start of the cache again
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(queries.entrySet());
+        for (ListIterator<Map.Entry<String, Long>> it = entries.listIterator(entries.size()); it.hasPrevious();) {
+            Map.Entry<String, Long> query = it.previous();
+            if (warmUp(graphQLSchema, query.getKey(), query.getValue())) {
+                warmed++;
+            }
+        }
+        return warmed;
+    }
+
+    /**
+     * Parse and validate a query against the schema, and cache it if it is valid
+     *
+     * @param uses how many times the query was used before
+     * @return true if the query is cached
+     */
+    boolean warmUp(GraphQLSchema graphQLSchema, String query, long uses) {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(query).build();
+        ParseAndValidateResult result = ParseAndValidate.parseAndValidate(graphQLSchema, executionInput);
+        if (result.isFailure()) {
+            return false;
+        }
+        cache.computeIfAbsent(query, q -> new PreparsedDocumentEntry(result.getDocument()), uses);
+        return true;
+    }
+
+    /**
+     * The cached queries with how many times they were used, the most used first
+     */
+    Map<String, Long> getMostUsedQueries(int max) {
+        return cache.mostUsed(max);
+    }
+
+    /**
+     * The cached queries without inline literals, with how many times they were used, the most used first. The values
+     * of string and number literals could be user data, so only the queries that pass those as variables are kept.
+     */
+    Map<String, Long> getMostUsedQueriesWithoutLiterals(int max) {
+        return cache.mostUsed(max, entry -> entry.getDocument() != null && !hasInlineLiterals(entry.getDocument()));
+    }
+
+    static boolean hasInlineLiterals(Node<?> node) {
+        if (node instanceof StringValue || node instanceof IntValue || node instanceof FloatValue) {
+            return true;
+        }
+        for (Node<?> child : node.getChildren()) {
+            if (hasInlineLiterals(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public InstrumentationContext<List<ValidationError>> beginValidation(
             InstrumentationValidationParameters parameters) {
@@ -0,0 +1,263 @@
+package io.smallrye.graphql.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+
+import org.jboss.logging.Logger;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.config.ConfigKey;
+import io.smallrye.graphql.execution.metrics.MetricsEmitter;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Keeps the most used queries of the {@link QueryCache} in a file, so that after a restart they can be parsed and
+ * validated before the first request comes in, instead of by the first requests.
+ * <p>
+ * The snapshot is written periodically and on shutdown. Only the query strings and how many times they were used are
+ * kept, so nothing is lost when the schema changes in between: the queries that are not valid anymore are skipped.
+ * Queries with inline string or number literals are never written, as those could be user data (only queries that
+ * pass such values as variables are); the file still has the query documents, so it should be protected like the
+ * other data of the application.
+ * <p>
+ * There is one snapshot per file, shared by all the execution services that use it, so they don't overwrite each
+ * other's queries. It has the most used queries of all of them, and keeps the queries of the ones that were shut down.
+ */
+public class QueryCacheSnapshot {
+    private static final Logger LOG = Logger.getLogger(QueryCacheSnapshot.class);
+
+    private static final String QUERY = "query";
+    private static final String USES = "uses";
+
+    private static final Map<Path, QueryCacheSnapshot> snapshots = new HashMap<>();
+
+    // Static, so the gauges that are registered once keep reporting the last warm-up
+    private static final AtomicInteger warmUpQueries = new AtomicInteger();
+    private static final AtomicInteger warmUpValidated = new AtomicInteger();
+    private static final AtomicInteger warmUpCached = new AtomicInteger();
+
+    private final Path file;
+    private final int size;
+    private final long intervalSeconds;
+    private final long budgetMillis;
+    private final int parallelism;
+
+    private final List<Supplier<QueryCache>> queryCaches = new CopyOnWriteArrayList<>();
+    // The most used queries of the execution services that were shut down
+    private Map<String, Long> stopped = Map.of();
+    private ScheduledExecutorService scheduler;
+
+    QueryCacheSnapshot(Path file, int size, long intervalSeconds, long budgetMillis, int parallelism) {
+        this.file = file;
+        this.size = size;
+        this.intervalSeconds = intervalSeconds;
+        this.budgetMillis = budgetMillis;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the snapshot configured with {@link ConfigKey#QUERY_CACHE_SNAPSHOT_FILE}, or null if there is none
+     */
+    static QueryCacheSnapshot create() {
+        Config config = Config.get();
+        String file = config.getConfigValue(ConfigKey.QUERY_CACHE_SNAPSHOT_FILE, String.class, null);
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        synchronized (snapshots) {
+            return snapshots.computeIfAbsent(Paths.get(file).toAbsolutePath().normalize(), path -> {
+                MetricsEmitter metrics = MetricsEmitter.getInstance();
+                metrics.registerGauge("mp_graphql_query_cache_warmup_queries", warmUpQueries::get);
+                metrics.registerGauge("mp_graphql_query_cache_warmup_validated", warmUpValidated::get);
+                metrics.registerGauge("mp_graphql_query_cache_warmup_cached", warmUpCached::get);
+                return new QueryCacheSnapshot(path,
+                        config.getConfigValue(ConfigKey.QUERY_CACHE_SNAPSHOT_SIZE, Integer.class, 500),
+                        config.getConfigValue(ConfigKey.QUERY_CACHE_SNAPSHOT_INTERVAL, Long.class, 60L),
+                        config.getConfigValue(ConfigKey.QUERY_CACHE_WARMUP_BUDGET, Long.class, 10000L),
+                        Runtime.getRuntime().availableProcessors());
+            });
+        }
+    }
+
+    /**
+     * Parse and validate the queries of the snapshot in parallel, and cache the valid ones. Returns when all of them
+     * are done, or when the budget is spent.
+     *
+     * @return the number of queries that are cached
+     */
+    int warmUp(QueryCache queryCache, GraphQLSchema graphQLSchema) {
+        Map<String, Long> queries = read();
+        warmUpQueries.set(queries.size());
+        warmUpValidated.set(0);
+        warmUpCached.set(0);
+        if (queries.isEmpty()) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, queries.size())));
+        try {
+            queries.forEach((query, uses) -> pool.execute(() -> {
+                if (System.nanoTime() - deadline > 0) {
+                    return;
+                }
+                try {
+                    if (queryCache.warmUp(graphQLSchema, query, uses)) {
+                        warmUpCached.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    LOG.debugf(e, "Can't warm up the query cache with %s", query);
+                }
+                warmUpValidated.incrementAndGet();
+            }));
+            pool.shutdown();
+            if (!pool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                LOG.infof("Warming up the query cache took longer than %d ms, %d of %d queries were not validated",
+                        budgetMillis, queries.size() - warmUpValidated.get(), queries.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        LOG.debugf("Warmed up the query cache with %d of %d queries from %s", warmUpCached.get(), queries.size(), file);
+        return warmUpCached.get();
+    }
+
+    /**
+     * Add the queries of an execution service to the snapshot, and write it every interval, until the last one is
+     * {@link #stop(Supplier) stopped}
+     *
+     * @param queryCache the current query cache of the execution service, as it changes when the schema is swapped
+     */
+    synchronized void start(Supplier<QueryCache> queryCache) {
+        queryCaches.add(queryCache);
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "smallrye-graphql-query-cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Write the snapshot, and keep the queries of the execution service for the next writes. Stop writing the
+     * snapshot periodically when it was the last one.
+     */
+    synchronized void stop(Supplier<QueryCache> queryCache) {
+        write();
+        if (!queryCaches.remove(queryCache)) {
+            return;
+        }
+        stopped = merge(List.of(stopped, queryCache.get().getMostUsedQueriesWithoutLiterals(size)));
+        if (queryCaches.isEmpty()) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+            synchronized (snapshots) {
+                snapshots.remove(file, this);
+            }
+        }
+    }
+
+    /**
+     * The most used queries of all the query caches, adding up the uses of the queries they have in common
+     */
+    private Map<String, Long> mostUsed() {
+        List<Map<String, Long>> all = new ArrayList<>();
+        all.add(stopped);
+        for (Supplier<QueryCache> queryCache : queryCaches) {
+            all.add(queryCache.get().getMostUsedQueriesWithoutLiterals(size));
+        }
+        return merge(all);
+    }
+
+    private Map<String, Long> merge(List<Map<String, Long>> all) {
+        Map<String, Long> uses = new HashMap<>();
+        all.forEach(queries -> queries.forEach((query, count) -> uses.merge(query, count, Long::sum)));
+        Map<String, Long> mostUsed = new LinkedHashMap<>();
+        uses.entrySet().stream()
+                .sorted(Map.Entry.<String, Long> comparingByValue(Comparator.reverseOrder()))
+                .limit(size)
+                .forEach(entry -> mostUsed.put(entry.getKey(), entry.getValue()));
+        return mostUsed;
+    }
+
+    synchronized void write() {
+        Map<String, Long> mostUsed = mostUsed();
+        JsonArrayBuilder queries = Json.createArrayBuilder();
+        mostUsed.forEach((query, uses) -> queries.add(Json.createObjectBuilder().add(QUERY, query).add(USES, uses)));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // Write to a temporary file first, so a crash never leaves a partial snapshot behind
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp);
+                        JsonWriter writer = Json.createWriter(out)) {
+                    writer.writeArray(queries.build());
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LOG.debugf("Wrote %d queries to the query cache snapshot %s", mostUsed.size(), file);
+        } catch (IOException | RuntimeException e) {
+            LOG.warnf(e, "Can't write the query cache snapshot %s", file);
+        }
+    }
+
+    Map<String, Long> read() {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (InputStream in = Files.newInputStream(file);
+                JsonReader reader = Json.createReader(in)) {
+            JsonArray queries = reader.readArray();
+            // Written the most used first
+            Map<String, Long> mostUsed = new LinkedHashMap<>();
+            for (JsonValue value : queries) {
+                if (mostUsed.size() == size) {
+                    break;
+                }
+                JsonObject query = value.asJsonObject();
+                mostUsed.put(query.getString(QUERY), query.getJsonNumber(USES).longValue());
+            }
+            return mostUsed;
+        } catch (IOException | RuntimeException e) {
+            // Not fatal, the cache is just filled by the requests
+            LOG.warnf(e, "Can't read the query cache snapshot %s", file);
+            return Collections.emptyMap();
+        }
+    }
+}
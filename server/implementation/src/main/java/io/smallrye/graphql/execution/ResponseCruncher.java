@@ -0,0 +1,174 @@
+package io.smallrye.graphql.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+/**
+ * Writes response data in the graphql-crunch format: every distinct value (scalar, object or list) is stored once in
+ * a flat table, objects and lists refer to their members by index in that table, and the root is the last entry.
+ * Children are always added before their parents, so the table is built in a single pass over the data.
+ *
+ * Clients opt in with a {@code crunch} request extension or a {@code GraphQL-Crunch} header. A crunched response is
+ * recognised by its {@code data} being an array instead of an object.
+ */
+class ResponseCruncher {
+    static final String EXTENSION = "crunch";
+    static final String HEADER = "GraphQL-Crunch";
+
+    private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+
+    private final JsonArrayBuilder table = jsonObjectFactory.createArrayBuilder();
+    private final Map<JsonValue, Integer> indexes = new HashMap<>();
+    private final Function<Object, JsonValue> scalarConverter;
+    private final Set<List<Object>> errorPaths;
+    private final List<Object> path;
+    private int size = 0;
+
+    /**
+     * @param scalarConverter converts anything that is not a map or collection
+     * @param errorPaths the paths of the errors, or null if null fields are not excluded
+     */
+    ResponseCruncher(Function<Object, JsonValue> scalarConverter, Set<List<Object>> errorPaths) {
+        this.scalarConverter = scalarConverter;
+        this.errorPaths = errorPaths;
+        this.path = (errorPaths != null) ? new ArrayList<>() : null;
+    }
+
+    JsonArray crunch(Object data) {
+        add(data);
+        return table.build();
+    }
+
+    private int add(Object pojo) {
+        if (pojo instanceof Map) {
+            JsonObjectBuilder object = jsonObjectFactory.createObjectBuilder();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) pojo).entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                push(key);
+                if (entry.getValue() != null || errorPaths == null || errorPaths.contains(path)) {
+                    object.add(key, add(entry.getValue()));
+                }
+                pop();
+            }
+            return intern(object.build());
+        } else if (pojo instanceof Collection) {
+            JsonArrayBuilder array = jsonObjectFactory.createArrayBuilder();
+            int i = 0;
+            for (Object item : (Collection<?>) pojo) {
+                push(i++);
+                array.add(add(item));
+                pop();
+            }
+            return intern(array.build());
+        }
+        return addJson(scalarConverter.apply(pojo));
+    }
+
+    /**
+     * Objects that are not maps are converted with JSON-B, which might result in a nested structure
+     */
+    private int addJson(JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT:
+                JsonObjectBuilder object = jsonObjectFactory.createObjectBuilder();
+                for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+                    object.add(entry.getKey(), addJson(entry.getValue()));
+                }
+                return intern(object.build());
+            case ARRAY:
+                JsonArrayBuilder array = jsonObjectFactory.createArrayBuilder();
+                for (JsonValue item : value.asJsonArray()) {
+                    array.add(addJson(item));
+                }
+                return intern(array.build());
+            default:
+                return intern(value);
+        }
+    }
+
+    /**
+     * Table entries are either scalars or containers of indexes, so the entry itself is a unique key
+     */
+    private int intern(JsonValue entry) {
+        Integer existing = indexes.putIfAbsent(entry, size);
+        if (existing != null) {
+            return existing;
+        }
+        table.add(entry);
+        return size++;
+    }
+
+    private void push(Object segment) {
+        if (path != null) {
+            path.add(segment);
+        }
+    }
+
+    private void pop() {
+        if (path != null) {
+            path.remove(path.size() - 1);
+        }
+    }
+
+    /**
+     * Check if the client asked for a crunched response, either with the request extension or the HTTP header
+     */
+    static boolean isRequested(JsonObject input, Map<String, Object> context) {
+        JsonValue extensions = input.get(EXTENSIONS);
+        if (extensions != null && extensions.getValueType() == JsonValue.ValueType.OBJECT
+                && isEnabled(extensions.asJsonObject().get(EXTENSION))) {
+            return true;
+        }
+        Object headers = (context != null) ? context.get(HTTP_HEADERS) : null;
+        if (headers instanceof Map) {
+            for (Map.Entry<?, ?> header : ((Map<?, ?>) headers).entrySet()) {
+                if (HEADER.equalsIgnoreCase(String.valueOf(header.getKey()))) {
+                    Object values = header.getValue();
+                    Object value = (values instanceof List && !((List<?>) values).isEmpty()) ? ((List<?>) values).get(0)
+                            : values;
+                    return value != null && isEnabled(String.valueOf(value));
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEnabled(JsonValue value) {
+        if (value == null) {
+            return false;
+        }
+        switch (value.getValueType()) {
+            case TRUE:
+                return true;
+            case NUMBER:
+                return ((JsonNumber) value).intValue() > 0;
+            case STRING:
+                return isEnabled(((JsonString) value).getString());
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isEnabled(String value) {
+        String trimmed = value.trim();
+        return !trimmed.isEmpty() && !trimmed.equalsIgnoreCase("false") && !trimmed.equals("0");
+    }
+
+    private static final String EXTENSIONS = "extensions";
+    private static final String HTTP_HEADERS = "httpHeaders";
+}
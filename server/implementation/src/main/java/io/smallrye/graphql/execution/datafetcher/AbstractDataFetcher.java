@@ -3,7 +3,6 @@ package io.smallrye.graphql.execution.datafetcher;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import jakarta.validation.ConstraintViolationException;
 
@@ -12,6 +11,7 @@ import org.eclipse.microprofile.graphql.GraphQLException;
 
 import graphql.execution.DataFetcherResult;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLTypeUtil;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.execution.context.SmallRyeContext;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
@@ -21,6 +21,7 @@ import io.smallrye.graphql.execution.datafetcher.helper.ErrorResultHelper;
 import io.smallrye.graphql.execution.datafetcher.helper.FieldHelper;
 import io.smallrye.graphql.execution.datafetcher.helper.OperationInvoker;
 import io.smallrye.graphql.execution.event.EventEmitter;
+import io.smallrye.graphql.execution.jfr.DataFetchEvent;
 import io.smallrye.graphql.execution.metrics.MetricsEmitter;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Type;
@@ -43,11 +44,9 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
     protected ErrorResultHelper errorResultHelper = new ErrorResultHelper();
     protected ArgumentHelper argumentHelper;
     protected EventEmitter eventEmitter = EventEmitter.getInstance();
-    @SuppressWarnings("unused")
     protected MetricsEmitter metricsEmitter = MetricsEmitter.getInstance();
+    protected MetricsEmitter.OperationMeters operationMeters;
     protected BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
-    @SuppressWarnings("unused")
-    protected LinkedBlockingQueue<Long> measurementIds = new LinkedBlockingQueue<>();
 
     public AbstractDataFetcher(Operation operation, Type type) {
         this.operation = operation;
@@ -55,6 +54,7 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
         this.fieldHelper = new FieldHelper(operation);
         this.operationInvoker = new OperationInvoker(operation);
         this.argumentHelper = new ArgumentHelper(operation.getArguments());
+        this.operationMeters = metricsEmitter.bindUnbatched(operation);
     }
 
     @Override
@@ -63,6 +63,50 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
         SmallRyeContext smallRyeContext = SmallRyeContextManager.populateFromDataFetchingEnvironment(type, operation, dfe);
         eventEmitter.fireBeforeDataFetch(smallRyeContext);
 
+        MetricsEmitter.Recorder recorder = operationMeters != null
+                ? operationMeters.forType(smallRyeContext.getOperationType())
+                : null;
+        DataFetchEvent event = DataFetchEvent.isTypeEnabled() ? startDataFetchEvent(dfe, 0) : null;
+        if (recorder == null && event == null) {
+            return fetch(smallRyeContext, dfe);
+        }
+        // The measurement is a primitive that stays on this stack (or in the completion callback), so nothing is allocated
+        long measurement = recorder != null ? recorder.start(smallRyeContext) : 0L;
+        T result;
+        try {
+            result = fetch(smallRyeContext, dfe);
+        } catch (Throwable t) {
+            finish(recorder, measurement, event);
+            throw t;
+        }
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((r, t) -> finish(recorder, measurement, event));
+        } else {
+            finish(recorder, measurement, event);
+        }
+        return result;
+    }
+
+    private static DataFetchEvent startDataFetchEvent(DataFetchingEnvironment dfe, int batchSize) {
+        DataFetchEvent event = new DataFetchEvent();
+        event.begin();
+        event.setPath(dfe.getExecutionStepInfo().getPath().toString());
+        event.setParentType(GraphQLTypeUtil.simplePrint(dfe.getParentType()));
+        event.setField(dfe.getField().getName());
+        event.setBatchSize(batchSize);
+        return event;
+    }
+
+    private static void finish(MetricsEmitter.Recorder recorder, long measurement, DataFetchEvent event) {
+        if (recorder != null) {
+            recorder.end(measurement);
+        }
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    private T fetch(SmallRyeContext smallRyeContext, DataFetchingEnvironment dfe) throws Exception {
         final DataFetcherResult.Builder<Object> resultBuilder = DataFetcherResult.newResult()
                 .localContext(dfe.getGraphQlContext());
         try {
@@ -95,7 +139,16 @@ public abstract class AbstractDataFetcher<K, T> implements PlugableBatchableData
         try {
             SmallRyeContext smallRyeContext = SmallRyeContextManager.populateFromDataFetchingEnvironment(type, operation,
                     dataFetchingEnvironment);
-            return invokeBatch(dataFetchingEnvironment, arguments);
+            if (!DataFetchEvent.isTypeEnabled()) {
+                return invokeBatch(dataFetchingEnvironment, arguments);
+            }
+            DataFetchEvent event = startDataFetchEvent(dataFetchingEnvironment, keys.size());
+            try {
+                return invokeBatch(dataFetchingEnvironment, arguments).whenComplete((r, t) -> event.commit());
+            } catch (RuntimeException e) {
+                event.commit();
+                throw e;
+            }
         } finally {
             SmallRyeContextManager.clearCurrentSmallRyeContext();
         }
@@ -31,13 +31,14 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
     private final String batchLoaderName;
     private final BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
-    private final MetricsEmitter metricsEmitter = MetricsEmitter.getInstance();
+    private final MetricsEmitter.OperationMeters operationMeters;
 
     public BatchDataFetcher(Operation operation, Type type) {
         this.operation = operation;
         this.type = type;
         this.argumentHelper = new ArgumentHelper(operation.getArguments());
         this.batchLoaderName = batchLoaderHelper.getName(operation);
+        this.operationMeters = MetricsEmitter.getInstance().bind(operation);
     }
 
     @Override
@@ -45,7 +46,10 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
 
         SmallRyeContext smallryeContext = SmallRyeContextManager.populateFromDataFetchingEnvironment(type, operation, dfe);
         eventEmitter.fireBeforeDataFetch(smallryeContext);
-        long measurementId = metricsEmitter.start(smallryeContext);
+        MetricsEmitter.Recorder recorder = operationMeters != null
+                ? operationMeters.forType(smallryeContext.getOperationType())
+                : null;
+        long measurement = recorder != null ? recorder.start(smallryeContext) : 0L;
 
         try {
             List<Object> transformedArguments = argumentHelper.getArguments(dfe, true);
@@ -58,11 +62,17 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
             batchContext.put(BatchLoaderHelper.DATA_FETCHING_ENVIRONMENT, dfe);
 
             return (T) Uni.createFrom().completionStage(() -> dataLoader.load(source, batchContext)).onItemOrFailure()
-                    .invoke(() -> metricsEmitter.end(measurementId))
+                    .invoke(() -> {
+                        if (recorder != null) {
+                            recorder.end(measurement);
+                        }
+                    })
                     .subscribe()
                     .asCompletionStage();
         } catch (Exception e) {
-            metricsEmitter.end(measurementId);
+            if (recorder != null) {
+                recorder.end(measurement);
+            }
             throw e;
         }
     }
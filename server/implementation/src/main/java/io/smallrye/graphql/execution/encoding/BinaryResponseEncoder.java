@@ -0,0 +1,268 @@
+package io.smallrye.graphql.execution.encoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import io.smallrye.graphql.encoding.BinaryReader;
+import io.smallrye.graphql.encoding.BinaryWriter;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.error.ExecutionErrorsService;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Writes the execution result straight to a binary writer, without building an intermediate JSON tree.
+ * Values are mapped the same way {@link ExecutionResponse} maps them to JSON.
+ */
+abstract class BinaryResponseEncoder implements ResponseEncoder {
+    private static final JsonReaderFactory jsonReaderFactory = Json.createReaderFactory(null);
+    private static final Jsonb jsonB = JsonbBuilder.create(new JsonbConfig().withNullValues(Boolean.TRUE));
+    private static final ExecutionErrorsService errorsService = new ExecutionErrorsService();
+
+    abstract BinaryWriter createWriter(OutputStream out);
+
+    abstract BinaryReader createReader(InputStream in);
+
+    @Override
+    public void encode(ExecutionResponse executionResponse, OutputStream out) throws IOException {
+        ExecutionResult executionResult = executionResponse.getExecutionResult();
+        BinaryWriter writer = createWriter(out);
+
+        JsonArray errors = null;
+        List<GraphQLError> graphQLErrors = executionResult.getErrors();
+        if (graphQLErrors != null && !graphQLErrors.isEmpty()) {
+            errors = errorsService.toJsonErrors(graphQLErrors);
+            if (errors.isEmpty()) {
+                errors = null;
+            }
+        }
+        Map<?, ?> extensions = executionResult.getExtensions();
+        if (extensions == null) {
+            Map<String, Object> addedExtensions = executionResponse.getAddedExtensions();
+            if (addedExtensions != null && !addedExtensions.isEmpty()) {
+                extensions = addedExtensions;
+            }
+        }
+
+        writer.writeMapHeader(1 + (errors != null ? 1 : 0) + (extensions != null ? 1 : 0));
+        if (errors != null) {
+            writer.writeString(ERRORS);
+            writeJsonValue(writer, errors);
+        }
+        writer.writeString(DATA);
+        if (executionResponse.isCrunched() && executionResult.getData() != null) {
+            writeJsonValue(writer, executionResponse.getDataAsCrunchedJsonArray());
+        } else {
+            new DataWriter(writer, executionResult, false).writeValue(executionResult.getData());
+        }
+        if (extensions != null) {
+            writer.writeString(EXTENSIONS);
+            new DataWriter(writer, executionResult, true).writeExtensions(extensions);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public JsonObject decode(InputStream in) throws IOException {
+        JsonValue value = createReader(in).readValue();
+        if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+            throw new IOException("Expected an object, but got " + value.getValueType());
+        }
+        return value.asJsonObject();
+    }
+
+    private static void writeJsonValue(BinaryWriter writer, JsonValue value) throws IOException {
+        switch (value.getValueType()) {
+            case OBJECT:
+                JsonObject object = value.asJsonObject();
+                writer.writeMapHeader(object.size());
+                for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                    writer.writeString(entry.getKey());
+                    writeJsonValue(writer, entry.getValue());
+                }
+                break;
+            case ARRAY:
+                JsonArray array = value.asJsonArray();
+                writer.writeArrayHeader(array.size());
+                for (JsonValue item : array) {
+                    writeJsonValue(writer, item);
+                }
+                break;
+            case STRING:
+                writer.writeString(((JsonString) value).getString());
+                break;
+            case NUMBER:
+                JsonNumber number = (JsonNumber) value;
+                if (number.isIntegral()) {
+                    writer.writeBigInteger(number.bigIntegerValue());
+                } else {
+                    writer.writeBigDecimal(number.bigDecimalValue());
+                }
+                break;
+            case TRUE:
+                writer.writeBoolean(true);
+                break;
+            case FALSE:
+                writer.writeBoolean(false);
+                break;
+            default:
+                writer.writeNull();
+        }
+    }
+
+    /**
+     * Walks the data of one response, keeping track of the path when null fields are excluded
+     */
+    private static class DataWriter {
+        private final BinaryWriter writer;
+        private final boolean excludeNullFields;
+        private final List<Object> path;
+        private final Set<List<Object>> errorPaths;
+
+        DataWriter(BinaryWriter writer, ExecutionResult executionResult, boolean extensions) {
+            this.writer = writer;
+            this.excludeNullFields = !extensions && Config.get().isExcludeNullFieldsInResponses();
+            if (excludeNullFields) {
+                this.path = new ArrayList<>();
+                this.errorPaths = executionResult.getErrors().stream()
+                        .map(GraphQLError::getPath)
+                        .collect(Collectors.toSet());
+            } else {
+                this.path = null;
+                this.errorPaths = null;
+            }
+        }
+
+        void writeExtensions(Map<?, ?> extensions) throws IOException {
+            int size = 0;
+            for (Object key : extensions.keySet()) {
+                if (key instanceof String) {
+                    size++;
+                }
+            }
+            writer.writeMapHeader(size);
+            for (Map.Entry<?, ?> entry : extensions.entrySet()) {
+                if (entry.getKey() instanceof String) {
+                    writer.writeString((String) entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            }
+        }
+
+        void writeValue(Object pojo) throws IOException {
+            if (pojo == null) {
+                writer.writeNull();
+            } else if (pojo instanceof Map) {
+                writeMap((Map<?, ?>) pojo);
+            } else if (pojo instanceof Collection) {
+                Collection<?> collection = (Collection<?>) pojo;
+                writer.writeArrayHeader(collection.size());
+                int index = 0;
+                for (Object item : collection) {
+                    push(index++);
+                    writeValue(item);
+                    pop();
+                }
+            } else if (pojo instanceof Boolean) {
+                writer.writeBoolean((Boolean) pojo);
+            } else if (pojo instanceof String) {
+                writer.writeString((String) pojo);
+            } else if (pojo instanceof Double) {
+                writer.writeDouble((Double) pojo);
+            } else if (pojo instanceof Float) {
+                //upcast to double would lead to precision loss
+                writer.writeFloat((Float) pojo);
+            } else if (pojo instanceof Long || pojo instanceof Integer || pojo instanceof Short
+                    || pojo instanceof Byte) {
+                writer.writeLong(((Number) pojo).longValue());
+            } else if (pojo instanceof BigDecimal) {
+                writer.writeBigDecimal((BigDecimal) pojo);
+            } else if (pojo instanceof BigInteger) {
+                writer.writeBigInteger((BigInteger) pojo);
+            } else if (pojo instanceof Enum<?>) {
+                writer.writeString(((Enum<?>) pojo).name());
+            } else {
+                String json = jsonB.toJson(pojo);
+                try (StringReader sr = new StringReader(json); JsonReader reader = jsonReaderFactory.createReader(sr)) {
+                    writeJsonValue(writer, reader.readValue());
+                }
+            }
+        }
+
+        private void writeMap(Map<?, ?> map) throws IOException {
+            if (!excludeNullFields) {
+                writer.writeMapHeader(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writer.writeString(String.valueOf(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+                return;
+            }
+            // The size is written up front, so count the fields that survive first
+            int size = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (include(entry)) {
+                    size++;
+                }
+            }
+            writer.writeMapHeader(size);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (include(entry)) {
+                    writer.writeString(String.valueOf(entry.getKey()));
+                    push(entry.getKey());
+                    writeValue(entry.getValue());
+                    pop();
+                }
+            }
+        }
+
+        private boolean include(Map.Entry<?, ?> entry) {
+            if (entry.getValue() != null) {
+                return true;
+            }
+            path.add(entry.getKey());
+            boolean hasError = errorPaths.contains(path);
+            path.remove(path.size() - 1);
+            return hasError;
+        }
+
+        private void push(Object segment) {
+            if (path != null) {
+                path.add(segment);
+            }
+        }
+
+        private void pop() {
+            if (path != null) {
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static final String DATA = "data";
+    private static final String ERRORS = "errors";
+    private static final String EXTENSIONS = "extensions";
+}
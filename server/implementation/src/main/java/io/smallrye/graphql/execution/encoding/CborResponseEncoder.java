@@ -0,0 +1,31 @@
+package io.smallrye.graphql.execution.encoding;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.smallrye.graphql.encoding.BinaryReader;
+import io.smallrye.graphql.encoding.BinaryWriter;
+import io.smallrye.graphql.encoding.CborReader;
+import io.smallrye.graphql.encoding.CborWriter;
+
+/**
+ * Encodes responses as CBOR (RFC 8949)
+ */
+public class CborResponseEncoder extends BinaryResponseEncoder {
+    public static final String MEDIA_TYPE = "application/cbor";
+
+    @Override
+    public String getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    BinaryWriter createWriter(OutputStream out) {
+        return new CborWriter(out);
+    }
+
+    @Override
+    BinaryReader createReader(InputStream in) {
+        return new CborReader(in);
+    }
+}
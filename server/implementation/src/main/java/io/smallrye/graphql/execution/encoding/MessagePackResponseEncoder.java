@@ -0,0 +1,31 @@
+package io.smallrye.graphql.execution.encoding;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.smallrye.graphql.encoding.BinaryReader;
+import io.smallrye.graphql.encoding.BinaryWriter;
+import io.smallrye.graphql.encoding.MessagePackReader;
+import io.smallrye.graphql.encoding.MessagePackWriter;
+
+/**
+ * Encodes responses as MessagePack. Numbers that do not fit the MessagePack number types are written as strings.
+ */
+public class MessagePackResponseEncoder extends BinaryResponseEncoder {
+    public static final String MEDIA_TYPE = "application/msgpack";
+
+    @Override
+    public String getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    BinaryWriter createWriter(OutputStream out) {
+        return new MessagePackWriter(out);
+    }
+
+    @Override
+    BinaryReader createReader(InputStream in) {
+        return new MessagePackReader(in);
+    }
+}
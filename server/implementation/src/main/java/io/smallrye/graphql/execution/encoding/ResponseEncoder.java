@@ -0,0 +1,34 @@
+package io.smallrye.graphql.execution.encoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import jakarta.json.JsonObject;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+
+/**
+ * Encodes an execution response into a (usually binary) wire format, and decodes requests sent in that same format.
+ *
+ * Encoders are negotiated with the client by media type (see {@link ResponseEncoders}). Implementations can be added
+ * with the {@link java.util.ServiceLoader} mechanism; an implementation registered for the same media type as a
+ * built-in encoder replaces it.
+ */
+public interface ResponseEncoder {
+
+    /**
+     * @return the media type this encoder produces and consumes, e.g. {@code application/cbor}
+     */
+    String getMediaType();
+
+    /**
+     * Write the response to the output stream. The stream is not closed.
+     */
+    void encode(ExecutionResponse executionResponse, OutputStream outputStream) throws IOException;
+
+    /**
+     * Read a GraphQL request (query, operationName, variables, extensions) from the input stream
+     */
+    JsonObject decode(InputStream inputStream) throws IOException;
+}
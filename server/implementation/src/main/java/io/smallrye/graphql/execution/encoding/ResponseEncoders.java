@@ -0,0 +1,117 @@
+package io.smallrye.graphql.execution.encoding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Holds the available response encoders and picks one based on the Accept or Content-Type headers.
+ * JSON is not an encoder, so an empty result means the default JSON handling applies.
+ */
+public class ResponseEncoders {
+    private static final ResponseEncoders INSTANCE = new ResponseEncoders();
+
+    private final Map<String, ResponseEncoder> encoders = new LinkedHashMap<>();
+
+    public static ResponseEncoders get() {
+        return INSTANCE;
+    }
+
+    private ResponseEncoders() {
+        register(new CborResponseEncoder());
+        register(new MessagePackResponseEncoder());
+        ServiceLoader.load(ResponseEncoder.class)
+                .stream()
+                .map(ServiceLoader.Provider::get)
+                .forEach(this::register);
+    }
+
+    private void register(ResponseEncoder encoder) {
+        encoders.put(encoder.getMediaType().toLowerCase(Locale.ROOT), encoder);
+    }
+
+    /**
+     * Find the encoder for the most preferred media type in an Accept header. JSON (or any wildcard) listed with the
+     * same or a higher preference than a binary format wins, so clients that do not ask for anything special still
+     * get JSON.
+     *
+     * @param accept the value of the Accept header, may be null
+     * @return the encoder, or empty if the response should be JSON
+     */
+    public Optional<ResponseEncoder> forAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.empty();
+        }
+        List<MediaRange> ranges = new ArrayList<>();
+        for (String part : accept.split(",")) {
+            MediaRange range = MediaRange.parse(part);
+            if (range != null && range.quality > 0) {
+                ranges.add(range);
+            }
+        }
+        // Stable sort, so the order in the header decides between equal qualities
+        ranges.sort(Comparator.comparingDouble((MediaRange r) -> r.quality).reversed());
+        for (MediaRange range : ranges) {
+            ResponseEncoder encoder = encoders.get(range.type);
+            if (encoder != null) {
+                return Optional.of(encoder);
+            }
+            if (range.type.contains("json") || range.type.contains("*")) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find the encoder that can decode a request body with the given Content-Type
+     *
+     * @param contentType the value of the Content-Type header, may be null
+     * @return the encoder, or empty if there is none for this type
+     */
+    public Optional<ResponseEncoder> forContentType(String contentType) {
+        MediaRange range = MediaRange.parse(contentType);
+        if (range == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(encoders.get(range.type));
+    }
+
+    private static class MediaRange {
+        private final String type;
+        private final double quality;
+
+        private MediaRange(String type, double quality) {
+            this.type = type;
+            this.quality = quality;
+        }
+
+        static MediaRange parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split(";");
+            String type = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (type.isEmpty()) {
+                return null;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException nfe) {
+                        quality = 0;
+                    }
+                }
+            }
+            return new MediaRange(type, quality);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import jakarta.json.bind.Jsonb;
 import org.jboss.logging.Logger;
 
 import graphql.GraphQL;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.schema.model.Operation;
@@ -142,6 +143,22 @@ public class EventEmitter {
         return builder;
     }
 
+    /**
+     * This gets fired while building the GraphQL object, to collect the instrumentations from listeners
+     *
+     * @return the instrumentations to add
+     */
+    public List<Instrumentation> fireCreateInstrumentations() {
+        List<Instrumentation> instrumentations = new ArrayList<>();
+        for (EventingService extensionService : enabledServices) {
+            Instrumentation instrumentation = extensionService.createInstrumentation();
+            if (instrumentation != null) {
+                instrumentations.add(instrumentation);
+            }
+        }
+        return instrumentations;
+    }
+
     // Schema bootstrap
 
     /**
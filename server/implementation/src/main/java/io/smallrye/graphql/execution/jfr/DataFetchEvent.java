@@ -0,0 +1,55 @@
+package io.smallrye.graphql.execution.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one resolver call (argument binding, invoking and transforming the result)
+ */
+@Name(DataFetchEvent.NAME)
+@Label("GraphQL Data Fetch")
+@Category(RequestEvent.CATEGORY)
+@Description("Fetching one field, or one batch of source fields")
+@StackTrace(false)
+public class DataFetchEvent extends Event {
+    public static final String NAME = "io.smallrye.graphql.DataFetch";
+    private static final EventType TYPE = EventType.getEventType(DataFetchEvent.class);
+
+    @Label("Path")
+    String path;
+
+    @Label("Parent Type")
+    String parentType;
+
+    @Label("Field")
+    String field;
+
+    @Label("Batch Size")
+    @Description("Number of sources loaded together, 0 if this was not a batch")
+    int batchSize;
+
+    public static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setParentType(String parentType) {
+        this.parentType = parentType;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
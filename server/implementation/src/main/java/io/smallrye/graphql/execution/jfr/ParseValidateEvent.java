@@ -0,0 +1,40 @@
+package io.smallrye.graphql.execution.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for getting the parsed and validated document of a request
+ */
+@Name(ParseValidateEvent.NAME)
+@Label("GraphQL Parse and Validate")
+@Category(RequestEvent.CATEGORY)
+@Description("Getting the parsed and validated document, from the query cache or by parsing and validating it")
+@StackTrace(false)
+public class ParseValidateEvent extends Event {
+    public static final String NAME = "io.smallrye.graphql.ParseValidate";
+    private static final EventType TYPE = EventType.getEventType(ParseValidateEvent.class);
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    @Label("Document Hash")
+    int documentHash;
+
+    public static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    public void setCacheHit(boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+
+    public void setDocumentHash(int documentHash) {
+        this.documentHash = documentHash;
+    }
+}
@@ -0,0 +1,41 @@
+package io.smallrye.graphql.execution.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one GraphQL execution (parse, validate and execute)
+ */
+@Name(RequestEvent.NAME)
+@Label("GraphQL Request")
+@Category(RequestEvent.CATEGORY)
+@Description("One GraphQL execution, from parsing the document until the result is complete")
+@StackTrace(false)
+public class RequestEvent extends Event {
+    public static final String NAME = "io.smallrye.graphql.Request";
+    static final String CATEGORY = "SmallRye GraphQL";
+    private static final EventType TYPE = EventType.getEventType(RequestEvent.class);
+
+    @Label("Operation Name")
+    String operationName;
+
+    @Label("Operation Type")
+    String operationType;
+
+    @Label("Document Hash")
+    @Description("Hash code of the query text, to group requests for the same document")
+    int documentHash;
+
+    @Label("Cost")
+    @Description("Number of resolvers (non trivial data fetchers) invoked")
+    int cost;
+
+    public static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+}
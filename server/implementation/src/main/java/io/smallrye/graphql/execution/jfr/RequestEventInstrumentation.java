@@ -0,0 +1,73 @@
+package io.smallrye.graphql.execution.jfr;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+
+/**
+ * Emits a {@link RequestEvent} per execution. Nothing is done when the event is not enabled in a recording.
+ */
+public class RequestEventInstrumentation extends SimplePerformantInstrumentation {
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (!RequestEvent.isTypeEnabled()) {
+            return null;
+        }
+        return new RequestState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+            InstrumentationState state) {
+        if (!(state instanceof RequestState)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        RequestState requestState = (RequestState) state;
+        RequestEvent event = requestState.event;
+        event.begin();
+        event.operationName = parameters.getOperation();
+        event.documentHash = parameters.getQuery().hashCode();
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            event.cost = requestState.cost.get();
+            event.commit();
+        });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+            InstrumentationState state) {
+        if (state instanceof RequestState) {
+            OperationDefinition operationDefinition = parameters.getExecutionContext().getOperationDefinition();
+            RequestEvent event = ((RequestState) state).event;
+            event.operationType = operationDefinition.getOperation().name();
+            if (event.operationName == null) {
+                event.operationName = operationDefinition.getName();
+            }
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+            InstrumentationState state) {
+        if (state instanceof RequestState && !parameters.isTrivialDataFetcher()) {
+            ((RequestState) state).cost.incrementAndGet();
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private static class RequestState implements InstrumentationState {
+        private final RequestEvent event = new RequestEvent();
+        private final AtomicInteger cost = new AtomicInteger();
+    }
+}
@@ -0,0 +1,42 @@
+package io.smallrye.graphql.execution.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for writing a response
+ */
+@Name(SerializationEvent.NAME)
+@Label("GraphQL Serialization")
+@Category(RequestEvent.CATEGORY)
+@Description("Serializing the execution result and writing it to the response")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+    public static final String NAME = "io.smallrye.graphql.Serialization";
+    private static final EventType TYPE = EventType.getEventType(SerializationEvent.class);
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    public static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    public void setMediaType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
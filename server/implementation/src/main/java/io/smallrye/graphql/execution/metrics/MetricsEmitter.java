@@ -3,13 +3,19 @@ package io.smallrye.graphql.execution.metrics;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 import org.jboss.logging.Logger;
 
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.config.ConfigKey;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.OperationType;
 import io.smallrye.graphql.spi.MetricsService;
 import io.smallrye.graphql.spi.config.Config;
 
@@ -18,6 +24,7 @@ public class MetricsEmitter {
     private static final Logger LOG = Logger.getLogger(MetricsEmitter.class);
     private static final ThreadLocal<MetricsEmitter> metricsEmitters = ThreadLocal.withInitial(MetricsEmitter::new);
     private final List<MetricsService> enabledServices;
+    private final boolean operationsEnabled;
 
     public static MetricsEmitter getInstance() {
         return metricsEmitters.get();
@@ -41,15 +48,156 @@ public class MetricsEmitter {
         }
 
         this.enabledServices = enabledServices;
+        this.operationsEnabled = config.getConfigValue(ConfigKey.ENABLE_OPERATION_METRICS, boolean.class, false);
     }
 
-    public Long start(Context context) {
-        Long measurementId = ThreadLocalRandom.current().nextLong();
-        enabledServices.forEach(metricsService -> metricsService.start(measurementId, context));
-        return measurementId;
+    /**
+     * Forget the emitter of this thread, so that the next one reads the config again
+     */
+    static void reset() {
+        metricsEmitters.remove();
     }
 
-    public void end(Long measurementId) {
-        enabledServices.forEach(metricsService -> metricsService.end(measurementId));
+    /**
+     * Bind the meters of an operation. This is done once, while bootstrapping,
+     * so that measuring the operation afterwards does not allocate.
+     *
+     * @param operation the operation
+     * @return the meters, or null if metrics are disabled
+     */
+    public OperationMeters bind(Operation operation) {
+        if (enabledServices.isEmpty()) {
+            return null;
+        }
+        return new OperationMeters(operation, enabledServices);
+    }
+
+    /**
+     * Bind the meters of an operation that is not batched. Only batched source fields are measured by default,
+     * as timing every resolver call adds two clock reads and a timer update to each field of each response;
+     * {@link ConfigKey#ENABLE_OPERATION_METRICS} measures the others as well.
+     *
+     * @param operation the operation
+     * @return the meters, or null if metrics (for operations that are not batched) are disabled
+     */
+    public OperationMeters bindUnbatched(Operation operation) {
+        if (!operationsEnabled) {
+            return null;
+        }
+        return bind(operation);
+    }
+
+    /**
+     * Register a gauge with the enabled metrics services
+     *
+     * @param name the name of the gauge
+     * @param value reads the current value
+     */
+    public void registerGauge(String name, Supplier<Number> value) {
+        for (MetricsService service : enabledServices) {
+            try {
+                service.registerGauge(name, value);
+            } catch (Throwable t) {
+                LOG.debugf(t, "Can't register gauge %s", name);
+            }
+        }
+    }
+
+    /**
+     * The meters of one operation, per type of the operation it is executed in.
+     * Root fields only ever execute in their own operation type, source fields can be part of any.
+     */
+    public static final class OperationMeters {
+        private static final OperationType[] OPERATION_TYPES = OperationType.values();
+
+        private final String fieldName;
+        private final boolean source;
+        private final List<MetricsService> services;
+        private final AtomicReferenceArray<Recorder> recorders = new AtomicReferenceArray<>(OPERATION_TYPES.length);
+
+        private OperationMeters(Operation operation, List<MetricsService> services) {
+            this.fieldName = operation.getName();
+            this.source = operation.isSourceField();
+            this.services = services;
+            // Bind the type we will see up front, the others on first use
+            OperationType operationType = operation.getOperationType();
+            forType(source || operationType == null ? OperationType.QUERY : operationType);
+        }
+
+        public Recorder forType(String operationType) {
+            return forType(OperationType.valueOf(operationType));
+        }
+
+        private Recorder forType(OperationType operationType) {
+            int index = operationType.ordinal();
+            Recorder recorder = recorders.get(index);
+            if (recorder == null) {
+                recorder = new Recorder(fieldName, operationType.name(), source, services);
+                if (!recorders.compareAndSet(index, null, recorder)) {
+                    recorder = recorders.get(index);
+                }
+                LOG.tracef("Bound metrics for %s (%s)", fieldName, operationType);
+            }
+            return recorder;
+        }
+    }
+
+    /**
+     * Records the duration of one field. The measurement token is the start time, so nothing needs to be kept
+     * between start and end, unless a service does not support pre-bound meters.
+     */
+    public static final class Recorder {
+        private final MetricsService.Meter[] meters;
+        private final MetricsService[] unboundServices;
+        private final Map<Long, Long> startTimes;
+
+        private Recorder(String fieldName, String operationType, boolean source, List<MetricsService> services) {
+            List<MetricsService.Meter> meters = new ArrayList<>();
+            List<MetricsService> unboundServices = new ArrayList<>();
+            for (MetricsService service : services) {
+                MetricsService.Meter meter = service.bind(fieldName, operationType, source);
+                if (meter != null) {
+                    meters.add(meter);
+                } else {
+                    unboundServices.add(service);
+                }
+            }
+            this.meters = meters.toArray(new MetricsService.Meter[0]);
+            this.unboundServices = unboundServices.toArray(new MetricsService[0]);
+            this.startTimes = !meters.isEmpty() && !unboundServices.isEmpty() ? new ConcurrentHashMap<>() : null;
+        }
+
+        public long start(Context context) {
+            if (unboundServices.length == 0) {
+                return System.nanoTime();
+            }
+            Long measurementId = ThreadLocalRandom.current().nextLong();
+            for (MetricsService service : unboundServices) {
+                service.start(measurementId, context);
+            }
+            if (startTimes != null) {
+                startTimes.put(measurementId, System.nanoTime());
+            }
+            return measurementId;
+        }
+
+        public void end(long measurement) {
+            long duration;
+            if (unboundServices.length == 0) {
+                duration = System.nanoTime() - measurement;
+            } else {
+                for (MetricsService service : unboundServices) {
+                    service.end(measurement);
+                }
+                Long started = startTimes != null ? startTimes.remove(measurement) : null;
+                if (started == null) {
+                    return;
+                }
+                duration = System.nanoTime() - started;
+            }
+            for (MetricsService.Meter meter : meters) {
+                meter.record(duration);
+            }
+        }
     }
 }
@@ -6,6 +6,7 @@ import java.util.Map;
 import jakarta.json.bind.Jsonb;
 
 import graphql.GraphQL;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.execution.event.InvokeInfo;
@@ -43,6 +44,15 @@ public interface EventingService {
         return builder;
     }
 
+    /**
+     * Allows adding an instrumentation to the ones used while executing, for example to follow every field fetch.
+     *
+     * @return the instrumentation, or null
+     */
+    default Instrumentation createInstrumentation() {
+        return null;
+    }
+
     default void beforeExecute(Context context) {
     }
 
@@ -1,9 +1,41 @@
 package io.smallrye.graphql.spi;
 
+import java.util.function.Supplier;
+
 import io.smallrye.graphql.api.Context;
 
 public interface MetricsService {
     void start(Long measurementId, Context context);
 
     void end(Long measurementId);
+
+    /**
+     * Register the meter for a field up front (while bootstrapping), so that recording a measurement
+     * does not need a lookup or any allocation.
+     * Services that return null here are called with {@link #start(Long, Context)} and {@link #end(Long)} instead.
+     *
+     * @param fieldName the name of the field
+     * @param operationType the type of the operation the field is executed in (QUERY, MUTATION or SUBSCRIPTION)
+     * @param source if the field is a source field
+     * @return the meter, or null if not supported
+     */
+    default Meter bind(String fieldName, String operationType, boolean source) {
+        return null;
+    }
+
+    /**
+     * Register a gauge, e.g. to report the progress of warming up the query cache on startup
+     *
+     * @param name the name of the gauge
+     * @param value reads the current value
+     */
+    default void registerGauge(String name, Supplier<Number> value) {
+    }
+
+    /**
+     * A pre-registered meter
+     */
+    interface Meter {
+        void record(long durationNanos);
+    }
 }
@@ -147,6 +147,10 @@ public interface Config {
         return false;
     }
 
+    default Optional<List<Double>> getMetricsPercentiles() {
+        return Optional.empty();
+    }
+
     default boolean isEventsEnabled() {
         return false;
     }
@@ -0,0 +1,119 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+
+/**
+ * Test writing the most used queries to a file, and warming up the query cache with them
+ */
+public class QueryCacheSnapshotTest {
+
+    private final GraphQLSchema graphQLSchema = Bootstrap
+            .bootstrap(SchemaBuilder.build(Indexer.getTestIndex("io/smallrye/graphql/test/mutiny")));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteAndWarmUp() {
+        QueryCache queryCache = new QueryCache();
+        assertTrue(queryCache.warmUp(graphQLSchema, BOOK_QUERY, 3));
+        assertTrue(queryCache.warmUp(graphQLSchema, FAILED_BOOK_QUERY, 5));
+
+        QueryCacheSnapshot snapshot = snapshot(1);
+        snapshot.start(() -> queryCache);
+        snapshot.write();
+
+        // Only the most used query fits
+        assertEquals(Map.of(FAILED_BOOK_QUERY, 5L), snapshot.read());
+
+        QueryCache restarted = new QueryCache();
+        assertEquals(1, snapshot.warmUp(restarted, graphQLSchema));
+        assertEquals(Map.of(FAILED_BOOK_QUERY, 5L), restarted.getHottestQueries());
+        assertEquals(Map.of(FAILED_BOOK_QUERY, 5L), restarted.getMostUsedQueries(10));
+    }
+
+    @Test
+    public void testQueriesWithLiteralsAreNotWritten() {
+        QueryCache queryCache = new QueryCache();
+        assertTrue(queryCache.warmUp(graphQLSchema, LITERAL_BOOK_QUERY, 9));
+        assertTrue(queryCache.warmUp(graphQLSchema, BOOK_QUERY, 1));
+
+        QueryCacheSnapshot snapshot = snapshot(10);
+        snapshot.start(() -> queryCache);
+        snapshot.write();
+
+        assertEquals(Map.of(BOOK_QUERY, 1L), snapshot.read());
+    }
+
+    @Test
+    public void testQueryCachesShareTheSnapshot() {
+        QueryCache first = new QueryCache();
+        assertTrue(first.warmUp(graphQLSchema, BOOK_QUERY, 3));
+        QueryCache second = new QueryCache();
+        assertTrue(second.warmUp(graphQLSchema, BOOK_QUERY, 2));
+        assertTrue(second.warmUp(graphQLSchema, FAILED_BOOK_QUERY, 4));
+
+        QueryCacheSnapshot snapshot = snapshot(10);
+        Supplier<QueryCache> firstService = () -> first;
+        snapshot.start(firstService);
+        snapshot.start(() -> second);
+        snapshot.write();
+        assertEquals(Map.of(BOOK_QUERY, 5L, FAILED_BOOK_QUERY, 4L), snapshot.read());
+
+        // The queries of the first one are kept after it is stopped
+        snapshot.stop(firstService);
+        snapshot.write();
+        assertEquals(Map.of(BOOK_QUERY, 5L, FAILED_BOOK_QUERY, 4L), snapshot.read());
+    }
+
+    @Test
+    public void testInvalidQueriesAreSkipped() throws IOException {
+        Path file = directory.resolve("snapshot.json");
+        Files.writeString(file, "[{\"query\":\"{ unknown }\",\"uses\":7},{\"query\":\"{ book(name: \\\"Lord of the Flies\\\") { title } }\",\"uses\":2}]");
+
+        QueryCache queryCache = new QueryCache();
+        assertEquals(1, snapshot(10).warmUp(queryCache, graphQLSchema));
+        assertEquals(Map.of("{ book(name: \"Lord of the Flies\") { title } }", 2L), queryCache.getHottestQueries());
+    }
+
+    @Test
+    public void testMissingSnapshot() {
+        assertEquals(0, snapshot(10).warmUp(new QueryCache(), graphQLSchema));
+    }
+
+    private QueryCacheSnapshot snapshot(int size) {
+        return new QueryCacheSnapshot(directory.resolve("snapshot.json"), size, 0, 10000, 2);
+    }
+
+    private static final String BOOK_QUERY = "query book($name: String) {\n" +
+            "  book(name: $name){\n" +
+            "    title\n" +
+            "  }\n" +
+            "}";
+
+    private static final String FAILED_BOOK_QUERY = "query failedBook($name: String) {\n" +
+            "  failedBook(name: $name){\n" +
+            "    title\n" +
+            "  }\n" +
+            "}";
+
+    private static final String LITERAL_BOOK_QUERY = "{\n" +
+            "  book(name: \"Lord of the Flies\"){\n" +
+            "    title\n" +
+            "  }\n" +
+            "}";
+}
@@ -0,0 +1,108 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResultImpl;
+
+/**
+ * Test the graphql-crunch response format
+ */
+public class ResponseCruncherTest extends ExecutionTestBase {
+
+    @Test
+    public void testCrunchedQuery() {
+        JsonObject plain = executeAndGetData(TEST_QUERY);
+
+        JsonObject input = Json.createObjectBuilder()
+                .add("query", TEST_QUERY)
+                .add("extensions", Json.createObjectBuilder().add("crunch", 2))
+                .build();
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(input);
+        executionService.executeSync(input, writer);
+        JsonValue crunched = writer.getOutput().get("data");
+
+        assertEquals(JsonValue.ValueType.ARRAY, crunched.getValueType());
+        assertEquals(plain, uncrunch(crunched.asJsonArray()));
+    }
+
+    @Test
+    public void testRepeatedValuesAreStoredOnce() {
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("name", "Phillip");
+        customer.put("country", "ZA");
+        Map<String, Object> order1 = new LinkedHashMap<>();
+        order1.put("id", 1);
+        order1.put("customer", customer);
+        Map<String, Object> order2 = new LinkedHashMap<>();
+        order2.put("id", 2);
+        order2.put("customer", new LinkedHashMap<>(customer));
+        Map<String, Object> data = Map.of("orders", List.of(order1, order2));
+
+        ExecutionResponse response = new ExecutionResponse(ExecutionResultImpl.newExecutionResult().data(data).build(),
+                null, true);
+        JsonArray table = response.getExecutionResultAsJsonObject().getJsonArray("data");
+
+        // 1, "Phillip", "ZA", customer, order1, 2, order2, orders, root
+        assertEquals(9, table.size());
+        assertEquals(Json.createObjectBuilder().add("name", 1).add("country", 2).build(), table.get(3));
+        assertEquals(Json.createObjectBuilder().add("id", 5).add("customer", 3).build(), table.get(6));
+        assertEquals(new ExecutionResponse(ExecutionResultImpl.newExecutionResult().data(data).build())
+                .getExecutionResultAsJsonObject().getJsonObject("data"), uncrunch(table));
+    }
+
+    @Test
+    public void testRequested() {
+        JsonObject plain = Json.createObjectBuilder().add("query", "{ a }").build();
+        JsonObject withExtension = Json.createObjectBuilder(plain)
+                .add("extensions", Json.createObjectBuilder().add("crunch", true)).build();
+        JsonObject disabled = Json.createObjectBuilder(plain)
+                .add("extensions", Json.createObjectBuilder().add("crunch", 0)).build();
+        Map<String, Object> context = new HashMap<>();
+        context.put("httpHeaders", Map.of("graphql-crunch", List.of("2")));
+
+        assertFalse(ResponseCruncher.isRequested(plain, new HashMap<>()));
+        assertTrue(ResponseCruncher.isRequested(withExtension, new HashMap<>()));
+        assertFalse(ResponseCruncher.isRequested(disabled, new HashMap<>()));
+        assertTrue(ResponseCruncher.isRequested(plain, context));
+    }
+
+    private static JsonValue uncrunch(JsonArray table) {
+        JsonValue[] values = new JsonValue[table.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonValue entry = table.get(i);
+            if (entry.getValueType() == JsonValue.ValueType.OBJECT) {
+                var object = Json.createObjectBuilder();
+                entry.asJsonObject().forEach((key, index) -> object.add(key, values[Integer.parseInt(index.toString())]));
+                values[i] = object.build();
+            } else if (entry.getValueType() == JsonValue.ValueType.ARRAY) {
+                var array = Json.createArrayBuilder();
+                entry.asJsonArray().forEach(index -> array.add(values[Integer.parseInt(index.toString())]));
+                values[i] = array.build();
+            } else {
+                values[i] = entry;
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObjects {\n" +
+            "    name\n" +
+            "    number\n" +
+            "  }\n" +
+            "}";
+}
@@ -0,0 +1,152 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResultImpl;
+import io.smallrye.graphql.execution.encoding.CborResponseEncoder;
+import io.smallrye.graphql.execution.encoding.MessagePackResponseEncoder;
+import io.smallrye.graphql.execution.encoding.ResponseEncoder;
+import io.smallrye.graphql.execution.encoding.ResponseEncoders;
+
+/**
+ * Test the binary response encodings against the JSON output
+ */
+public class ResponseEncoderTest extends ExecutionTestBase {
+
+    @Test
+    public void testCborMatchesJson() throws IOException {
+        assertMatchesJson(new CborResponseEncoder());
+    }
+
+    @Test
+    public void testMessagePackMatchesJson() throws IOException {
+        assertMatchesJson(new MessagePackResponseEncoder());
+    }
+
+    @Test
+    public void testCborScalars() throws IOException {
+        assertScalars(new CborResponseEncoder());
+    }
+
+    @Test
+    public void testMessagePackScalars() throws IOException {
+        assertScalars(new MessagePackResponseEncoder());
+    }
+
+    @Test
+    public void testDecodeRequest() throws IOException {
+        JsonObject request = Json.createObjectBuilder()
+                .add("query", "{ testObject(yourname:\"Phillip\") { name } }")
+                .add("variables", Json.createObjectBuilder().add("limit", 10))
+                .build();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("query", request.getString("query"));
+        data.put("variables", Map.of("limit", 10));
+        for (ResponseEncoder encoder : Arrays.<ResponseEncoder> asList(new CborResponseEncoder(),
+                new MessagePackResponseEncoder())) {
+            // A request is any object, so encode it as the data of a response and unwrap it again
+            JsonObject decoded = roundTrip(encoder, data).getJsonObject("data");
+            assertEquals(request, decoded);
+        }
+    }
+
+    @Test
+    public void testAcceptNegotiation() {
+        ResponseEncoders encoders = ResponseEncoders.get();
+        assertFalse(encoders.forAccept(null).isPresent());
+        assertFalse(encoders.forAccept("application/json").isPresent());
+        assertFalse(encoders.forAccept("*/*").isPresent());
+        assertFalse(encoders.forAccept("application/json, application/cbor").isPresent());
+        assertFalse(encoders.forAccept("application/cbor;q=0.5, application/json").isPresent());
+        assertEquals("application/cbor", encoders.forAccept("application/cbor").get().getMediaType());
+        assertEquals("application/msgpack",
+                encoders.forAccept("application/msgpack, application/json;q=0.9").get().getMediaType());
+        assertTrue(encoders.forContentType("application/cbor; charset=binary").isPresent());
+        assertFalse(encoders.forContentType("application/json").isPresent());
+    }
+
+    private void assertMatchesJson(ResponseEncoder encoder) throws IOException {
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(
+                Json.createObjectBuilder().add("query", TEST_QUERY).build());
+        executionService.executeSync(writer.getInput(), writer);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(writer.getExecutionResponse(), out);
+        JsonObject decoded = encoder.decode(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(writer.getOutput(), decoded);
+        assertTrue(out.size() < writer.getOutput().toString().length());
+    }
+
+    private void assertScalars(ResponseEncoder encoder) throws IOException {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("int", 42);
+        data.put("negative", -100_000);
+        data.put("long", Long.MAX_VALUE);
+        data.put("double", 3.14159);
+        data.put("float", 1.1f);
+        data.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        data.put("bigDecimal", new BigDecimal("1234567890.0987654321"));
+        data.put("bool", true);
+        data.put("nothing", null);
+        data.put("unicode", "Grüße 👋");
+
+        JsonObject decoded = roundTrip(encoder, data).getJsonObject("data");
+
+        assertEquals(42, decoded.getInt("int"));
+        assertEquals(-100_000, decoded.getInt("negative"));
+        assertEquals(Long.MAX_VALUE, decoded.getJsonNumber("long").longValueExact());
+        assertEquals(3.14159, decoded.getJsonNumber("double").doubleValue());
+        assertEquals(0, new BigDecimal("1.1").compareTo(decoded.getJsonNumber("float").bigDecimalValue()));
+        assertTrue(decoded.getBoolean("bool"));
+        assertTrue(decoded.isNull("nothing"));
+        assertEquals("Grüße 👋", decoded.getString("unicode"));
+        if (encoder instanceof CborResponseEncoder) {
+            assertEquals(new BigInteger("123456789012345678901234567890"),
+                    decoded.getJsonNumber("bigInteger").bigIntegerValueExact());
+            assertEquals(new BigDecimal("1234567890.0987654321"), decoded.getJsonNumber("bigDecimal").bigDecimalValue());
+        } else {
+            // MessagePack can not hold these without losing precision
+            assertEquals("123456789012345678901234567890", decoded.getString("bigInteger"));
+            assertEquals("1234567890.0987654321", decoded.getString("bigDecimal"));
+        }
+    }
+
+    private static JsonObject roundTrip(ResponseEncoder encoder, Map<String, Object> data) throws IOException {
+        ExecutionResponse response = new ExecutionResponse(ExecutionResultImpl.newExecutionResult().data(data).build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(response, out);
+        return encoder.decode(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObjects {\n" +
+            "    id\n" +
+            "    name\n" +
+            "    number\n" +
+            "    amounts {\n" +
+            "       id\n" +
+            "       amount\n" +
+            "    }\n" +
+            "    timestamp {\n" +
+            "       value\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+}
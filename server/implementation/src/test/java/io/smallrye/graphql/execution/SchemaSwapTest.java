@@ -0,0 +1,81 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.junit.jupiter.api.Test;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Test swapping the schema of a running ExecutionService
+ */
+public class SchemaSwapTest extends ExecutionTestBase {
+
+    protected IndexView getIndex() {
+        return Indexer.getTestIndex("io/smallrye/graphql/test/mutiny");
+    }
+
+    @Test
+    public void testSwap() {
+        assertNull(executeAndGetErrors(BOOK_QUERY));
+        // valid, so cached, even though it fails when it is executed
+        assertNotNull(executeAndGetErrors(FAILED_BOOK_QUERY));
+
+        Schema schema = SchemaBuilder.build(Indexer.getTestIndex("io/smallrye/graphql/test/async"));
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema);
+        int warmed = executionService.swap(graphQLSchema, schema);
+
+        // failedBook does not exist in the new schema, so only the book query is carried over
+        assertEquals(1, warmed);
+        assertSame(graphQLSchema, executionService.getGraphQLSchema());
+        assertSame(schema, executionService.getSchema());
+
+        JsonObject book = executeAndGetData(BOOK_QUERY).getJsonObject("book");
+        assertNotNull(book);
+        assertFalse(book.isNull("title"), "title should not be null");
+
+        JsonArray errors = executeAndGetErrors(FAILED_BOOK_QUERY);
+        assertNotNull(errors);
+        assertEquals("ValidationError",
+                errors.get(0).asJsonObject().getJsonObject("extensions").getString("classification"));
+    }
+
+    @Test
+    public void testUsesAreCarriedOver() {
+        GraphQLSchema graphQLSchema = executionService.getGraphQLSchema();
+        QueryCache current = new QueryCache();
+        current.warmUp(graphQLSchema, BOOK_QUERY, 3);
+        current.warmUp(graphQLSchema, FAILED_BOOK_QUERY, 1);
+
+        Schema schema = SchemaBuilder.build(Indexer.getTestIndex("io/smallrye/graphql/test/async"));
+        QueryCache next = new QueryCache();
+        assertEquals(1, next.warmUp(Bootstrap.bootstrap(schema), current.getHottestQueries()));
+
+        assertEquals(Map.of(BOOK_QUERY, 3L), next.getMostUsedQueries(10));
+    }
+
+    private static final String BOOK_QUERY = "{\n" +
+            "  book(name: \"Lord of the Flies\"){\n" +
+            "    title\n" +
+            "  }\n" +
+            "}";
+
+    private static final String FAILED_BOOK_QUERY = "{\n" +
+            "  failedBook(name: \"Nekonomicon\"){\n" +
+            "    title\n" +
+            "  }\n" +
+            "}";
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import io.smallrye.graphql.config.ConfigKey;
 import io.smallrye.graphql.execution.event.TestEventingService;
 import io.smallrye.graphql.spi.config.Config;
 import io.smallrye.graphql.spi.config.LogPayloadOption;
@@ -16,6 +17,8 @@ import io.smallrye.graphql.spi.config.LogPayloadOption;
 public class TestConfig implements Config {
 
     public boolean federationEnabled;
+    public boolean metricsEnabled;
+    public boolean operationMetricsEnabled;
 
     public TestConfig() {
         reset();
@@ -59,6 +62,14 @@ public class TestConfig implements Config {
             //noinspection unchecked
             return (T) Boolean.TRUE;
         }
+        if (key.equals(ConfigKey.ENABLE_METRICS)) {
+            //noinspection unchecked
+            return (T) Boolean.valueOf(metricsEnabled);
+        }
+        if (key.equals(ConfigKey.ENABLE_OPERATION_METRICS)) {
+            //noinspection unchecked
+            return (T) Boolean.valueOf(operationMetricsEnabled);
+        }
         return defaultValue;
     }
 
@@ -69,5 +80,7 @@ public class TestConfig implements Config {
 
     public void reset() {
         this.federationEnabled = false;
+        this.metricsEnabled = false;
+        this.operationMetricsEnabled = false;
     }
 }
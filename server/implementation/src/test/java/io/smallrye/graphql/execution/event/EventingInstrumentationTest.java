@@ -0,0 +1,27 @@
+package io.smallrye.graphql.execution.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.execution.ExecutionTestBase;
+
+/**
+ * Test that the instrumentation of an eventing service is used while executing
+ */
+class EventingInstrumentationTest extends ExecutionTestBase {
+
+    @BeforeEach
+    void reset() {
+        TestEventingService.reset();
+    }
+
+    @Test
+    void testInstrumentationSeesResolvers() {
+        executeAndGetData("{ testObject(yourname:\"Phillip\") { id name timestamp { value } } }");
+
+        // Property fields (id, name, value) use trivial data fetchers
+        assertThat(TestEventingService.fetchedFields).containsExactly("testObject", "timestamp");
+    }
+}
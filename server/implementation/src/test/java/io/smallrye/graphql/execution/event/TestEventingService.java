@@ -1,5 +1,13 @@
 package io.smallrye.graphql.execution.event;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.spi.EventingService;
 
@@ -8,9 +16,11 @@ public class TestEventingService implements EventingService {
     public static int invocationOrder = -1;
     public static Context beforeExecuteContext;
     public static Context afterExecuteContext;
+    public static final List<String> fetchedFields = new CopyOnWriteArrayList<>();
     public static final String KEY = "smallrye.graphql.events.enabled";
 
     public static void reset() {
+        fetchedFields.clear();
         beforeExecuteContext = null;
         afterExecuteContext = null;
         invocationOrder = -1;
@@ -33,4 +43,17 @@ public class TestEventingService implements EventingService {
         afterExecuteContext = context;
     }
 
+    @Override
+    public Instrumentation createInstrumentation() {
+        return new SimplePerformantInstrumentation() {
+            @Override
+            public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters,
+                    InstrumentationState state) {
+                if (!parameters.isTrivialDataFetcher()) {
+                    fetchedFields.add(parameters.getField().getName());
+                }
+                return super.beginFieldFetch(parameters, state);
+            }
+        };
+    }
 }
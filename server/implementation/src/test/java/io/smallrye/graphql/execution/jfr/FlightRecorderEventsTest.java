@@ -0,0 +1,77 @@
+package io.smallrye.graphql.execution.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.execution.ExecutionTestBase;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test that the flight recorder events are emitted while executing
+ */
+public class FlightRecorderEventsTest extends ExecutionTestBase {
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.NAME);
+            recording.enable(ParseValidateEvent.NAME);
+            recording.enable(DataFetchEvent.NAME);
+            recording.start();
+
+            executeAndGetData(TEST_QUERY);
+            executeAndGetData(TEST_QUERY);
+
+            recording.stop();
+            Path file = Files.createTempFile("smallrye-graphql", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        List<RecordedEvent> requests = ofType(events, RequestEvent.NAME);
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getString("operationType")).isEqualTo("QUERY");
+        assertThat(requests.get(0).getInt("documentHash")).isEqualTo(TEST_QUERY.hashCode());
+        // testObject and timestamp, the other fields are properties
+        assertThat(requests.get(0).getInt("cost")).isEqualTo(2);
+
+        List<RecordedEvent> parses = ofType(events, ParseValidateEvent.NAME);
+        // The context looks the document up as well, so there can be more than one lookup per request
+        assertThat(parses).extracting(e -> e.getBoolean("cacheHit")).startsWith(false).endsWith(true);
+
+        List<RecordedEvent> fetches = ofType(events, DataFetchEvent.NAME);
+        assertThat(fetches).extracting(e -> e.getString("path"))
+                .containsExactly("/testObject", "/testObject/timestamp", "/testObject", "/testObject/timestamp");
+        assertThat(fetches.get(1).getString("parentType")).isEqualTo("TestObject");
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    id\n" +
+            "    name\n" +
+            "    timestamp {\n" +
+            "       value\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+}
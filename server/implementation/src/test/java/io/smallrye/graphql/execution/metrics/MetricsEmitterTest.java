@@ -0,0 +1,91 @@
+package io.smallrye.graphql.execution.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.execution.ExecutionTestBase;
+import io.smallrye.graphql.execution.TestConfig;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test that fields are measured with the meters bound while bootstrapping
+ */
+public class MetricsEmitterTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @BeforeEach
+    @Override
+    public void init() {
+        init(true);
+    }
+
+    private void init(boolean operationMetricsEnabled) {
+        config.metricsEnabled = true;
+        config.operationMetricsEnabled = operationMetricsEnabled;
+        // The emitter reads the config once per thread, so the other tests don't see these settings
+        MetricsEmitter.reset();
+        TestMetricsService.reset();
+        TestLegacyMetricsService.reset();
+        super.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+        MetricsEmitter.reset();
+    }
+
+    @Test
+    public void testMetersAreBoundWhileBootstrapping() {
+        assertNotNull(TestMetricsService.bound.get("testObject:QUERY:false"));
+        assertEquals(0, TestMetricsService.recorded.get("testObject:QUERY:false").sum());
+    }
+
+    @Test
+    public void testFieldsAreRecorded() {
+        JsonObject data = executeAndGetData(TEST_QUERY);
+        assertNotNull(data.getJsonObject("testObject"));
+
+        assertEquals(1, TestMetricsService.recorded.get("testObject:QUERY:false").sum());
+        assertEquals(1, TestMetricsService.recorded.get("timestamp:QUERY:true").sum());
+        // Nothing is bound while executing
+        assertEquals(1, TestMetricsService.bound.get("testObject:QUERY:false").sum());
+    }
+
+    @Test
+    public void testOnlyBatchedFieldsAreRecordedByDefault() {
+        init(false);
+        executeAndGetData(TEST_QUERY);
+
+        assertNull(TestMetricsService.bound.get("testObject:QUERY:false"));
+        assertEquals(1, TestMetricsService.recorded.get("timestamp:QUERY:true").sum());
+    }
+
+    @Test
+    public void testServicesWithoutBoundMeters() {
+        executeAndGetData(TEST_QUERY);
+
+        assertEquals(1, TestLegacyMetricsService.finished.get("testObject"));
+        assertEquals(1, TestLegacyMetricsService.finished.get("timestamp"));
+        assertTrue(TestLegacyMetricsService.running.isEmpty());
+        // The bound service is not called with start and end
+        assertEquals(0, TestMetricsService.started.sum());
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    id\n" +
+            "    timestamp {\n" +
+            "       value\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+}
@@ -0,0 +1,32 @@
+package io.smallrye.graphql.execution.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * Metrics service that does not support pre-bound meters
+ */
+public class TestLegacyMetricsService implements MetricsService {
+
+    public static final Map<Long, String> running = new ConcurrentHashMap<>();
+    public static final Map<String, Integer> finished = new ConcurrentHashMap<>();
+
+    public static void reset() {
+        running.clear();
+        finished.clear();
+    }
+
+    @Override
+    public void start(Long measurementId, Context context) {
+        running.put(measurementId, context.getFieldName());
+    }
+
+    @Override
+    public void end(Long measurementId) {
+        String fieldName = running.remove(measurementId);
+        finished.merge(fieldName, 1, Integer::sum);
+    }
+}
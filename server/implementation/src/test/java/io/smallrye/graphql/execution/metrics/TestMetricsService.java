@@ -0,0 +1,45 @@
+package io.smallrye.graphql.execution.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * Metrics service with pre-bound meters, counting the recorded measurements per field
+ */
+public class TestMetricsService implements MetricsService {
+
+    public static final Map<String, LongAdder> bound = new ConcurrentHashMap<>();
+    public static final Map<String, LongAdder> recorded = new ConcurrentHashMap<>();
+    public static final LongAdder started = new LongAdder();
+
+    public static void reset() {
+        bound.clear();
+        recorded.clear();
+        started.reset();
+    }
+
+    @Override
+    public void start(Long measurementId, Context context) {
+        started.increment();
+    }
+
+    @Override
+    public void end(Long measurementId) {
+    }
+
+    @Override
+    public Meter bind(String fieldName, String operationType, boolean source) {
+        String key = fieldName + ":" + operationType + ":" + source;
+        bound.computeIfAbsent(key, k -> new LongAdder()).increment();
+        LongAdder counter = recorded.computeIfAbsent(key, k -> new LongAdder());
+        return durationNanos -> {
+            if (durationNanos >= 0) {
+                counter.increment();
+            }
+        };
+    }
+}
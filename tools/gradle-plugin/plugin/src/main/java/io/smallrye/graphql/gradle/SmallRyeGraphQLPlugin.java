@@ -1,10 +1,19 @@
 package io.smallrye.graphql.gradle;
 
+import java.util.Arrays;
+
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskContainer;
 
 import io.smallrye.graphql.gradle.tasks.GenerateSchemaTask;
+import io.smallrye.graphql.gradle.tasks.JandexIndexTransform;
 
 /**
  * SmallRye GraphQL Gradle Plugin.
@@ -17,11 +26,53 @@ public class SmallRyeGraphQLPlugin implements Plugin<Project> {
 
     @Override
     public void apply(Project project) {
+        registerTransforms(project);
         registerTasks(project);
     }
 
+    private void registerTransforms(Project project) {
+        for (String type : Arrays.asList(ArtifactTypeDefinition.JAR_TYPE, "war")) {
+            project.getDependencies().registerTransform(JandexIndexTransform.class, spec -> {
+                spec.getFrom().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, type);
+                spec.getTo().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, JandexIndexTransform.ARTIFACT_TYPE);
+            });
+        }
+    }
+
     private void registerTasks(Project project) {
         TaskContainer tasks = project.getTasks();
-        tasks.create(GENERATE_SCHEMA_TASK_NAME, GenerateSchemaTask.class);
+        tasks.register(GENERATE_SCHEMA_TASK_NAME, GenerateSchemaTask.class, task -> {
+            SourceSetContainer sourceSets = project.getExtensions().findByType(SourceSetContainer.class);
+            if (sourceSets != null) {
+                task.getClassesDirs().from(sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME).getOutput().getClassesDirs());
+            } else {
+                task.getClassesDirs().from(project.getLayout().getBuildDirectory().dir("classes"));
+            }
+            // Resolved only when the task graph is built, after the build script configured the task
+            task.getClasspath().from(project.provider(() -> dependencies(project, task, false)));
+            task.getDependencyIndexes().from(project.provider(() -> task.getIncludeDependencies().get()
+                    ? dependencies(project, task, true)
+                    : project.files()));
+        });
+    }
+
+    private static FileCollection dependencies(Project project, GenerateSchemaTask task, boolean indexes) {
+        ConfigurableFileCollection files = project.files();
+        for (String name : task.getConfigurations().get()) {
+            Configuration copiedConfiguration = project.getConfigurations().getByName(name).copyRecursive();
+            copiedConfiguration.setCanBeResolved(true);
+            copiedConfiguration.setTransitive(task.getIncludeTransitiveDependencies().get());
+            if (indexes) {
+                // Lenient, as not every artifact can be indexed, e.g. the classes directory of another project
+                files.from(copiedConfiguration.getIncoming().artifactView(view -> {
+                    view.setLenient(true);
+                    view.getAttributes().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE,
+                            JandexIndexTransform.ARTIFACT_TYPE);
+                }).getFiles());
+            } else {
+                files.from(copiedConfiguration);
+            }
+        }
+        return files;
     }
 }
@@ -0,0 +1,199 @@
+package io.smallrye.graphql.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.workers.WorkAction;
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.SchemaPrinter;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Generates the schema in a worker process, so the classes of the project are never loaded into the Gradle daemon.
+ */
+public abstract class GenerateSchemaAction implements WorkAction<GenerateSchemaParameters> {
+
+    private static final Logger LOG = Logging.getLogger(GenerateSchemaAction.class);
+
+    private static GradleConfig config;
+
+    public static GradleConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void execute() {
+        GenerateSchemaParameters parameters = getParameters();
+        config = new GradleConfig(parameters.getIncludeScalars().get(),
+                parameters.getIncludeDirectives().get(),
+                parameters.getIncludeSchemaDefinition().get(),
+                parameters.getIncludeIntrospectionTypes().get());
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = getClassLoader(previous)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            IndexView index = createIndex();
+            Schema internalSchema = SchemaBuilder.build(index);
+            String schema = generateSchema(internalSchema);
+            if (schema != null) {
+                write(schema);
+                if (parameters.getSchemaModelDestination().isPresent()) {
+                    writeSchemaModel(internalSchema, classLoader);
+                }
+            } else {
+                LOG.warn("No Schema generated. Check that your code contains the MicroProfile GraphQL Annotations");
+            }
+        } catch (IOException e) {
+            throw new GradleException("Can't generate the schema", e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    private IndexView createIndex() throws IOException {
+        List<IndexView> indexes = new ArrayList<>();
+        for (File classesDir : getParameters().getClassesDirs()) {
+            indexes.add(indexModuleClasses(classesDir.toPath()));
+        }
+        // The dependencies were indexed by JandexIndexTransform, one index per jar, named after the jar
+        List<String> extensions = getParameters().getDependencyExtensions().get();
+        for (File file : getParameters().getDependencyIndexes()) {
+            if (!extensions.contains(dependencyExtension(file))) {
+                continue;
+            }
+            LOG.debug("Reading index " + file);
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                indexes.add(new IndexReader(in).read());
+            } catch (IOException | IllegalArgumentException e) {
+                LOG.error("Can't read index " + file.getAbsolutePath() + ", skipping", e);
+            }
+        }
+        return CompositeIndex.create(indexes);
+    }
+
+    // foo-1.0.jar.idx is the index of foo-1.0.jar
+    private static String dependencyExtension(File index) {
+        String name = index.getName();
+        String artifact = name.substring(0, name.length() - JandexIndexTransform.SUFFIX.length());
+        return artifact.substring(artifact.lastIndexOf('.') + 1);
+    }
+
+    // index the classes of this Gradle module
+    private static IndexView indexModuleClasses(Path classesDir) throws IOException {
+        Indexer indexer = new Indexer();
+        if (!Files.isDirectory(classesDir)) {
+            return indexer.complete();
+        }
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(classesDir)) {
+            classFiles = files.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        for (Path path : classFiles) {
+            try (InputStream in = Files.newInputStream(path)) {
+                indexer.index(in);
+            }
+        }
+        return indexer.complete();
+    }
+
+    private String generateSchema(Schema internalSchema) {
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(internalSchema, true);
+        if (graphQLSchema != null) {
+            return new SchemaPrinter().print(graphQLSchema);
+        }
+        return null;
+    }
+
+    private void write(String schema) {
+        try {
+            if (!getParameters().getDestination().isPresent()) {
+                // no destination file specified => print to stdout
+                LOG.quiet(schema);
+            } else {
+                Path path = getParameters().getDestination().get().getAsFile().toPath();
+                Files.createDirectories(path.getParent());
+                Files.write(path, schema.getBytes(),
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                LOG.info("Wrote the schema to " + path.toAbsolutePath().toString());
+            }
+        } catch (IOException e) {
+            throw new GradleException("Can't write the result", e);
+        }
+    }
+
+    private void writeSchemaModel(Schema schema, ClassLoader classLoader) {
+        Path path = getParameters().getSchemaModelDestination().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(path.getParent());
+            try (OutputStream out = Files.newOutputStream(path)) {
+                PrebuiltSchema.write(schema, classLoader, packagedClasspath(),
+                        PrebuiltSchema.settings(TypeAutoNameStrategy.Default.name(),
+                                Boolean.getBoolean("smallrye.graphql.federation.enabled")),
+                        out);
+            }
+            LOG.info("Wrote the schema model to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            // Not fatal, the runtime just builds the schema itself
+            LOG.warn("Can't write the schema model, the schema will be built on startup", e);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                throw new GradleException("Can't delete the incomplete schema model " + path, ex);
+            }
+        }
+    }
+
+    // what the runtime scans when there is no (up to date) schema model, like WEB-INF/classes and WEB-INF/lib
+    private List<Path> packagedClasspath() {
+        Set<Path> packaged = new LinkedHashSet<>();
+        for (File classesDir : getParameters().getClassesDirs()) {
+            packaged.add(classesDir.toPath());
+        }
+        for (File file : getParameters().getClasspath()) {
+            packaged.add(file.toPath());
+        }
+        return new ArrayList<>(packaged);
+    }
+
+    private URLClassLoader getClassLoader(ClassLoader parent) throws MalformedURLException {
+        Set<URL> urls = new LinkedHashSet<>();
+        for (File classesDir : getParameters().getClassesDirs()) {
+            if (classesDir.exists()) {
+                LOG.debug("Adding classes directory: " + classesDir);
+                urls.add(classesDir.toURI().toURL());
+            }
+        }
+        for (File file : getParameters().getClasspath()) {
+            LOG.debug("Adding to classloader: " + file);
+            urls.add(file.toURI().toURL());
+        }
+        return URLClassLoader.newInstance(urls.toArray(new URL[0]), parent);
+    }
+}
@@ -0,0 +1,33 @@
+package io.smallrye.graphql.gradle.tasks;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * What {@link GenerateSchemaTask} hands over to {@link GenerateSchemaAction} in the worker process.
+ */
+public interface GenerateSchemaParameters extends WorkParameters {
+
+    ConfigurableFileCollection getClassesDirs();
+
+    ConfigurableFileCollection getClasspath();
+
+    ConfigurableFileCollection getDependencyIndexes();
+
+    ListProperty<String> getDependencyExtensions();
+
+    RegularFileProperty getDestination();
+
+    RegularFileProperty getSchemaModelDestination();
+
+    Property<Boolean> getIncludeScalars();
+
+    Property<Boolean> getIncludeDirectives();
+
+    Property<Boolean> getIncludeSchemaDefinition();
+
+    Property<Boolean> getIncludeIntrospectionTypes();
+}
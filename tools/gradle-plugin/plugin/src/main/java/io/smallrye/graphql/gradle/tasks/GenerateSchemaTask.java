@@ -1,305 +1,242 @@
 package io.smallrye.graphql.gradle.tasks;
 
 import java.io.File;
-import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+
+import javax.inject.Inject;
 
 import org.gradle.api.DefaultTask;
-import org.gradle.api.GradleException;
-import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.ConfigurationContainer;
-import org.gradle.api.artifacts.ResolvedArtifact;
-import org.gradle.api.artifacts.ResolvedConfiguration;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
-import org.jboss.jandex.CompositeIndex;
-import org.jboss.jandex.Index;
-import org.jboss.jandex.IndexView;
-import org.jboss.jandex.Indexer;
-import org.jboss.jandex.JarIndexer;
-import org.jboss.jandex.Result;
-
-import graphql.schema.GraphQLSchema;
-import io.smallrye.graphql.bootstrap.Bootstrap;
-import io.smallrye.graphql.execution.SchemaPrinter;
-import io.smallrye.graphql.schema.SchemaBuilder;
-import io.smallrye.graphql.schema.model.Schema;
-import io.smallrye.graphql.spi.config.Config;
+import org.gradle.workers.WorkerExecutor;
+
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
 
 /**
  * Generate schema task.
+ * <p>
+ * All inputs and outputs are declared, so the task is up-to-date when nothing changed and its outputs can be taken
+ * from the build cache. The schema is generated by {@link GenerateSchemaAction} in a worker process.
+ * <p>
+ * The options are Gradle properties, so their getters return a {@link Property} (or a {@link RegularFileProperty} for
+ * the files) instead of the plain value. The setters are unchanged, so assigning the options in a Groovy build script
+ * works as before; reading them needs a {@code get()}.
  *
  * @author Marcel Overdijk (marceloverdijk@gmail.com)
  */
-public class GenerateSchemaTask extends DefaultTask {
-
-    private String destination = new File(getProject().getBuildDir(), "generated/schema.graphql").getPath();
-    private boolean includeDependencies = false;
-    private boolean includeTransitiveDependencies = false;
-    private List<String> configurations = Arrays.asList("implementation");
-    private List<String> dependencyExtensions = Arrays.asList("jar");
-    private boolean includeScalars = false;
-    private boolean includeDirectives = false;
-    private boolean includeSchemaDefinition = false;
-    private boolean includeIntrospectionTypes = false;
-    
-    private File classesDir = new File(getProject().getBuildDir(), "classes");
+@CacheableTask
+public abstract class GenerateSchemaTask extends DefaultTask {
+
+    public GenerateSchemaTask() {
+        ProjectLayout layout = getProjectLayout();
+        getDestination().convention(layout.getBuildDirectory().file("generated/schema.graphql"));
+        getIncludeDependencies().convention(false);
+        getIncludeTransitiveDependencies().convention(false);
+        getConfigurations().convention(Collections.singletonList("implementation"));
+        getDependencyExtensions().convention(Collections.singletonList("jar"));
+        getIncludeScalars().convention(false);
+        getIncludeDirectives().convention(false);
+        getIncludeSchemaDefinition().convention(false);
+        getIncludeIntrospectionTypes().convention(false);
+        getWriteSchemaModel().convention(false);
+        getSchemaModelDestination().convention(layout.getBuildDirectory().file("resources/main/" + PrebuiltSchema.RESOURCE));
+    }
+
+    @Inject
+    protected abstract ProjectLayout getProjectLayout();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
 
     @Optional
     @OutputFile
-    public String getDestination() {
-        return destination;
-    }
+    public abstract RegularFileProperty getDestination();
 
     @Option(option = "destination", description = "The destination file where to output the schema. If no path is specified, the schema will be printed to the log.")
     public void setDestination(String destination) {
-        this.destination = destination;
+        if (destination == null || destination.isEmpty()) {
+            setNoDestination(true);
+        } else {
+            getDestination().set(getProjectLayout().getProjectDirectory().file(destination));
+        }
     }
 
     @Option(option = "no-destination", description = "Prints the schema to the log.")
     public void setNoDestination(boolean destination) {
-        this.destination = null;
+        getDestination().convention((RegularFile) null);
+        getDestination().set((RegularFile) null);
     }
 
     @Input
-    public boolean getIncludeDependencies() {
-        return includeDependencies;
-    }
+    public abstract Property<Boolean> getIncludeDependencies();
 
     @Option(option = "include-dependencies", description = "Whether to scan project's dependencies for GraphQL model classes too. This is off by default, because it takes a relatively long time, so turn this on only if you know that part of your model is located inside dependencies.")
     public void setIncludeDependencies(boolean includeDependencies) {
-        this.includeDependencies = includeDependencies;
+        getIncludeDependencies().set(includeDependencies);
     }
 
     @Input
-    public boolean getIncludeTransitiveDependencies() {
-        return includeTransitiveDependencies;
-    }
+    public abstract Property<Boolean> getIncludeTransitiveDependencies();
 
     @Option(option = "include-transitive-dependencies", description = "Whether to include transitive dependencies to scan for GraphQL model classes.")
     public void setIncludeTransitiveDependencies(boolean includeTransitiveDependencies) {
-        this.includeTransitiveDependencies = includeTransitiveDependencies;
+        getIncludeTransitiveDependencies().set(includeTransitiveDependencies);
         if (includeTransitiveDependencies) {
-            this.includeDependencies = true;
+            getIncludeDependencies().set(true);
         }
     }
 
-    @Input
-    public List<String> getConfigurations() {
-        return configurations;
-    }
+    /**
+     * The configurations to scan. Their content is an input through {@link #getClasspath()} and
+     * {@link #getDependencyIndexes()}, so the names themselves are not.
+     */
+    @Internal
+    public abstract ListProperty<String> getConfigurations();
 
     @Option(option = "configuration", description = "Configuration to scan for GraphQL model classes (can be specified more than once).")
     public void setConfigurations(List<String> configurations) {
-        this.configurations = configurations;
+        getConfigurations().set(configurations);
     }
 
     @Input
-    public List<String> getDependencyExtensions() {
-        return dependencyExtensions;
-    }
+    public abstract ListProperty<String> getDependencyExtensions();
 
     @Option(option = "dependency-extension", description = "Dependency extension to scan for GraphQL mode classes (can be specified more than once).")
     public void setDependencyExtensions(List<String> dependencyExtensions) {
-        this.dependencyExtensions = dependencyExtensions;
+        getDependencyExtensions().set(dependencyExtensions);
     }
 
     @Input
-    public boolean getIncludeScalars() {
-        return includeScalars;
-    }
+    public abstract Property<Boolean> getIncludeScalars();
 
     @Option(option = "include-scalars", description = "Whether to include the scalars in the schema.")
     public void setIncludeScalars(boolean includeScalars) {
-        this.includeScalars = includeScalars;
+        getIncludeScalars().set(includeScalars);
     }
 
     @Input
-    public boolean getIncludeDirectives() {
-        return includeDirectives;
-    }
+    public abstract Property<Boolean> getIncludeDirectives();
 
     @Option(option = "include-directives", description = "Whether to include the directives in the schema.")
     public void setIncludeDirectives(boolean includeDirectives) {
-        this.includeDirectives = includeDirectives;
+        getIncludeDirectives().set(includeDirectives);
     }
 
     @Input
-    public boolean getIncludeSchemaDefinition() {
-        return includeSchemaDefinition;
-    }
+    public abstract Property<Boolean> getIncludeSchemaDefinition();
 
     @Option(option = "include-schema-definition", description = "Whether to include the schema definition in the schema.")
     public void setIncludeSchemaDefinition(boolean includeSchemaDefinition) {
-        this.includeSchemaDefinition = includeSchemaDefinition;
+        getIncludeSchemaDefinition().set(includeSchemaDefinition);
     }
 
     @Input
-    public boolean getIncludeIntrospectionTypes() {
-        return includeIntrospectionTypes;
-    }
+    public abstract Property<Boolean> getIncludeIntrospectionTypes();
 
     @Option(option = "include-introspection-types", description = "Whether to include the introspection types in the schema.")
     public void setIncludeIntrospectionTypes(boolean includeIntrospectionTypes) {
-        this.includeIntrospectionTypes = includeIntrospectionTypes;
+        getIncludeIntrospectionTypes().set(includeIntrospectionTypes);
     }
 
-    @Optional
-    @InputDirectory
-    public File getClassesDir() {
-        return classesDir;
-    }
+    @Input
+    public abstract Property<Boolean> getWriteSchemaModel();
 
-    public void setClassesDir(File classesDir) {
-        this.classesDir = classesDir;
+    @Option(option = "write-schema-model", description = "Whether to also write the schema model, so the runtime can load it instead of scanning the classpath on startup.")
+    public void setWriteSchemaModel(boolean writeSchemaModel) {
+        getWriteSchemaModel().set(writeSchemaModel);
     }
 
-    private static GradleConfig config;
+    /**
+     * Where to write the schema model, if {@link #getWriteSchemaModel()} is true
+     */
+    @Internal
+    public abstract RegularFileProperty getSchemaModelDestination();
 
-    public static GradleConfig getConfig() {
-        return config;
+    public void setSchemaModelDestination(File schemaModelDestination) {
+        getSchemaModelDestination().set(schemaModelDestination);
     }
 
-    @TaskAction
-    public void generateSchema() throws Exception {
-        this.config = new GradleConfig(includeScalars, includeDirectives, includeSchemaDefinition, includeIntrospectionTypes);
-        ClassLoader classLoader = getClassLoader();
-        Thread.currentThread().setContextClassLoader(classLoader);
-        IndexView index = createIndex();
-        String schema = generateSchema(index);
-        if (schema != null) {
-            write(schema);
-        } else {
-            getLogger().warn("No Schema generated. Check that your code contains the MicroProfile GraphQL Annotations");
-        }
-    }
-
-    private IndexView createIndex() {
-        IndexView moduleIndex;
-        try {
-            moduleIndex = indexModuleClasses();
-        } catch (IOException e) {
-            throw new GradleException("Can't compute index", e);
-        }
-        if (includeDependencies) {
-            List<IndexView> indexes = new ArrayList<>();
-            indexes.add(moduleIndex);
-            ConfigurationContainer configurationContainer = getProject().getConfigurations();
-            for (String name : configurations) {
-                Configuration configuration = configurationContainer.getByName(name);
-                Configuration copiedConfiguration = configuration.copyRecursive();
-                copiedConfiguration.setCanBeResolved(true);
-                copiedConfiguration.setTransitive(includeTransitiveDependencies);
-                ResolvedConfiguration resolvedConfiguration = copiedConfiguration.getResolvedConfiguration();
-                Set<ResolvedArtifact> artifacts = resolvedConfiguration.getResolvedArtifacts();
-                for (ResolvedArtifact artifact : artifacts) {
-                    if (dependencyExtensions.contains(artifact.getExtension())) {
-                        getLogger().debug("Indexing file " + artifact.getFile());
-                        try {
-                            Result result = JarIndexer.createJarIndex(artifact.getFile(), new Indexer(), false, false, false);
-                            indexes.add(result.getIndex());
-                        } catch (Exception e) {
-                            getLogger().error("Can't compute index of " + artifact.getFile().getAbsolutePath() + ", skipping",
-                                    e);
-                        }
-                    }
-                }
-            }
-            return CompositeIndex.create(indexes);
-        } else {
-            return moduleIndex;
-        }
+    @Optional
+    @OutputFile
+    public Provider<RegularFile> getSchemaModelOutput() {
+        return getWriteSchemaModel().flatMap(write -> write ? getSchemaModelDestination() : null);
     }
 
-    // index the classes of this Gradle module
-    private Index indexModuleClasses() throws IOException {
-        Indexer indexer = new Indexer();
-        List<Path> classFiles = Files.walk(classesDir.toPath())
-                .filter(path -> path.toString().endsWith(".class"))
-                .collect(Collectors.toList());
-        for (Path path : classFiles) {
-            indexer.index(Files.newInputStream(path));
-        }
-        return indexer.complete();
-    }
+    /**
+     * The compiled classes of the project, by default the classes directories of the main source set
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClassesDirs();
 
-    private String generateSchema(IndexView index) {
-        Schema internalSchema = SchemaBuilder.build(index);
-        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(internalSchema, true);
-        if(graphQLSchema!=null){
-            return new SchemaPrinter().print(graphQLSchema);
-        }
-        return null;
+    public void setClassesDir(File classesDir) {
+        getClassesDirs().setFrom(classesDir);
     }
 
-    private void write(String schema) {
-        try {
-            if (destination == null || destination.isEmpty()) {
-                // no destination file specified => print to stdout
-                getLogger().quiet(schema);
-            } else {
-                Path path = new File(destination).toPath();
-                path.toFile().getParentFile().mkdirs();
-                Files.write(path, schema.getBytes(),
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING);
-                getLogger().info("Wrote the schema to " + path.toAbsolutePath().toString());
-            }
-        } catch (IOException e) {
-            throw new GradleException("Can't write the result", e);
-        }
+    /**
+     * The first of the {@link #getClassesDirs() classes directories}, for builds that read the single directory the
+     * task used to have.
+     *
+     * @deprecated use {@link #getClassesDirs()}
+     */
+    @Deprecated
+    @Internal
+    public File getClassesDir() {
+        return getClassesDirs().getFiles().stream().findFirst().orElse(null);
     }
 
-    private ClassLoader getClassLoader() throws MalformedURLException {
-        Set<URL> urls = new HashSet<>();
-        ConfigurationContainer configurationContainer = getProject().getConfigurations();
-        for (String name : configurations) {
-            Configuration configuration = configurationContainer.getByName(name);
-            Configuration copiedConfiguration = configuration.copyRecursive();
-            copiedConfiguration.setCanBeResolved(true);
-            copiedConfiguration.setTransitive(includeTransitiveDependencies);
-            ResolvedConfiguration resolvedConfiguration = copiedConfiguration.getResolvedConfiguration();
-            Set<ResolvedArtifact> artifacts = resolvedConfiguration.getResolvedArtifacts();
-            for (ResolvedArtifact artifact : artifacts) {
-                if (dependencyExtensions.contains(artifact.getExtension())) {
-                    getLogger().debug("Adding to classloader: " + artifact.getFile());
-                    urls.add(artifact.getFile().toURI().toURL());
-                }
-            }
-        }
-        Path classes = Paths.get(classesDir.getAbsolutePath(), "java", "main");
-        if(classes.toFile().exists()) {
-            getLogger().debug("Adding classes directory: " + classes);
-            urls.add(classes.toUri().toURL());
-        }
-
-        Path classesKotlin = Paths.get(classesDir.getAbsolutePath(), "kotlin", "main");
-        if(classesKotlin.toFile().exists()) {
-            getLogger().debug("Adding classes directory: " + classesKotlin);
-            urls.add(classesKotlin.toUri().toURL());
-        }
+    /**
+     * The dependencies the classes of the project are loaded with
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
 
-        return URLClassLoader.newInstance(
-            urls.toArray(new URL[0]),
-            Thread.currentThread().getContextClassLoader());
+    /**
+     * The Jandex indexes of the dependencies to scan, computed by {@link JandexIndexTransform}
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getDependencyIndexes();
 
+    @TaskAction
+    public void generateSchema() {
+        getWorkerExecutor().processIsolation().submit(GenerateSchemaAction.class, parameters -> {
+            parameters.getClassesDirs().from(getClassesDirs());
+            parameters.getClasspath().from(getClasspath());
+            parameters.getDependencyIndexes().from(getDependencyIndexes());
+            parameters.getDependencyExtensions().set(getDependencyExtensions());
+            parameters.getDestination().set(getDestination());
+            parameters.getSchemaModelDestination().set(getSchemaModelOutput());
+            parameters.getIncludeScalars().set(getIncludeScalars());
+            parameters.getIncludeDirectives().set(getIncludeDirectives());
+            parameters.getIncludeSchemaDefinition().set(getIncludeSchemaDefinition());
+            parameters.getIncludeIntrospectionTypes().set(getIncludeIntrospectionTypes());
+        });
+    }
+
+    /**
+     * The config of the schema being generated, only set in the worker process.
+     *
+     * @deprecated use {@link GenerateSchemaAction#getConfig()}
+     */
+    @Deprecated
+    public static GradleConfig getConfig() {
+        return GenerateSchemaAction.getConfig();
     }
-
 }
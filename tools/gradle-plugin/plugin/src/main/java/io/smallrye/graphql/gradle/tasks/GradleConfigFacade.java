@@ -4,33 +4,25 @@ import io.smallrye.graphql.spi.config.Config;
 
 public class GradleConfigFacade implements Config {
 
-    private boolean includeScalars;
+    private final GradleConfig config;
 
-    private boolean includeDirectives;
-
-    private boolean includeSchemaDefinition;
-
-    private boolean includeIntrospectionTypes;
-
-    // Constructor used by the ServiceLoader mechanism. When this is called, we assume that GenerateSchemaTask
-    // has already produced a config based on the environment, and we just make a copy of it
+    // Constructor used by the ServiceLoader mechanism. Config.get() is created only once per JVM, and the worker
+    // process is reused by the next generateSchema tasks, so read the config GenerateSchemaAction produced for the
+    // running task every time instead of copying it here
     public GradleConfigFacade() {
-        GradleConfig instance = GenerateSchemaTask.getConfig();
-        this.includeScalars = instance.isIncludeScalars();
-        this.includeDirectives = instance.isIncludeDirectives();
-        this.includeSchemaDefinition = instance.isIncludeSchemaDefinition();
-        this.includeIntrospectionTypes = instance.isIncludeIntrospectionTypes();
-
+        this.config = null;
     }
 
     public GradleConfigFacade(boolean includeScalarsInSchema,
                               boolean includeDirectivesInSchema,
                               boolean includeSchemaDefinitionInSchema,
                               boolean includeIntrospectionTypesInSchema) {
-        this.includeScalars = includeScalarsInSchema;
-        this.includeDirectives = includeDirectivesInSchema;
-        this.includeSchemaDefinition = includeSchemaDefinitionInSchema;
-        this.includeIntrospectionTypes = includeIntrospectionTypesInSchema;
+        this.config = new GradleConfig(includeScalarsInSchema, includeDirectivesInSchema, includeSchemaDefinitionInSchema,
+                includeIntrospectionTypesInSchema);
+    }
+
+    private GradleConfig config() {
+        return config != null ? config : GenerateSchemaAction.getConfig();
     }
 
     @Override
@@ -40,21 +32,21 @@ public class GradleConfigFacade implements Config {
 
     @Override
     public boolean isIncludeScalarsInSchema() {
-        return includeScalars;
+        return config().isIncludeScalars();
     }
 
     @Override
     public boolean isIncludeDirectivesInSchema() {
-        return includeDirectives;
+        return config().isIncludeDirectives();
     }
 
     @Override
     public boolean isIncludeSchemaDefinitionInSchema() {
-        return includeSchemaDefinition;
+        return config().isIncludeSchemaDefinition();
     }
 
     @Override
     public boolean isIncludeIntrospectionTypesInSchema() {
-        return includeIntrospectionTypes;
+        return config().isIncludeIntrospectionTypes();
     }
 }
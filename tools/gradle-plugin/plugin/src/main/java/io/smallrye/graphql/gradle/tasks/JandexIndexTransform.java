@@ -0,0 +1,97 @@
+package io.smallrye.graphql.gradle.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Classpath;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+
+/**
+ * Indexes a dependency with Jandex.
+ * <p>
+ * As an artifact transform, Gradle computes the index of a jar only once and keeps it in its caches, so
+ * {@link GenerateSchemaTask} only reads it back. The jandex.idx of the jar is used when it has one.
+ */
+@CacheableTransform
+public abstract class JandexIndexTransform implements TransformAction<TransformParameters.None> {
+
+    /**
+     * The value of the artifact type attribute of the transformed artifacts
+     */
+    public static final String ARTIFACT_TYPE = "smallrye-graphql-jandex-index";
+
+    static final String SUFFIX = ".idx";
+
+    private static final Logger LOG = Logging.getLogger(JandexIndexTransform.class);
+    private static final String JANDEX_IDX = "META-INF/jandex.idx";
+
+    @InputArtifact
+    @Classpath
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(TransformOutputs outputs) {
+        File artifact = getInputArtifact().get().getAsFile();
+        if (!artifact.isFile()) {
+            // e.g. the classes directory of another project, there is nothing to index
+            return;
+        }
+        Index index;
+        try {
+            index = index(artifact);
+        } catch (IOException e) {
+            LOG.error("Can't compute index of " + artifact.getAbsolutePath() + ", skipping", e);
+            return;
+        }
+        File output = outputs.file(artifact.getName() + SUFFIX);
+        try (OutputStream out = Files.newOutputStream(output.toPath())) {
+            new IndexWriter(out).write(index);
+        } catch (IOException e) {
+            throw new GradleException("Can't write the index of " + artifact.getAbsolutePath(), e);
+        }
+    }
+
+    private static Index index(File artifact) throws IOException {
+        try (ZipFile zipFile = new ZipFile(artifact)) {
+            ZipEntry jandexIdx = zipFile.getEntry(JANDEX_IDX);
+            if (jandexIdx != null) {
+                try (InputStream in = zipFile.getInputStream(jandexIdx)) {
+                    return new IndexReader(in).read();
+                } catch (IOException | IllegalArgumentException e) {
+                    // An index version this Jandex does not know, index the classes instead
+                    LOG.debug("Can't read " + JANDEX_IDX + " of " + artifact + ", indexing it", e);
+                }
+            }
+            Indexer indexer = new Indexer();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        indexer.index(in);
+                    }
+                }
+            }
+            return indexer.complete();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.smallrye.graphql.gradle.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GradlePluginBuildCacheTest {
+
+    private static final File PROJECT_DIR = new File("testing-project");
+    private static final File SCHEMA_FILE = new File("testing-project/build/generated/schema.graphql");
+
+    @BeforeEach
+    public void cleanup() {
+        SCHEMA_FILE.delete();
+    }
+
+    @Test
+    public void testSchemaIsTakenFromTheBuildCache() {
+        // The first build stores the schema in the build cache (unless an earlier run already did)...
+        execute();
+        // ...so after a clean, the second one takes it from there instead of generating it again
+        BuildTask task = execute();
+        assertEquals(TaskOutcome.FROM_CACHE, task.getOutcome());
+        assertTrue(SCHEMA_FILE.isFile());
+    }
+
+    @Test
+    public void testConfigurationIsTakenFromTheConfigurationCache() {
+        // The first build stores the configuration (problems fail the build)...
+        run("--configuration-cache");
+        // ...and the second one runs the task from it, without configuring the project again
+        BuildResult result = run("--configuration-cache");
+        assertTrue(result.getOutput().contains("Reusing configuration cache."), result.getOutput());
+        assertNotEquals(TaskOutcome.FAILED, result.task(":generateSchema").getOutcome());
+        assertTrue(SCHEMA_FILE.isFile());
+    }
+
+    private BuildTask execute() {
+        return run("--build-cache").task(":generateSchema");
+    }
+
+    private BuildResult run(String cacheOption) {
+        BuildResult result = GradleRunner.create()
+                .withPluginClasspath()
+                .withProjectDir(PROJECT_DIR)
+                .withArguments(Arrays.asList("--stacktrace", cacheOption, "clean", "generateSchema"))
+                .forwardOutput()
+                .build();
+
+        assertNotNull(result.task(":generateSchema"), "Task generateSchema might not have been executed for some reason?");
+        return result;
+    }
+
+}
@@ -93,6 +93,14 @@ public class GenerateSchemaTest {
                 schema, containsString("type _Service"));
     }
 
+    @Test
+    public void testWriteSchemaModel() throws Exception {
+        Path schemaModel = Paths.get("testing-project", "target", "classes", "META-INF", "smallrye-graphql", "schema.model");
+        execute(Collections.singletonMap("writeSchemaModel", "true"), "testing-project", SCHEMA_FILE_PATH);
+        Assert.assertTrue("File " + schemaModel.toAbsolutePath() + " expected but not found",
+                schemaModel.toFile().exists());
+    }
+
     @Test
     public void testMultiModuleProject() throws Exception {
         SCHEMA_FILE_PATH_MULTI_MODULE.toFile().delete();
@@ -0,0 +1,240 @@
+package io.smallrye.graphql.mavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+
+/**
+ * Indexes class directories and jars.
+ * <p>
+ * Jars are indexed in parallel. The jandex.idx of a jar is used when it has one, otherwise the index is cached,
+ * named after the checksum of the jar, so later builds only read it back.
+ */
+class DependencyIndexer {
+    private static final String JANDEX_IDX = "META-INF/jandex.idx";
+    private static final String DOT_CLASS = ".class";
+
+    private final Path cacheDirectory;
+    private final int parallelism;
+    private final Log log;
+    private final Map<File, String> checksums = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheDirectory where to cache the indexes of jars, or null to not cache them
+     * @param parallelism the maximum number of jars that are indexed at the same time
+     */
+    DependencyIndexer(Path cacheDirectory, int parallelism, Log log) {
+        this.cacheDirectory = cacheDirectory;
+        this.parallelism = parallelism;
+        this.log = log;
+    }
+
+    /**
+     * Index jars and class directories, in parallel
+     *
+     * @return the indexes, in the order of the files
+     */
+    List<IndexView> index(List<File> files) throws IOException {
+        if (files.isEmpty()) {
+            return List.of();
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, files.size())));
+        try {
+            List<ForkJoinTask<IndexView>> tasks = new ArrayList<>(files.size());
+            for (File file : files) {
+                tasks.add(pool.submit(() -> index(file)));
+            }
+            List<IndexView> indexes = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<IndexView> task : tasks) {
+                indexes.add(task.join());
+            }
+            return indexes;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The checksum of a jar, or of the class files in a directory
+     */
+    String checksum(File file) throws IOException {
+        String checksum = checksums.get(file);
+        if (checksum == null) {
+            checksum = file.isDirectory() ? directoryChecksum(file.toPath()) : jarChecksum(file.toPath());
+            checksums.put(file, checksum);
+        }
+        return checksum;
+    }
+
+    private IndexView index(File file) throws IOException {
+        if (file.isDirectory()) {
+            return indexDirectory(file.toPath());
+        }
+        log.debug("Indexing file " + file);
+        try {
+            return indexJar(file);
+        } catch (IOException e) {
+            log.error("Can't compute index of " + file.getAbsolutePath() + ", skipping", e);
+            return new Indexer().complete();
+        }
+    }
+
+    private IndexView indexJar(File file) throws IOException {
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipEntry jandexIdx = zipFile.getEntry(JANDEX_IDX);
+            if (jandexIdx != null) {
+                try (InputStream in = zipFile.getInputStream(jandexIdx)) {
+                    return new IndexReader(in).read();
+                } catch (IOException | IllegalArgumentException e) {
+                    // An index version this Jandex does not know, index the classes instead
+                    log.debug("Can't read " + JANDEX_IDX + " of " + file + ", indexing it", e);
+                }
+            }
+
+            Path cached = cacheDirectory != null
+                    ? cacheDirectory.resolve(file.getName() + "-" + checksum(file) + ".idx")
+                    : null;
+            if (cached != null && Files.isRegularFile(cached)) {
+                try (InputStream in = Files.newInputStream(cached)) {
+                    return new IndexReader(in).read();
+                } catch (IOException | IllegalArgumentException e) {
+                    log.debug("Can't read the cached index " + cached + ", indexing " + file + " again", e);
+                }
+            }
+
+            Indexer indexer = new Indexer();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(DOT_CLASS)) {
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        indexer.index(in);
+                    }
+                }
+            }
+            Index index = indexer.complete();
+            if (cached != null) {
+                writeCache(index, cached);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Index the classes of a directory, like the classes of the Maven module
+     */
+    static Index indexDirectory(Path directory) throws IOException {
+        Indexer indexer = new Indexer();
+        for (Path classFile : classFiles(directory)) {
+            try (InputStream in = Files.newInputStream(classFile)) {
+                indexer.index(in);
+            }
+        }
+        return indexer.complete();
+    }
+
+    private void writeCache(Index index, Path cached) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            // Write to a temporary file first, so parallel builds never read a partial index
+            Path temp = Files.createTempFile(cacheDirectory, cached.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    new IndexWriter(out).write(index);
+                }
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Can't cache the index in " + cached, e);
+        }
+    }
+
+    /**
+     * The name, CRC and size of every entry. The CRCs are in the central directory of the jar, so this does not
+     * read the content.
+     */
+    private static String jarChecksum(Path jar) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                buffer.clear();
+                buffer.putLong(entry.getCrc());
+                buffer.putLong(entry.getSize());
+                digest.update(buffer.array());
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    private static String directoryChecksum(Path directory) throws IOException {
+        MessageDigest digest = sha256();
+        for (Path classFile : classFiles(directory)) {
+            digest.update(directory.relativize(classFile).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(classFile));
+        }
+        return hex(digest.digest());
+    }
+
+    private static List<Path> classFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            // Sorted, so that the checksum does not depend on the order of the file system
+            return files.filter(path -> path.toString().endsWith(DOT_CLASS)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
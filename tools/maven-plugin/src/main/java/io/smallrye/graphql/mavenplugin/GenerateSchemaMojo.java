@@ -2,19 +2,20 @@ package io.smallrye.graphql.mavenplugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.AbstractMojo;
@@ -27,11 +28,7 @@ import org.apache.maven.project.MavenProject;
 import org.eclipse.microprofile.graphql.Name;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.CompositeIndex;
-import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexView;
-import org.jboss.jandex.Indexer;
-import org.jboss.jandex.JarIndexer;
-import org.jboss.jandex.Result;
 
 import com.apollographql.federation.graphqljava.Federation;
 
@@ -43,6 +40,7 @@ import io.smallrye.graphql.bootstrap.FederationDataFetcher;
 import io.smallrye.graphql.execution.SchemaPrinter;
 import io.smallrye.graphql.schema.SchemaBuilder;
 import io.smallrye.graphql.schema.helper.TypeAutoNameStrategy;
+import io.smallrye.graphql.schema.model.PrebuiltSchema;
 import io.smallrye.graphql.schema.model.Schema;
 
 @Mojo(name = "generate-schema", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME, requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
@@ -56,6 +54,33 @@ public class GenerateSchemaMojo extends AbstractMojo {
     @Parameter(defaultValue = "${project.build.directory}/generated/schema.graphql", property = "destination")
     private String destination;
 
+    /**
+     * Skip generating the schema when the classes, the indexed dependencies and the configuration did not change
+     * since the last build.
+     */
+    @Parameter(defaultValue = "true", property = "incremental")
+    private boolean incremental;
+
+    /**
+     * Where to keep the checksum of the inputs of the last generation, for the up-to-date check.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/smallrye-graphql/generate-schema.sha256", property = "inputsChecksumFile")
+    private File inputsChecksumFile;
+
+    /**
+     * Where to cache the indexes of dependency jars that don't contain one. Point it to a directory outside of the
+     * build directory (in the local repository for example) to keep them across clean builds.
+     * An empty value disables the cache.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/smallrye-graphql/index-cache", property = "indexCacheDirectory")
+    private File indexCacheDirectory;
+
+    /**
+     * The maximum number of dependencies that are indexed at the same time. By default the number of processors.
+     */
+    @Parameter(property = "indexParallelism")
+    private Integer indexParallelism;
+
     /**
      * Scan project's dependencies for GraphQL model classes too. This is off by default, because
      * it takes a relatively long time, so turn this on only if you know that part of your
@@ -104,9 +129,25 @@ public class GenerateSchemaMojo extends AbstractMojo {
     @Parameter(defaultValue = "false", property = "federationEnabled")
     private boolean federationEnabled;
 
+    /**
+     * Also write the schema model into the build output, so that the runtime can load it
+     * instead of scanning the classpath and building the schema on startup.
+     */
+    @Parameter(defaultValue = "false", property = "writeSchemaModel")
+    private boolean writeSchemaModel;
+
+    /**
+     * Destination file of the schema model, when writeSchemaModel is enabled.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}/META-INF/smallrye-graphql/schema.model", property = "schemaModelDestination")
+    private File schemaModelDestination;
+
     @Parameter(defaultValue = "${project}", required = true)
     private MavenProject mavenProject;
 
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
     @Parameter(property = "project.compileClasspathElements", required = true, readonly = true)
     private List<String> classpath;
 
@@ -131,10 +172,24 @@ public class GenerateSchemaMojo extends AbstractMojo {
         mavenConfig = new MavenConfig(includeScalars, includeDirectives, includeSchemaDefinition, includeIntrospectionTypes,
                 TypeAutoNameStrategy.valueOf(typeAutoNameStrategy), federationEnabled);
         if (!skip) {
+            DependencyIndexer indexer = new DependencyIndexer(
+                    indexCacheDirectory != null ? indexCacheDirectory.toPath() : null,
+                    indexParallelism != null ? indexParallelism : Runtime.getRuntime().availableProcessors(),
+                    getLog());
+            List<File> dependencies = dependenciesToIndex();
+            String inputsChecksum = null;
+            if (isIncremental()) {
+                inputsChecksum = inputsChecksum(indexer, dependencies);
+                if (inputsChecksum != null && isUpToDate(inputsChecksum)) {
+                    getLog().info("The schema is up to date, nothing changed since the last generation");
+                    return;
+                }
+            }
+
             ClassLoader classLoader = getClassLoader();
             Thread.currentThread().setContextClassLoader(classLoader);
 
-            IndexView index = createIndex();
+            IndexView index = createIndex(indexer, dependencies);
             boolean foundAnyFederationAnnotation = false;
             for (ClassInfo federationAnnotationType : index.getClassesInPackage("io.smallrye.graphql.api.federation")) {
                 if (federationAnnotationType.isAnnotation()) {
@@ -153,104 +208,135 @@ public class GenerateSchemaMojo extends AbstractMojo {
                 enableFederation = true;
             }
 
-            String schema = generateSchema(index, enableFederation);
+            Schema internalSchema = SchemaBuilder.build(index, mavenConfig.typeAutoNameStrategy);
+            String schema = generateSchema(internalSchema, enableFederation);
             if (schema != null) {
                 write(schema);
+                if (writeSchemaModel) {
+                    writeSchemaModel(internalSchema, classLoader,
+                            PrebuiltSchema.settings(mavenConfig.typeAutoNameStrategy.name(), enableFederation));
+                }
+                if (inputsChecksum != null) {
+                    writeInputsChecksum(inputsChecksum);
+                }
             } else {
                 getLog().warn("No Schema generated. Check that your code contains the MicroProfile GraphQL Annotations");
             }
         }
     }
 
-    private IndexView createIndex() throws MojoExecutionException {
-        List<IndexView> indexes = new ArrayList<>();
-        try {
-            IndexView moduleIndex = indexModuleClasses(classesDir);
-            indexes.add(moduleIndex);
-        } catch (IOException e) {
-            throw new MojoExecutionException("Can't compute index", e);
-        }
-
-        // always include Mutiny if it is present in the dependencies,
-        // even if includeDependencies=false
+    /**
+     * The dependencies to index: Mutiny and the SmallRye GraphQL API always (even if includeDependencies=false),
+     * and the selected dependencies if includeDependencies is enabled
+     */
+    private List<File> dependenciesToIndex() {
         Predicate<Artifact> isMutiny = a -> a.getGroupId().equals("io.smallrye.reactive") &&
                 a.getArtifactId().equals("mutiny");
         Predicate<Artifact> isSmallRyeGraphQLApi = a -> a.getGroupId().equals("io.smallrye") &&
                 a.getArtifactId().equals("smallrye-graphql-api");
-        mavenProject.getArtifacts()
-                .stream()
-                .filter(a -> isMutiny.test((Artifact) a) || isSmallRyeGraphQLApi.test((Artifact) a))
-                .forEach(a -> {
-                    Result r = indexJar(((Artifact) a).getFile());
-                    if (r != null) {
-                        indexes.add(r.getIndex());
-                    }
-                });
-
-        if (includeDependencies) {
-            for (Object a : mavenProject.getArtifacts()) {
-                Artifact artifact = (Artifact) a;
-                if (includeDependenciesScopes.contains(artifact.getScope())
-                        && includeDependenciesTypes.contains(artifact.getType())
-                        && (includeDependenciesGroupIds.isEmpty() ||
-                                includeDependenciesGroupIds.contains(artifact.getGroupId()))
-                        && !isMutiny.test(artifact) && !isSmallRyeGraphQLApi.test(artifact)) {
-
-                    Index index = indexArtifact(artifact);
-                    if (index != null) {
-                        indexes.add(index);
-                    }
-                }
+        List<File> files = new ArrayList<>();
+        for (Object a : mavenProject.getArtifacts()) {
+            Artifact artifact = (Artifact) a;
+            if (artifact.getFile() == null) {
+                continue;
             }
+            if (isMutiny.test(artifact) || isSmallRyeGraphQLApi.test(artifact)) {
+                files.add(artifact.getFile());
+            } else if (includeDependencies
+                    && includeDependenciesScopes.contains(artifact.getScope())
+                    && includeDependenciesTypes.contains(artifact.getType())
+                    && (includeDependenciesGroupIds.isEmpty() ||
+                            includeDependenciesGroupIds.contains(artifact.getGroupId()))) {
+                files.add(artifact.getFile());
+            }
+        }
+        return files;
+    }
+
+    private IndexView createIndex(DependencyIndexer indexer, List<File> dependencies) throws MojoExecutionException {
+        List<IndexView> indexes = new ArrayList<>();
+        try {
+            indexes.add(DependencyIndexer.indexDirectory(classesDir.toPath()));
+            indexes.addAll(indexer.index(dependencies));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't compute index", e);
         }
         return CompositeIndex.create(indexes);
     }
 
-    private Index indexArtifact(Artifact artifact) throws MojoExecutionException {
-        if (artifact.getFile().isDirectory()) {
-            try {
-                return indexModuleClasses(artifact.getFile());
-            } catch (IOException e) {
-                throw new MojoExecutionException("Failed to index classes of artifact " + artifact, e);
-            }
-        } else {
-            Result result = indexJar(artifact.getFile());
+    private boolean isIncremental() {
+        // Without a destination the schema is printed to the log, which has to happen on every build
+        return incremental && destination != null && !destination.isEmpty();
+    }
 
-            if (result != null) {
-                return result.getIndex();
-            } else {
-                return null;
+    /**
+     * A checksum of everything the schema is generated from: the configuration, the classes of the module
+     * and the indexed dependencies; and, with the schema model, every jar that is packaged with the module
+     *
+     * @return the checksum, or null if it can't be computed
+     */
+    private String inputsChecksum(DependencyIndexer indexer, List<File> dependencies) {
+        StringBuilder inputs = new StringBuilder()
+                .append("plugin=").append(pluginVersion).append('\n')
+                .append("destination=").append(destination).append('\n')
+                .append("includeDependencies=").append(includeDependencies).append('\n')
+                .append("includeDependenciesScopes=").append(includeDependenciesScopes).append('\n')
+                .append("includeDependenciesTypes=").append(includeDependenciesTypes).append('\n')
+                .append("includeDependenciesGroupIds=").append(includeDependenciesGroupIds).append('\n')
+                .append("includeScalars=").append(includeScalars).append('\n')
+                .append("includeDirectives=").append(includeDirectives).append('\n')
+                .append("includeSchemaDefinition=").append(includeSchemaDefinition).append('\n')
+                .append("includeIntrospectionTypes=").append(includeIntrospectionTypes).append('\n')
+                .append("typeAutoNameStrategy=").append(typeAutoNameStrategy).append('\n')
+                .append("federationEnabled=").append(federationEnabled).append('\n')
+                .append("smallrye.graphql.federation.enabled=")
+                .append(Boolean.getBoolean("smallrye.graphql.federation.enabled")).append('\n')
+                .append("writeSchemaModel=").append(writeSchemaModel).append('\n')
+                .append("schemaModelDestination=").append(schemaModelDestination).append('\n');
+        try {
+            inputs.append("classes=").append(indexer.checksum(classesDir)).append('\n');
+            for (File dependency : dependencies) {
+                inputs.append(dependency.getName()).append('=').append(indexer.checksum(dependency)).append('\n');
             }
+            if (writeSchemaModel) {
+                // The schema model records a digest of the packaged classpath, so it's stale when any of those jars
+                // changes, also when it isn't indexed
+                for (Path packaged : packagedClasspath()) {
+                    inputs.append("packaged:").append(packaged.getFileName()).append('=')
+                            .append(indexer.checksum(packaged.toFile())).append('\n');
+                }
+            }
+        } catch (IOException e) {
+            getLog().debug("Can't compute the checksum of the inputs, generating the schema", e);
+            return null;
         }
+        return DependencyIndexer.hex(DependencyIndexer.sha256().digest(inputs.toString().getBytes(StandardCharsets.UTF_8)));
     }
 
-    private Result indexJar(File file) {
+    private boolean isUpToDate(String inputsChecksum) {
+        if (!Files.isRegularFile(inputsChecksumFile.toPath()) || !Files.isRegularFile(Path.of(destination))
+                || (writeSchemaModel && !schemaModelDestination.isFile())) {
+            return false;
+        }
         try {
-            getLog().debug("Indexing file " + file);
-            return JarIndexer.createJarIndex(file, new Indexer(),
-                    false, false, false);
+            return inputsChecksum.equals(Files.readString(inputsChecksumFile.toPath()).trim());
         } catch (IOException e) {
-            getLog().error("Can't compute index of " + file.getAbsolutePath() + ", skipping", e);
-            return null;
+            getLog().debug("Can't read " + inputsChecksumFile + ", generating the schema", e);
+            return false;
         }
     }
 
-    // index the classes of a Maven module
-    private Index indexModuleClasses(File classesDir) throws IOException {
-        Indexer indexer = new Indexer();
-        try (Stream<Path> classesDirStream = Files.walk(classesDir.toPath())) {
-            List<Path> classFiles = classesDirStream
-                    .filter(path -> path.toString().endsWith(".class"))
-                    .collect(Collectors.toList());
-            for (Path path : classFiles) {
-                indexer.index(Files.newInputStream(path));
-            }
+    private void writeInputsChecksum(String inputsChecksum) {
+        try {
+            Files.createDirectories(inputsChecksumFile.toPath().getParent());
+            Files.writeString(inputsChecksumFile.toPath(), inputsChecksum);
+        } catch (IOException e) {
+            // Not fatal, the next build just generates the schema again
+            getLog().warn("Can't write " + inputsChecksumFile + ", the next build will generate the schema again", e);
         }
-        return indexer.complete();
     }
 
-    private String generateSchema(IndexView index, boolean enableFederation) {
-        Schema internalSchema = SchemaBuilder.build(index, mavenConfig.typeAutoNameStrategy);
+    private String generateSchema(Schema internalSchema, boolean enableFederation) {
         GraphQLSchema graphQLSchema = Bootstrap.bootstrap(internalSchema, true);
         if (graphQLSchema != null && enableFederation) {
             graphQLSchema = Federation.transform(graphQLSchema)
@@ -300,6 +386,45 @@ public class GenerateSchemaMojo extends AbstractMojo {
         }
     }
 
+    private void writeSchemaModel(Schema schema, ClassLoader classLoader, Map<String, String> settings)
+            throws MojoExecutionException {
+        Path path = schemaModelDestination.toPath();
+        try {
+            Files.createDirectories(path.getParent());
+            try (OutputStream out = Files.newOutputStream(path)) {
+                PrebuiltSchema.write(schema, classLoader, packagedClasspath(), settings, out);
+            }
+            getLog().info("Wrote the schema model to " + path.toAbsolutePath());
+        } catch (IOException e) {
+            // Not fatal, the runtime just builds the schema itself
+            getLog().warn("Can't write the schema model, the schema will be built on startup", e);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                throw new MojoExecutionException("Can't delete the incomplete schema model " + path, ex);
+            }
+        }
+    }
+
+    /**
+     * What the runtime scans when there is no (up to date) schema model: the classes of the module and the jars
+     * that are packaged with it, like WEB-INF/classes and WEB-INF/lib
+     */
+    private List<Path> packagedClasspath() {
+        List<Path> packaged = new ArrayList<>();
+        packaged.add(classesDir.toPath());
+        for (Object a : mavenProject.getArtifacts()) {
+            Artifact artifact = (Artifact) a;
+            if (artifact.getFile() != null
+                    && (Artifact.SCOPE_COMPILE.equals(artifact.getScope())
+                            || Artifact.SCOPE_RUNTIME.equals(artifact.getScope()))
+                    && "jar".equals(artifact.getType())) {
+                packaged.add(artifact.getFile().toPath());
+            }
+        }
+        return packaged;
+    }
+
     private ClassLoader getClassLoader() {
         Set<URL> urls = new HashSet<>();
 